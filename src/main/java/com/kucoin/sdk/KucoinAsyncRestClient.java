@@ -0,0 +1,21 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk;
+
+import com.kucoin.sdk.rest.interfaces.AsyncOrderAPI;
+import com.kucoin.sdk.rest.interfaces.AsyncOrderBookAPI;
+import com.kucoin.sdk.rest.interfaces.AsyncSymbolAPI;
+
+/**
+ * REST client whose calls return a {@link java.util.concurrent.CompletableFuture} instead of blocking,
+ * so that one thread can keep many requests in flight.
+ */
+public interface KucoinAsyncRestClient {
+
+    AsyncOrderAPI orderAPI();
+
+    AsyncSymbolAPI symbolAPI();
+
+    AsyncOrderBookAPI orderBookAPI();
+}
@@ -4,17 +4,37 @@
 package com.kucoin.sdk;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import com.kucoin.sdk.rest.adapter.*;
 import com.kucoin.sdk.rest.interfaces.*;
 import org.apache.commons.lang3.StringUtils;
 
+import com.kucoin.sdk.clock.ServerClock;
 import com.kucoin.sdk.constants.APIConstants;
+import com.kucoin.sdk.factory.HttpClientConfig;
+import com.kucoin.sdk.factory.HttpClientFactory;
+import com.kucoin.sdk.factory.HttpTransport;
+import com.kucoin.sdk.impl.KucoinAsyncRestClientImpl;
 import com.kucoin.sdk.impl.KucoinPrivateWSClientImpl;
 import com.kucoin.sdk.impl.KucoinPublicWSClientImpl;
+import com.kucoin.sdk.impl.KucoinPublicWSClientPool;
 import com.kucoin.sdk.impl.KucoinRestClientImpl;
+import com.kucoin.sdk.metadata.MetadataCache;
+import com.kucoin.sdk.metadata.OrderValidator;
+import com.kucoin.sdk.rest.hedge.HedgeConfig;
+import com.kucoin.sdk.rest.hedge.Hedger;
+import com.kucoin.sdk.rest.impl.retrofit.AbstractRetrofitAPIImpl;
+import com.kucoin.sdk.rest.impl.retrofit.AuthRetrofitAPIImpl;
+import com.kucoin.sdk.rest.ratelimit.RateLimitConfig;
+import com.kucoin.sdk.rest.retry.RetryConfig;
 import com.kucoin.sdk.websocket.ChooseServerStrategy;
 import com.kucoin.sdk.websocket.RandomChooseStrategy;
+import com.kucoin.sdk.websocket.impl.BaseWebsocketImpl;
 
 import lombok.Getter;
 
@@ -73,8 +93,46 @@ public class KucoinClientBuilder {
 
     private OcoOrderAPI ocoOrderAPI;
 
+    private AsyncOrderAPI asyncOrderAPI;
+
+    private AsyncSymbolAPI asyncSymbolAPI;
+
+    private AsyncOrderBookAPI asyncOrderBookAPI;
+
+    private Executor callbackExecutor = ForkJoinPool.commonPool();
+
+    private long reconnectInitialBackoffMillis = BaseWebsocketImpl.DEFAULT_RECONNECT_INITIAL_BACKOFF_MILLIS;
+
+    private long reconnectMaxBackoffMillis = BaseWebsocketImpl.DEFAULT_RECONNECT_MAX_BACKOFF_MILLIS;
+
+    private int publicWSConnections = 1;
+
+    private int publicWSMaxTopics = KucoinPublicWSClientPool.DEFAULT_MAX_TOPICS;
+
+    private HttpClientConfig httpClientConfig;
+
+    private HttpTransport httpTransport;
+
+    private boolean connectionWarmUp;
+
+    private OrderValidator orderValidator;
+
+    private long clockSyncMillis;
+
+    private ServerClock serverClock;
+
+    private RetryConfig retryConfig;
+
+    private HedgeConfig hedgeConfig;
+
+    private Hedger orderBookHedger;
+
+    private Hedger tickerHedger;
+
     public KucoinRestClient buildRestClient() {
         if (StringUtils.isBlank(baseUrl)) baseUrl = APIConstants.API_BASE_URL;
+        if (connectionWarmUp) getHttpTransport().warmUp(baseUrl);
+        if (clockSyncMillis > 0) startClockSync();
         if (userAPI == null) userAPI = new UserAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion);
         if (accountAPI == null) accountAPI = new AccountAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion);
         if (depositAPI == null) depositAPI = new DepositAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion);
@@ -92,19 +150,138 @@ public class KucoinClientBuilder {
         if (orderBookAPI == null) orderBookAPI = new OrderBookAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion);
         if (historyAPI == null) historyAPI = new HistoryAPIAdapter(baseUrl);
         if (ocoOrderAPI == null) ocoOrderAPI = new OcoOrderAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion);
+        if (orderValidator != null && orderAPI instanceof OrderAPIAdapter) {
+            ((OrderAPIAdapter) orderAPI).setOrderValidator(orderValidator);
+        }
+        configureAdapters(userAPI, accountAPI, depositAPI, withdrawalAPI, fillAPI, orderAPI, stopOrderAPI,
+                marginAPI, loanAPI, isolatedAPI, currencyAPI, timeAPI, commonAPI, symbolAPI, orderBookAPI,
+                historyAPI, ocoOrderAPI);
+        if (retryConfig != null) {
+            for (Object api : new Object[]{userAPI, accountAPI, depositAPI, withdrawalAPI, fillAPI, orderAPI,
+                    stopOrderAPI, marginAPI, loanAPI, isolatedAPI, currencyAPI, timeAPI, commonAPI, symbolAPI,
+                    orderBookAPI, historyAPI, ocoOrderAPI}) {
+                if (api instanceof AbstractRetrofitAPIImpl) {
+                    ((AbstractRetrofitAPIImpl<?>) api).setRetryConfig(retryConfig);
+                }
+            }
+        }
+        if (hedgeConfig != null) {
+            if (orderBookAPI instanceof AbstractRetrofitAPIImpl) {
+                orderBookHedger = new Hedger(hedgeConfig);
+                ((AbstractRetrofitAPIImpl<?>) orderBookAPI).setHedger(orderBookHedger);
+            }
+            if (symbolAPI instanceof AbstractRetrofitAPIImpl) {
+                tickerHedger = new Hedger(hedgeConfig);
+                ((AbstractRetrofitAPIImpl<?>) symbolAPI).setHedger(tickerHedger);
+            }
+        }
         return new KucoinRestClientImpl(this);
     }
 
+    public KucoinAsyncRestClient buildAsyncRestClient() {
+        if (StringUtils.isBlank(baseUrl)) baseUrl = APIConstants.API_BASE_URL;
+        if (connectionWarmUp) getHttpTransport().warmUp(baseUrl);
+        if (clockSyncMillis > 0) startClockSync();
+        if (asyncOrderAPI == null) asyncOrderAPI = new AsyncOrderAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion, callbackExecutor);
+        if (asyncSymbolAPI == null) asyncSymbolAPI = new AsyncSymbolAPIAdapter(baseUrl, callbackExecutor);
+        if (asyncOrderBookAPI == null) asyncOrderBookAPI = new AsyncOrderBookAPIAdapter(baseUrl, apiKey, secret, passPhrase, apiKeyVersion, callbackExecutor);
+        if (orderValidator != null && asyncOrderAPI instanceof AsyncOrderAPIAdapter) {
+            ((AsyncOrderAPIAdapter) asyncOrderAPI).setOrderValidator(orderValidator);
+        }
+        configureAdapters(asyncOrderAPI, asyncSymbolAPI, asyncOrderBookAPI);
+        return new KucoinAsyncRestClientImpl(this);
+    }
+
     public KucoinPublicWSClient buildPublicWSClient() throws IOException {
         if (StringUtils.isBlank(baseUrl)) baseUrl = APIConstants.API_BASE_URL;
         if (chooseServerStrategy == null) chooseServerStrategy = new RandomChooseStrategy();
+        if (publicWSConnections > 1) {
+            return buildPublicWSClientPool();
+        }
         KucoinPublicWSClientImpl client = new KucoinPublicWSClientImpl(this);
         client.connect();
         return client;
     }
 
+    private KucoinPublicWSClient buildPublicWSClientPool() throws IOException {
+        List<KucoinPublicWSClientImpl> connections = new ArrayList<>(publicWSConnections);
+        try {
+            for (int i = 0; i < publicWSConnections; i++) {
+                KucoinPublicWSClientImpl connection = new KucoinPublicWSClientImpl(this);
+                connections.add(connection);
+                connection.connect();
+            }
+        } catch (IOException | RuntimeException e) {
+            for (KucoinPublicWSClientImpl connection : connections) {
+                connection.close();
+            }
+            throw e;
+        }
+        return new KucoinPublicWSClientPool(connections, publicWSMaxTopics);
+    }
+
+    /**
+     * Start the server clock once, sampling over the transport of this builder.
+     */
+    private void startClockSync() {
+        if (timeAPI == null) timeAPI = new TimeAPIAdapter(baseUrl);
+        if (serverClock == null) {
+            configureAdapters(timeAPI);
+            serverClock = new ServerClock(timeAPI);
+            serverClock.start(clockSyncMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send the calls of the adapters over the transport of this builder, stamping the authenticated ones with
+     * its clock, if any.
+     */
+    private void configureAdapters(Object... apis) {
+        HttpTransport transport = getHttpTransport();
+        for (Object api : apis) {
+            if (api instanceof AbstractRetrofitAPIImpl) {
+                ((AbstractRetrofitAPIImpl<?>) api).setTransport(transport);
+            }
+            if (serverClock != null && api instanceof AuthRetrofitAPIImpl) {
+                ((AuthRetrofitAPIImpl<?>) api).setServerClock(serverClock);
+            }
+        }
+    }
+
+    /**
+     * @return The transport of the clients of this builder. Unless one was given, it is created from the
+     * {@link HttpClientConfig} at the first call, or is the default transport of {@link HttpClientFactory}
+     * without configuration.
+     */
+    public HttpTransport getHttpTransport() {
+        if (httpTransport == null) {
+            httpTransport = httpClientConfig != null ? new HttpTransport(httpClientConfig)
+                    : HttpClientFactory.getDefaultTransport();
+        }
+        return httpTransport;
+    }
+
+    /**
+     * Build a symbol and currency cache, loaded before it is returned and then refreshed in the background.
+     *
+     * @param refreshMillis period of the background refresh, 0 to refresh only on demand
+     */
+    public MetadataCache buildMetadataCache(long refreshMillis) throws IOException {
+        if (StringUtils.isBlank(baseUrl)) baseUrl = APIConstants.API_BASE_URL;
+        if (currencyAPI == null) currencyAPI = new CurrencyAPIAdaptor(baseUrl);
+        if (symbolAPI == null) symbolAPI = new SymbolAPIAdaptor(baseUrl);
+        configureAdapters(currencyAPI, symbolAPI);
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        cache.refresh();
+        if (refreshMillis > 0) {
+            cache.start(refreshMillis, TimeUnit.MILLISECONDS);
+        }
+        return cache;
+    }
+
     public KucoinPrivateWSClient buildPrivateWSClient() throws IOException {
         if (StringUtils.isBlank(baseUrl)) baseUrl = APIConstants.API_BASE_URL;
+        if (clockSyncMillis > 0) startClockSync();
         if (chooseServerStrategy == null) chooseServerStrategy = new RandomChooseStrategy();
         KucoinPrivateWSClientImpl client = new KucoinPrivateWSClientImpl(this);
         client.connect();
@@ -188,8 +365,155 @@ public class KucoinClientBuilder {
         return this;
     }
 
+    public KucoinClientBuilder withAsyncOrderAPI(AsyncOrderAPI asyncOrderAPI) {
+        this.asyncOrderAPI = asyncOrderAPI;
+        return this;
+    }
+
+    public KucoinClientBuilder withAsyncSymbolAPI(AsyncSymbolAPI asyncSymbolAPI) {
+        this.asyncSymbolAPI = asyncSymbolAPI;
+        return this;
+    }
+
+    public KucoinClientBuilder withAsyncOrderBookAPI(AsyncOrderBookAPI asyncOrderBookAPI) {
+        this.asyncOrderBookAPI = asyncOrderBookAPI;
+        return this;
+    }
+
+    /**
+     * Executor completing the futures of the async REST client, the common fork join pool by default.
+     * {@code Runnable::run} completes them on the HTTP dispatcher thread, which saves a hand-off but then
+     * dependent stages must not block.
+     */
+    public KucoinClientBuilder withCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
     public KucoinClientBuilder withChooseServerStrategy(ChooseServerStrategy chooseServerStrategy) {
         this.chooseServerStrategy = chooseServerStrategy;
         return this;
     }
+
+    /**
+     * Backoff of websocket reconnects: the first attempt is immediate, the next ones wait from the initial delay,
+     * doubled after each failed attempt, up to the max delay.
+     */
+    public KucoinClientBuilder withReconnectBackoff(long initialMillis, long maxMillis) {
+        this.reconnectInitialBackoffMillis = initialMillis;
+        this.reconnectMaxBackoffMillis = maxMillis;
+        return this;
+    }
+
+    /**
+     * Spread the subscriptions of the public websocket client over several connections, each with its own
+     * token and server. With more than one connection, {@link #buildPublicWSClient()} builds a
+     * {@link KucoinPublicWSClientPool}.
+     */
+    public KucoinClientBuilder withPublicWSConnections(int publicWSConnections) {
+        this.publicWSConnections = publicWSConnections;
+        return this;
+    }
+
+    /**
+     * Topics subscribed at most on one connection of a {@link KucoinPublicWSClientPool}, 300 by default as KuCoin
+     * caps the topics of a connection.
+     */
+    public KucoinClientBuilder withPublicWSMaxTopics(int publicWSMaxTopics) {
+        this.publicWSMaxTopics = publicWSMaxTopics;
+        return this;
+    }
+
+    /**
+     * Tune the HTTP transport shared by the clients of this builder: connection pool, dispatcher limits, timeouts
+     * and HTTP/2. Other builders keep their own transport.
+     */
+    public KucoinClientBuilder withHttpClientConfig(HttpClientConfig httpClientConfig) {
+        this.httpClientConfig = httpClientConfig;
+        return this;
+    }
+
+    /**
+     * Share a transport with other builders, in place of one created from {@link #withHttpClientConfig}.
+     */
+    public KucoinClientBuilder withHttpTransport(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+        return this;
+    }
+
+    /**
+     * Prepare the HTTP transport for callers on virtual threads: asynchronous calls run on virtual
+     * threads and the dispatcher admits up to {@link HttpClientConfig#VIRTUAL_THREADS_MAX_REQUESTS} requests
+     * in flight. Call it after {@link #withHttpClientConfig}, whose configuration it amends. Requires Java 21.
+     */
+    public KucoinClientBuilder withVirtualThreads(boolean virtualThreads) {
+        if (httpClientConfig == null) httpClientConfig = new HttpClientConfig();
+        httpClientConfig.withVirtualThreads(virtualThreads);
+        return this;
+    }
+
+    /**
+     * Enforce the exchange's request weight budgets on the client side, see {@link RateLimitConfig} for the
+     * policies. Call it after {@link #withHttpClientConfig}, whose configuration it amends.
+     */
+    public KucoinClientBuilder withRateLimit(RateLimitConfig rateLimitConfig) {
+        if (httpClientConfig == null) httpClientConfig = new HttpClientConfig();
+        httpClientConfig.withRateLimit(rateLimitConfig);
+        return this;
+    }
+
+    /**
+     * Reserve connections for order placement and cancellation, see {@link HttpClientConfig#withOrderLane}.
+     * Call it after {@link #withHttpClientConfig}, whose configuration it amends.
+     */
+    public KucoinClientBuilder withOrderLane(int reservedConnections) {
+        if (httpClientConfig == null) httpClientConfig = new HttpClientConfig();
+        httpClientConfig.withOrderLane(reservedConnections, httpClientConfig.getOrderLaneMaxRequests());
+        return this;
+    }
+
+    /**
+     * Estimate the offset of the server clock in the background, every period, and stamp authenticated requests
+     * with the corrected time. The clock is available from {@link #getServerClock()} once a client is built.
+     */
+    public KucoinClientBuilder withClockSync(long periodMillis) {
+        this.clockSyncMillis = periodMillis;
+        return this;
+    }
+
+    /**
+     * Retry idempotent REST calls and order creations of the blocking client on transient failures,
+     * see {@link RetryConfig}.
+     */
+    public KucoinClientBuilder withRetry(RetryConfig retryConfig) {
+        this.retryConfig = retryConfig;
+        return this;
+    }
+
+    /**
+     * Hedge {@code getTop20Level2OrderBook} and {@code getTicker} of the blocking client: a slow call is sent a
+     * second time and the first response is taken. {@link #getOrderBookHedger()} and {@link #getTickerHedger()}
+     * give the metrics.
+     */
+    public KucoinClientBuilder withHedging(HedgeConfig hedgeConfig) {
+        this.hedgeConfig = hedgeConfig;
+        return this;
+    }
+
+    /**
+     * Open a connection to the REST host in the background when the REST client is built,
+     * so that the first order does not pay for the TLS handshake.
+     */
+    public KucoinClientBuilder withConnectionWarmUp(boolean connectionWarmUp) {
+        this.connectionWarmUp = connectionWarmUp;
+        return this;
+    }
+
+    /**
+     * Check or normalize orders against the limits of their symbol before they are sent, see {@link OrderValidator}.
+     */
+    public KucoinClientBuilder withOrderValidator(OrderValidator orderValidator) {
+        this.orderValidator = orderValidator;
+        return this;
+    }
 }
@@ -4,10 +4,13 @@
 package com.kucoin.sdk;
 
 import com.kucoin.sdk.model.enums.PrivateChannelEnum;
+import com.kucoin.sdk.util.SymbolScales;
 import com.kucoin.sdk.websocket.KucoinAPICallback;
 import com.kucoin.sdk.websocket.event.*;
+import com.kucoin.sdk.websocket.impl.WebsocketMetrics;
 
 import java.io.IOException;
+import java.util.function.Function;
 
 /**
  * Created by chenshiwei on 2019/1/10.
@@ -49,6 +52,28 @@ public interface KucoinPrivateWSClient {
      */
     String onOrderV2Change(KucoinAPICallback<KucoinEvent<OrderChangeEvent>> callback);
 
+    /**
+     * Same as {@link #onOrderChange(KucoinAPICallback)}, with prices, sizes and funds decoded into scaled longs
+     * at the increments of the symbol of each order. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbolScales scales of a symbol, e.g. {@code map::get} over {@link SymbolScales#of}
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledOrderChange(KucoinAPICallback<KucoinEvent<ScaledOrderChangeEvent>> callback,
+                               Function<String, SymbolScales> symbolScales);
+
+    /**
+     * Same as {@link #onOrderV2Change(KucoinAPICallback)}, with prices, sizes and funds decoded into scaled longs
+     * at the increments of the symbol of each order. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbolScales scales of a symbol, e.g. {@code map::get} over {@link SymbolScales#of}
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledOrderV2Change(KucoinAPICallback<KucoinEvent<ScaledOrderChangeEvent>> callback,
+                                 Function<String, SymbolScales> symbolScales);
+
     /**
      * When the position status changes, a status change event will be pushed.
      * When there is a liability, the system will push the current liability information at regular intervals.
@@ -98,4 +123,11 @@ public interface KucoinPrivateWSClient {
      * Close client
      */
     void close() throws IOException;
+
+    /**
+     * The connection reconnects by itself and replays its subscriptions; the metrics tell how it is doing.
+     *
+     * @return The metrics of the connection.
+     */
+    WebsocketMetrics getMetrics();
 }
@@ -4,13 +4,18 @@
 package com.kucoin.sdk;
 
 import com.kucoin.sdk.model.enums.PublicChannelEnum;
+import com.kucoin.sdk.rest.response.SymbolResponse;
 import com.kucoin.sdk.websocket.KucoinAPICallback;
 import com.kucoin.sdk.websocket.event.*;
+import com.kucoin.sdk.websocket.impl.WebsocketMetrics;
 
 import java.io.IOException;
 
 /**
  * Created by chenshiwei on 2019/1/10.
+ * <p>
+ * Callbacks are registered per symbol: subscribing a channel again with other symbols and another callback
+ * keeps the callbacks of the symbols subscribed before.
  */
 public interface KucoinPublicWSClient {
 
@@ -79,6 +84,49 @@ public interface KucoinPublicWSClient {
      */
     String onLevel3Data_V2(KucoinAPICallback<KucoinEvent<Level3Event>> callback, String... symbols);
 
+    /**
+     * Same as {@link #onTicker(KucoinAPICallback, String...)}, with prices and sizes decoded into scaled longs
+     * at the increments of each symbol. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbols
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledTicker(KucoinAPICallback<KucoinEvent<ScaledTickerEvent>> callback, SymbolResponse... symbols);
+
+    /**
+     * Same as {@link #onLevel2Data(KucoinAPICallback, String...)}, with prices and sizes decoded into scaled longs
+     * at the increments of each symbol. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbols
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledLevel2Data(KucoinAPICallback<KucoinEvent<ScaledLevel2ChangeEvent>> callback,
+                              SymbolResponse... symbols);
+
+    /**
+     * Same as {@link #onMatchExecutionData(KucoinAPICallback, String...)}, with price and size decoded into
+     * scaled longs at the increments of each symbol. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbols
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledMatchExecutionData(KucoinAPICallback<KucoinEvent<ScaledMatchEvent>> callback,
+                                      SymbolResponse... symbols);
+
+    /**
+     * Same as {@link #onLevel3Data_V2(KucoinAPICallback, String...)}, with prices and sizes decoded into scaled longs
+     * at the increments of each symbol. The event instance is reused and only valid during the callback.
+     *
+     * @param callback
+     * @param symbols
+     * @return The subscription UUID, or null if sending failed.
+     */
+    String onScaledLevel3Data_V2(KucoinAPICallback<KucoinEvent<ScaledLevel3Event>> callback,
+                                 SymbolResponse... symbols);
+
     /**
      * Subsribe this topic to fully get the updata data for orders and trades.
      * The full channel provides real-time updates on orders and trades.
@@ -115,6 +163,13 @@ public interface KucoinPublicWSClient {
      */
     void close() throws IOException;
 
+    /**
+     * The connection reconnects by itself and replays its subscriptions; the metrics tell how it is doing.
+     *
+     * @return The metrics of the connection.
+     */
+    WebsocketMetrics getMetrics();
+
     /**
      * Subscribe to get snapshot data for a single symbol or a market
      *
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.clock;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One estimate of the server clock: server time minus local time, and how far off that can be.
+ */
+@Getter
+@ToString
+public class ClockOffset {
+
+    /**
+     * No estimate yet: local time is used as is, with an unknown error.
+     */
+    public static final ClockOffset NONE = new ClockOffset(0, Long.MAX_VALUE, Long.MAX_VALUE, 0);
+
+    private final long offsetMillis;
+
+    // half the round trip plus the millisecond resolution of the server time, when sampled
+    private final long errorMillis;
+
+    private final long rttMillis;
+
+    // local time of the sample
+    private final long sampledAt;
+
+    public ClockOffset(long offsetMillis, long errorMillis, long rttMillis, long sampledAt) {
+        this.offsetMillis = offsetMillis;
+        this.errorMillis = errorMillis;
+        this.rttMillis = rttMillis;
+        this.sampledAt = sampledAt;
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.clock;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.kucoin.sdk.rest.interfaces.TimeAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Estimates the offset of the server clock from {@link TimeAPI#getServerTimeStamp()}, the way NTP does.
+ * <p>
+ * Each sample assumes the server read its clock halfway through the round trip, so its error is at most
+ * half the round trip. The estimate is the sample with the shortest round trip among the last
+ * {@link #WINDOW} ones, as a slow round trip is usually an asymmetric one. Its error bound grows with its
+ * age by the drift a quartz clock may have, 15 ppm.
+ * <p>
+ * Reads are a volatile read and cost no lock. Background syncs of every clock run on one shared daemon thread.
+ */
+public class ServerClock implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerClock.class);
+
+    public static final int WINDOW = 8;
+
+    public static final int SAMPLES_PER_SYNC = 4;
+
+    static final double DRIFT = 15e-6;
+
+    private static final ScheduledExecutorService SYNCS = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("SPOT-CLOCK-SYNC-%d").setDaemon(true).build());
+
+    private final TimeAPI timeAPI;
+
+    private final LongSupplier wallClock;
+
+    private final LongSupplier nanoClock;
+
+    private final ClockOffset[] samples = new ClockOffset[WINDOW];
+
+    private int nextSample;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile ClockOffset offset = ClockOffset.NONE;
+
+    private ScheduledFuture<?> syncTask;
+
+    public ServerClock(TimeAPI timeAPI) {
+        this(timeAPI, System::currentTimeMillis, System::nanoTime);
+    }
+
+    ServerClock(TimeAPI timeAPI, LongSupplier wallClock, LongSupplier nanoClock) {
+        this.timeAPI = timeAPI;
+        this.wallClock = wallClock;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return The current estimate, {@link ClockOffset#NONE} before the first sample.
+     */
+    public ClockOffset getOffset() {
+        return offset;
+    }
+
+    public long getOffsetMillis() {
+        return offset.getOffsetMillis();
+    }
+
+    /**
+     * @return How far the server time returned now may be off, {@link Long#MAX_VALUE} before the first sample.
+     */
+    public long getErrorMillis() {
+        ClockOffset current = offset;
+        if (current == ClockOffset.NONE) {
+            return Long.MAX_VALUE;
+        }
+        long age = Math.max(0, wallClock.getAsLong() - current.getSampledAt());
+        return current.getErrorMillis() + (long) Math.ceil(age * DRIFT);
+    }
+
+    /**
+     * @return The server time now, in milliseconds.
+     */
+    public long currentTimeMillis() {
+        return wallClock.getAsLong() + offset.getOffsetMillis();
+    }
+
+    /**
+     * @param localMillis a local time, e.g. when an event was received
+     * @return The server time at that moment.
+     */
+    public long toServerTime(long localMillis) {
+        return localMillis + offset.getOffsetMillis();
+    }
+
+    /**
+     * @param serverMillis a server time, e.g. the {@code ts} of an event
+     * @return The local time at that moment.
+     */
+    public long toLocalTime(long serverMillis) {
+        return serverMillis - offset.getOffsetMillis();
+    }
+
+    /**
+     * Take one sample and update the estimate.
+     *
+     * @return The sample.
+     */
+    public ClockOffset sample() throws IOException {
+        long sentAt = wallClock.getAsLong();
+        long sentNanos = nanoClock.getAsLong();
+        Long serverTime = timeAPI.getServerTimeStamp();
+        long rttNanos = nanoClock.getAsLong() - sentNanos;
+        if (serverTime == null) {
+            throw new IOException("No server time returned");
+        }
+        long rttMillis = TimeUnit.NANOSECONDS.toMillis(rttNanos);
+        long midpoint = sentAt + TimeUnit.NANOSECONDS.toMillis(rttNanos / 2);
+        // the server time is truncated to the millisecond
+        ClockOffset sample = new ClockOffset(serverTime - midpoint, (rttMillis + 1) / 2 + 1, rttMillis, midpoint);
+        add(sample);
+        return sample;
+    }
+
+    /**
+     * Take {@link #SAMPLES_PER_SYNC} samples back to back.
+     *
+     * @return The new estimate.
+     */
+    public ClockOffset sync() throws IOException {
+        for (int i = 0; i < SAMPLES_PER_SYNC; i++) {
+            sample();
+        }
+        return offset;
+    }
+
+    private void add(ClockOffset sample) {
+        lock.lock();
+        try {
+            samples[nextSample] = sample;
+            nextSample = (nextSample + 1) % WINDOW;
+            ClockOffset best = null;
+            for (ClockOffset candidate : samples) {
+                if (candidate != null && (best == null || candidate.getRttMillis() < best.getRttMillis()
+                        || (candidate.getRttMillis() == best.getRttMillis()
+                        && candidate.getSampledAt() > best.getSampledAt()))) {
+                    best = candidate;
+                }
+            }
+            offset = best;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sync now and then every period in the background. Failures are logged and keep the last estimate.
+     */
+    public void start(long period, TimeUnit unit) {
+        lock.lock();
+        try {
+            if (syncTask != null) {
+                syncTask.cancel(false);
+            }
+            syncTask = SYNCS.scheduleWithFixedDelay(this::syncQuietly, 0, period, unit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            ClockOffset current = sync();
+            LOGGER.debug("Server clock offset {}ms, error {}ms", current.getOffsetMillis(), current.getErrorMillis());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Server clock sync failed, keeping offset {}ms", offset.getOffsetMillis(), e);
+        }
+    }
+
+    /**
+     * Stop the background sync. The last estimate stays in use.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (syncTask != null) {
+                syncTask.cancel(false);
+                syncTask = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
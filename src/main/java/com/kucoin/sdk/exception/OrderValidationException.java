@@ -0,0 +1,27 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.exception;
+
+/**
+ * Thrown by the local order validation when an order would be rejected by the exchange, before it is sent.
+ * It extends {@link KucoinApiException} so that the handlers of exchange side rejections catch it too.
+ */
+public class OrderValidationException extends KucoinApiException {
+
+    private static final long serialVersionUID = 4262358001469839402L;
+
+    private final String field;
+
+    public OrderValidationException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    /**
+     * @return The order field at fault, e.g. {@code price}.
+     */
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the client side rate limiter when a request cannot be sent within its budget. It is an
+ * {@link IOException} so that it reaches callers of both blocking and asynchronous calls.
+ */
+public class RateLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = -2519440386375040853L;
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.rest.ratelimit.RateLimitConfig;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of an {@link HttpTransport}, shared by the REST adapters and websocket clients using it.
+ */
+@Getter
+@ToString
+public class HttpClientConfig {
+
+    /**
+     * Dispatcher limits applied by {@link #withVirtualThreads(boolean)}.
+     */
+    public static final int VIRTUAL_THREADS_MAX_REQUESTS = 4096;
+
+    private int maxIdleConnections = 16;
+
+    private long keepAliveMillis = 5 * 60 * 1000;
+
+    private int maxRequests = 100;
+
+    private int maxRequestsPerHost = 100;
+
+    private long connectTimeoutMillis = 10_000;
+
+    private long readTimeoutMillis = 10_000;
+
+    private long writeTimeoutMillis = 10_000;
+
+    private boolean http2 = true;
+
+    private boolean virtualThreads;
+
+    private RateLimitConfig rateLimitConfig;
+
+    private int orderLaneConnections;
+
+    private int orderLaneMaxRequests = 64;
+
+    /**
+     * @param maxIdleConnections idle connections kept in the pool
+     * @param keepAliveMillis    time an idle connection is kept
+     */
+    public HttpClientConfig withConnectionPool(int maxIdleConnections, long keepAliveMillis) {
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAliveMillis = keepAliveMillis;
+        return this;
+    }
+
+    /**
+     * @param maxRequests        requests in flight at once
+     * @param maxRequestsPerHost requests in flight at once to one host
+     */
+    public HttpClientConfig withMaxRequests(int maxRequests, int maxRequestsPerHost) {
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    public HttpClientConfig withTimeouts(long connectTimeoutMillis, long readTimeoutMillis, long writeTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @param http2 false to only speak HTTP/1.1, one request per connection at a time
+     */
+    public HttpClientConfig withHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * Run the asynchronous calls of the dispatcher on virtual threads, one per call, and raise the dispatcher
+     * limits to {@link #VIRTUAL_THREADS_MAX_REQUESTS} so that thousands of calls can be in flight. Limits set
+     * afterwards with {@link #withMaxRequests(int, int)} win. Requires Java 21.
+     */
+    public HttpClientConfig withVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        if (virtualThreads) {
+            this.maxRequests = Math.max(maxRequests, VIRTUAL_THREADS_MAX_REQUESTS);
+            this.maxRequestsPerHost = Math.max(maxRequestsPerHost, VIRTUAL_THREADS_MAX_REQUESTS);
+        }
+        return this;
+    }
+
+    /**
+     * @param rateLimitConfig weight budgets to enforce before sending requests, null to send them unchecked
+     */
+    public HttpClientConfig withRateLimit(RateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+        return this;
+    }
+
+    /**
+     * Send order placements and cancellations over their own dispatcher and connection pool, so that they
+     * never queue behind bulk queries or share a connection with large responses.
+     *
+     * @param orderLaneConnections idle connections kept for orders, 0 to send orders with everything else
+     * @param orderLaneMaxRequests asynchronous order requests in flight at once
+     */
+    public HttpClientConfig withOrderLane(int orderLaneConnections, int orderLaneMaxRequests) {
+        this.orderLaneConnections = orderLaneConnections;
+        this.orderLaneMaxRequests = orderLaneMaxRequests;
+        return this;
+    }
+}
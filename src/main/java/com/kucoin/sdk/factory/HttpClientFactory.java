@@ -3,34 +3,100 @@
  */
 package com.kucoin.sdk.factory;
 
-import com.kucoin.sdk.rest.interceptor.AuthenticationInterceptor;
-import okhttp3.Dispatcher;
-import okhttp3.Interceptor;
+import com.kucoin.sdk.clock.ServerClock;
+import com.kucoin.sdk.rest.ratelimit.RateLimiter;
 import okhttp3.OkHttpClient;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Created by chenshiwei on 2019/1/18.
+ * <p>
+ * Hands out the clients of the default {@link HttpTransport}, used by adapters that were not given a transport
+ * of their own.
+ * <p>
+ * Locks are {@link ReentrantLock}s rather than monitors, so virtual threads creating clients do not pin their
+ * carrier thread.
  */
 public class HttpClientFactory {
 
+    private static volatile HttpTransport defaultTransport;
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    public static HttpTransport getDefaultTransport() {
+        HttpTransport transport = defaultTransport;
+        if (transport == null) {
+            LOCK.lock();
+            try {
+                if (defaultTransport == null) {
+                    defaultTransport = new HttpTransport(new HttpClientConfig());
+                }
+                transport = defaultTransport;
+            } finally {
+                LOCK.unlock();
+            }
+        }
+        return transport;
+    }
+
     public static OkHttpClient getPublicClient() {
-        return buildHttpClient(null);
+        return getDefaultTransport().getPublicClient();
     }
 
     public static OkHttpClient getAuthClient(String apiKey, String secret, String passPhrase, Integer apiKeyVersion) {
-        return buildHttpClient(new AuthenticationInterceptor(apiKey, secret, passPhrase, apiKeyVersion));
+        return getAuthClient(apiKey, secret, passPhrase, apiKeyVersion, null);
     }
 
-    private static OkHttpClient buildHttpClient(Interceptor interceptor) {
-        Dispatcher dispatcher = new Dispatcher();
-        dispatcher.setMaxRequestsPerHost(100);
-        dispatcher.setMaxRequests(100);
-        OkHttpClient.Builder builder = new OkHttpClient.Builder()
-                .dispatcher(dispatcher);
-        if (interceptor != null) {
-            builder.addInterceptor(interceptor);
+    /**
+     * @param serverClock clock stamping the requests of the client, null to stamp local time
+     */
+    public static OkHttpClient getAuthClient(String apiKey, String secret, String passPhrase, Integer apiKeyVersion,
+                                             ServerClock serverClock) {
+        return getDefaultTransport().getAuthClient(apiKey, secret, passPhrase, apiKeyVersion, serverClock);
+    }
+
+    /**
+     * @param apiKey key of the account, null for public requests
+     * @return The rate limiter charged by the requests of the account, or null without rate limit.
+     */
+    public static RateLimiter getRateLimiter(String apiKey) {
+        return getDefaultTransport().getRateLimiter(apiKey);
+    }
+
+    /**
+     * @param client a client of the default transport
+     * @return The twin of the client sending over the order lane, or null if no order lane is configured.
+     */
+    public static OkHttpClient getOrderLaneClient(OkHttpClient client) {
+        return getDefaultTransport().getOrderLaneClient(client);
+    }
+
+    /**
+     * Replace the default transport for clients created from now on. Clients already created keep theirs, and
+     * the caches of the old transport go with it. Configuring the same instance again does nothing.
+     *
+     * @param config
+     */
+    public static void configure(HttpClientConfig config) {
+        LOCK.lock();
+        try {
+            HttpTransport transport = defaultTransport;
+            if (transport != null && transport.getConfig() == config) {
+                return;
+            }
+            defaultTransport = new HttpTransport(config);
+        } finally {
+            LOCK.unlock();
         }
-        return builder.build();
     }
 
+    /**
+     * Open a pooled connection of the default transport to the host, see {@link HttpTransport#warmUp(String)}.
+     *
+     * @param baseUrl
+     */
+    public static void warmUp(String baseUrl) {
+        getDefaultTransport().warmUp(baseUrl);
+    }
 }
@@ -0,0 +1,292 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.clock.ServerClock;
+import com.kucoin.sdk.rest.interceptor.AuthenticationInterceptor;
+import com.kucoin.sdk.rest.interceptor.RateLimitInterceptor;
+import com.kucoin.sdk.rest.ratelimit.RateLimitConfig;
+import com.kucoin.sdk.rest.ratelimit.RateLimitPool;
+import com.kucoin.sdk.rest.ratelimit.RateLimiter;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The HTTP clients built from one {@link HttpClientConfig}.
+ * <p>
+ * Every client of a transport shares one connection pool and one dispatcher, so all adapters using it reuse the
+ * same TLS connections, multiplexed over HTTP/2 when the server supports it. Authenticated clients only add
+ * their signing interceptor. They are cached per api key: asking for a key with other credentials or another
+ * server clock replaces its client, and drops the retrofits and twins built on the old one. Adapters
+ * already holding the old client keep it.
+ * <p>
+ * With a rate limit configured, the public client charges every request against the buckets of the transport
+ * and each account gets its own buckets, sharing only the per IP public pool.
+ * <p>
+ * With an order lane configured, each client has a twin with the same interceptors but a dispatcher and
+ * connection pool of its own, which {@link LaneCallFactory} uses for order placement and cancellation.
+ * <p>
+ * Each {@link com.kucoin.sdk.KucoinClientBuilder} with an {@link HttpClientConfig} owns a transport, pass one to
+ * {@link com.kucoin.sdk.KucoinClientBuilder#withHttpTransport} to share it across builders.
+ */
+public class HttpTransport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpTransport.class);
+
+    private final HttpClientConfig config;
+
+    private final OkHttpClient publicClient;
+
+    // rate limiter of the public client, null without rate limit
+    private final RateLimiter rateLimiter;
+
+    // carries the dispatcher and connection pool of the order lane, null without order lane
+    private final OkHttpClient orderLane;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    final Map<String, AuthClient> authClients = new ConcurrentHashMap<>();
+
+    private final Map<String, RateLimiter> accountRateLimiters = new ConcurrentHashMap<>();
+
+    final Map<OkHttpClient, OkHttpClient> orderLaneClients = new ConcurrentHashMap<>();
+
+    final Map<OkHttpClient, OkHttpClient> hedgeClients = new ConcurrentHashMap<>();
+
+    final Map<List<Object>, Retrofit> retrofits = new ConcurrentHashMap<>();
+
+    public HttpTransport(HttpClientConfig config) {
+        this.config = config;
+        RateLimitConfig rateLimitConfig = config.getRateLimitConfig();
+        this.rateLimiter = rateLimitConfig == null ? null
+                : new RateLimiter(rateLimitConfig, RateLimiter.newBucket(rateLimitConfig, RateLimitPool.PUBLIC));
+        this.publicClient = buildHttpClient(config, rateLimiter);
+        this.orderLane = config.getOrderLaneConnections() > 0 ? buildOrderLane(publicClient, config) : null;
+    }
+
+    public HttpClientConfig getConfig() {
+        return config;
+    }
+
+    public OkHttpClient getPublicClient() {
+        return publicClient;
+    }
+
+    /**
+     * @param serverClock clock stamping the requests of the client, null to stamp local time
+     */
+    public OkHttpClient getAuthClient(String apiKey, String secret, String passPhrase, Integer apiKeyVersion,
+                                      ServerClock serverClock) {
+        String account = String.valueOf(apiKey);
+        List<Object> identity = Arrays.asList(secret, passPhrase, apiKeyVersion, serverClock);
+        AuthClient cached = authClients.get(account);
+        if (cached != null && cached.identity.equals(identity)) {
+            return cached.client;
+        }
+        lock.lock();
+        try {
+            cached = authClients.get(account);
+            if (cached != null && cached.identity.equals(identity)) {
+                return cached.client;
+            }
+            OkHttpClient.Builder builder = publicClient.newBuilder();
+            if (rateLimiter != null) {
+                RateLimiter accountLimiter = accountRateLimiters.computeIfAbsent(account, k ->
+                        new RateLimiter(rateLimiter.getConfig(), rateLimiter.getBucket(RateLimitPool.PUBLIC)));
+                builder.interceptors().clear();
+                builder.addInterceptor(new RateLimitInterceptor(accountLimiter));
+            }
+            AuthenticationInterceptor authentication = new AuthenticationInterceptor(apiKey, secret, passPhrase, apiKeyVersion);
+            authentication.setServerClock(serverClock);
+            OkHttpClient client = builder.addInterceptor(authentication).build();
+            authClients.put(account, new AuthClient(identity, client));
+            if (cached != null) {
+                evict(cached.client);
+            }
+            return client;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param apiKey key of the account, null for public requests
+     * @return The rate limiter charged by the requests of the account, or null without rate limit.
+     */
+    public RateLimiter getRateLimiter(String apiKey) {
+        RateLimiter limiter = apiKey == null ? null : accountRateLimiters.get(apiKey);
+        return limiter != null ? limiter : rateLimiter;
+    }
+
+    /**
+     * @param client a client of this transport
+     * @return The twin of the client sending over the order lane, or null if no order lane is configured.
+     */
+    public OkHttpClient getOrderLaneClient(OkHttpClient client) {
+        if (orderLane == null) {
+            return null;
+        }
+        return orderLaneClients.computeIfAbsent(client, c -> c.newBuilder()
+                .dispatcher(orderLane.dispatcher())
+                .connectionPool(orderLane.connectionPool())
+                .build());
+    }
+
+    /**
+     * @param client a client of this transport
+     * @return The twin of the client speaking only HTTP/1.1, or the client itself if it does not speak HTTP/2.
+     * A hedged copy sent on it takes another pooled connection rather than being multiplexed behind the slow
+     * call on the same HTTP/2 connection.
+     */
+    public OkHttpClient getHedgeClient(OkHttpClient client) {
+        if (!client.protocols().contains(Protocol.HTTP_2)) {
+            return client;
+        }
+        return hedgeClients.computeIfAbsent(client, c -> c.newBuilder()
+                .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+                .build());
+    }
+
+    /**
+     * @param client a client of this transport
+     * @return The retrofit sending the hedged copies of the calls of the client, see {@link #getHedgeClient}.
+     */
+    public Retrofit getHedgeRetrofit(String baseUrl, OkHttpClient client) {
+        OkHttpClient hedgeClient = getHedgeClient(client);
+        if (hedgeClient == client) {
+            return getRetrofit(baseUrl, client);
+        }
+        return retrofits.computeIfAbsent(Arrays.asList(baseUrl, hedgeClient),
+                key -> RetrofitFactory.buildRetrofit(baseUrl, hedgeClient, null));
+    }
+
+    public Retrofit getPublicRetrofit(String baseUrl) {
+        return getRetrofit(baseUrl, publicClient);
+    }
+
+    /**
+     * @param serverClock clock stamping the requests, null to stamp local time
+     */
+    public Retrofit getAuthRetrofit(String baseUrl, String apiKey, String secret, String passPhrase,
+                                    Integer apiKeyVersion, ServerClock serverClock) {
+        return getRetrofit(baseUrl, getAuthClient(apiKey, secret, passPhrase, apiKeyVersion, serverClock));
+    }
+
+    private Retrofit getRetrofit(String baseUrl, OkHttpClient client) {
+        return retrofits.computeIfAbsent(Arrays.asList(baseUrl, client),
+                key -> RetrofitFactory.buildRetrofit(baseUrl, client, getOrderLaneClient(client)));
+    }
+
+    private void evict(OkHttpClient client) {
+        orderLaneClients.remove(client);
+        OkHttpClient hedgeClient = hedgeClients.remove(client);
+        retrofits.keySet().removeIf(key -> key.get(1) == client || key.get(1) == hedgeClient);
+    }
+
+    /**
+     * Open a pooled connection to the host in the background, so that the first real request does not pay for
+     * the TCP and TLS handshakes. Failures are only logged.
+     *
+     * @param baseUrl
+     */
+    public void warmUp(String baseUrl) {
+        warmUp(publicClient, baseUrl);
+        OkHttpClient lane = getOrderLaneClient(publicClient);
+        if (lane != null) {
+            warmUp(lane, baseUrl);
+        }
+    }
+
+    private static void warmUp(OkHttpClient client, String baseUrl) {
+        Request request = new Request.Builder().url(baseUrl + "api/v1/timestamp").build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                LOGGER.debug("Connection warm-up to {} failed", baseUrl, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+    }
+
+    private static OkHttpClient buildHttpClient(HttpClientConfig config, RateLimiter rateLimiter) {
+        Dispatcher dispatcher = config.isVirtualThreads() ? new Dispatcher(newVirtualThreadExecutor()) : new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        if (rateLimiter != null) {
+            builder.addInterceptor(new RateLimitInterceptor(rateLimiter));
+        }
+        return builder
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveMillis(),
+                        TimeUnit.MILLISECONDS))
+                .protocols(config.isHttp2() ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1))
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static OkHttpClient buildOrderLane(OkHttpClient client, HttpClientConfig config) {
+        Dispatcher dispatcher = config.isVirtualThreads() ? new Dispatcher(newVirtualThreadExecutor()) : new Dispatcher();
+        dispatcher.setMaxRequests(config.getOrderLaneMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getOrderLaneMaxRequests());
+        return client.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(config.getOrderLaneConnections(), config.getKeepAliveMillis(),
+                        TimeUnit.MILLISECONDS))
+                .build();
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively as the SDK targets Java 8.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21", e);
+        }
+    }
+
+    /**
+     * Cached client of an api key, with the credentials and clock it was built for.
+     */
+    static final class AuthClient {
+
+        final List<Object> identity;
+
+        final OkHttpClient client;
+
+        AuthClient(List<Object> identity, OkHttpClient client) {
+            this.identity = identity;
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.rest.ratelimit.EndpointWeights;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Sends order placements and cancellations over the order lane and every other request over the shared
+ * client. Order endpoints are the ones {@link EndpointWeights} marks as order path.
+ */
+public class LaneCallFactory implements Call.Factory {
+
+    private final OkHttpClient client;
+
+    private final OkHttpClient orderLane;
+
+    private final EndpointWeights weights;
+
+    public LaneCallFactory(OkHttpClient client, OkHttpClient orderLane, EndpointWeights weights) {
+        this.client = client;
+        this.orderLane = orderLane;
+        this.weights = weights;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return laneOf(request).newCall(request);
+    }
+
+    OkHttpClient laneOf(Request request) {
+        if (!"GET".equals(request.method())
+                && weights.lookup(request.method(), request.url().encodedPath()).isOrderPath()) {
+            return orderLane;
+        }
+        return client;
+    }
+}
@@ -4,34 +4,58 @@
 package com.kucoin.sdk.factory;
 
 import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.clock.ServerClock;
+import com.kucoin.sdk.rest.codec.OrderBodyConverterFactory;
+import com.kucoin.sdk.rest.ratelimit.EndpointWeights;
+import okhttp3.OkHttpClient;
 import retrofit2.Converter;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
 /**
  * Created by chenshiwei on 2019/1/10.
+ * <p>
+ * Retrofit instances are cached by their {@link HttpTransport} per base url and HTTP client, so adapters of the
+ * same account share them. With an order lane configured, their calls go through a {@link LaneCallFactory}.
  */
 public class RetrofitFactory {
 
+    private static final Converter.Factory ORDER_BODY_CONVERTER_FACTORY = new OrderBodyConverterFactory();
+
     private static final Converter.Factory CONVERTER_FACTORY = JacksonConverterFactory.create(KucoinObjectMapper.INSTANCE);
 
-    public static Retrofit getPublicRetorfit(String baseUrl) {
-
-        return new Retrofit.Builder()
-                .baseUrl(baseUrl)
-                .addConverterFactory(CONVERTER_FACTORY)
-                .client(HttpClientFactory.getPublicClient())
-                .build();
+    private static final EndpointWeights ORDER_ENDPOINTS = EndpointWeights.defaults();
 
+    public static Retrofit getPublicRetorfit(String baseUrl) {
+        return HttpClientFactory.getDefaultTransport().getPublicRetrofit(baseUrl);
     }
 
     public static Retrofit getAuthRetorfit(String baseUrl, String apiKey, String secret, String passPhrase, Integer apiKeyVersion) {
+        return getAuthRetorfit(baseUrl, apiKey, secret, passPhrase, apiKeyVersion, null);
+    }
 
-        return new Retrofit.Builder()
-                .baseUrl(baseUrl)
-                .addConverterFactory(CONVERTER_FACTORY)
-                .client(HttpClientFactory.getAuthClient(apiKey, secret, passPhrase, apiKeyVersion))
-                .build();
+    /**
+     * @param serverClock clock stamping the requests, null to stamp local time
+     */
+    public static Retrofit getAuthRetorfit(String baseUrl, String apiKey, String secret, String passPhrase,
+                                           Integer apiKeyVersion, ServerClock serverClock) {
+        return HttpClientFactory.getDefaultTransport()
+                .getAuthRetrofit(baseUrl, apiKey, secret, passPhrase, apiKeyVersion, serverClock);
+    }
 
+    /**
+     * @param orderLane twin of the client for order placement and cancellation, null without order lane
+     */
+    static Retrofit buildRetrofit(String baseUrl, OkHttpClient client, OkHttpClient orderLane) {
+        Retrofit.Builder builder = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .addConverterFactory(ORDER_BODY_CONVERTER_FACTORY)
+                .addConverterFactory(CONVERTER_FACTORY);
+        if (orderLane == null) {
+            builder.client(client);
+        } else {
+            builder.callFactory(new LaneCallFactory(client, orderLane, ORDER_ENDPOINTS));
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.impl;
+
+import com.kucoin.sdk.KucoinAsyncRestClient;
+import com.kucoin.sdk.KucoinClientBuilder;
+import com.kucoin.sdk.rest.interfaces.AsyncOrderAPI;
+import com.kucoin.sdk.rest.interfaces.AsyncOrderBookAPI;
+import com.kucoin.sdk.rest.interfaces.AsyncSymbolAPI;
+
+public class KucoinAsyncRestClientImpl implements KucoinAsyncRestClient {
+
+    private final AsyncOrderAPI orderAPI;
+
+    private final AsyncSymbolAPI symbolAPI;
+
+    private final AsyncOrderBookAPI orderBookAPI;
+
+    public KucoinAsyncRestClientImpl(KucoinClientBuilder kucoinBuilder) {
+        this.orderAPI = kucoinBuilder.getAsyncOrderAPI();
+        this.symbolAPI = kucoinBuilder.getAsyncSymbolAPI();
+        this.orderBookAPI = kucoinBuilder.getAsyncOrderBookAPI();
+    }
+
+    @Override
+    public AsyncOrderAPI orderAPI() {
+        return orderAPI;
+    }
+
+    @Override
+    public AsyncSymbolAPI symbolAPI() {
+        return symbolAPI;
+    }
+
+    @Override
+    public AsyncOrderBookAPI orderBookAPI() {
+        return orderBookAPI;
+    }
+}
@@ -7,13 +7,14 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.kucoin.sdk.KucoinClientBuilder;
 import com.kucoin.sdk.KucoinPrivateWSClient;
 import com.kucoin.sdk.constants.APIConstants;
-import com.kucoin.sdk.factory.HttpClientFactory;
 import com.kucoin.sdk.model.enums.PrivateChannelEnum;
 import com.kucoin.sdk.rest.adapter.WebsocketPrivateAPIAdaptor;
 import com.kucoin.sdk.rest.interfaces.WebsocketPrivateAPI;
 import com.kucoin.sdk.rest.response.WebsocketTokenResponse;
+import com.kucoin.sdk.util.SymbolScales;
 import com.kucoin.sdk.websocket.ChooseServerStrategy;
 import com.kucoin.sdk.websocket.KucoinAPICallback;
+import com.kucoin.sdk.websocket.codec.ScaledOrderChangeReader;
 import com.kucoin.sdk.websocket.event.*;
 import com.kucoin.sdk.websocket.impl.BaseWebsocketImpl;
 import com.kucoin.sdk.websocket.listener.KucoinPrivateWebsocketListener;
@@ -21,6 +22,8 @@ import okhttp3.OkHttpClient;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,14 +36,23 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
 
     public KucoinPrivateWSClientImpl(KucoinClientBuilder kucoinClientBuilder) {
         this(
-                HttpClientFactory.getPublicClient(),
+                kucoinClientBuilder.getHttpTransport().getPublicClient(),
                 new KucoinPrivateWebsocketListener(),
                 kucoinClientBuilder.getChooseServerStrategy(),
-                new WebsocketPrivateAPIAdaptor(kucoinClientBuilder.getBaseUrl(),
-                        kucoinClientBuilder.getApiKey(),
-                        kucoinClientBuilder.getSecret(),
-                        kucoinClientBuilder.getPassPhrase(),
-                        kucoinClientBuilder.getApiKeyVersion()));
+                tokenAPI(kucoinClientBuilder));
+        setReconnectBackoff(kucoinClientBuilder.getReconnectInitialBackoffMillis(),
+                kucoinClientBuilder.getReconnectMaxBackoffMillis());
+    }
+
+    private static WebsocketPrivateAPI tokenAPI(KucoinClientBuilder kucoinClientBuilder) {
+        WebsocketPrivateAPIAdaptor adaptor = new WebsocketPrivateAPIAdaptor(kucoinClientBuilder.getBaseUrl(),
+                kucoinClientBuilder.getApiKey(),
+                kucoinClientBuilder.getSecret(),
+                kucoinClientBuilder.getPassPhrase(),
+                kucoinClientBuilder.getApiKeyVersion());
+        adaptor.setTransport(kucoinClientBuilder.getHttpTransport());
+        adaptor.setServerClock(kucoinClientBuilder.getServerClock());
+        return adaptor;
     }
 
     private KucoinPrivateWSClientImpl(OkHttpClient client,
@@ -61,10 +73,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Deprecated
     public String onOrderActivate(KucoinAPICallback<KucoinEvent<OrderActivateEvent>> callback, String... symbols) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_ACTIVATE_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_ACTIVATE_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<OrderActivateEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_ACTIVATE_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<OrderActivateEvent>>() {});
         }
         String topic = APIConstants.API_ACTIVATE_TOPIC_PREFIX + String.join(",", symbols);
         return subscribe(topic, true, true);
@@ -73,10 +83,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onAccountBalance(KucoinAPICallback<KucoinEvent<AccountChangeEvent>> callback) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_BALANCE_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_BALANCE_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<AccountChangeEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_BALANCE_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<AccountChangeEvent>>() {});
         }
         return subscribe(APIConstants.API_BALANCE_TOPIC_PREFIX, true, true);
     }
@@ -84,10 +92,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onOrderChange(KucoinAPICallback<KucoinEvent<OrderChangeEvent>> callback) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_ORDER_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_ORDER_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<OrderChangeEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_ORDER_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<OrderChangeEvent>>() {});
         }
         return subscribe(APIConstants.API_ORDER_TOPIC_PREFIX, true, true);
     }
@@ -95,10 +101,28 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onOrderV2Change(KucoinAPICallback<KucoinEvent<OrderChangeEvent>> callback) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_ORDER_V2_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_ORDER_V2_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<OrderChangeEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_ORDER_V2_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<OrderChangeEvent>>() {});
+        }
+        return subscribe(APIConstants.API_ORDER_V2_TOPIC_PREFIX, true, true);
+    }
+
+    @Override
+    public String onScaledOrderChange(KucoinAPICallback<KucoinEvent<ScaledOrderChangeEvent>> callback,
+                                      Function<String, SymbolScales> symbolScales) {
+        if (callback != null) {
+            this.listener.putPrefixCallback(APIConstants.API_ORDER_TOPIC_PREFIX, callback,
+                    new ScaledOrderChangeReader(symbolScales));
+        }
+        return subscribe(APIConstants.API_ORDER_TOPIC_PREFIX, true, true);
+    }
+
+    @Override
+    public String onScaledOrderV2Change(KucoinAPICallback<KucoinEvent<ScaledOrderChangeEvent>> callback,
+                                        Function<String, SymbolScales> symbolScales) {
+        if (callback != null) {
+            this.listener.putPrefixCallback(APIConstants.API_ORDER_V2_TOPIC_PREFIX, callback,
+                    new ScaledOrderChangeReader(symbolScales));
         }
         return subscribe(APIConstants.API_ORDER_V2_TOPIC_PREFIX, true, true);
     }
@@ -106,10 +130,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onMarginPosition(KucoinAPICallback<KucoinEvent<MarginPositionEvent>> callback) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_MARGIN_POSITION_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_MARGIN_POSITION_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<MarginPositionEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_MARGIN_POSITION_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<MarginPositionEvent>>() {});
         }
         return subscribe(APIConstants.API_MARGIN_POSITION_TOPIC_PREFIX, true, true);
     }
@@ -117,10 +139,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onMarginLoan(KucoinAPICallback<KucoinEvent<MarginLoanEvent>> callback, String symbol) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_MARGIN_LOAN_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_MARGIN_LOAN_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<MarginLoanEvent>>() {
-                    });
+            this.listener.putTopicCallbacks(Collections.singletonList(APIConstants.API_MARGIN_LOAN_TOPIC_PREFIX + symbol),
+                    callback, new TypeReference<KucoinEvent<MarginLoanEvent>>() {});
         }
         return subscribe(APIConstants.API_MARGIN_LOAN_TOPIC_PREFIX + symbol, true, true);
     }
@@ -128,10 +148,8 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
     @Override
     public String onAdvancedOrder(KucoinAPICallback<KucoinEvent<? extends AdvancedOrderEvent>> callback, String... symbols) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_ADVANCED_ORDER_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_ADVANCED_ORDER_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<? extends AdvancedOrderEvent>>() {
-                    });
+            this.listener.putPrefixCallback(APIConstants.API_ADVANCED_ORDER_TOPIC_PREFIX, callback,
+                    new TypeReference<KucoinEvent<? extends AdvancedOrderEvent>>() {});
         }
         return subscribe(APIConstants.API_ADVANCED_ORDER_TOPIC_PREFIX, true, true);
     }
@@ -143,6 +161,13 @@ public class KucoinPrivateWSClientImpl extends BaseWebsocketImpl implements Kuco
 
     @Override
     public String unsubscribe(PrivateChannelEnum channelEnum, String... symbols) {
+        if (symbols.length == 0) {
+            this.listener.removePrefixCallback(channelEnum.getTopicPrefix());
+        } else {
+            this.listener.removeTopicCallbacks(Arrays.stream(symbols)
+                    .map(symbol -> channelEnum.getTopicPrefix() + symbol)
+                    .collect(Collectors.toList()));
+        }
         return super.unsubscribe(channelEnum.getTopicPrefix() + Arrays.stream(symbols).collect(Collectors.joining(",")),
                 true, true);
     }
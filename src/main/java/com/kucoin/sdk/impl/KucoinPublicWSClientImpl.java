@@ -7,19 +7,29 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.kucoin.sdk.KucoinClientBuilder;
 import com.kucoin.sdk.KucoinPublicWSClient;
 import com.kucoin.sdk.constants.APIConstants;
-import com.kucoin.sdk.factory.HttpClientFactory;
 import com.kucoin.sdk.model.enums.PublicChannelEnum;
 import com.kucoin.sdk.rest.adapter.WebsocketPublicAPIAdaptor;
 import com.kucoin.sdk.rest.interfaces.WebsocketPublicAPI;
+import com.kucoin.sdk.rest.response.SymbolResponse;
 import com.kucoin.sdk.rest.response.WebsocketTokenResponse;
 import com.kucoin.sdk.websocket.ChooseServerStrategy;
+import com.kucoin.sdk.util.SymbolScales;
 import com.kucoin.sdk.websocket.KucoinAPICallback;
+import com.kucoin.sdk.websocket.codec.EventDataReader;
+import com.kucoin.sdk.websocket.codec.ScaledLevel2Reader;
+import com.kucoin.sdk.websocket.codec.ScaledLevel3Reader;
+import com.kucoin.sdk.websocket.codec.ScaledMatchReader;
+import com.kucoin.sdk.websocket.codec.ScaledTickerReader;
 import com.kucoin.sdk.websocket.event.*;
 import com.kucoin.sdk.websocket.impl.BaseWebsocketImpl;
 import com.kucoin.sdk.websocket.listener.KucoinPublicWebsocketListener;
 import okhttp3.OkHttpClient;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Created by chenshiwei on 2019/1/17.
@@ -31,10 +41,18 @@ public class KucoinPublicWSClientImpl extends BaseWebsocketImpl implements Kucoi
 
     public KucoinPublicWSClientImpl(KucoinClientBuilder kucoinClientBuilder) {
         this(
-                HttpClientFactory.getPublicClient(),
+                kucoinClientBuilder.getHttpTransport().getPublicClient(),
                 new KucoinPublicWebsocketListener(),
                 kucoinClientBuilder.getChooseServerStrategy(),
-                new WebsocketPublicAPIAdaptor(kucoinClientBuilder.getBaseUrl()));
+                tokenAPI(kucoinClientBuilder));
+        setReconnectBackoff(kucoinClientBuilder.getReconnectInitialBackoffMillis(),
+                kucoinClientBuilder.getReconnectMaxBackoffMillis());
+    }
+
+    private static WebsocketPublicAPI tokenAPI(KucoinClientBuilder kucoinClientBuilder) {
+        WebsocketPublicAPIAdaptor adaptor = new WebsocketPublicAPIAdaptor(kucoinClientBuilder.getBaseUrl());
+        adaptor.setTransport(kucoinClientBuilder.getHttpTransport());
+        return adaptor;
     }
 
     private KucoinPublicWSClientImpl(OkHttpClient client,
@@ -53,95 +71,112 @@ public class KucoinPublicWSClientImpl extends BaseWebsocketImpl implements Kucoi
 
     @Override
     public String onTicker(KucoinAPICallback<KucoinEvent<TickerChangeEvent>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_TICKER_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_TICKER_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<TickerChangeEvent>>() {});
-        }
-        String topic = APIConstants.API_TICKER_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_TICKER_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<TickerChangeEvent>>() {}, symbols);
     }
 
     @Override
     public String onCandles(KucoinAPICallback<KucoinEvent<CandlesEvent>> callback, String symbolAndType) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_CANDLES_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_CANDLES_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<CandlesEvent>>() {});
-        }
-        String topic = APIConstants.API_CANDLES_TOPIC_PREFIX + symbolAndType;
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_CANDLES_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<CandlesEvent>>() {}, symbolAndType);
     }
 
     @Override
     public String onLevel2Data(KucoinAPICallback<KucoinEvent<Level2ChangeEvent>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_LEVEL2_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_LEVEL2_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<Level2ChangeEvent>>() {
-            });
-        }
-        String topic = APIConstants.API_LEVEL2_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_LEVEL2_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<Level2ChangeEvent>>() {}, symbols);
     }
 
     @Override
     public String onLevel2Data(int depth, KucoinAPICallback<KucoinEvent<Level2Event>> callback, String... symbols) {
-        String topic = null;
+        String topicPrefix;
         if (depth == 5) {
-            if (callback != null) {
-                this.listener.getCallbackMap().put(APIConstants.API_DEPTH5_LEVEL2_TOPIC_PREFIX, callback);
-                this.listener.getTypeReferenceMap().put(APIConstants.API_DEPTH5_LEVEL2_TOPIC_PREFIX,
-                        new TypeReference<KucoinEvent<Level2Event>>() {});
-            }
-            topic = APIConstants.API_DEPTH5_LEVEL2_TOPIC_PREFIX + String.join(",", symbols);
+            topicPrefix = APIConstants.API_DEPTH5_LEVEL2_TOPIC_PREFIX;
         } else if (depth == 50) {
-            if (callback != null) {
-                this.listener.getCallbackMap().put(APIConstants.API_DEPTH50_LEVEL2_TOPIC_PREFIX, callback);
-                this.listener.getTypeReferenceMap().put(APIConstants.API_DEPTH50_LEVEL2_TOPIC_PREFIX,
-                        new TypeReference<KucoinEvent<Level2Event>>() {});
-            }
-            topic = APIConstants.API_DEPTH50_LEVEL2_TOPIC_PREFIX + String.join(",", symbols);
-        }
-        if (topic == null) {
+            topicPrefix = APIConstants.API_DEPTH50_LEVEL2_TOPIC_PREFIX;
+        } else {
             return null;
         }
-
-        return subscribe(topic, false, true);
+        return subscribe(topicPrefix, callback,
+                new TypeReference<KucoinEvent<Level2Event>>() {}, symbols);
     }
 
     @Override
     public String onMatchExecutionData(KucoinAPICallback<KucoinEvent<MatchExcutionChangeEvent>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_MATCH_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_MATCH_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<MatchExcutionChangeEvent>>() {});
-        }
-        String topic = APIConstants.API_MATCH_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_MATCH_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<MatchExcutionChangeEvent>>() {}, symbols);
     }
 
     @Override
     public String onLevel3Data_V2(KucoinAPICallback<KucoinEvent<Level3Event>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<Level3Event>>() {});
-        }
-        String topic = APIConstants.API_LEVEL3_V2_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<Level3Event>>() {}, symbols);
     }
 
     @Override
     @Deprecated
     public String onLevel3Data(KucoinAPICallback<KucoinEvent<Level3ChangeEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_LEVEL3_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<Level3ChangeEvent>>() {}, symbols);
+    }
+
+    @Override
+    public String onScaledTicker(KucoinAPICallback<KucoinEvent<ScaledTickerEvent>> callback, SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_TICKER_TOPIC_PREFIX, callback, ScaledTickerReader::new, symbols);
+    }
+
+    @Override
+    public String onScaledLevel2Data(KucoinAPICallback<KucoinEvent<ScaledLevel2ChangeEvent>> callback,
+                                     SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_LEVEL2_TOPIC_PREFIX, callback, ScaledLevel2Reader::new, symbols);
+    }
+
+    @Override
+    public String onScaledMatchExecutionData(KucoinAPICallback<KucoinEvent<ScaledMatchEvent>> callback,
+                                             SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_MATCH_TOPIC_PREFIX, callback, ScaledMatchReader::new, symbols);
+    }
+
+    @Override
+    public String onScaledLevel3Data_V2(KucoinAPICallback<KucoinEvent<ScaledLevel3Event>> callback,
+                                        SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX, callback, ScaledLevel3Reader::new, symbols);
+    }
+
+    /**
+     * Register a reader with the scales of each symbol for its topic, then subscribe to them in one request.
+     */
+    private String subscribe(String topicPrefix, KucoinAPICallback<?> callback,
+                             Function<SymbolScales, EventDataReader> readerFactory, SymbolResponse... symbols) {
+        String[] names = new String[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            names[i] = symbols[i].getSymbol();
+            if (callback != null) {
+                this.listener.putTopicCallbacks(Collections.singletonList(topicPrefix + names[i]), callback,
+                        readerFactory.apply(SymbolScales.of(symbols[i])));
+            }
+        }
+        return subscribe(topicPrefix + String.join(",", names), false, true);
+    }
+
+    /**
+     * Register the callback for the topic of every symbol and subscribe to them in one request,
+     * so that symbols of the same channel may each have their own callback.
+     */
+    private String subscribe(String topicPrefix, KucoinAPICallback<?> callback, TypeReference<?> typeReference,
+                             String... symbols) {
         if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_LEVEL3_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_LEVEL3_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<Level3ChangeEvent>>() {});
+            this.listener.putTopicCallbacks(topics(topicPrefix, symbols), callback, typeReference);
         }
-        String topic = APIConstants.API_LEVEL3_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(topicPrefix + String.join(",", symbols), false, true);
+    }
+
+    private static List<String> topics(String topicPrefix, String... symbols) {
+        List<String> topics = new ArrayList<>(symbols.length);
+        for (String symbol : symbols) {
+            topics.add(topicPrefix + symbol);
+        }
+        return topics;
     }
 
     @Override
@@ -151,52 +186,33 @@ public class KucoinPublicWSClientImpl extends BaseWebsocketImpl implements Kucoi
 
     @Override
     public String unsubscribe(PublicChannelEnum channelEnum, String... symbols) {
+        this.listener.removeTopicCallbacks(topics(channelEnum.getTopicPrefix(), symbols));
         return super.unsubscribe(channelEnum.getTopicPrefix() + String.join(",", symbols),
                 false, true);
     }
 
     @Override
     public String onSnapshot(KucoinAPICallback<KucoinEvent<SnapshotEvent>> callback, String target) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_SNAPSHOT_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_SNAPSHOT_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<SnapshotEvent>>() {});
-        }
-        String topic = APIConstants.API_SNAPSHOT_TOPIC_PREFIX + target;
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_SNAPSHOT_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<SnapshotEvent>>() {}, target);
     }
 
     @Override
     public String onIndicatorIndex(KucoinAPICallback<KucoinEvent<IndicatorEvent>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_INDICATOR_INDEX_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_INDICATOR_INDEX_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<IndicatorEvent>>() {});
-        }
-        String topic = APIConstants.API_INDICATOR_INDEX_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_INDICATOR_INDEX_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<IndicatorEvent>>() {}, symbols);
     }
 
     @Override
     public String onIndicatorMarkPrice(KucoinAPICallback<KucoinEvent<IndicatorEvent>> callback, String... symbols) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_INDICATOR_MARKPRICE_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_INDICATOR_MARKPRICE_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<IndicatorEvent>>() {});
-        }
-        String topic = APIConstants.API_INDICATOR_MARKPRICE_TOPIC_PREFIX + String.join(",", symbols);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_INDICATOR_MARKPRICE_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<IndicatorEvent>>() {}, symbols);
     }
 
     @Override
     public String onMarginFundingBook(KucoinAPICallback<KucoinEvent<FundingBookEvent>> callback, String... currency) {
-        if (callback != null) {
-            this.listener.getCallbackMap().put(APIConstants.API_MARGIN_FUNDINGBOOK_TOPIC_PREFIX, callback);
-            this.listener.getTypeReferenceMap().put(APIConstants.API_MARGIN_FUNDINGBOOK_TOPIC_PREFIX,
-                    new TypeReference<KucoinEvent<FundingBookEvent>>() {});
-        }
-        String topic = APIConstants.API_MARGIN_FUNDINGBOOK_TOPIC_PREFIX + String.join(",", currency);
-        return subscribe(topic, false, true);
+        return subscribe(APIConstants.API_MARGIN_FUNDINGBOOK_TOPIC_PREFIX, callback,
+                new TypeReference<KucoinEvent<FundingBookEvent>>() {}, currency);
     }
 
 }
@@ -0,0 +1,400 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.impl;
+
+import com.kucoin.sdk.KucoinPublicWSClient;
+import com.kucoin.sdk.constants.APIConstants;
+import com.kucoin.sdk.model.enums.PublicChannelEnum;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import com.kucoin.sdk.websocket.KucoinAPICallback;
+import com.kucoin.sdk.websocket.event.*;
+import com.kucoin.sdk.websocket.impl.WebsocketMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+
+/**
+ * Public websocket client spreading its subscriptions over several connections, each with its own token and
+ * server, so that the topic and message rate limits of one connection do not cap the symbols followed.
+ * <p>
+ * Every channel of a symbol is placed on the same connection, the one with the fewest topics when the symbol
+ * is first subscribed, so the events of a symbol still come in order from one socket. A callback shared by
+ * symbols on different connections may be called from several threads at once.
+ * <p>
+ * KuCoin caps the topics of one connection, so are the topics of each connection here. A topic that does not fit,
+ * because every connection or the one of its symbol is full, is not subscribed. A topic whose subscribe
+ * request failed is released again.
+ * <p>
+ * Subscribing methods return the id of the first subscribe request sent, or null if any of them failed or any
+ * topic did not fit.
+ */
+public class KucoinPublicWSClientPool implements KucoinPublicWSClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KucoinPublicWSClientPool.class);
+
+    public static final int DEFAULT_MAX_TOPICS = 300;
+
+    private final List<KucoinPublicWSClient> connections;
+
+    private final int maxTopics;
+
+    private final int[] topicCounts;
+
+    // symbol -> connection index and channels subscribed for it
+    private final Map<String, Placement> placements = new HashMap<>();
+
+    /**
+     * @param connections connected clients to spread the subscriptions over
+     */
+    public KucoinPublicWSClientPool(List<? extends KucoinPublicWSClient> connections) {
+        this(connections, DEFAULT_MAX_TOPICS);
+    }
+
+    /**
+     * @param connections connected clients to spread the subscriptions over
+     * @param maxTopics   topics subscribed at most on one connection
+     */
+    public KucoinPublicWSClientPool(List<? extends KucoinPublicWSClient> connections, int maxTopics) {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("A pool needs at least one connection");
+        }
+        if (maxTopics < 1) {
+            throw new IllegalArgumentException("A connection needs room for at least one topic");
+        }
+        this.connections = Collections.unmodifiableList(new ArrayList<>(connections));
+        this.maxTopics = maxTopics;
+        this.topicCounts = new int[connections.size()];
+    }
+
+    public List<KucoinPublicWSClient> getConnections() {
+        return connections;
+    }
+
+    /**
+     * @return The number of topics subscribed on each connection.
+     */
+    public synchronized int[] getTopicCounts() {
+        return topicCounts.clone();
+    }
+
+    @Override
+    public String onTicker(KucoinAPICallback<KucoinEvent<TickerChangeEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_TICKER_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onTicker(callback, placed));
+    }
+
+    @Override
+    public String onCandles(KucoinAPICallback<KucoinEvent<CandlesEvent>> callback, String symbolAndType) {
+        return subscribe(channelOf(APIConstants.API_CANDLES_TOPIC_PREFIX, symbolAndType),
+                new String[]{symbolOf(APIConstants.API_CANDLES_TOPIC_PREFIX, symbolAndType)},
+                (connection, placed) -> connection.onCandles(callback, symbolAndType));
+    }
+
+    @Override
+    public String onLevel2Data(KucoinAPICallback<KucoinEvent<Level2ChangeEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_LEVEL2_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onLevel2Data(callback, placed));
+    }
+
+    @Override
+    public String onLevel2Data(int depth, KucoinAPICallback<KucoinEvent<Level2Event>> callback, String... symbols) {
+        String topicPrefix;
+        if (depth == 5) {
+            topicPrefix = APIConstants.API_DEPTH5_LEVEL2_TOPIC_PREFIX;
+        } else if (depth == 50) {
+            topicPrefix = APIConstants.API_DEPTH50_LEVEL2_TOPIC_PREFIX;
+        } else {
+            return null;
+        }
+        return subscribe(topicPrefix, symbols, (connection, placed) -> connection.onLevel2Data(depth, callback, placed));
+    }
+
+    @Override
+    public String onMatchExecutionData(KucoinAPICallback<KucoinEvent<MatchExcutionChangeEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_MATCH_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onMatchExecutionData(callback, placed));
+    }
+
+    @Override
+    public String onLevel3Data_V2(KucoinAPICallback<KucoinEvent<Level3Event>> callback, String... symbols) {
+        return subscribe(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onLevel3Data_V2(callback, placed));
+    }
+
+    @Override
+    public String onScaledTicker(KucoinAPICallback<KucoinEvent<ScaledTickerEvent>> callback, SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_TICKER_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onScaledTicker(callback, placed));
+    }
+
+    @Override
+    public String onScaledLevel2Data(KucoinAPICallback<KucoinEvent<ScaledLevel2ChangeEvent>> callback,
+                                     SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_LEVEL2_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onScaledLevel2Data(callback, placed));
+    }
+
+    @Override
+    public String onScaledMatchExecutionData(KucoinAPICallback<KucoinEvent<ScaledMatchEvent>> callback,
+                                             SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_MATCH_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onScaledMatchExecutionData(callback, placed));
+    }
+
+    @Override
+    public String onScaledLevel3Data_V2(KucoinAPICallback<KucoinEvent<ScaledLevel3Event>> callback,
+                                        SymbolResponse... symbols) {
+        return subscribe(APIConstants.API_LEVEL3_V2_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onScaledLevel3Data_V2(callback, placed));
+    }
+
+    @Override
+    @Deprecated
+    public String onLevel3Data(KucoinAPICallback<KucoinEvent<Level3ChangeEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_LEVEL3_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onLevel3Data(callback, placed));
+    }
+
+    @Override
+    public String onSnapshot(KucoinAPICallback<KucoinEvent<SnapshotEvent>> callback, String target) {
+        return subscribe(APIConstants.API_SNAPSHOT_TOPIC_PREFIX, new String[]{target},
+                (connection, placed) -> connection.onSnapshot(callback, target));
+    }
+
+    @Override
+    public String onIndicatorIndex(KucoinAPICallback<KucoinEvent<IndicatorEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_INDICATOR_INDEX_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onIndicatorIndex(callback, placed));
+    }
+
+    @Override
+    public String onIndicatorMarkPrice(KucoinAPICallback<KucoinEvent<IndicatorEvent>> callback, String... symbols) {
+        return subscribe(APIConstants.API_INDICATOR_MARKPRICE_TOPIC_PREFIX, symbols,
+                (connection, placed) -> connection.onIndicatorMarkPrice(callback, placed));
+    }
+
+    @Override
+    public String onMarginFundingBook(KucoinAPICallback<KucoinEvent<FundingBookEvent>> callback, String... currency) {
+        return subscribe(APIConstants.API_MARGIN_FUNDINGBOOK_TOPIC_PREFIX, currency,
+                (connection, placed) -> connection.onMarginFundingBook(callback, placed));
+    }
+
+    /**
+     * Ping every connection.
+     *
+     * @return The requestId back, or null if sending failed on any connection.
+     */
+    @Override
+    public String ping(String requestId) {
+        String result = requestId;
+        for (KucoinPublicWSClient connection : connections) {
+            if (connection.ping(requestId) == null) {
+                result = null;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String unsubscribe(PublicChannelEnum channelEnum, String... symbols) {
+        Map<Integer, List<String>> byConnection = new LinkedHashMap<>();
+        synchronized (this) {
+            for (String target : symbols) {
+                String symbol = symbolOf(channelEnum.getTopicPrefix(), target);
+                Placement placement = placements.get(symbol);
+                if (placement == null) {
+                    continue;
+                }
+                if (placement.channels.remove(channelOf(channelEnum.getTopicPrefix(), target))) {
+                    topicCounts[placement.connection]--;
+                }
+                if (placement.channels.isEmpty()) {
+                    placements.remove(symbol);
+                }
+                byConnection.computeIfAbsent(placement.connection, key -> new ArrayList<>()).add(target);
+            }
+        }
+        return send(byConnection, (connection, placed) -> connection.unsubscribe(channelEnum, placed), index -> {});
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (KucoinPublicWSClient connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return Metrics summed over the connections, see {@link #getConnections()} for each one.
+     */
+    @Override
+    public WebsocketMetrics getMetrics() {
+        List<WebsocketMetrics> metrics = new ArrayList<>(connections.size());
+        for (KucoinPublicWSClient connection : connections) {
+            metrics.add(connection.getMetrics());
+        }
+        return WebsocketMetrics.combine(metrics);
+    }
+
+    private String subscribe(String channel, String[] symbols,
+                             BiFunction<KucoinPublicWSClient, String[], String> subscription) {
+        Map<Integer, List<String>> byConnection = new LinkedHashMap<>();
+        Map<Integer, List<String>> added = new HashMap<>();
+        boolean placedAll = place(channel, symbols, byConnection, added);
+        String id = send(byConnection, subscription, index -> release(channel, added.get(index)));
+        return placedAll ? id : null;
+    }
+
+    private String subscribe(String channel, SymbolResponse[] symbols,
+                             BiFunction<KucoinPublicWSClient, SymbolResponse[], String> subscription) {
+        Map<String, SymbolResponse> bySymbol = new HashMap<>();
+        String[] names = new String[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            names[i] = symbols[i].getSymbol();
+            bySymbol.put(names[i], symbols[i]);
+        }
+        return subscribe(channel, names, (connection, placed) -> {
+            SymbolResponse[] placedSymbols = new SymbolResponse[placed.length];
+            for (int i = 0; i < placed.length; i++) {
+                placedSymbols[i] = bySymbol.get(placed[i]);
+            }
+            return subscription.apply(connection, placedSymbols);
+        });
+    }
+
+    /**
+     * Place each symbol on its connection, or on the least loaded one if it has none yet, leaving out the symbols
+     * whose connection has no room for the channel.
+     *
+     * @param byConnection filled with the placed symbols per connection index
+     * @param added        filled with the placed symbols per connection index that did not have the channel yet
+     * @return Whether every symbol was placed.
+     */
+    private synchronized boolean place(String channel, String[] symbols, Map<Integer, List<String>> byConnection,
+                                       Map<Integer, List<String>> added) {
+        boolean placedAll = true;
+        for (String symbol : symbols) {
+            Placement placement = placements.get(symbol);
+            if (placement == null) {
+                int connection = leastLoaded();
+                if (topicCounts[connection] >= maxTopics) {
+                    LOGGER.warn("Not subscribing {}{}, all {} connections have {} topics", channel, symbol,
+                            connections.size(), maxTopics);
+                    placedAll = false;
+                    continue;
+                }
+                placement = new Placement(connection);
+                placements.put(symbol, placement);
+            }
+            if (!placement.channels.contains(channel)) {
+                if (topicCounts[placement.connection] >= maxTopics) {
+                    LOGGER.warn("Not subscribing {}{}, its connection {} has {} topics", channel, symbol,
+                            placement.connection, maxTopics);
+                    placedAll = false;
+                    continue;
+                }
+                placement.channels.add(channel);
+                topicCounts[placement.connection]++;
+                added.computeIfAbsent(placement.connection, key -> new ArrayList<>()).add(symbol);
+            }
+            byConnection.computeIfAbsent(placement.connection, key -> new ArrayList<>()).add(symbol);
+        }
+        return placedAll;
+    }
+
+    /**
+     * Undo the placement of the channel for symbols whose subscribe request failed.
+     */
+    private synchronized void release(String channel, List<String> symbols) {
+        if (symbols == null) {
+            return;
+        }
+        for (String symbol : symbols) {
+            Placement placement = placements.get(symbol);
+            if (placement == null || !placement.channels.remove(channel)) {
+                continue;
+            }
+            topicCounts[placement.connection]--;
+            if (placement.channels.isEmpty()) {
+                placements.remove(symbol);
+            }
+        }
+    }
+
+    private int leastLoaded() {
+        int best = 0;
+        for (int i = 1; i < topicCounts.length; i++) {
+            if (topicCounts[i] < topicCounts[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param onFailure called with the index of each connection whose request failed
+     */
+    private String send(Map<Integer, List<String>> byConnection,
+                        BiFunction<KucoinPublicWSClient, String[], String> request, IntConsumer onFailure) {
+        String first = null;
+        boolean failed = false;
+        for (Map.Entry<Integer, List<String>> entry : byConnection.entrySet()) {
+            String id = request.apply(connections.get(entry.getKey()), entry.getValue().toArray(new String[0]));
+            if (id == null) {
+                onFailure.accept(entry.getKey());
+                failed = true;
+            } else if (first == null) {
+                first = id;
+            }
+        }
+        return failed ? null : first;
+    }
+
+    /**
+     * Candle topics carry the type after the symbol, e.g. {@code BTC-USDT_1hour}; the type belongs to the channel.
+     */
+    private static String channelOf(String topicPrefix, String target) {
+        if (APIConstants.API_CANDLES_TOPIC_PREFIX.equals(topicPrefix) && target.lastIndexOf('_') > 0) {
+            return topicPrefix + target.substring(target.lastIndexOf('_'));
+        }
+        return topicPrefix;
+    }
+
+    private static String symbolOf(String topicPrefix, String target) {
+        if (APIConstants.API_CANDLES_TOPIC_PREFIX.equals(topicPrefix) && target.lastIndexOf('_') > 0) {
+            return target.substring(0, target.lastIndexOf('_'));
+        }
+        return target;
+    }
+
+    private static final class Placement {
+
+        private final int connection;
+
+        private final Set<String> channels = new HashSet<>();
+
+        private Placement(int connection) {
+            this.connection = connection;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import com.kucoin.sdk.rest.response.ApiCurrencyDetailChainPropertyResponse;
+import com.kucoin.sdk.rest.response.CurrencyDetailV2Response;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import com.kucoin.sdk.util.SymbolScales;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, indexed snapshot of the symbols and currencies. Lookups are plain hash map reads.
+ */
+public class MarketMetadata {
+
+    static final MarketMetadata EMPTY = new MarketMetadata(Collections.emptyList(), Collections.emptyList());
+
+    private final Map<String, SymbolResponse> symbols;
+
+    private final Map<String, SymbolScales> scales;
+
+    private final Map<String, List<SymbolResponse>> symbolsByBase;
+
+    private final Map<String, List<SymbolResponse>> symbolsByQuote;
+
+    private final Map<String, List<SymbolResponse>> symbolsByMarket;
+
+    private final Map<String, CurrencyDetailV2Response> currencies;
+
+    // currency -> chain name in lower case -> chain
+    private final Map<String, Map<String, ApiCurrencyDetailChainPropertyResponse>> chains;
+
+    public MarketMetadata(Collection<SymbolResponse> symbols, Collection<CurrencyDetailV2Response> currencies) {
+        Map<String, SymbolResponse> bySymbol = new HashMap<>();
+        Map<String, SymbolScales> scales = new HashMap<>();
+        Map<String, List<SymbolResponse>> byBase = new HashMap<>();
+        Map<String, List<SymbolResponse>> byQuote = new HashMap<>();
+        Map<String, List<SymbolResponse>> byMarket = new HashMap<>();
+        for (SymbolResponse symbol : symbols) {
+            bySymbol.put(symbol.getSymbol(), symbol);
+            try {
+                scales.put(symbol.getSymbol(), SymbolScales.of(symbol));
+            } catch (IllegalArgumentException e) {
+                // increments finer than a long mantissa can hold, the symbol has no scales
+            }
+            index(byBase, symbol.getBaseCurrency(), symbol);
+            index(byQuote, symbol.getQuoteCurrency(), symbol);
+            index(byMarket, symbol.getMarket(), symbol);
+        }
+        Map<String, CurrencyDetailV2Response> byCurrency = new HashMap<>();
+        Map<String, Map<String, ApiCurrencyDetailChainPropertyResponse>> chains = new HashMap<>();
+        for (CurrencyDetailV2Response currency : currencies) {
+            byCurrency.put(currency.getCurrency(), currency);
+            Map<String, ApiCurrencyDetailChainPropertyResponse> byChain = new HashMap<>();
+            if (currency.getChains() != null) {
+                for (ApiCurrencyDetailChainPropertyResponse chain : currency.getChains()) {
+                    if (chain.getChainName() != null) {
+                        byChain.put(chain.getChainName().toLowerCase(), chain);
+                    }
+                }
+            }
+            chains.put(currency.getCurrency(), byChain);
+        }
+        this.symbols = bySymbol;
+        this.scales = scales;
+        this.symbolsByBase = freeze(byBase);
+        this.symbolsByQuote = freeze(byQuote);
+        this.symbolsByMarket = freeze(byMarket);
+        this.currencies = byCurrency;
+        this.chains = chains;
+    }
+
+    private static void index(Map<String, List<SymbolResponse>> index, String key, SymbolResponse symbol) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(symbol);
+        }
+    }
+
+    private static Map<String, List<SymbolResponse>> freeze(Map<String, List<SymbolResponse>> index) {
+        index.replaceAll((key, symbols) -> Collections.unmodifiableList(symbols));
+        return index;
+    }
+
+    /**
+     * @return The symbol, or null if unknown.
+     */
+    public SymbolResponse getSymbol(String symbol) {
+        return symbols.get(symbol);
+    }
+
+    /**
+     * @return The scales of the symbol, or null if unknown.
+     */
+    public SymbolScales getScales(String symbol) {
+        return scales.get(symbol);
+    }
+
+    public List<SymbolResponse> getSymbolsByBase(String baseCurrency) {
+        return symbolsByBase.getOrDefault(baseCurrency, Collections.emptyList());
+    }
+
+    public List<SymbolResponse> getSymbolsByQuote(String quoteCurrency) {
+        return symbolsByQuote.getOrDefault(quoteCurrency, Collections.emptyList());
+    }
+
+    public List<SymbolResponse> getSymbolsByMarket(String market) {
+        return symbolsByMarket.getOrDefault(market, Collections.emptyList());
+    }
+
+    public Collection<SymbolResponse> getSymbols() {
+        return Collections.unmodifiableCollection(symbols.values());
+    }
+
+    /**
+     * @return The currency, or null if unknown.
+     */
+    public CurrencyDetailV2Response getCurrency(String currency) {
+        return currencies.get(currency);
+    }
+
+    /**
+     * @param chainName chain name of the currency, in any case
+     * @return The chain, or null if unknown.
+     */
+    public ApiCurrencyDetailChainPropertyResponse getChain(String currency, String chainName) {
+        Map<String, ApiCurrencyDetailChainPropertyResponse> byChain = chains.get(currency);
+        return byChain == null || chainName == null ? null : byChain.get(chainName.toLowerCase());
+    }
+
+    public Collection<CurrencyDetailV2Response> getCurrencies() {
+        return Collections.unmodifiableCollection(currencies.values());
+    }
+
+    Map<String, SymbolResponse> symbolMap() {
+        return symbols;
+    }
+
+    Map<String, CurrencyDetailV2Response> currencyMap() {
+        return currencies;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.kucoin.sdk.rest.interfaces.CurrencyAPI;
+import com.kucoin.sdk.rest.interfaces.SymbolAPI;
+import com.kucoin.sdk.rest.response.ApiCurrencyDetailChainPropertyResponse;
+import com.kucoin.sdk.rest.response.CurrencyDetailV2Response;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import com.kucoin.sdk.util.SymbolScales;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps the symbols and currencies in memory so that the order path does not download them on every check.
+ * <p>
+ * Readers get the current {@link MarketMetadata} snapshot through a volatile read; a refresh builds a new
+ * snapshot aside and swaps it in. A refresh compares what it downloaded with the current snapshot: when
+ * nothing changed the snapshot is kept as is, otherwise the unchanged entries keep their instances and the
+ * listeners are told what changed. A failed refresh keeps the previous snapshot.
+ * <p>
+ * Background refreshes of every cache run on one shared daemon thread.
+ */
+public class MetadataCache implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCache.class);
+
+    private static final ScheduledExecutorService REFRESHES = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("SPOT-METADATA-REFRESH-%d").setDaemon(true).build());
+
+    private final SymbolAPI symbolAPI;
+
+    private final CurrencyAPI currencyAPI;
+
+    private final List<MetadataListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile MarketMetadata metadata = MarketMetadata.EMPTY;
+
+    private volatile long refreshedAt;
+
+    private ScheduledFuture<?> refreshTask;
+
+    public MetadataCache(SymbolAPI symbolAPI, CurrencyAPI currencyAPI) {
+        this.symbolAPI = symbolAPI;
+        this.currencyAPI = currencyAPI;
+    }
+
+    public MarketMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return When the last successful refresh ended, in milliseconds, 0 before the first one.
+     */
+    public long getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public SymbolResponse getSymbol(String symbol) {
+        return metadata.getSymbol(symbol);
+    }
+
+    public SymbolScales getScales(String symbol) {
+        return metadata.getScales(symbol);
+    }
+
+    public List<SymbolResponse> getSymbolsByBase(String baseCurrency) {
+        return metadata.getSymbolsByBase(baseCurrency);
+    }
+
+    public List<SymbolResponse> getSymbolsByQuote(String quoteCurrency) {
+        return metadata.getSymbolsByQuote(quoteCurrency);
+    }
+
+    public List<SymbolResponse> getSymbolsByMarket(String market) {
+        return metadata.getSymbolsByMarket(market);
+    }
+
+    public CurrencyDetailV2Response getCurrency(String currency) {
+        return metadata.getCurrency(currency);
+    }
+
+    public ApiCurrencyDetailChainPropertyResponse getChain(String currency, String chainName) {
+        return metadata.getChain(currency, chainName);
+    }
+
+    public void addListener(MetadataListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MetadataListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Download the symbols and currencies and swap in a new snapshot if they changed. An empty download fails
+     * the refresh rather than emptying the snapshot.
+     *
+     * @return What changed.
+     * @throws IOException On socket related errors, or if either download is empty.
+     */
+    public MetadataChange refresh() throws IOException {
+        refreshLock.lock();
+        try {
+            List<SymbolResponse> symbols = symbolAPI.getSymbolList(null);
+            if (symbols == null || symbols.isEmpty()) {
+                throw new IOException("Downloaded no symbols");
+            }
+            List<CurrencyDetailV2Response> currencies = currencyAPI.getCurrenciesV3();
+            if (currencies == null || currencies.isEmpty()) {
+                throw new IOException("Downloaded no currencies");
+            }
+            MarketMetadata previous = metadata;
+
+            Set<String> addedSymbols = new HashSet<>();
+            Set<String> changedSymbols = new HashSet<>();
+            List<SymbolResponse> mergedSymbols = merge(previous.symbolMap(), symbols, SymbolResponse::getSymbol,
+                    addedSymbols, changedSymbols);
+            Set<String> removedSymbols = removed(previous.symbolMap(), symbols, SymbolResponse::getSymbol);
+
+            Set<String> addedCurrencies = new HashSet<>();
+            Set<String> changedCurrencies = new HashSet<>();
+            List<CurrencyDetailV2Response> mergedCurrencies = merge(previous.currencyMap(), currencies,
+                    CurrencyDetailV2Response::getCurrency, addedCurrencies, changedCurrencies);
+            Set<String> removedCurrencies = removed(previous.currencyMap(), currencies,
+                    CurrencyDetailV2Response::getCurrency);
+
+            MetadataChange change = new MetadataChange(addedSymbols, changedSymbols, removedSymbols,
+                    addedCurrencies, changedCurrencies, removedCurrencies);
+            refreshedAt = System.currentTimeMillis();
+            if (change.isEmpty()) {
+                return change;
+            }
+            MarketMetadata updated = new MarketMetadata(mergedSymbols, mergedCurrencies);
+            metadata = updated;
+            for (MetadataListener listener : listeners) {
+                try {
+                    listener.onChange(updated, change);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Metadata listener failed", e);
+                }
+            }
+            return change;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Keep the previous instance of every unchanged entry.
+     */
+    private static <T> List<T> merge(Map<String, T> previous, List<T> fetched, Function<T, String> keyOf,
+                                     Set<String> added, Set<String> changed) {
+        List<T> merged = new ArrayList<>(fetched.size());
+        for (T entry : fetched) {
+            String key = keyOf.apply(entry);
+            T before = previous.get(key);
+            if (before == null) {
+                added.add(key);
+                merged.add(entry);
+            } else if (Objects.equals(before, entry)) {
+                merged.add(before);
+            } else {
+                changed.add(key);
+                merged.add(entry);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> Set<String> removed(Map<String, T> previous, List<T> fetched, Function<T, String> keyOf) {
+        Set<String> removed = new HashSet<>(previous.keySet());
+        for (T entry : fetched) {
+            removed.remove(keyOf.apply(entry));
+        }
+        return removed;
+    }
+
+    /**
+     * Refresh in the background every period, starting after one period. Failures are logged.
+     */
+    public void start(long period, TimeUnit unit) {
+        refreshLock.lock();
+        try {
+            if (refreshTask != null) {
+                refreshTask.cancel(false);
+            }
+            refreshTask = REFRESHES.scheduleWithFixedDelay(this::refreshQuietly, period, period, unit);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Metadata refresh failed, keeping the snapshot of {}", refreshedAt, e);
+        }
+    }
+
+    /**
+     * Stop the background refresh. The last snapshot stays readable.
+     */
+    @Override
+    public void close() {
+        refreshLock.lock();
+        try {
+            if (refreshTask != null) {
+                refreshTask.cancel(false);
+                refreshTask = null;
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * What a refresh changed, by symbol and currency code.
+ */
+@Getter
+@ToString
+public class MetadataChange {
+
+    private final Set<String> addedSymbols;
+
+    private final Set<String> changedSymbols;
+
+    private final Set<String> removedSymbols;
+
+    private final Set<String> addedCurrencies;
+
+    private final Set<String> changedCurrencies;
+
+    private final Set<String> removedCurrencies;
+
+    public MetadataChange(Set<String> addedSymbols, Set<String> changedSymbols, Set<String> removedSymbols,
+                          Set<String> addedCurrencies, Set<String> changedCurrencies, Set<String> removedCurrencies) {
+        this.addedSymbols = addedSymbols;
+        this.changedSymbols = changedSymbols;
+        this.removedSymbols = removedSymbols;
+        this.addedCurrencies = addedCurrencies;
+        this.changedCurrencies = changedCurrencies;
+        this.removedCurrencies = removedCurrencies;
+    }
+
+    public boolean isEmpty() {
+        return addedSymbols.isEmpty() && changedSymbols.isEmpty() && removedSymbols.isEmpty()
+                && addedCurrencies.isEmpty() && changedCurrencies.isEmpty() && removedCurrencies.isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+/**
+ * Notified on the refresh thread after a refresh changed the metadata.
+ */
+@FunctionalInterface
+public interface MetadataListener {
+
+    /**
+     * @param metadata the new snapshot
+     * @param change   what differs from the previous snapshot
+     */
+    void onChange(MarketMetadata metadata, MetadataChange change);
+}
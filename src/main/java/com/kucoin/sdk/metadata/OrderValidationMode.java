@@ -0,0 +1,21 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+/**
+ * What {@link OrderValidator} does with a price or size off its increment.
+ */
+public enum OrderValidationMode {
+
+    /**
+     * Reject the order.
+     */
+    VALIDATE,
+
+    /**
+     * Round it: prices away from the other side of the book, sizes and funds down. The rounded order
+     * is still rejected if it falls under a minimum.
+     */
+    NORMALIZE
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import com.kucoin.sdk.exception.OrderValidationException;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Checks an order against the limits of its symbol before it is sent: trading enabled, price, size, funds,
+ * stop price and visible size on their increments, size and funds within their bounds, and the value of a
+ * limit order at least {@code minFunds}.
+ * <p>
+ * Symbols are looked up in memory, usually in a {@link MetadataCache}; an order for a symbol that is not
+ * known is sent unchecked, so that a stale cache never blocks trading. In {@link OrderValidationMode#NORMALIZE}
+ * mode values off their increment are rounded and a new request is returned; the request passed in is
+ * never modified.
+ */
+public class OrderValidator {
+
+    private final Function<String, SymbolResponse> symbols;
+
+    private final OrderValidationMode mode;
+
+    public OrderValidator(MetadataCache cache, OrderValidationMode mode) {
+        this(cache::getSymbol, mode);
+    }
+
+    public OrderValidator(Function<String, SymbolResponse> symbols, OrderValidationMode mode) {
+        this.symbols = symbols;
+        this.mode = mode;
+    }
+
+    public OrderValidationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return The request, or a normalized copy of it.
+     * @throws OrderValidationException if the exchange would reject the order.
+     */
+    public OrderCreateApiRequest apply(OrderCreateApiRequest request) {
+        SymbolResponse symbol = request == null ? null : symbols.apply(request.getSymbol());
+        if (symbol == null) {
+            return request;
+        }
+        Order order = check(symbol, request.getType(), request.getSide(), request.getPrice(), request.getSize(),
+                request.getFunds(), request.getStopPrice(), request.getVisibleSize());
+        if (order.unchanged(request.getPrice(), request.getSize(), request.getFunds(), request.getStopPrice(),
+                request.getVisibleSize())) {
+            return request;
+        }
+        return request.toBuilder().price(order.price).size(order.size).funds(order.funds)
+                .stopPrice(order.stopPrice).visibleSize(order.visibleSize).build();
+    }
+
+    /**
+     * @return The request, or a normalized copy of it.
+     * @throws OrderValidationException if the exchange would reject the order.
+     */
+    public HFOrderCreateRequest apply(HFOrderCreateRequest request) {
+        SymbolResponse symbol = request == null ? null : symbols.apply(request.getSymbol());
+        if (symbol == null) {
+            return request;
+        }
+        BigDecimal funds = decimal("funds", request.getFunds());
+        BigDecimal visibleSize = decimal("visibleSize", request.getVisibleSize());
+        Order order = check(symbol, request.getType(), request.getSide(), request.getPrice(), request.getSize(),
+                funds, null, visibleSize);
+        if (order.unchanged(request.getPrice(), request.getSize(), funds, null, visibleSize)) {
+            return request;
+        }
+        return request.toBuilder().price(order.price).size(order.size)
+                .funds(order.funds == null ? null : order.funds.toPlainString())
+                .visibleSize(order.visibleSize == null ? null : order.visibleSize.toPlainString()).build();
+    }
+
+    private Order check(SymbolResponse symbol, String type, String side, BigDecimal price, BigDecimal size,
+                        BigDecimal funds, BigDecimal stopPrice, BigDecimal visibleSize) {
+        if (Boolean.FALSE.equals(symbol.getEnableTrading())) {
+            throw new OrderValidationException("symbol", symbol.getSymbol() + " is not enabled for trading");
+        }
+        boolean buy = "buy".equals(side);
+        if (!buy && !"sell".equals(side)) {
+            throw new OrderValidationException("side", "side must be buy or sell, not " + side);
+        }
+        Order order = new Order();
+        if ("market".equals(type)) {
+            if ((size == null) == (funds == null)) {
+                throw new OrderValidationException("size", "a market order needs either size or funds");
+            }
+            order.price = price;
+        } else {
+            if (price == null || price.signum() <= 0) {
+                throw new OrderValidationException("price", "a limit order needs a positive price");
+            }
+            if (size == null) {
+                throw new OrderValidationException("size", "a limit order needs a size");
+            }
+            order.price = step("price", price, symbol.getPriceIncrement(), buy ? RoundingMode.FLOOR : RoundingMode.CEILING);
+        }
+        if (size != null) {
+            order.size = step("size", size, symbol.getBaseIncrement(), RoundingMode.DOWN);
+            bounds("size", order.size, symbol.getBaseMinSize(), symbol.getBaseMaxSize());
+        }
+        if (funds != null) {
+            order.funds = step("funds", funds, symbol.getQuoteIncrement(), RoundingMode.DOWN);
+            bounds("funds", order.funds, symbol.getQuoteMinSize(), symbol.getQuoteMaxSize());
+        }
+        if (!"market".equals(type) && symbol.getMinFunds() != null
+                && order.price.multiply(order.size).compareTo(symbol.getMinFunds()) < 0) {
+            throw new OrderValidationException("size", "order value " + order.price.multiply(order.size).toPlainString()
+                    + " is under minFunds " + symbol.getMinFunds().toPlainString());
+        }
+        if (stopPrice != null) {
+            order.stopPrice = step("stopPrice", stopPrice, symbol.getPriceIncrement(), RoundingMode.HALF_UP);
+        }
+        if (visibleSize != null) {
+            order.visibleSize = step("visibleSize", visibleSize, symbol.getBaseIncrement(), RoundingMode.DOWN);
+        }
+        return order;
+    }
+
+    private BigDecimal step(String field, BigDecimal value, BigDecimal increment, RoundingMode rounding) {
+        BigDecimal rounded = round(value, increment, rounding);
+        if (rounded == value) {
+            return value;
+        }
+        if (mode == OrderValidationMode.VALIDATE && rounded.compareTo(value) != 0) {
+            throw new OrderValidationException(field, field + " " + value.toPlainString()
+                    + " is not a multiple of " + increment.toPlainString());
+        }
+        return rounded.compareTo(value) == 0 ? value : rounded;
+    }
+
+    /**
+     * @return The value on the increment, the same instance if it already is.
+     */
+    static BigDecimal round(BigDecimal value, BigDecimal increment, RoundingMode rounding) {
+        if (increment == null || increment.signum() <= 0) {
+            return value;
+        }
+        if (BigInteger.ONE.equals(increment.unscaledValue())) {
+            // 0.01, 0.0001...: a scale check is enough
+            return value.scale() <= increment.scale() ? value : value.setScale(increment.scale(), rounding);
+        }
+        BigDecimal steps = value.divide(increment, 0, rounding);
+        BigDecimal rounded = steps.multiply(increment);
+        return rounded.compareTo(value) == 0 ? value : rounded;
+    }
+
+    private static void bounds(String field, BigDecimal value, BigDecimal min, BigDecimal max) {
+        if (value.signum() <= 0 || (min != null && value.compareTo(min) < 0)) {
+            throw new OrderValidationException(field, field + " " + value.toPlainString() + " is under the minimum "
+                    + (min == null ? "0" : min.toPlainString()));
+        }
+        if (max != null && value.compareTo(max) > 0) {
+            throw new OrderValidationException(field, field + " " + value.toPlainString() + " is over the maximum "
+                    + max.toPlainString());
+        }
+    }
+
+    private static BigDecimal decimal(String field, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new OrderValidationException(field, field + " " + value + " is not a number");
+        }
+    }
+
+    private static final class Order {
+
+        private BigDecimal price;
+
+        private BigDecimal size;
+
+        private BigDecimal funds;
+
+        private BigDecimal stopPrice;
+
+        private BigDecimal visibleSize;
+
+        private boolean unchanged(BigDecimal price, BigDecimal size, BigDecimal funds, BigDecimal stopPrice,
+                                  BigDecimal visibleSize) {
+            return Objects.equals(this.price, price) && Objects.equals(this.size, size)
+                    && Objects.equals(this.funds, funds) && Objects.equals(this.stopPrice, stopPrice)
+                    && Objects.equals(this.visibleSize, visibleSize);
+        }
+    }
+}
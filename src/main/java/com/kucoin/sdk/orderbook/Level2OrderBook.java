@@ -0,0 +1,243 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.kucoin.sdk.model.OrderBook;
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+import com.kucoin.sdk.util.ScaledDecimal;
+import com.kucoin.sdk.websocket.event.Level2ChangeEvent;
+import com.kucoin.sdk.websocket.event.ScaledLevel2ChangeEvent;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price-aggregated order book of one symbol with prices and sizes held as scaled longs.
+ * <p>
+ * Updates come from the websocket thread while strategies read from their own threads, so every method
+ * synchronizes on the book. Use {@link #read(BookReader)} to read several values from one consistent state.
+ */
+public class Level2OrderBook {
+
+    private final String symbol;
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    private final PriceLevels bids = new PriceLevels(true);
+
+    private final PriceLevels asks = new PriceLevels(false);
+
+    private long sequence = -1;
+
+    private long time;
+
+    /**
+     * @param symbol
+     * @param priceScale scale of prices, see {@link ScaledDecimal#scaleOf(BigDecimal)} of the priceIncrement
+     * @param sizeScale  scale of sizes, see {@link ScaledDecimal#scaleOf(BigDecimal)} of the baseIncrement
+     */
+    public Level2OrderBook(String symbol, int priceScale, int sizeScale) {
+        this.symbol = symbol;
+        this.priceScale = priceScale;
+        this.sizeScale = sizeScale;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getSizeScale() {
+        return sizeScale;
+    }
+
+    /**
+     * Replace the whole book with a REST snapshot.
+     *
+     * @param snapshot
+     */
+    public synchronized void applySnapshot(OrderBookResponse snapshot) {
+        bids.clear();
+        asks.clear();
+        setLevels(bids, snapshot.getBids());
+        setLevels(asks, snapshot.getAsks());
+        sequence = Long.parseLong(snapshot.getSequence());
+        time = snapshot.getTime();
+    }
+
+    /**
+     * Apply the changes of an update whose sequence follows the book. Changes at or before the sequence of the
+     * book are skipped.
+     *
+     * @param event
+     * @throws IllegalStateException if the update does not start right after the sequence of the book
+     */
+    public synchronized void applyChanges(Level2ChangeEvent event) {
+        if (event.getSequenceStart() > sequence + 1) {
+            throw new IllegalStateException("Sequence gap on " + symbol + ": book at " + sequence
+                    + ", update starts at " + event.getSequenceStart());
+        }
+        OrderBook changes = event.getChanges();
+        if (changes != null) {
+            applyChanges(bids, changes.getBids());
+            applyChanges(asks, changes.getAsks());
+        }
+        sequence = Math.max(sequence, event.getSequenceEnd());
+    }
+
+    public synchronized void clear() {
+        bids.clear();
+        asks.clear();
+        sequence = -1;
+        time = 0;
+    }
+
+    /**
+     * @return The sequence of the last applied snapshot or update, -1 before the first snapshot.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return The time of the last applied snapshot.
+     */
+    public synchronized long getTime() {
+        return time;
+    }
+
+    /**
+     * @return The scaled best bid price, or 0 if there are no bids.
+     */
+    public synchronized long bestBidPrice() {
+        return bids.isEmpty() ? 0 : bids.price(0);
+    }
+
+    /**
+     * @return The scaled size at the best bid, or 0 if there are no bids.
+     */
+    public synchronized long bestBidSize() {
+        return bids.isEmpty() ? 0 : bids.size(0);
+    }
+
+    /**
+     * @return The scaled best ask price, or 0 if there are no asks.
+     */
+    public synchronized long bestAskPrice() {
+        return asks.isEmpty() ? 0 : asks.price(0);
+    }
+
+    /**
+     * @return The scaled size at the best ask, or 0 if there are no asks.
+     */
+    public synchronized long bestAskSize() {
+        return asks.isEmpty() ? 0 : asks.size(0);
+    }
+
+    /**
+     * Copy the best bids, best first.
+     *
+     * @return The number of levels copied.
+     */
+    public synchronized int topBids(long[] prices, long[] sizes) {
+        return bids.top(prices, sizes);
+    }
+
+    /**
+     * Copy the best asks, best first.
+     *
+     * @return The number of levels copied.
+     */
+    public synchronized int topAsks(long[] prices, long[] sizes) {
+        return asks.top(prices, sizes);
+    }
+
+    public BigDecimal getBestBid() {
+        return ScaledDecimal.toBigDecimal(bestBidPrice(), priceScale);
+    }
+
+    public BigDecimal getBestAsk() {
+        return ScaledDecimal.toBigDecimal(bestAskPrice(), priceScale);
+    }
+
+    /**
+     * Read the book while no update can be applied.
+     *
+     * @param reader
+     */
+    public synchronized void read(BookReader reader) {
+        reader.read(bids, asks, sequence);
+    }
+
+    private void setLevels(PriceLevels levels, List<List<String>> entries) {
+        if (entries == null) {
+            return;
+        }
+        for (List<String> entry : entries) {
+            levels.set(ScaledDecimal.parse(entry.get(0), priceScale), ScaledDecimal.parse(entry.get(1), sizeScale));
+        }
+    }
+
+    /**
+     * Same as {@link #applyChanges(Level2ChangeEvent)} for an update decoded into scaled longs,
+     * without allocating.
+     *
+     * @param event
+     * @throws IllegalArgumentException if the event is not at the scales of the book
+     * @throws IllegalStateException    if the update does not start right after the sequence of the book
+     */
+    public synchronized void applyChanges(ScaledLevel2ChangeEvent event) {
+        if (event.getPriceScale() != priceScale || event.getSizeScale() != sizeScale) {
+            throw new IllegalArgumentException("Update of " + symbol + " is not at the scales of the book");
+        }
+        if (event.getSequenceStart() > sequence + 1) {
+            throw new IllegalStateException("Sequence gap on " + symbol + ": book at " + sequence
+                    + ", update starts at " + event.getSequenceStart());
+        }
+        applyChanges(bids, event.getBidCount(), event.getBidPrices(), event.getBidSizes(), event.getBidSequences());
+        applyChanges(asks, event.getAskCount(), event.getAskPrices(), event.getAskSizes(), event.getAskSequences());
+        sequence = Math.max(sequence, event.getSequenceEnd());
+    }
+
+    private void applyChanges(PriceLevels levels, int count, long[] prices, long[] sizes, long[] sequences) {
+        for (int i = 0; i < count; i++) {
+            if (sequences[i] <= sequence || prices[i] == 0) {
+                continue;
+            }
+            levels.set(prices[i], sizes[i]);
+        }
+    }
+
+    private void applyChanges(PriceLevels levels, List<List<String>> changes) {
+        if (changes == null) {
+            return;
+        }
+        for (List<String> change : changes) {
+            // [price, size, sequence]
+            if (change.size() > 2 && Long.parseLong(change.get(2)) <= sequence) {
+                continue;
+            }
+            long price = ScaledDecimal.parse(change.get(0), priceScale);
+            if (price == 0) {
+                // sequence-only change
+                continue;
+            }
+            levels.set(price, ScaledDecimal.parse(change.get(1), sizeScale));
+        }
+    }
+
+    /**
+     * Reads both sides of a book at one sequence.
+     */
+    public interface BookReader {
+
+        void read(PriceLevels bids, PriceLevels asks, long sequence);
+
+    }
+}
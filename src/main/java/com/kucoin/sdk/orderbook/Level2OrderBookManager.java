@@ -0,0 +1,130 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.kucoin.sdk.KucoinPublicWSClient;
+import com.kucoin.sdk.model.enums.PublicChannelEnum;
+import com.kucoin.sdk.rest.interfaces.OrderBookAPI;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import com.kucoin.sdk.util.ScaledDecimal;
+import com.kucoin.sdk.websocket.KucoinAPICallback;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Maintains local level2 order books from the {@code /market/level2} feed and full REST snapshots.
+ * <p>
+ * <pre>
+ * Level2OrderBookManager manager = new Level2OrderBookManager(publicWSClient, restClient.orderBookAPI());
+ * Level2OrderBook book = manager.subscribe(symbolResponse).getBook();
+ * long bestBid = book.bestBidPrice();
+ * </pre>
+ */
+public class Level2OrderBookManager implements Closeable {
+
+    private final KucoinPublicWSClient publicWSClient;
+
+    private final OrderBookAPI orderBookAPI;
+
+    private final ScheduledExecutorService executor;
+
+    private final boolean ownExecutor;
+
+    private final Map<String, ManagedLevel2OrderBook> books = new ConcurrentHashMap<>();
+
+    public Level2OrderBookManager(KucoinPublicWSClient publicWSClient, OrderBookAPI orderBookAPI) {
+        this(publicWSClient, orderBookAPI, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("SPOT-L2-SNAPSHOT-%d").setDaemon(true).build()), true);
+    }
+
+    /**
+     * @param publicWSClient
+     * @param orderBookAPI
+     * @param executor       loads snapshots, not shut down by {@link #close()}
+     */
+    public Level2OrderBookManager(KucoinPublicWSClient publicWSClient, OrderBookAPI orderBookAPI,
+                                  ScheduledExecutorService executor) {
+        this(publicWSClient, orderBookAPI, executor, false);
+    }
+
+    private Level2OrderBookManager(KucoinPublicWSClient publicWSClient, OrderBookAPI orderBookAPI,
+                                   ScheduledExecutorService executor, boolean ownExecutor) {
+        this.publicWSClient = publicWSClient;
+        this.orderBookAPI = orderBookAPI;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+    }
+
+    /**
+     * Maintain the book of a symbol, with scales taken from its priceIncrement and baseIncrement.
+     *
+     * @param symbol
+     * @return The managed book.
+     */
+    public ManagedLevel2OrderBook subscribe(SymbolResponse symbol) {
+        return subscribe(symbol.getSymbol(), ScaledDecimal.scaleOf(symbol.getPriceIncrement()),
+                ScaledDecimal.scaleOf(symbol.getBaseIncrement()), null);
+    }
+
+    public ManagedLevel2OrderBook subscribe(String symbol, int priceScale, int sizeScale) {
+        return subscribe(symbol, priceScale, sizeScale, null);
+    }
+
+    /**
+     * Maintain the book of a symbol.
+     *
+     * @param symbol
+     * @param priceScale     fraction digits of prices
+     * @param sizeScale      fraction digits of sizes
+     * @param updateCallback called on the feed thread after each applied update, may be null
+     * @return The managed book, or the existing one if the symbol is already maintained.
+     */
+    public ManagedLevel2OrderBook subscribe(String symbol, int priceScale, int sizeScale,
+                                            KucoinAPICallback<Level2OrderBook> updateCallback) {
+        ManagedLevel2OrderBook existing = books.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        ManagedLevel2OrderBook managed = new ManagedLevel2OrderBook(
+                new Level2OrderBook(symbol, priceScale, sizeScale), orderBookAPI::getAllLevel2OrderBook,
+                executor, updateCallback, ManagedLevel2OrderBook.DEFAULT_MAX_BUFFERED_UPDATES);
+        existing = books.putIfAbsent(symbol, managed);
+        if (existing != null) {
+            return existing;
+        }
+        // subscribe before loading the snapshot so that no update between the two is missed
+        publicWSClient.onLevel2Data(response -> managed.onChange(response.getData()), symbol);
+        managed.start();
+        return managed;
+    }
+
+    /**
+     * @param symbol
+     * @return The managed book of the symbol, or null if it is not maintained.
+     */
+    public ManagedLevel2OrderBook getBook(String symbol) {
+        return books.get(symbol);
+    }
+
+    public void unsubscribe(String symbol) {
+        ManagedLevel2OrderBook managed = books.remove(symbol);
+        if (managed != null) {
+            publicWSClient.unsubscribe(PublicChannelEnum.LEVEL2, symbol);
+            managed.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        books.keySet().forEach(this::unsubscribe);
+        if (ownExecutor) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.kucoin.sdk.rest.response.Level3Response;
+import com.kucoin.sdk.util.ScaledDecimal;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+import com.kucoin.sdk.websocket.event.Level3Event;
+import com.kucoin.sdk.websocket.event.ScaledLevel3Event;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Order-by-order book of one symbol, maintained from the {@code /spotMarket/level3} feed.
+ * <p>
+ * Resting orders live in parallel primitive arrays indexed by slot, chained in FIFO order per price level and
+ * indexed by order id in an open-addressing table. A resting order costs about 60 bytes besides its order id
+ * string, and applying an open, update, match or done message does not allocate once the arrays are sized.
+ * The price-aggregated view is kept in {@link PriceLevels} on every change.
+ * <p>
+ * Every method synchronizes on the book. The primitive {@code open}/{@code update}/{@code match}/{@code done}
+ * methods are the allocation-free path; {@link #onEvent(KucoinEvent)} converts the {@link BigDecimal} fields of
+ * {@link Level3Event} first.
+ */
+public class Level3OrderBook {
+
+    private static final int NONE = -1;
+
+    private static final int DEFAULT_EXPECTED_ORDERS = 1 << 16;
+
+    private final String symbol;
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    private final OrderIdIndex orderIndex;
+
+    private final LongIntHashMap bidLevels;
+
+    private final LongIntHashMap askLevels;
+
+    private final PriceLevels bids = new PriceLevels(true);
+
+    private final PriceLevels asks = new PriceLevels(false);
+
+    // order slots
+    private String[] orderIds;
+    private long[] prices;
+    private long[] sizes;
+    private int[] previous;
+    private int[] next;
+    private boolean[] bidSide;
+    private int orderSlots;
+    private int freeOrder = NONE;
+
+    // price level slots, freed levels are chained through levelTail
+    private int[] levelHead;
+    private int[] levelTail;
+    private int levelSlots;
+    private int freeLevel = NONE;
+
+    private long sequence = -1;
+
+    private long gapCount;
+
+    public Level3OrderBook(String symbol, int priceScale, int sizeScale) {
+        this(symbol, priceScale, sizeScale, DEFAULT_EXPECTED_ORDERS);
+    }
+
+    /**
+     * @param symbol
+     * @param priceScale     fraction digits of prices
+     * @param sizeScale      fraction digits of sizes
+     * @param expectedOrders resting orders to size the arrays for, they grow beyond it
+     */
+    public Level3OrderBook(String symbol, int priceScale, int sizeScale, int expectedOrders) {
+        this.symbol = symbol;
+        this.priceScale = priceScale;
+        this.sizeScale = sizeScale;
+        this.orderIndex = new OrderIdIndex(expectedOrders);
+        this.bidLevels = new LongIntHashMap(expectedOrders / 8);
+        this.askLevels = new LongIntHashMap(expectedOrders / 8);
+        allocateOrders(expectedOrders);
+        allocateLevels(Math.max(16, expectedOrders / 8));
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getSizeScale() {
+        return sizeScale;
+    }
+
+    /**
+     * Apply a message of the level3 feed, dispatching on its subject.
+     *
+     * @param event
+     */
+    public void onEvent(KucoinEvent<Level3Event> event) {
+        Level3Event data = event.getData();
+        if (data == null || event.getSubject() == null) {
+            return;
+        }
+        switch (event.getSubject()) {
+            case "open":
+                open(data.getSequence(), data.getOrderId(), "buy".equals(data.getSide()),
+                        scaled(data.getPrice(), priceScale), scaled(data.getSize(), sizeScale));
+                break;
+            case "update":
+                update(data.getSequence(), data.getOrderId(), scaled(data.getSize(), sizeScale));
+                break;
+            case "match":
+                match(data.getSequence(), data.getMakerOrderId(), scaled(data.getRemainSize(), sizeScale));
+                break;
+            case "done":
+                done(data.getSequence(), data.getOrderId());
+                break;
+            default:
+                received(data.getSequence());
+        }
+    }
+
+    /**
+     * Apply a message of the level3 feed decoded into scaled longs, without allocating.
+     *
+     * @param event
+     * @throws IllegalArgumentException if the message is not at the scales of the book
+     */
+    public void onScaledEvent(KucoinEvent<ScaledLevel3Event> event) {
+        ScaledLevel3Event data = event.getData();
+        if (data == null || event.getSubject() == null) {
+            return;
+        }
+        if (data.getPriceScale() != priceScale || data.getSizeScale() != sizeScale) {
+            throw new IllegalArgumentException("Message of " + symbol + " is not at the scales of the book");
+        }
+        switch (event.getSubject()) {
+            case "open":
+                open(data.getSequence(), data.getOrderId(), data.isBuy(), data.getPrice(), data.getSize());
+                break;
+            case "update":
+                update(data.getSequence(), data.getOrderId(), data.getSize());
+                break;
+            case "match":
+                match(data.getSequence(), data.getMakerOrderId(), data.getRemainSize());
+                break;
+            case "done":
+                done(data.getSequence(), data.getOrderId());
+                break;
+            default:
+                received(data.getSequence());
+        }
+    }
+
+    /**
+     * An order was received by the matching engine and is not on the book yet.
+     *
+     * @param sequence
+     */
+    public synchronized void received(long sequence) {
+        accept(sequence);
+    }
+
+    /**
+     * An order was put on the book.
+     *
+     * @param sequence
+     * @param orderId
+     * @param bid      true for buy orders
+     * @param price    scaled price
+     * @param size     scaled size
+     */
+    public synchronized void open(long sequence, String orderId, boolean bid, long price, long size) {
+        if (!accept(sequence)) {
+            return;
+        }
+        int existing = orderIndex.get(orderId);
+        if (existing != OrderIdIndex.MISSING) {
+            removeOrder(orderIndex.remove(orderId));
+        }
+        addOrder(orderId, bid, price, size);
+    }
+
+    /**
+     * The size of a resting order changed, keeping its place in the queue.
+     *
+     * @param sequence
+     * @param orderId
+     * @param size     new scaled size
+     */
+    public synchronized void update(long sequence, String orderId, long size) {
+        if (accept(sequence)) {
+            resize(orderId, size);
+        }
+    }
+
+    /**
+     * A resting order was matched.
+     *
+     * @param sequence
+     * @param makerOrderId
+     * @param remainSize   scaled size left on the maker order
+     */
+    public synchronized void match(long sequence, String makerOrderId, long remainSize) {
+        if (accept(sequence)) {
+            resize(makerOrderId, remainSize);
+        }
+    }
+
+    /**
+     * An order left the book, filled or canceled.
+     *
+     * @param sequence
+     * @param orderId
+     */
+    public synchronized void done(long sequence, String orderId) {
+        if (accept(sequence)) {
+            int slot = orderIndex.remove(orderId);
+            if (slot != OrderIdIndex.MISSING) {
+                removeOrder(slot);
+            }
+        }
+    }
+
+    /**
+     * Replace the book with a snapshot whose entries are {@code [orderId, price, size, time]}.
+     *
+     * @param snapshot
+     */
+    public synchronized void applySnapshot(Level3Response snapshot) {
+        clear();
+        addSnapshotOrders(snapshot.getBids(), true);
+        addSnapshotOrders(snapshot.getAsks(), false);
+        sequence = snapshot.getSequence();
+    }
+
+    public synchronized void clear() {
+        orderIndex.clear();
+        bidLevels.clear();
+        askLevels.clear();
+        bids.clear();
+        asks.clear();
+        Arrays.fill(orderIds, 0, orderSlots, null);
+        orderSlots = 0;
+        freeOrder = NONE;
+        levelSlots = 0;
+        freeLevel = NONE;
+        sequence = -1;
+    }
+
+    /**
+     * @return The sequence of the last applied message, -1 before the first one.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return How many times a message did not follow the previous one. The book is not reliable after a gap.
+     */
+    public synchronized long getGapCount() {
+        return gapCount;
+    }
+
+    public synchronized int orderCount() {
+        return orderIndex.size();
+    }
+
+    /**
+     * @param orderId
+     * @return The scaled size of the resting order, or -1 if it is not on the book.
+     */
+    public synchronized long orderSize(String orderId) {
+        int slot = orderIndex.get(orderId);
+        return slot == OrderIdIndex.MISSING ? -1 : sizes[slot];
+    }
+
+    public synchronized long bestBidPrice() {
+        return bids.isEmpty() ? 0 : bids.price(0);
+    }
+
+    public synchronized long bestBidSize() {
+        return bids.isEmpty() ? 0 : bids.size(0);
+    }
+
+    public synchronized long bestAskPrice() {
+        return asks.isEmpty() ? 0 : asks.price(0);
+    }
+
+    public synchronized long bestAskSize() {
+        return asks.isEmpty() ? 0 : asks.size(0);
+    }
+
+    /**
+     * Read the price-aggregated book while no message can be applied.
+     *
+     * @param reader
+     */
+    public synchronized void read(Level2OrderBook.BookReader reader) {
+        reader.read(bids, asks, sequence);
+    }
+
+    /**
+     * Visit the orders resting at a price, first in the queue first.
+     *
+     * @param bid
+     * @param price   scaled price
+     * @param visitor
+     */
+    public synchronized void forEachOrder(boolean bid, long price, OrderVisitor visitor) {
+        int level = (bid ? bidLevels : askLevels).get(price);
+        if (level == LongIntHashMap.MISSING) {
+            return;
+        }
+        for (int slot = levelHead[level]; slot != NONE; slot = next[slot]) {
+            visitor.visit(orderIds[slot], sizes[slot]);
+        }
+    }
+
+    private boolean accept(long messageSequence) {
+        if (sequence >= 0) {
+            if (messageSequence <= sequence) {
+                return false;
+            }
+            if (messageSequence > sequence + 1) {
+                gapCount++;
+            }
+        }
+        sequence = messageSequence;
+        return true;
+    }
+
+    private void resize(String orderId, long size) {
+        int slot = orderIndex.get(orderId);
+        if (slot == OrderIdIndex.MISSING) {
+            return;
+        }
+        if (size <= 0) {
+            orderIndex.remove(orderId);
+            removeOrder(slot);
+            return;
+        }
+        (bidSide[slot] ? bids : asks).add(prices[slot], size - sizes[slot]);
+        sizes[slot] = size;
+    }
+
+    private void addOrder(String orderId, boolean bid, long price, long size) {
+        int slot = allocateOrder();
+        orderIds[slot] = orderId;
+        prices[slot] = price;
+        sizes[slot] = size;
+        bidSide[slot] = bid;
+        next[slot] = NONE;
+
+        LongIntHashMap levels = bid ? bidLevels : askLevels;
+        int level = levels.get(price);
+        if (level == LongIntHashMap.MISSING) {
+            level = allocateLevel();
+            levelHead[level] = slot;
+            previous[slot] = NONE;
+            levels.put(price, level);
+        } else {
+            previous[slot] = levelTail[level];
+            next[levelTail[level]] = slot;
+        }
+        levelTail[level] = slot;
+        orderIndex.put(orderId, slot);
+        (bid ? bids : asks).add(price, size);
+    }
+
+    private void removeOrder(int slot) {
+        boolean bid = bidSide[slot];
+        long price = prices[slot];
+        LongIntHashMap levels = bid ? bidLevels : askLevels;
+        int level = levels.get(price);
+        if (previous[slot] == NONE) {
+            levelHead[level] = next[slot];
+        } else {
+            next[previous[slot]] = next[slot];
+        }
+        if (next[slot] == NONE) {
+            levelTail[level] = previous[slot];
+        } else {
+            previous[next[slot]] = previous[slot];
+        }
+        if (levelHead[level] == NONE) {
+            levels.remove(price);
+            levelTail[level] = freeLevel;
+            freeLevel = level;
+        }
+        (bid ? bids : asks).add(price, -sizes[slot]);
+
+        orderIds[slot] = null;
+        next[slot] = freeOrder;
+        freeOrder = slot;
+    }
+
+    private int allocateOrder() {
+        if (freeOrder != NONE) {
+            int slot = freeOrder;
+            freeOrder = next[slot];
+            return slot;
+        }
+        if (orderSlots == orderIds.length) {
+            allocateOrders(orderSlots * 2);
+        }
+        return orderSlots++;
+    }
+
+    private int allocateLevel() {
+        if (freeLevel != NONE) {
+            int level = freeLevel;
+            freeLevel = levelTail[level];
+            return level;
+        }
+        if (levelSlots == levelHead.length) {
+            allocateLevels(levelSlots * 2);
+        }
+        return levelSlots++;
+    }
+
+    private void allocateOrders(int capacity) {
+        orderIds = orderIds == null ? new String[capacity] : Arrays.copyOf(orderIds, capacity);
+        prices = prices == null ? new long[capacity] : Arrays.copyOf(prices, capacity);
+        sizes = sizes == null ? new long[capacity] : Arrays.copyOf(sizes, capacity);
+        previous = previous == null ? new int[capacity] : Arrays.copyOf(previous, capacity);
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        bidSide = bidSide == null ? new boolean[capacity] : Arrays.copyOf(bidSide, capacity);
+    }
+
+    private void allocateLevels(int capacity) {
+        levelHead = levelHead == null ? new int[capacity] : Arrays.copyOf(levelHead, capacity);
+        levelTail = levelTail == null ? new int[capacity] : Arrays.copyOf(levelTail, capacity);
+    }
+
+    private void addSnapshotOrders(Object[][] entries, boolean bid) {
+        if (entries == null) {
+            return;
+        }
+        for (Object[] entry : entries) {
+            addOrder(String.valueOf(entry[0]), bid, ScaledDecimal.parse(String.valueOf(entry[1]), priceScale),
+                    ScaledDecimal.parse(String.valueOf(entry[2]), sizeScale));
+        }
+    }
+
+    private static long scaled(BigDecimal value, int scale) {
+        return value == null ? 0 : ScaledDecimal.of(value, scale);
+    }
+
+    /**
+     * Visits the orders of a price level.
+     */
+    public interface OrderVisitor {
+
+        void visit(String orderId, long size);
+
+    }
+}
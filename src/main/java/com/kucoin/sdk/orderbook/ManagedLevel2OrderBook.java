@@ -0,0 +1,215 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+import com.kucoin.sdk.websocket.KucoinAPICallback;
+import com.kucoin.sdk.websocket.event.Level2ChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a {@link Level2OrderBook} in sync with the level2 update feed.
+ * <p>
+ * Updates are buffered while a REST snapshot loads, then the buffered updates newer than the snapshot are
+ * replayed in sequence order. A gap in the sequence of the feed, or a buffer overflow, drops the book and
+ * starts over with a new snapshot.
+ */
+public class ManagedLevel2OrderBook {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedLevel2OrderBook.class);
+
+    public static final int DEFAULT_MAX_BUFFERED_UPDATES = 100_000;
+
+    private static final long SNAPSHOT_RETRY_DELAY_MILLIS = 1000;
+
+    private final Level2OrderBook book;
+
+    private final SnapshotLoader snapshotLoader;
+
+    private final ScheduledExecutorService executor;
+
+    private final KucoinAPICallback<Level2OrderBook> updateCallback;
+
+    private final int maxBufferedUpdates;
+
+    private final Deque<Level2ChangeEvent> bufferedUpdates = new ArrayDeque<>();
+
+    private final AtomicLong resyncCount = new AtomicLong();
+
+    private boolean syncing;
+
+    private long generation;
+
+    private boolean closed;
+
+    /**
+     * @param book               the book to maintain
+     * @param snapshotLoader     loads the full book, e.g. {@code OrderBookAPI::getAllLevel2OrderBook}
+     * @param executor           runs snapshot loads
+     * @param updateCallback     called on the feed thread after each applied update, may be null
+     * @param maxBufferedUpdates updates kept while a snapshot loads before starting over
+     */
+    public ManagedLevel2OrderBook(Level2OrderBook book, SnapshotLoader snapshotLoader,
+                                  ScheduledExecutorService executor,
+                                  KucoinAPICallback<Level2OrderBook> updateCallback, int maxBufferedUpdates) {
+        this.book = book;
+        this.snapshotLoader = snapshotLoader;
+        this.executor = executor;
+        this.updateCallback = updateCallback;
+        this.maxBufferedUpdates = maxBufferedUpdates;
+    }
+
+    public Level2OrderBook getBook() {
+        return book;
+    }
+
+    /**
+     * @return true while the book waits for a snapshot and its content must not be used.
+     */
+    public synchronized boolean isSyncing() {
+        return syncing;
+    }
+
+    /**
+     * @return How many times the book was dropped and reloaded.
+     */
+    public long getResyncCount() {
+        return resyncCount.get();
+    }
+
+    /**
+     * Load the first snapshot. Updates received before are kept for replay.
+     */
+    public void start() {
+        synchronized (this) {
+            syncing = true;
+        }
+        scheduleSnapshot(generation(), 0);
+    }
+
+    /**
+     * Apply an update from the feed, or buffer it while a snapshot loads.
+     *
+     * @param event
+     */
+    public void onChange(Level2ChangeEvent event) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (syncing) {
+                if (bufferedUpdates.size() >= maxBufferedUpdates) {
+                    LOGGER.warn("More than {} updates buffered for {}, reloading the snapshot",
+                            maxBufferedUpdates, book.getSymbol());
+                    resync();
+                } else {
+                    bufferedUpdates.addLast(event);
+                }
+                return;
+            }
+            long sequence = book.getSequence();
+            if (event.getSequenceEnd() <= sequence) {
+                return;
+            }
+            if (event.getSequenceStart() > sequence + 1) {
+                LOGGER.warn("Sequence gap on {}: book at {}, update starts at {}, reloading the snapshot",
+                        book.getSymbol(), sequence, event.getSequenceStart());
+                resync();
+                bufferedUpdates.addLast(event);
+                return;
+            }
+            book.applyChanges(event);
+        }
+        notifyUpdate();
+    }
+
+    /**
+     * Drop the book and load a new snapshot.
+     */
+    public synchronized void resync() {
+        if (closed) {
+            return;
+        }
+        resyncCount.incrementAndGet();
+        syncing = true;
+        bufferedUpdates.clear();
+        book.clear();
+        scheduleSnapshot(++generation, 0);
+    }
+
+    public synchronized void close() {
+        closed = true;
+        bufferedUpdates.clear();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private void scheduleSnapshot(long loadGeneration, long delayMillis) {
+        executor.schedule(() -> loadSnapshot(loadGeneration), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void loadSnapshot(long loadGeneration) {
+        OrderBookResponse snapshot;
+        try {
+            snapshot = snapshotLoader.load(book.getSymbol());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to load the order book snapshot of {}, retrying", book.getSymbol(), e);
+            synchronized (this) {
+                if (!closed && loadGeneration == generation) {
+                    scheduleSnapshot(loadGeneration, SNAPSHOT_RETRY_DELAY_MILLIS);
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (closed || loadGeneration != generation) {
+                return;
+            }
+            book.applySnapshot(snapshot);
+            while (!bufferedUpdates.isEmpty()) {
+                Level2ChangeEvent event = bufferedUpdates.pollFirst();
+                if (event.getSequenceEnd() <= book.getSequence()) {
+                    continue;
+                }
+                if (event.getSequenceStart() > book.getSequence() + 1) {
+                    LOGGER.info("Snapshot of {} at {} is older than the buffered updates, reloading",
+                            book.getSymbol(), book.getSequence());
+                    bufferedUpdates.addFirst(event);
+                    book.clear();
+                    scheduleSnapshot(loadGeneration, SNAPSHOT_RETRY_DELAY_MILLIS);
+                    return;
+                }
+                book.applyChanges(event);
+            }
+            syncing = false;
+        }
+        notifyUpdate();
+    }
+
+    private void notifyUpdate() {
+        if (updateCallback != null) {
+            updateCallback.onResponse(book);
+        }
+    }
+
+    /**
+     * Loads the full level2 book of a symbol.
+     */
+    @FunctionalInterface
+    public interface SnapshotLoader {
+
+        OrderBookResponse load(String symbol) throws IOException;
+
+    }
+}
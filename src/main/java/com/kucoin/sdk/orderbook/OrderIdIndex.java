@@ -0,0 +1,113 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from order ids to order slots that does not allocate once sized.
+ * Uses the hash code cached by {@link String}. Not thread-safe.
+ */
+final class OrderIdIndex {
+
+    static final int MISSING = -1;
+
+    private String[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    OrderIdIndex(int expectedSize) {
+        allocate(LongIntHashMap.tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(String orderId) {
+        for (int i = slot(orderId); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(orderId)) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    void put(String orderId, int value) {
+        int i = slot(orderId);
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(orderId)) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = orderId;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    int remove(String orderId) {
+        for (int i = slot(orderId); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(orderId)) {
+                int value = values[i];
+                shiftBack(i);
+                size--;
+                return value;
+            }
+        }
+        return MISSING;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private void shiftBack(int hole) {
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) {
+                break;
+            }
+            int home = slot(keys[j]);
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!stays) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(String orderId) {
+        int h = orderId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
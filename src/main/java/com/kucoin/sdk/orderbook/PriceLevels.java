@@ -0,0 +1,143 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * One side of a price-aggregated book, kept as sorted arrays of scaled prices and sizes.
+ * <p>
+ * Levels are stored worst to best, so the best level is the last element and most updates, which happen near
+ * the top of the book, shift only a few elements. Asks are stored with negated prices to share the ordering.
+ * Not thread-safe.
+ */
+public class PriceLevels {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final boolean bids;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    private long[] sizes = new long[INITIAL_CAPACITY];
+
+    private int count;
+
+    public PriceLevels(boolean bids) {
+        this.bids = bids;
+    }
+
+    public boolean isBids() {
+        return bids;
+    }
+
+    /**
+     * @return The number of price levels.
+     */
+    public int depth() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Set the size of a price level, removing the level when the size is zero.
+     *
+     * @param price scaled price
+     * @param size  scaled size
+     */
+    public void set(long price, long size) {
+        long key = key(price);
+        int index = Arrays.binarySearch(keys, 0, count, key);
+        if (index >= 0) {
+            if (size == 0) {
+                System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+                System.arraycopy(sizes, index + 1, sizes, index, count - index - 1);
+                count--;
+            } else {
+                sizes[index] = size;
+            }
+        } else if (size != 0) {
+            int insertion = -index - 1;
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                sizes = Arrays.copyOf(sizes, count * 2);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, count - insertion);
+            System.arraycopy(sizes, insertion, sizes, insertion + 1, count - insertion);
+            keys[insertion] = key;
+            sizes[insertion] = size;
+            count++;
+        }
+    }
+
+    /**
+     * Add a signed amount to the size of a price level, removing the level when nothing is left.
+     *
+     * @param price scaled price
+     * @param delta scaled size to add, negative to reduce the level
+     */
+    public void add(long price, long delta) {
+        set(price, Math.max(0, sizeAt(price) + delta));
+    }
+
+    /**
+     * @param price scaled price
+     * @return The scaled size at the price, or 0 if there is no such level.
+     */
+    public long sizeAt(long price) {
+        int index = Arrays.binarySearch(keys, 0, count, key(price));
+        return index >= 0 ? sizes[index] : 0;
+    }
+
+    /**
+     * @param level 0 for the best level
+     * @return The scaled price of the level.
+     */
+    public long price(int level) {
+        return key(keys[indexOf(level)]);
+    }
+
+    /**
+     * @param level 0 for the best level
+     * @return The scaled size of the level.
+     */
+    public long size(int level) {
+        return sizes[indexOf(level)];
+    }
+
+    /**
+     * Copy the best levels, best first.
+     *
+     * @param prices receives scaled prices
+     * @param sizes  receives scaled sizes
+     * @return The number of levels copied.
+     */
+    public int top(long[] prices, long[] sizes) {
+        int n = Math.min(count, Math.min(prices.length, sizes.length));
+        for (int level = 0; level < n; level++) {
+            int index = count - 1 - level;
+            prices[level] = key(keys[index]);
+            sizes[level] = this.sizes[index];
+        }
+        return n;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private int indexOf(int level) {
+        if (level < 0 || level >= count) {
+            throw new IndexOutOfBoundsException("Level " + level + " of " + count);
+        }
+        return count - 1 - level;
+    }
+
+    private long key(long price) {
+        return bids ? price : -price;
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.adapter;
+
+import com.kucoin.sdk.exception.OrderValidationException;
+import com.kucoin.sdk.metadata.OrderValidator;
+import com.kucoin.sdk.rest.impl.retrofit.AuthRetrofitAPIImpl;
+import com.kucoin.sdk.rest.interfaces.AsyncOrderAPI;
+import com.kucoin.sdk.rest.interfaces.retrofit.OrderAPIRetrofit;
+import com.kucoin.sdk.rest.request.*;
+import com.kucoin.sdk.rest.response.*;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Enqueues the calls of {@link OrderAPIRetrofit} on the HTTP dispatcher instead of executing them on the
+ * calling thread.
+ */
+public class AsyncOrderAPIAdapter extends AuthRetrofitAPIImpl<OrderAPIRetrofit> implements AsyncOrderAPI {
+
+    private OrderValidator orderValidator;
+
+    public AsyncOrderAPIAdapter(String baseUrl, String apiKey, String secret, String passPhrase,
+                                Integer apiKeyVersion, Executor callbackExecutor) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.secret = secret;
+        this.passPhrase = passPhrase;
+        this.apiKeyVersion = apiKeyVersion;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public OrderValidator getOrderValidator() {
+        return orderValidator;
+    }
+
+    /**
+     * @param orderValidator checks or normalizes single orders before they are sent, null to send them as they are
+     */
+    public void setOrderValidator(OrderValidator orderValidator) {
+        this.orderValidator = orderValidator;
+    }
+
+    @Override
+    public CompletableFuture<OrderCreateResponse> createOrder(OrderCreateApiRequest opsRequest) {
+        try {
+            opsRequest = validate(opsRequest);
+        } catch (OrderValidationException e) {
+            return failed(e);
+        }
+        if (Objects.nonNull(opsRequest) && StringUtils.isEmpty(opsRequest.getTradeType())) {
+            opsRequest.setTradeType("TRADE");
+        }
+        return executeAsync(getAPIImpl().createOrder(opsRequest));
+    }
+
+    @Override
+    public CompletableFuture<OrderCreateResponse> createOrderTest(OrderCreateApiRequest opsRequest) {
+        try {
+            opsRequest = validate(opsRequest);
+        } catch (OrderValidationException e) {
+            return failed(e);
+        }
+        if (Objects.nonNull(opsRequest) && StringUtils.isEmpty(opsRequest.getTradeType())) {
+            opsRequest.setTradeType("TRADE");
+        }
+        return executeAsync(getAPIImpl().createOrderTest(opsRequest));
+    }
+
+    @Override
+    public CompletableFuture<MultiOrderCreateResponse> createMultipleOrders(MultiOrderCreateRequest multiOrderCreateRequest) {
+        if (Objects.nonNull(multiOrderCreateRequest)
+                && CollectionUtils.isNotEmpty(multiOrderCreateRequest.getOrderList())) {
+            multiOrderCreateRequest.getOrderList().forEach(order -> {
+                if (StringUtils.isEmpty(order.getTradeType())) {
+                    order.setTradeType("TRADE");
+                }
+            });
+        }
+        return executeAsync(getAPIImpl().createMultipleOrders(multiOrderCreateRequest));
+    }
+
+    @Override
+    public CompletableFuture<OrderCancelResponse> cancelOrder(String orderId) {
+        return executeAsync(getAPIImpl().cancelOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<OrderCancelResponse> cancelOrderByClientOid(String clientOid) {
+        return executeAsync(getAPIImpl().cancelOrderByClientOid(clientOid));
+    }
+
+    @Override
+    public CompletableFuture<OrderCancelResponse> cancelAllOrders(String symbol, String tradeType) {
+        return executeAsync(getAPIImpl().cancelOrders(symbol, tradeType));
+    }
+
+    @Override
+    public CompletableFuture<OrderResponse> getOrder(String orderId) {
+        return executeAsync(getAPIImpl().getOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<ActiveOrderResponse> getOrderByClientOid(String clientOid) {
+        return executeAsync(getAPIImpl().getOrderByClientOid(clientOid));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderCreateResponse> createHFOrder(HFOrderCreateRequest createRequest) {
+        try {
+            createRequest = validate(createRequest);
+        } catch (OrderValidationException e) {
+            return failed(e);
+        }
+        return executeAsync(getAPIImpl().createHFOrder(createRequest));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderSyncCreateResponse> syncCreateHFOrder(HFOrderCreateRequest createRequest) {
+        try {
+            createRequest = validate(createRequest);
+        } catch (OrderValidationException e) {
+            return failed(e);
+        }
+        return executeAsync(getAPIImpl().syncCreateHFOrder(createRequest));
+    }
+
+    @Override
+    public CompletableFuture<List<HFOrderMultiCreateResponse>> createMultipleHFOrders(HFOrderMultiCreateRequest multiCreateRequest) {
+        return executeAsync(getAPIImpl().createMultipleHFOrders(multiCreateRequest));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderAlterResponse> alterHFOrder(HFOrderAlterRequest alterRequest) {
+        return executeAsync(getAPIImpl().alterHFOrder(alterRequest));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderCancelResponse> cancelHFOrder(String orderId, String symbol) {
+        return executeAsync(getAPIImpl().cancelHFOrder(orderId, symbol));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderSyncCancelResponse> syncCancelHFOrder(String orderId, String symbol) {
+        return executeAsync(getAPIImpl().syncCancelHFOrder(orderId, symbol));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderCancelByClientOidResponse> cancelHFOrderByClientOid(String clientOid, String symbol) {
+        return executeAsync(getAPIImpl().cancelHFOrderByClientOid(clientOid, symbol));
+    }
+
+    @Override
+    public CompletableFuture<String> cancelHFOrdersBySymbol(String symbol) {
+        return executeAsync(getAPIImpl().cancelHFOrdersBySymbol(symbol));
+    }
+
+    @Override
+    public CompletableFuture<List<HFOrderResponse>> getActiveHFOrders(String symbol) {
+        return executeAsync(getAPIImpl().getActiveHFOrders(symbol));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderResponse> getHFOrder(String orderId, String symbol) {
+        return executeAsync(getAPIImpl().getHFOrder(orderId, symbol));
+    }
+
+    @Override
+    public CompletableFuture<HFOrderResponse> getHFOrderByClientOid(String clientOid, String symbol) {
+        return executeAsync(getAPIImpl().getHFOrderByClientOid(clientOid, symbol));
+    }
+
+    private OrderCreateApiRequest validate(OrderCreateApiRequest request) {
+        return orderValidator == null ? request : orderValidator.apply(request);
+    }
+
+    private HFOrderCreateRequest validate(HFOrderCreateRequest request) {
+        return orderValidator == null ? request : orderValidator.apply(request);
+    }
+
+    private static <T> CompletableFuture<T> failed(OrderValidationException e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.adapter;
+
+import com.kucoin.sdk.rest.impl.retrofit.AuthRetrofitAPIImpl;
+import com.kucoin.sdk.rest.interfaces.AsyncOrderBookAPI;
+import com.kucoin.sdk.rest.interfaces.retrofit.OrderBookAPIRetrofit;
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Enqueues the calls of {@link OrderBookAPIRetrofit} instead of executing them on the calling thread.
+ */
+public class AsyncOrderBookAPIAdapter extends AuthRetrofitAPIImpl<OrderBookAPIRetrofit> implements AsyncOrderBookAPI {
+
+    public AsyncOrderBookAPIAdapter(String baseUrl, String apiKey, String secret, String passPhrase,
+                                    Integer apiKeyVersion, Executor callbackExecutor) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.secret = secret;
+        this.passPhrase = passPhrase;
+        this.apiKeyVersion = apiKeyVersion;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public CompletableFuture<OrderBookResponse> getTop20Level2OrderBook(String symbol) {
+        return executeAsync(getAPIImpl().getTop20Level2OrderBook(symbol));
+    }
+
+    @Override
+    public CompletableFuture<OrderBookResponse> getTop100Level2OrderBook(String symbol) {
+        return executeAsync(getAPIImpl().getTop100Level2OrderBook(symbol));
+    }
+
+    @Override
+    public CompletableFuture<OrderBookResponse> getAllLevel2OrderBook(String symbol) {
+        return executeAsync(getAPIImpl().getAllLevel2OrderBook(symbol));
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.adapter;
+
+import com.kucoin.sdk.rest.impl.retrofit.PublicRetrofitAPIImpl;
+import com.kucoin.sdk.rest.interfaces.AsyncSymbolAPI;
+import com.kucoin.sdk.rest.interfaces.retrofit.SymbolAPIRetrofit;
+import com.kucoin.sdk.rest.response.AllTickersResponse;
+import com.kucoin.sdk.rest.response.SymbolTickResponse;
+import com.kucoin.sdk.rest.response.TickerResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Enqueues the ticker calls of {@link SymbolAPIRetrofit} instead of executing them on the calling thread.
+ */
+public class AsyncSymbolAPIAdapter extends PublicRetrofitAPIImpl<SymbolAPIRetrofit> implements AsyncSymbolAPI {
+
+    public AsyncSymbolAPIAdapter(String baseUrl, Executor callbackExecutor) {
+        this.baseUrl = baseUrl;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public CompletableFuture<TickerResponse> getTicker(String symbol) {
+        return executeAsync(getAPIImpl().getTicker(symbol));
+    }
+
+    @Override
+    public CompletableFuture<AllTickersResponse> getAllTickers() {
+        return executeAsync(getAPIImpl().getAllTickers());
+    }
+
+    @Override
+    public CompletableFuture<SymbolTickResponse> get24hrStats(String symbol) {
+        return executeAsync(getAPIImpl().getMarketStats(symbol));
+    }
+}
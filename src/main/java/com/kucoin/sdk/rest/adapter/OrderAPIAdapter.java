@@ -3,6 +3,7 @@
  */
 package com.kucoin.sdk.rest.adapter;
 
+import com.kucoin.sdk.metadata.OrderValidator;
 import com.kucoin.sdk.rest.impl.retrofit.AuthRetrofitAPIImpl;
 import com.kucoin.sdk.rest.interfaces.OrderAPI;
 import com.kucoin.sdk.rest.interfaces.retrofit.OrderAPIRetrofit;
@@ -14,12 +15,15 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Created by chenshiwei on 2019/1/18.
  */
 public class OrderAPIAdapter extends AuthRetrofitAPIImpl<OrderAPIRetrofit> implements OrderAPI {
 
+    private OrderValidator orderValidator;
+
     public OrderAPIAdapter(String baseUrl, String apiKey, String secret, String passPhrase, Integer apiKeyVersion) {
         this.baseUrl = baseUrl;
         this.apiKey = apiKey;
@@ -28,16 +32,38 @@ public class OrderAPIAdapter extends AuthRetrofitAPIImpl<OrderAPIRetrofit> imple
         this.apiKeyVersion = apiKeyVersion;
     }
 
+    public OrderValidator getOrderValidator() {
+        return orderValidator;
+    }
+
+    /**
+     * @param orderValidator checks or normalizes single orders before they are sent, null to send them as they are
+     */
+    public void setOrderValidator(OrderValidator orderValidator) {
+        this.orderValidator = orderValidator;
+    }
+
     @Override
     public OrderCreateResponse createOrder(OrderCreateApiRequest opsRequest) throws IOException {
+        opsRequest = validate(opsRequest);
         if (Objects.nonNull(opsRequest) && StringUtils.isEmpty(opsRequest.getTradeType())) {
             opsRequest.setTradeType("TRADE");
         }
-        return executeSync(getAPIImpl().createOrder(opsRequest));
+        OrderCreateApiRequest request = withClientOid(opsRequest);
+        return executeCreate(getAPIImpl().createOrder(request), () -> {
+            ActiveOrderResponse order = getOrderByClientOid(request.getClientOid());
+            if (order == null) {
+                return null;
+            }
+            OrderCreateResponse response = new OrderCreateResponse();
+            response.setOrderId(order.getId());
+            return response;
+        });
     }
 
     @Override
     public OrderCreateResponse createOrderTest(OrderCreateApiRequest opsRequest) throws IOException {
+        opsRequest = validate(opsRequest);
         if (Objects.nonNull(opsRequest) && StringUtils.isEmpty(opsRequest.getTradeType())) {
             opsRequest.setTradeType("TRADE");
         }
@@ -113,12 +139,38 @@ public class OrderAPIAdapter extends AuthRetrofitAPIImpl<OrderAPIRetrofit> imple
 
     @Override
     public HFOrderCreateResponse createHFOrder(HFOrderCreateRequest createRequest) throws IOException {
-        return executeSync(getAPIImpl().createHFOrder(createRequest));
+        createRequest = validate(createRequest);
+        HFOrderCreateRequest request = withClientOid(createRequest);
+        return executeCreate(getAPIImpl().createHFOrder(request), () -> {
+            HFOrderResponse order = getHFOrderByClientOid(request.getClientOid(), request.getSymbol());
+            if (order == null) {
+                return null;
+            }
+            HFOrderCreateResponse response = new HFOrderCreateResponse();
+            response.setOrderId(order.getId());
+            return response;
+        });
     }
 
     @Override
     public HFOrderSyncCreateResponse syncCreateHFOrder(HFOrderCreateRequest createRequest) throws IOException {
-        return executeSync(getAPIImpl().syncCreateHFOrder(createRequest));
+        createRequest = validate(createRequest);
+        HFOrderCreateRequest request = withClientOid(createRequest);
+        return executeCreate(getAPIImpl().syncCreateHFOrder(request), () -> {
+            HFOrderResponse order = getHFOrderByClientOid(request.getClientOid(), request.getSymbol());
+            if (order == null) {
+                return null;
+            }
+            HFOrderSyncCreateResponse response = new HFOrderSyncCreateResponse();
+            response.setOrderId(order.getId());
+            response.setOrderTime(order.getCreatedAt());
+            response.setOriginSize(order.getSize());
+            response.setDealSize(order.getDealSize());
+            response.setRemainSize(order.getRemainSize());
+            response.setCanceledSize(order.getCancelledSize());
+            response.setStatus(Boolean.TRUE.equals(order.getActive()) ? "open" : "done");
+            return response;
+        });
     }
 
     @Override
@@ -213,4 +265,30 @@ public class OrderAPIAdapter extends AuthRetrofitAPIImpl<OrderAPIRetrofit> imple
     public ServerStatusResponse queryServerStatus() throws IOException {
         return executeSync(getAPIImpl().queryServerStatus());
     }
+
+    private OrderCreateApiRequest validate(OrderCreateApiRequest request) {
+        return orderValidator == null ? request : orderValidator.apply(request);
+    }
+
+    private HFOrderCreateRequest validate(HFOrderCreateRequest request) {
+        return orderValidator == null ? request : orderValidator.apply(request);
+    }
+
+    /**
+     * Orders created with retries need a clientOid to be looked up by. A request without one is copied, the
+     * caller's request is left as it is.
+     */
+    private OrderCreateApiRequest withClientOid(OrderCreateApiRequest request) {
+        if (Objects.nonNull(request) && Objects.nonNull(retryConfig) && StringUtils.isEmpty(request.getClientOid())) {
+            return request.toBuilder().clientOid(UUID.randomUUID().toString()).build();
+        }
+        return request;
+    }
+
+    private HFOrderCreateRequest withClientOid(HFOrderCreateRequest request) {
+        if (Objects.nonNull(request) && Objects.nonNull(retryConfig) && StringUtils.isEmpty(request.getClientOid())) {
+            return request.toBuilder().clientOid(UUID.randomUUID().toString()).build();
+        }
+        return request;
+    }
 }
@@ -30,7 +30,7 @@ public class OrderBookAPIAdapter extends AuthRetrofitAPIImpl<OrderBookAPIRetrofi
 
     @Override
     public OrderBookResponse getTop20Level2OrderBook(String symbol) throws IOException {
-        return super.executeSync(getAPIImpl().getTop20Level2OrderBook(symbol));
+        return super.executeHedged(api -> api.getTop20Level2OrderBook(symbol));
     }
 
     @Override
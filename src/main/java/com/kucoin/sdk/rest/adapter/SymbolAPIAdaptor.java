@@ -30,7 +30,7 @@ public class SymbolAPIAdaptor extends PublicRetrofitAPIImpl<SymbolAPIRetrofit> i
 
     @Override
     public TickerResponse getTicker(String symbol) throws IOException {
-        return super.executeSync(getAPIImpl().getTicker(symbol));
+        return super.executeHedged(api -> api.getTicker(symbol));
     }
 
     @Override
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes a flat JSON object into a growable byte array, reused from one object to the next.
+ * Null values are left out.
+ */
+class JsonBytesWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer = new byte[512];
+
+    private int length;
+
+    private boolean first;
+
+    JsonBytesWriter begin() {
+        length = 0;
+        first = true;
+        write((byte) '{');
+        return this;
+    }
+
+    byte[] end() {
+        write((byte) '}');
+        return Arrays.copyOf(buffer, length);
+    }
+
+    JsonBytesWriter field(byte[] name, String value) {
+        if (value != null) {
+            name(name);
+            string(value);
+        }
+        return this;
+    }
+
+    JsonBytesWriter field(byte[] name, BigDecimal value) {
+        if (value != null) {
+            name(name);
+            ascii(value.toPlainString());
+        }
+        return this;
+    }
+
+    JsonBytesWriter field(byte[] name, Long value) {
+        if (value != null) {
+            name(name);
+            ascii(value.toString());
+        }
+        return this;
+    }
+
+    JsonBytesWriter field(byte[] name, long value) {
+        name(name);
+        ascii(Long.toString(value));
+        return this;
+    }
+
+    JsonBytesWriter field(byte[] name, Boolean value) {
+        if (value != null) {
+            field(name, value.booleanValue());
+        }
+        return this;
+    }
+
+    JsonBytesWriter field(byte[] name, boolean value) {
+        name(name);
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * @return The {@code "name":} prefix of a field.
+     */
+    static byte[] name(String name) {
+        return ("\"" + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void name(byte[] name) {
+        if (!first) {
+            write((byte) ',');
+        }
+        first = false;
+        ensure(name.length);
+        System.arraycopy(name, 0, buffer, length, name.length);
+        length += name.length;
+    }
+
+    private void ascii(String text) {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void string(String text) {
+        // worst case: every char escaped as \\uXXXX
+        ensure(text.length() * 6 + 2);
+        buffer[length++] = '"';
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[length++] = '\\';
+                buffer[length++] = (byte) c;
+            } else if (c < 0x20) {
+                buffer[length++] = '\\';
+                buffer[length++] = 'u';
+                buffer[length++] = '0';
+                buffer[length++] = '0';
+                buffer[length++] = HEX[c >> 4];
+                buffer[length++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buffer[length++] = (byte) (0xE0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[length++] = '"';
+    }
+
+    private void write(byte b) {
+        ensure(1);
+        buffer[length++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.codec;
+
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+import okhttp3.RequestBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Encodes the bodies of order placements with {@link OrderBodyEncoder}; other types are left to the next
+ * converter factory.
+ */
+public class OrderBodyConverterFactory extends Converter.Factory {
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        if (type == OrderCreateApiRequest.class) {
+            return (Converter<OrderCreateApiRequest, RequestBody>) OrderBodyEncoder::encode;
+        }
+        if (type == HFOrderCreateRequest.class) {
+            return (Converter<HFOrderCreateRequest, RequestBody>) OrderBodyEncoder::encode;
+        }
+        return null;
+    }
+}
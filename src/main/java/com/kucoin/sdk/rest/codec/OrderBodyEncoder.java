@@ -0,0 +1,85 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.codec;
+
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+
+/**
+ * Encodes order placements straight into bytes, field by field, without going through Jackson.
+ * The JSON is written into a per thread buffer and copied once into the body.
+ * <p>
+ * Unlike Jackson, null fields are left out and decimals are written in plain notation.
+ */
+public class OrderBodyEncoder {
+
+    private static final byte[] CLIENT_OID = JsonBytesWriter.name("clientOid");
+    private static final byte[] SYMBOL = JsonBytesWriter.name("symbol");
+    private static final byte[] TYPE = JsonBytesWriter.name("type");
+    private static final byte[] SIDE = JsonBytesWriter.name("side");
+    private static final byte[] PRICE = JsonBytesWriter.name("price");
+    private static final byte[] SIZE = JsonBytesWriter.name("size");
+    private static final byte[] FUNDS = JsonBytesWriter.name("funds");
+    private static final byte[] STP = JsonBytesWriter.name("stp");
+    private static final byte[] TRADE_TYPE = JsonBytesWriter.name("tradeType");
+    private static final byte[] STOP = JsonBytesWriter.name("stop");
+    private static final byte[] STOP_PRICE = JsonBytesWriter.name("stopPrice");
+    private static final byte[] TIME_IN_FORCE = JsonBytesWriter.name("timeInForce");
+    private static final byte[] CANCEL_AFTER = JsonBytesWriter.name("cancelAfter");
+    private static final byte[] POST_ONLY = JsonBytesWriter.name("postOnly");
+    private static final byte[] HIDDEN = JsonBytesWriter.name("hidden");
+    private static final byte[] ICEBERGE = JsonBytesWriter.name("iceberge");
+    private static final byte[] ICEBERG = JsonBytesWriter.name("iceberg");
+    private static final byte[] VISIBLE_SIZE = JsonBytesWriter.name("visibleSize");
+    private static final byte[] REMARK = JsonBytesWriter.name("remark");
+    private static final byte[] TAGS = JsonBytesWriter.name("tags");
+
+    private static final ThreadLocal<JsonBytesWriter> WRITERS = ThreadLocal.withInitial(JsonBytesWriter::new);
+
+    public static PreEncodedBody encode(OrderCreateApiRequest order) {
+        byte[] bytes = WRITERS.get().begin()
+                .field(CLIENT_OID, order.getClientOid())
+                .field(SYMBOL, order.getSymbol())
+                .field(TYPE, order.getType())
+                .field(SIDE, order.getSide())
+                .field(PRICE, order.getPrice())
+                .field(SIZE, order.getSize())
+                .field(FUNDS, order.getFunds())
+                .field(STP, order.getStp())
+                .field(TRADE_TYPE, order.getTradeType())
+                .field(STOP, order.getStop())
+                .field(STOP_PRICE, order.getStopPrice())
+                .field(TIME_IN_FORCE, order.getTimeInForce())
+                .field(CANCEL_AFTER, order.getCancelAfter())
+                .field(POST_ONLY, order.isPostOnly())
+                .field(HIDDEN, order.isHidden())
+                .field(ICEBERGE, order.isIceberge())
+                .field(VISIBLE_SIZE, order.getVisibleSize())
+                .field(REMARK, order.getRemark())
+                .end();
+        return new PreEncodedBody(bytes);
+    }
+
+    public static PreEncodedBody encode(HFOrderCreateRequest order) {
+        byte[] bytes = WRITERS.get().begin()
+                .field(CLIENT_OID, order.getClientOid())
+                .field(SYMBOL, order.getSymbol())
+                .field(TYPE, order.getType())
+                .field(SIDE, order.getSide())
+                .field(STP, order.getStp())
+                .field(TAGS, order.getTags())
+                .field(REMARK, order.getRemark())
+                .field(PRICE, order.getPrice())
+                .field(SIZE, order.getSize())
+                .field(TIME_IN_FORCE, order.getTimeInForce())
+                .field(CANCEL_AFTER, order.getCancelAfter())
+                .field(POST_ONLY, order.getPostOnly())
+                .field(HIDDEN, order.getHidden())
+                .field(ICEBERG, order.getIceberg())
+                .field(VISIBLE_SIZE, order.getVisibleSize())
+                .field(FUNDS, order.getFunds())
+                .end();
+        return new PreEncodedBody(bytes);
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.codec;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * A JSON body encoded once into a byte array, which is both signed and sent as is.
+ */
+public class PreEncodedBody extends RequestBody {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    private final byte[] bytes;
+
+    public PreEncodedBody(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return The encoded bytes, not a copy: do not modify them.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(bytes);
+    }
+}
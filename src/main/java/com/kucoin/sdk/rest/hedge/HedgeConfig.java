@@ -0,0 +1,63 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.hedge;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of hedged requests, see {@link Hedger}.
+ */
+@Getter
+@ToString
+public class HedgeConfig {
+
+    private double quantile = 0.95;
+
+    private int minSamples = 20;
+
+    private long initialDelayMillis = 100;
+
+    private long minDelayMillis = 1;
+
+    private long maxDelayMillis = 1_000;
+
+    private double maxHedgeRatio = 0.1;
+
+    /**
+     * @param quantile latency quantile of the first call after which the second copy is sent, e.g. 0.95
+     */
+    public HedgeConfig withQuantile(double quantile) {
+        this.quantile = quantile;
+        return this;
+    }
+
+    /**
+     * @param minSamples         latencies recorded before the quantile is trusted
+     * @param initialDelayMillis delay of the second copy until then
+     */
+    public HedgeConfig withWarmUp(int minSamples, long initialDelayMillis) {
+        this.minSamples = minSamples;
+        this.initialDelayMillis = initialDelayMillis;
+        return this;
+    }
+
+    /**
+     * @param minDelayMillis lower bound of the delay of the second copy
+     * @param maxDelayMillis upper bound of the delay of the second copy
+     */
+    public HedgeConfig withDelayBounds(long minDelayMillis, long maxDelayMillis) {
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+    /**
+     * @param maxHedgeRatio largest share of calls that may send a second copy
+     */
+    public HedgeConfig withMaxHedgeRatio(double maxHedgeRatio) {
+        this.maxHedgeRatio = maxHedgeRatio;
+        return this;
+    }
+}
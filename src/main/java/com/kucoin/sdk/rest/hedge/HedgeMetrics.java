@@ -0,0 +1,84 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.hedge;
+
+import com.kucoin.sdk.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a {@link Hedger}.
+ */
+public class HedgeMetrics {
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong hedges = new AtomicLong();
+
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    private final AtomicLong skippedHedges = new AtomicLong();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void onCall() {
+        calls.incrementAndGet();
+    }
+
+    void onHedge() {
+        hedges.incrementAndGet();
+    }
+
+    void onHedgeWin() {
+        hedgeWins.incrementAndGet();
+    }
+
+    void onSkippedHedge() {
+        skippedHedges.incrementAndGet();
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * @return Second copies sent.
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     * @return Second copies that answered before the first call.
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * @return Second copies that were due but not sent, as the hedge ratio or the rate limit budget was spent.
+     */
+    public long getSkippedHedges() {
+        return skippedHedges.get();
+    }
+
+    public double getHedgeWinRatio() {
+        long sent = hedges.get();
+        return sent == 0 ? 0 : (double) hedgeWins.get() / sent;
+    }
+
+    /**
+     * @return Latencies of the first calls that answered first. A first call that lost to its second copy is
+     * cancelled before its latency is known and is not counted.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeMetrics(calls=" + getCalls() + ", hedges=" + getHedges() + ", hedgeWins=" + getHedgeWins()
+                + ", skippedHedges=" + getSkippedHedges() + ", latency=" + latency + ")";
+    }
+}
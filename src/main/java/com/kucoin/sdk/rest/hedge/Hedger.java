@@ -0,0 +1,182 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.hedge;
+
+import com.kucoin.sdk.rest.ratelimit.RateLimiter;
+import com.kucoin.sdk.util.LatencyHistogram;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of a slow idempotent call and takes whichever answers first.
+ * <p>
+ * The second copy is sent once the first call has taken longer than the configured quantile of its past
+ * latencies. The adapters build it on the HTTP/1.1 twin of their client, see
+ * {@link com.kucoin.sdk.factory.HttpTransport#getHedgeClient}, so that it goes out on another pooled connection
+ * instead of being multiplexed behind the slow call on the same HTTP/2 connection. The loser is cancelled. A second copy is only sent while the share of hedged calls is below
+ * {@link HedgeConfig#getMaxHedgeRatio()} and the rate limiter, if any, has weight left for it without waiting.
+ * <p>
+ * Keep one hedger per endpoint, as the delay follows the latencies of the calls it executed. Only first calls
+ * that answered count: the latency of a race won by the second copy says nothing about the endpoint, and
+ * recording it would pull the delay down until hedges are only held back by the hedge ratio.
+ */
+public class Hedger {
+
+    private final HedgeConfig config;
+
+    private final HedgeMetrics metrics = new HedgeMetrics();
+
+    public Hedger(HedgeConfig config) {
+        this.config = config;
+    }
+
+    public HedgeConfig getConfig() {
+        return config;
+    }
+
+    public HedgeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The time the first call is given before the second copy is sent.
+     */
+    public long getDelayMillis() {
+        LatencyHistogram latency = metrics.getLatency();
+        if (latency.getCount() < config.getMinSamples()) {
+            return config.getInitialDelayMillis();
+        }
+        long millis = TimeUnit.MICROSECONDS.toMillis(latency.percentileMicros(config.getQuantile()));
+        return Math.max(config.getMinDelayMillis(), Math.min(config.getMaxDelayMillis(), millis));
+    }
+
+    /**
+     * Execute a call, hedged with a clone of itself, and block until the first response is received.
+     *
+     * @param rateLimiter limiter the call is charged to, null without rate limit
+     * @throws IOException On socket related errors, once all copies failed.
+     */
+    public <T> Response<T> execute(Call<T> call, RateLimiter rateLimiter) throws IOException {
+        return execute(call, call::clone, rateLimiter);
+    }
+
+    /**
+     * Execute a call, hedged, and block until the first response is received.
+     *
+     * @param hedges      builds the second copy of the call
+     * @param rateLimiter limiter the call is charged to, null without rate limit
+     * @throws IOException On socket related errors, once all copies failed.
+     */
+    public <T> Response<T> execute(Call<T> call, Supplier<Call<T>> hedges, RateLimiter rateLimiter)
+            throws IOException {
+        metrics.onCall();
+        Race<T> race = new Race<>();
+        race.send(call, false);
+        Call<T> hedge = null;
+        try {
+            Response<T> response = race.await(getDelayMillis());
+            if (response != null) {
+                return response;
+            }
+            if (mayHedge(call.request(), rateLimiter)) {
+                hedge = hedges.get();
+                metrics.onHedge();
+                race.send(hedge, true);
+            } else {
+                metrics.onSkippedHedge();
+            }
+            return race.await(-1);
+        } finally {
+            call.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    private boolean mayHedge(Request request, RateLimiter rateLimiter) {
+        if (metrics.getHedges() >= config.getMaxHedgeRatio() * metrics.getCalls()) {
+            return false;
+        }
+        return rateLimiter == null || rateLimiter.hasHeadroom(request.method(), request.url().encodedPath());
+    }
+
+    /**
+     * The copies of one call, completed by the first response or once every copy failed.
+     */
+    private class Race<T> {
+
+        private final long startNanos = System.nanoTime();
+
+        private final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        // set by the first response, which updates the metrics before completing the result
+        private final AtomicBoolean answered = new AtomicBoolean();
+
+        void send(Call<T> call, boolean hedge) {
+            pending.incrementAndGet();
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    if (answered.compareAndSet(false, true)) {
+                        if (hedge) {
+                            metrics.onHedgeWin();
+                        } else {
+                            metrics.getLatency().record(System.nanoTime() - startNanos);
+                        }
+                        result.complete(response);
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(t);
+                    }
+                }
+            });
+        }
+
+        /**
+         * @param timeoutMillis longest wait, negative to wait for the outcome
+         * @return The first response, or null if there is none yet.
+         */
+        Response<T> await(long timeoutMillis) throws IOException {
+            try {
+                return timeoutMillis < 0 ? result.get() : result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a hedged call");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
@@ -5,15 +5,27 @@ package com.kucoin.sdk.rest.impl.retrofit;
 
 import com.kucoin.sdk.KucoinObjectMapper;
 import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.factory.HttpClientFactory;
+import com.kucoin.sdk.factory.HttpTransport;
+import com.kucoin.sdk.rest.hedge.Hedger;
 import com.kucoin.sdk.rest.response.KucoinResponse;
+import com.kucoin.sdk.rest.retry.OrderLookup;
+import com.kucoin.sdk.rest.retry.RetryConfig;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Converter;
 import retrofit2.Response;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Created by chenshiwei on 2019/1/10.
@@ -37,15 +49,200 @@ public abstract class AbstractRetrofitAPIImpl<T> {
 
     protected Integer apiKeyVersion;
 
+    /**
+     * Executor completing the futures of {@link #executeAsync(Call)}.
+     */
+    protected Executor callbackExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * Retries of {@link #executeSync(Call)} and {@link #executeCreate(Call, OrderLookup)}, null to fail at the
+     * first error.
+     */
+    protected volatile RetryConfig retryConfig;
+
+    /**
+     * Hedger of {@link #executeHedged(Function)}, null to execute those calls like any other.
+     */
+    protected volatile Hedger hedger;
+
+    /**
+     * Transport of the calls, null for the default transport of {@link HttpClientFactory}.
+     */
+    protected volatile HttpTransport transport;
+
     public abstract T getAPIImpl();
 
+    /**
+     * @return The API sending the second copies of hedged calls, see {@link #executeHedged(Function)}.
+     */
+    protected T getHedgeAPIImpl() {
+        return getAPIImpl();
+    }
+
     /**
      * Execute a REST call and block until the response is received.
      *
      * @throws IOException On socket related errors.
      */
     public <R> R executeSync(Call<KucoinResponse<R>> call) throws IOException {
-        Response<KucoinResponse<R>> response = call.execute();
+        return execute(call, null, null);
+    }
+
+    /**
+     * Execute a latency critical GET and block until the response is received. When a hedger is set, a second
+     * copy of the call is built on {@link #getHedgeAPIImpl()} and sent if the first one is slow, see
+     * {@link Hedger}.
+     *
+     * @param request builds the call on the given API
+     * @throws IOException On socket related errors.
+     */
+    protected <R> R executeHedged(Function<T, Call<KucoinResponse<R>>> request) throws IOException {
+        Hedger current = hedger;
+        if (current == null) {
+            return executeSync(request.apply(getAPIImpl()));
+        }
+        return execute(request.apply(getAPIImpl()), () -> request.apply(getHedgeAPIImpl()), current);
+    }
+
+    private <R> R execute(Call<KucoinResponse<R>> call, Supplier<Call<KucoinResponse<R>>> hedges, Hedger hedger)
+            throws IOException {
+        RetryConfig config = retryConfig;
+        if (config == null || !config.isIdempotent(call.request())) {
+            return unwrap(send(call, hedges, hedger));
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return unwrap(send(call, hedges, hedger));
+            } catch (IOException | KucoinApiException e) {
+                if (attempt >= config.getMaxAttempts() || !config.isRetryable(e)) {
+                    throw e;
+                }
+                backoff(config, attempt);
+                call = call.clone();
+            }
+        }
+    }
+
+    /**
+     * Execute an order creation and retry it on transient failures.
+     * <p>
+     * A failed creation may still have reached the exchange, so before the order is sent again it is looked up
+     * by its clientOid. An order found at once costs one lookup. Otherwise the lookup is repeated once
+     * {@link RetryConfig#getCreateSettleMillis()} have passed since the failure, as a creation still in flight
+     * is not found yet, and the order is only sent again when the exchange does not know it by then.
+     *
+     * @param lookup finds the order by the clientOid of the request
+     */
+    protected <R> R executeCreate(Call<KucoinResponse<R>> call, OrderLookup<R> lookup) throws IOException {
+        RetryConfig config = retryConfig;
+        if (config == null) {
+            return unwrap(call.execute());
+        }
+        // time after which a lookup proves the last send did not create the order, 0 before the first send
+        long settledAt = 0;
+        for (int attempt = 1; ; attempt++) {
+            boolean sending = false;
+            try {
+                if (settledAt > 0) {
+                    R order = find(config, lookup);
+                    if (order != null) {
+                        return order;
+                    }
+                    long settleMillis = settledAt - System.currentTimeMillis();
+                    if (settleMillis > 0) {
+                        sleep(settleMillis);
+                        order = find(config, lookup);
+                        if (order != null) {
+                            return order;
+                        }
+                    }
+                    call = call.clone();
+                }
+                sending = true;
+                return unwrap(call.execute());
+            } catch (IOException | KucoinApiException e) {
+                if (sending) {
+                    settledAt = System.currentTimeMillis() + config.getCreateSettleMillis();
+                }
+                if (attempt >= config.getMaxAttempts() || !config.isRetryable(e)) {
+                    throw e;
+                }
+                backoff(config, attempt);
+            }
+        }
+    }
+
+    private <R> Response<KucoinResponse<R>> send(Call<KucoinResponse<R>> call,
+                                                 Supplier<Call<KucoinResponse<R>>> hedges, Hedger hedger)
+            throws IOException {
+        if (hedger == null) {
+            return call.execute();
+        }
+        return hedger.execute(call, hedges, getTransport().getRateLimiter(apiKey));
+    }
+
+    private static <R> R find(RetryConfig config, OrderLookup<R> lookup) throws IOException {
+        try {
+            return lookup.find();
+        } catch (KucoinApiException e) {
+            if (config.isNotFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static void backoff(RetryConfig config, int attempt) throws InterruptedIOException {
+        sleep(config.backoffMillis(attempt));
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    /**
+     * Enqueue a REST call without blocking the calling thread.
+     * <p>
+     * The future is completed on the callback executor, exceptionally with a {@link KucoinApiException} when
+     * the API returns an error and with an {@link IOException} on socket related errors. Cancelling the future
+     * cancels the call.
+     */
+    public <R> CompletableFuture<R> executeAsync(Call<KucoinResponse<R>> call) {
+        Executor executor = callbackExecutor;
+        CompletableFuture<R> future = new CompletableFuture<R>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                call.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        call.enqueue(new Callback<KucoinResponse<R>>() {
+            @Override
+            public void onResponse(Call<KucoinResponse<R>> call, Response<KucoinResponse<R>> response) {
+                R data;
+                try {
+                    data = unwrap(response);
+                } catch (IOException | RuntimeException e) {
+                    executor.execute(() -> future.completeExceptionally(e));
+                    return;
+                }
+                executor.execute(() -> future.complete(data));
+            }
+
+            @Override
+            public void onFailure(Call<KucoinResponse<R>> call, Throwable t) {
+                executor.execute(() -> future.completeExceptionally(t));
+            }
+        });
+        return future;
+    }
+
+    private <R> R unwrap(Response<KucoinResponse<R>> response) throws IOException {
         if (response.isSuccessful() && response.body() != null && response.body().isSuccessful()) {
             return response.body().getData();
         } else {
@@ -97,4 +294,42 @@ public abstract class AbstractRetrofitAPIImpl<T> {
     public void setPassPhrase(String passPhrase) {
         this.passPhrase = passPhrase;
     }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public RetryConfig getRetryConfig() {
+        return retryConfig;
+    }
+
+    public void setRetryConfig(RetryConfig retryConfig) {
+        this.retryConfig = retryConfig;
+    }
+
+    public Hedger getHedger() {
+        return hedger;
+    }
+
+    public void setHedger(Hedger hedger) {
+        this.hedger = hedger;
+    }
+
+    public HttpTransport getTransport() {
+        HttpTransport current = transport;
+        return current != null ? current : HttpClientFactory.getDefaultTransport();
+    }
+
+    /**
+     * Send the calls of this adapter over the transport. Takes effect if set before the first call.
+     *
+     * @param transport the transport, null for the default one
+     */
+    public void setTransport(HttpTransport transport) {
+        this.transport = transport;
+    }
 }
@@ -4,32 +4,74 @@
 package com.kucoin.sdk.rest.impl.retrofit;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.concurrent.locks.ReentrantLock;
 
-import com.kucoin.sdk.factory.RetrofitFactory;
+import com.kucoin.sdk.clock.ServerClock;
 
 /**
  * Created by chenshiwei on 2019/1/10.
  */
 public class AuthRetrofitAPIImpl<T> extends AbstractRetrofitAPIImpl<T> {
 
+    private final ReentrantLock initLock = new ReentrantLock();
     private volatile boolean inited;
     private T apiImpl;
+    private volatile T hedgeAPIImpl;
+
+    // stamps the requests of this adapter, null to stamp local time
+    private ServerClock serverClock;
 
     @Override
     public T getAPIImpl() {
         if (inited)
             return apiImpl;
-        synchronized (getClass()) {
+        initLock.lock();
+        try {
             if (inited)
-              return apiImpl;
+                return apiImpl;
             @SuppressWarnings("unchecked")
             Class<T> tClass = (Class<T>) ((ParameterizedType) this.getClass().getGenericSuperclass())
                     .getActualTypeArguments()[0];
-            T t = RetrofitFactory.getAuthRetorfit(baseUrl, apiKey, secret, passPhrase, apiKeyVersion)
-                    .create(tClass);
+            T t = getTransport().getAuthRetrofit(baseUrl, apiKey, secret, passPhrase, apiKeyVersion,
+                    serverClock).create(tClass);
             apiImpl = t;
             inited = true;
             return t;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    @Override
+    protected T getHedgeAPIImpl() {
+        T impl = hedgeAPIImpl;
+        if (impl != null)
+            return impl;
+        initLock.lock();
+        try {
+            if (hedgeAPIImpl == null) {
+                @SuppressWarnings("unchecked")
+                Class<T> tClass = (Class<T>) ((ParameterizedType) this.getClass().getGenericSuperclass())
+                        .getActualTypeArguments()[0];
+                hedgeAPIImpl = getTransport().getHedgeRetrofit(baseUrl, getTransport().getAuthClient(apiKey, secret,
+                    passPhrase, apiKeyVersion, serverClock)).create(tClass);
+            }
+            return hedgeAPIImpl;
+        } finally {
+            initLock.unlock();
         }
     }
+
+    public ServerClock getServerClock() {
+        return serverClock;
+    }
+
+    /**
+     * Stamp the requests of this adapter with the time of the clock. Takes effect if set before the first call.
+     *
+     * @param serverClock the clock, null to stamp local time
+     */
+    public void setServerClock(ServerClock serverClock) {
+        this.serverClock = serverClock;
+    }
 }
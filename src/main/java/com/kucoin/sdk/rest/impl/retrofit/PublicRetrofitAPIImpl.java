@@ -4,31 +4,54 @@
 package com.kucoin.sdk.rest.impl.retrofit;
 
 import java.lang.reflect.ParameterizedType;
-
-import com.kucoin.sdk.factory.RetrofitFactory;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Created by chenshiwei on 2019/1/10.
  */
 public class PublicRetrofitAPIImpl<T> extends AbstractRetrofitAPIImpl<T> {
 
+    private final ReentrantLock initLock = new ReentrantLock();
     private volatile boolean inited;
     private T apiImpl;
+    private volatile T hedgeAPIImpl;
 
     @Override
     public T getAPIImpl() {
         if (inited)
             return apiImpl;
-        synchronized (getClass()) {
+        initLock.lock();
+        try {
             if (inited)
                 return apiImpl;
             @SuppressWarnings("unchecked")
             Class<T> tClass = (Class<T>) ((ParameterizedType) this.getClass().getGenericSuperclass())
                     .getActualTypeArguments()[0];
-            T t = RetrofitFactory.getPublicRetorfit(baseUrl).create(tClass);
+            T t = getTransport().getPublicRetrofit(baseUrl).create(tClass);
             apiImpl = t;
             inited = true;
             return t;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    @Override
+    protected T getHedgeAPIImpl() {
+        T impl = hedgeAPIImpl;
+        if (impl != null)
+            return impl;
+        initLock.lock();
+        try {
+            if (hedgeAPIImpl == null) {
+                @SuppressWarnings("unchecked")
+                Class<T> tClass = (Class<T>) ((ParameterizedType) this.getClass().getGenericSuperclass())
+                        .getActualTypeArguments()[0];
+                hedgeAPIImpl = getTransport().getHedgeRetrofit(baseUrl, getTransport().getPublicClient()).create(tClass);
+            }
+            return hedgeAPIImpl;
+        } finally {
+            initLock.unlock();
         }
     }
-}
\ No newline at end of file
+}
@@ -13,9 +13,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Strings;
+import com.kucoin.sdk.clock.ServerClock;
 import com.kucoin.sdk.constants.APIConstants;
 import com.kucoin.sdk.exception.KucoinApiException;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import okhttp3.Interceptor;
@@ -38,6 +40,15 @@ public class AuthenticationInterceptor implements Interceptor {
     private String passPhrase;
     private Integer apiKeyVersion;
 
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private volatile RequestSigner signer;
+
+    /**
+     * Corrects the {@code KC-API-TIMESTAMP} for the drift of the local clock, null to stamp local time.
+     */
+    private volatile ServerClock serverClock;
+
     /**
      * Constructor of API - keys are loaded from VM options, environment variables, resource files
      *
@@ -74,19 +85,15 @@ public class AuthenticationInterceptor implements Interceptor {
         Request original = chain.request();
         Request.Builder newRequestBuilder = original.newBuilder();
 
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String signature = genSignature(original, secret, timestamp);
-
-        String encryptPassPhrase = Base64.encodeBase64String(HmacUtils.hmacSha256(secret, passPhrase));
+        RequestSigner signer = signer();
+        ServerClock clock = serverClock;
+        String timestamp = String.valueOf(clock == null ? System.currentTimeMillis() : clock.currentTimeMillis());
+        String signature = signer.sign(original, timestamp);
 
+        newRequestBuilder.addHeader(APIConstants.API_HEADER_PASSPHRASE, signer.getPassPhraseHeader());
         // Version number of api-key
-        if (apiKeyVersion == 1) {
-            newRequestBuilder.addHeader(APIConstants.API_HEADER_PASSPHRASE, passPhrase);
-        } else if (apiKeyVersion == 2) {
-            newRequestBuilder.addHeader(APIConstants.API_HEADER_PASSPHRASE, encryptPassPhrase);
+        if (apiKeyVersion == 2) {
             newRequestBuilder.addHeader(APIConstants.API_HEADER_KEY_VERSION, apiKeyVersion.toString());
-        } else {
-            throw new KucoinApiException("KC-API-KEY-VERSION can only be 1 and 2");
         }
 
         newRequestBuilder.addHeader(APIConstants.API_HEADER_KEY, apiKey);
@@ -100,6 +107,33 @@ public class AuthenticationInterceptor implements Interceptor {
         return chain.proceed(newRequest);
     }
 
+    public void setSecret(String secret) {
+        this.secret = secret;
+        this.signer = null;
+    }
+
+    public void setPassPhrase(String passPhrase) {
+        this.passPhrase = passPhrase;
+        this.signer = null;
+    }
+
+    public void setApiKeyVersion(Integer apiKeyVersion) {
+        this.apiKeyVersion = apiKeyVersion;
+        this.signer = null;
+    }
+
+    /**
+     * @return The signer of the current credentials, created on first use.
+     */
+    private RequestSigner signer() {
+        RequestSigner current = signer;
+        if (current == null) {
+            current = new RequestSigner(secret, passPhrase, apiKeyVersion);
+            signer = current;
+        }
+        return current;
+    }
+
     /**
      * Generates signature info.
      *
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interceptor;
+
+import com.kucoin.sdk.rest.ratelimit.EndpointWeight;
+import com.kucoin.sdk.rest.ratelimit.RateLimitConfig;
+import com.kucoin.sdk.rest.ratelimit.RateLimiter;
+import com.kucoin.sdk.rest.ratelimit.TokenBucket;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges each request the weight of its endpoint before sending it, and aligns the bucket of the pool on the
+ * {@code gw-ratelimit-*} headers of the response. It runs before {@link AuthenticationInterceptor}, so a request
+ * that waited for weight is still signed with a fresh timestamp.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    public static final String HEADER_LIMIT = "gw-ratelimit-limit";
+
+    public static final String HEADER_REMAINING = "gw-ratelimit-remaining";
+
+    public static final String HEADER_RESET = "gw-ratelimit-reset";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RateLimitConfig config = rateLimiter.getConfig();
+        EndpointWeight weight = config.getWeights().lookup(request.method(), request.url().encodedPath());
+        TokenBucket bucket = rateLimiter.getBucket(weight.getPool());
+        bucket.acquire(weight.getWeight(), weight.isOrderPath(), config.getPolicy(),
+                TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMillis()));
+
+        Response response = chain.proceed(request);
+        long reset = headerValue(response, HEADER_RESET);
+        if (response.code() == TOO_MANY_REQUESTS) {
+            bucket.exhaust(reset >= 0 ? reset : config.getWindowMillis());
+        } else {
+            long remaining = headerValue(response, HEADER_REMAINING);
+            if (remaining >= 0 && reset >= 0) {
+                bucket.sync((int) headerValue(response, HEADER_LIMIT), (int) remaining, reset);
+            }
+        }
+        return response;
+    }
+
+    private static long headerValue(Response response, String name) {
+        String value = response.header(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
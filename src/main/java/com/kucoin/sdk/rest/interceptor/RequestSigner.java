@@ -0,0 +1,188 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interceptor;
+
+import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.rest.codec.PreEncodedBody;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Signs requests with the HMAC-SHA256 of the API secret.
+ * <p>
+ * The key is initialized once: signing takes a clone of the initialized {@link Mac} from a small lock-free pool
+ * and gives it back, cloning a new one only when the pool is empty. Unlike a thread local, the pool keeps its
+ * hit rate when each request runs on a new virtual thread, and holds at most {@link #POOL_SIZE} clones. The
+ * passphrase header, constant for a key, is computed once too. The prehash
+ * {@code timestamp + method + path + [?query] + body} is fed to the {@link Mac} part by part, the body as the
+ * bytes that will be sent.
+ */
+public class RequestSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final Mac prototype;
+
+    // idle states, a null slot is empty
+    private final AtomicReferenceArray<State> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+    private final String passPhraseHeader;
+
+    public RequestSigner(String secret, String passPhrase, Integer apiKeyVersion) {
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new KucoinApiException("Unable to initialize " + ALGORITHM, e);
+        }
+        if (apiKeyVersion == 1) {
+            this.passPhraseHeader = passPhrase;
+        } else if (apiKeyVersion == 2) {
+            this.passPhraseHeader = base64(sign(passPhrase.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            throw new KucoinApiException("KC-API-KEY-VERSION can only be 1 and 2");
+        }
+    }
+
+    /**
+     * @return The value of the {@code KC-API-PASSPHRASE} header.
+     */
+    public String getPassPhraseHeader() {
+        return passPhraseHeader;
+    }
+
+    /**
+     * @param request   request to sign, its body is written once into a buffer to be hashed
+     * @param timestamp value of the {@code KC-API-TIMESTAMP} header
+     * @return The value of the {@code KC-API-SIGN} header.
+     */
+    public String sign(Request request, String timestamp) {
+        State state = acquire();
+        Mac mac = state.mac;
+        state.update(timestamp);
+        state.update(request.method());
+        state.update(request.url().encodedPath());
+        String query = request.url().query();
+        if (StringUtils.isNotBlank(query)) {
+            mac.update((byte) '?');
+            state.update(query);
+        }
+        RequestBody body = request.body();
+        if (body != null) {
+            updateBody(mac, body);
+        }
+        String signature = base64(mac.doFinal());
+        release(state);
+        return signature;
+    }
+
+    /**
+     * Feed the bytes of a body to the {@link Mac}, straight from the array of a {@link PreEncodedBody}.
+     */
+    protected void updateBody(Mac mac, RequestBody body) {
+        if (body instanceof PreEncodedBody) {
+            mac.update(((PreEncodedBody) body).getBytes());
+            return;
+        }
+        Buffer buffer = new Buffer();
+        try {
+            body.writeTo(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error fetching request body", e);
+        }
+        mac.update(buffer.readByteArray());
+    }
+
+    private byte[] sign(byte[] bytes) {
+        State state = acquire();
+        byte[] signature = state.mac.doFinal(bytes);
+        release(state);
+        return signature;
+    }
+
+    /**
+     * Take an idle state, starting at a slot picked by the thread to spread concurrent signers over the pool.
+     */
+    private State acquire() {
+        int start = slot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            State state = pool.getAndSet((start + i) % POOL_SIZE, null);
+            if (state != null) {
+                return state;
+            }
+        }
+        return new State();
+    }
+
+    /**
+     * Give back a state whose {@link Mac} was reset by {@link Mac#doFinal()}, dropping it if the pool is full.
+     * A state left mid-hash by an exception is never given back.
+     */
+    private void release(State state) {
+        int start = slot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (pool.compareAndSet((start + i) % POOL_SIZE, null, state)) {
+                return;
+            }
+        }
+    }
+
+    private static int slot() {
+        return (int) (Thread.currentThread().getId() % POOL_SIZE);
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * A {@link Mac} and a scratch array to encode the prehash parts into, used by one signer at a time.
+     */
+    private class State {
+
+        private final Mac mac;
+
+        private final byte[] scratch = new byte[256];
+
+        State() {
+            try {
+                mac = (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new KucoinApiException("Unable to clone " + ALGORITHM, e);
+            }
+        }
+
+        /**
+         * Feed the UTF-8 bytes of a string, copying ASCII strings through the scratch array.
+         */
+        void update(String text) {
+            int length = text.length();
+            if (length > scratch.length) {
+                mac.update(text.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    mac.update(text.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                scratch[i] = (byte) c;
+            }
+            mac.update(scratch, 0, length);
+        }
+    }
+}
@@ -4,6 +4,10 @@
 package com.kucoin.sdk.rest.interfaces;
 
 import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.rest.paging.CursorBatch;
+import com.kucoin.sdk.rest.paging.Cursors;
+import com.kucoin.sdk.rest.paging.Pages;
+import com.kucoin.sdk.rest.paging.TimeRangeDownloader;
 import com.kucoin.sdk.rest.request.*;
 import com.kucoin.sdk.rest.response.*;
 
@@ -11,6 +15,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Created by chenshiwei on 2019/1/9.
@@ -248,5 +255,63 @@ public interface AccountAPI {
      */
     List<AccountDetailResponse> getHFAccountLedgers(String currency, String direction, String bizType, Long lastId, Integer limit, Long startAt,
                                                     Long endAt) throws IOException;
-}
 
+    /**
+     * Lazily walk every page of {@link #getAccountLedgers}, see {@link Pages} to fetch pages concurrently.
+     *
+     * @return The account activity of all pages.
+     */
+    default Stream<AccountDetailResponse> streamAccountLedgers(String currency, String direction, String bizType,
+                                                               long startAt, long endAt, int pageSize) {
+        return Pages.stream((page, size) -> getAccountLedgers(currency, direction, bizType, startAt, endAt, page, size),
+                pageSize);
+    }
+
+    /**
+     * Lazily follow the cursor of {@link #getHFAccountLedgers}, one batch at a time.
+     *
+     * @return The hf account activity of all batches.
+     */
+    default Stream<AccountDetailResponse> streamHFAccountLedgers(String currency, String direction, String bizType,
+                                                                 Long startAt, Long endAt, int limit) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                getHFAccountLedgers(currency, direction, bizType, lastId, size, startAt, endAt)), limit);
+    }
+
+    /**
+     * Follow the cursor of {@link #getHFAccountLedgers}, fetching up to {@code prefetch} batches ahead of the caller.
+     *
+     * @return The hf account activity of all batches.
+     */
+    default Stream<AccountDetailResponse> streamHFAccountLedgers(String currency, String direction, String bizType,
+                                                                 Long startAt, Long endAt, int limit,
+                                                                 Executor executor, int prefetch) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                getHFAccountLedgers(currency, direction, bizType, lastId, size, startAt, endAt)), limit, executor, prefetch);
+    }
+
+    /**
+     * Account activity for a range of any length, fetched in windows of
+     * {@link TimeRangeDownloader#LEDGER_WINDOW_MILLIS} whose pages are walked one after the other.
+     *
+     * @param startAt     Start time in milliseconds
+     * @param endAt       End time in milliseconds
+     * @param executor    runs the window requests, null to fetch one window after the other
+     * @param parallelism maximum number of windows in flight
+     * @return The account activity, oldest first.
+     */
+    default Stream<AccountDetailResponse> downloadAccountLedgers(String currency, String direction, String bizType,
+                                                                 long startAt, long endAt, Executor executor,
+                                                                 int parallelism) {
+        TimeRangeDownloader<AccountDetailResponse> downloader = new TimeRangeDownloader<AccountDetailResponse>(
+                (start, end) -> {
+                    try (Stream<AccountDetailResponse> window = streamAccountLedgers(currency, direction, bizType,
+                            start, end, 500)) {
+                        return window.collect(Collectors.toList());
+                    }
+                },
+                TimeRangeDownloader.LEDGER_WINDOW_MILLIS, ledger -> Long.parseLong(ledger.getCreatedAt()))
+                .withKey(AccountDetailResponse::getId);
+        return (executor == null ? downloader : downloader.withExecutor(executor, parallelism)).stream(startAt, endAt);
+    }
+}
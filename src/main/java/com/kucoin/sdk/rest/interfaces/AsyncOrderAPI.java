@@ -0,0 +1,114 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interfaces;
+
+import com.kucoin.sdk.rest.request.*;
+import com.kucoin.sdk.rest.response.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the order endpoints of {@link OrderAPI}.
+ * <p>
+ * Futures complete exceptionally with a {@link com.kucoin.sdk.exception.KucoinApiException} when the API
+ * returns an error and with an {@link java.io.IOException} on socket related errors.
+ */
+public interface AsyncOrderAPI {
+
+    /**
+     * @see OrderAPI#createOrder(OrderCreateApiRequest)
+     */
+    CompletableFuture<OrderCreateResponse> createOrder(OrderCreateApiRequest opsRequest);
+
+    /**
+     * @see OrderAPI#createOrderTest(OrderCreateApiRequest)
+     */
+    CompletableFuture<OrderCreateResponse> createOrderTest(OrderCreateApiRequest opsRequest);
+
+    /**
+     * @see OrderAPI#createMultipleOrders(MultiOrderCreateRequest)
+     */
+    CompletableFuture<MultiOrderCreateResponse> createMultipleOrders(MultiOrderCreateRequest multiOrderCreateRequest);
+
+    /**
+     * @see OrderAPI#cancelOrder(String)
+     */
+    CompletableFuture<OrderCancelResponse> cancelOrder(String orderId);
+
+    /**
+     * @see OrderAPI#cancelOrderByClientOid(String)
+     */
+    CompletableFuture<OrderCancelResponse> cancelOrderByClientOid(String clientOid);
+
+    /**
+     * @see OrderAPI#cancelAllOrders(String, String)
+     */
+    CompletableFuture<OrderCancelResponse> cancelAllOrders(String symbol, String tradeType);
+
+    /**
+     * @see OrderAPI#getOrder(String)
+     */
+    CompletableFuture<OrderResponse> getOrder(String orderId);
+
+    /**
+     * @see OrderAPI#getOrderByClientOid(String)
+     */
+    CompletableFuture<ActiveOrderResponse> getOrderByClientOid(String clientOid);
+
+    /**
+     * @see OrderAPI#createHFOrder(HFOrderCreateRequest)
+     */
+    CompletableFuture<HFOrderCreateResponse> createHFOrder(HFOrderCreateRequest createRequest);
+
+    /**
+     * @see OrderAPI#syncCreateHFOrder(HFOrderCreateRequest)
+     */
+    CompletableFuture<HFOrderSyncCreateResponse> syncCreateHFOrder(HFOrderCreateRequest createRequest);
+
+    /**
+     * @see OrderAPI#createMultipleHFOrders(HFOrderMultiCreateRequest)
+     */
+    CompletableFuture<List<HFOrderMultiCreateResponse>> createMultipleHFOrders(HFOrderMultiCreateRequest multiCreateRequest);
+
+    /**
+     * @see OrderAPI#alterHFOrder(HFOrderAlterRequest)
+     */
+    CompletableFuture<HFOrderAlterResponse> alterHFOrder(HFOrderAlterRequest alterRequest);
+
+    /**
+     * @see OrderAPI#cancelHFOrder(String, String)
+     */
+    CompletableFuture<HFOrderCancelResponse> cancelHFOrder(String orderId, String symbol);
+
+    /**
+     * @see OrderAPI#syncCancelHFOrder(String, String)
+     */
+    CompletableFuture<HFOrderSyncCancelResponse> syncCancelHFOrder(String orderId, String symbol);
+
+    /**
+     * @see OrderAPI#cancelHFOrderByClientOid(String, String)
+     */
+    CompletableFuture<HFOrderCancelByClientOidResponse> cancelHFOrderByClientOid(String clientOid, String symbol);
+
+    /**
+     * @see OrderAPI#cancelHFOrdersBySymbol(String)
+     */
+    CompletableFuture<String> cancelHFOrdersBySymbol(String symbol);
+
+    /**
+     * @see OrderAPI#getActiveHFOrders(String)
+     */
+    CompletableFuture<List<HFOrderResponse>> getActiveHFOrders(String symbol);
+
+    /**
+     * @see OrderAPI#getHFOrder(String, String)
+     */
+    CompletableFuture<HFOrderResponse> getHFOrder(String orderId, String symbol);
+
+    /**
+     * @see OrderAPI#getHFOrderByClientOid(String, String)
+     */
+    CompletableFuture<HFOrderResponse> getHFOrderByClientOid(String clientOid, String symbol);
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interfaces;
+
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link OrderBookAPI}.
+ */
+public interface AsyncOrderBookAPI {
+
+    /**
+     * @see OrderBookAPI#getTop20Level2OrderBook(String)
+     */
+    CompletableFuture<OrderBookResponse> getTop20Level2OrderBook(String symbol);
+
+    /**
+     * @see OrderBookAPI#getTop100Level2OrderBook(String)
+     */
+    CompletableFuture<OrderBookResponse> getTop100Level2OrderBook(String symbol);
+
+    /**
+     * @see OrderBookAPI#getAllLevel2OrderBook(String)
+     */
+    CompletableFuture<OrderBookResponse> getAllLevel2OrderBook(String symbol);
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interfaces;
+
+import com.kucoin.sdk.rest.response.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the ticker endpoints of {@link SymbolAPI}.
+ */
+public interface AsyncSymbolAPI {
+
+    /**
+     * @see SymbolAPI#getTicker(String)
+     */
+    CompletableFuture<TickerResponse> getTicker(String symbol);
+
+    /**
+     * @see SymbolAPI#getAllTickers()
+     */
+    CompletableFuture<AllTickersResponse> getAllTickers();
+
+    /**
+     * @see SymbolAPI#get24hrStats(String)
+     */
+    CompletableFuture<SymbolTickResponse> get24hrStats(String symbol);
+}
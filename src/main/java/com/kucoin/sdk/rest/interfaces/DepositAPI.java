@@ -5,7 +5,13 @@ package com.kucoin.sdk.rest.interfaces;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.kucoin.sdk.rest.paging.Pages;
+import com.kucoin.sdk.rest.paging.TimeRangeDownloader;
 import com.kucoin.sdk.rest.response.DepositAddressResponse;
 import com.kucoin.sdk.rest.response.DepositResponse;
 import com.kucoin.sdk.rest.response.Pagination;
@@ -69,4 +75,33 @@ public interface DepositAPI {
      */
     Pagination<DepositResponse> getHistDepositPageList(String currency, String status, long startAt, long endAt, int currentPage, int pageSize) throws IOException;
 
+    /**
+     * Lazily walk every page of {@link #getDepositPageList}, see {@link Pages} to fetch pages concurrently.
+     *
+     * @return The deposits of all pages.
+     */
+    default Stream<DepositResponse> streamDeposits(String currency, long startAt, long endAt, String status, int pageSize) {
+        return Pages.stream((page, size) -> getDepositPageList(currency, startAt, endAt, status, page, size), pageSize);
+    }
+
+    /**
+     * Deposits for a range of any length, fetched in windows of {@link TimeRangeDownloader#DEPOSIT_WINDOW_MILLIS}
+     * whose pages are walked one after the other.
+     *
+     * @param executor    runs the window requests, null to fetch one window after the other
+     * @param parallelism maximum number of windows in flight
+     * @return The deposits, oldest first.
+     */
+    default Stream<DepositResponse> downloadDeposits(String currency, long startAt, long endAt, String status,
+                                                     Executor executor, int parallelism) {
+        TimeRangeDownloader<DepositResponse> downloader = new TimeRangeDownloader<DepositResponse>(
+                (start, end) -> {
+                    try (Stream<DepositResponse> window = streamDeposits(currency, start, end, status, 100)) {
+                        return window.collect(Collectors.toList());
+                    }
+                },
+                TimeRangeDownloader.DEPOSIT_WINDOW_MILLIS, DepositResponse::getCreatedAt)
+                .withKey(Function.identity());
+        return (executor == null ? downloader : downloader.withExecutor(executor, parallelism)).stream(startAt, endAt);
+    }
 }
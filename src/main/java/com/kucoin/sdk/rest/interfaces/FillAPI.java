@@ -5,7 +5,12 @@ package com.kucoin.sdk.rest.interfaces;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
+import com.kucoin.sdk.rest.paging.CursorBatch;
+import com.kucoin.sdk.rest.paging.Cursors;
+import com.kucoin.sdk.rest.paging.Pages;
 import com.kucoin.sdk.rest.response.HFTradeResponse;
 import com.kucoin.sdk.rest.response.Pagination;
 import com.kucoin.sdk.rest.response.TradeResponse;
@@ -68,4 +73,37 @@ public interface FillAPI {
      */
     HFTradeResponse queryHFTrades(String symbol, String orderId, String side, String type,
                                   Long startAt, Long endAt, Long lastId, Integer limit) throws IOException;
+
+    /**
+     * Lazily walk every page of {@link #listFills}, see {@link Pages} to fetch pages concurrently.
+     *
+     * @return The fills of all pages.
+     */
+    default Stream<TradeResponse> streamFills(String symbol, String orderId, String side, String type, String tradeType,
+                                              Long startAt, Long endAt, int pageSize) {
+        return Pages.stream((page, size) -> listFills(symbol, orderId, side, type, tradeType, startAt, endAt, size, page),
+                pageSize);
+    }
+
+    /**
+     * Lazily follow the cursor of {@link #queryHFTrades}, one batch at a time.
+     *
+     * @return The HF fills of all batches.
+     */
+    default Stream<TradeResponse> streamHFTrades(String symbol, String orderId, String side, String type,
+                                                 Long startAt, Long endAt, int limit) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                queryHFTrades(symbol, orderId, side, type, startAt, endAt, lastId, size)), limit);
+    }
+
+    /**
+     * Follow the cursor of {@link #queryHFTrades}, fetching up to {@code prefetch} batches ahead of the caller.
+     *
+     * @return The HF fills of all batches.
+     */
+    default Stream<TradeResponse> streamHFTrades(String symbol, String orderId, String side, String type,
+                                                 Long startAt, Long endAt, int limit, Executor executor, int prefetch) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                queryHFTrades(symbol, orderId, side, type, startAt, endAt, lastId, size)), limit, executor, prefetch);
+    }
 }
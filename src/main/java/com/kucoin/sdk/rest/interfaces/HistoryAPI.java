@@ -5,7 +5,10 @@ package com.kucoin.sdk.rest.interfaces;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
+import com.kucoin.sdk.rest.paging.TimeRangeDownloader;
 import com.kucoin.sdk.rest.response.TradeHistoryResponse;
 
 /**
@@ -43,5 +46,18 @@ public interface HistoryAPI {
      */
     List<List<String>> getHistoricRates(String symbol, long startAt, long endAt, String type) throws IOException;
 
-
+    /**
+     * Historic rates for a range of any length, fetched {@link TimeRangeDownloader#MAX_CANDLES} candles per call.
+     *
+     * @param executor    runs the window requests, null to fetch one window after the other
+     * @param parallelism maximum number of windows in flight
+     * @return The candles, oldest first.
+     */
+    default Stream<List<String>> downloadHistoricRates(String symbol, long startAt, long endAt, String type,
+                                                       Executor executor, int parallelism) {
+        TimeRangeDownloader<List<String>> downloader = new TimeRangeDownloader<>(
+                (start, end) -> getHistoricRates(symbol, start, end, type),
+                TimeRangeDownloader.candleWindowSeconds(type), candle -> Long.parseLong(candle.get(0)));
+        return (executor == null ? downloader : downloader.withExecutor(executor, parallelism)).stream(startAt, endAt);
+    }
 }
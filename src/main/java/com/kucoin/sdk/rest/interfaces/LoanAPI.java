@@ -3,6 +3,7 @@
  */
 package com.kucoin.sdk.rest.interfaces;
 
+import com.kucoin.sdk.rest.paging.Pages;
 import com.kucoin.sdk.rest.request.BorrowRecordQueryRequest;
 import com.kucoin.sdk.rest.request.BorrowRequest;
 import com.kucoin.sdk.rest.request.LendRequest;
@@ -25,6 +26,7 @@ import com.kucoin.sdk.rest.response.UnsettledTradeItem;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Created by ezreal on 2020/12/08.
@@ -220,4 +222,59 @@ public interface LoanAPI {
      */
     List<LastTradeResponse> queryLastTrade(String currency) throws IOException;
 
+    /**
+     * Lazily walk every page of {@link #queryBorrowOutstanding}.
+     *
+     * @return The outstanding borrow records of all pages.
+     */
+    default Stream<BorrowOutstandingResponse> streamBorrowOutstanding(String currency, int pageSize) {
+        return Pages.stream((page, size) -> queryBorrowOutstanding(
+                BorrowRecordQueryRequest.builder().currency(currency).currentPage(page).pageSize(size).build()), pageSize);
+    }
+
+    /**
+     * Lazily walk every page of {@link #queryBorrowRepaid}.
+     *
+     * @return The repaid borrow records of all pages.
+     */
+    default Stream<BorrowRepaidResponse> streamBorrowRepaid(String currency, int pageSize) {
+        return Pages.stream((page, size) -> queryBorrowRepaid(
+                BorrowRecordQueryRequest.builder().currency(currency).currentPage(page).pageSize(size).build()), pageSize);
+    }
+
+    /**
+     * Lazily walk every page of {@link #queryActiveLend}.
+     *
+     * @return The active lend orders of all pages.
+     */
+    default Stream<ActiveLendItem> streamActiveLend(String currency, int pageSize) {
+        return Pages.stream((page, size) -> queryActiveLend(currency, page, size), pageSize);
+    }
+
+    /**
+     * Lazily walk every page of {@link #queryDoneLend}.
+     *
+     * @return The lent history of all pages.
+     */
+    default Stream<DoneLendItem> streamDoneLend(String currency, int pageSize) {
+        return Pages.stream((page, size) -> queryDoneLend(currency, page, size), pageSize);
+    }
+
+    /**
+     * Lazily walk every page of {@link #queryUnsettledTrade}.
+     *
+     * @return The outstanding lend orders of all pages.
+     */
+    default Stream<UnsettledTradeItem> streamUnsettledTrade(String currency, int pageSize) {
+        return Pages.stream((page, size) -> queryUnsettledTrade(currency, page, size), pageSize);
+    }
+
+    /**
+     * Lazily walk every page of {@link #querySettledTrade}.
+     *
+     * @return The settled lend orders of all pages.
+     */
+    default Stream<SettledTradeItem> streamSettledTrade(String currency, int pageSize) {
+        return Pages.stream((page, size) -> querySettledTrade(currency, page, size), pageSize);
+    }
 }
@@ -3,11 +3,16 @@
  */
 package com.kucoin.sdk.rest.interfaces;
 
+import com.kucoin.sdk.rest.paging.CursorBatch;
+import com.kucoin.sdk.rest.paging.Cursors;
+import com.kucoin.sdk.rest.paging.Pages;
 import com.kucoin.sdk.rest.request.*;
 import com.kucoin.sdk.rest.response.*;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Created by chenshiwei on 2019/1/9.
@@ -367,4 +372,37 @@ public interface OrderAPI {
 
 
     ServerStatusResponse queryServerStatus() throws IOException;
+
+    /**
+     * Lazily walk every page of {@link #listOrders}, see {@link Pages} to fetch pages concurrently.
+     *
+     * @return The orders of all pages.
+     */
+    default Stream<OrderResponse> streamOrders(String symbol, String side, String type, String tradeType, String status,
+                                               Long startAt, Long endAt, int pageSize) {
+        return Pages.stream((page, size) -> listOrders(symbol, side, type, tradeType, status, startAt, endAt, size, page),
+                pageSize);
+    }
+
+    /**
+     * Lazily follow the cursor of {@link #getDoneHFOrders}, one batch at a time.
+     *
+     * @return The filled HF orders of all batches.
+     */
+    default Stream<HFOrderResponse> streamDoneHFOrders(String symbol, String side, String type, Long startAt, Long endAt,
+                                                       int limit) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                getDoneHFOrders(symbol, side, type, startAt, endAt, lastId, size)), limit);
+    }
+
+    /**
+     * Follow the cursor of {@link #getDoneHFOrders}, fetching up to {@code prefetch} batches ahead of the caller.
+     *
+     * @return The filled HF orders of all batches.
+     */
+    default Stream<HFOrderResponse> streamDoneHFOrders(String symbol, String side, String type, Long startAt, Long endAt,
+                                                       int limit, Executor executor, int prefetch) {
+        return Cursors.stream((lastId, size) -> CursorBatch.of(
+                getDoneHFOrders(symbol, side, type, startAt, endAt, lastId, size)), limit, executor, prefetch);
+    }
 }
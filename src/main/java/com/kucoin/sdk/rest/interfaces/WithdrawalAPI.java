@@ -4,7 +4,9 @@
 package com.kucoin.sdk.rest.interfaces;
 
 import java.io.IOException;
+import java.util.stream.Stream;
 
+import com.kucoin.sdk.rest.paging.Pages;
 import com.kucoin.sdk.rest.request.WithdrawApplyRequest;
 import com.kucoin.sdk.rest.response.Pagination;
 import com.kucoin.sdk.rest.response.WithdrawApplyResponse;
@@ -66,4 +68,14 @@ public interface WithdrawalAPI {
      */
     Pagination<WithdrawResponse> getHistWithdrawPageList(String currency, String status, long startAt,
                                                          long endAt, int currentPage, int pageSize) throws IOException;
+
+    /**
+     * Lazily walk every page of {@link #getWithdrawList}, see {@link Pages} to fetch pages concurrently.
+     *
+     * @return The withdrawals of all pages.
+     */
+    default Stream<WithdrawResponse> streamWithdrawals(String currency, String status, long startAt, long endAt,
+                                                       int pageSize) {
+        return Pages.stream((page, size) -> getWithdrawList(currency, status, startAt, endAt, page, size), pageSize);
+    }
 }
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import com.kucoin.sdk.rest.response.AccountDetailResponse;
+import com.kucoin.sdk.rest.response.HFDoneOrderQueryResponse;
+import com.kucoin.sdk.rest.response.HFOrderResponse;
+import com.kucoin.sdk.rest.response.HFTradeResponse;
+import com.kucoin.sdk.rest.response.TradeResponse;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One batch of a cursor paged endpoint and the cursor of the next one.
+ */
+@Getter
+public class CursorBatch<T> {
+
+    private final List<T> items;
+
+    // null when there is no next batch
+    private final Long lastId;
+
+    public CursorBatch(List<T> items, Long lastId) {
+        this.items = items == null ? Collections.emptyList() : items;
+        this.lastId = lastId;
+    }
+
+    public static CursorBatch<HFOrderResponse> of(HFDoneOrderQueryResponse response) {
+        return new CursorBatch<>(response.getItems(), response.getLastId());
+    }
+
+    public static CursorBatch<TradeResponse> of(HFTradeResponse response) {
+        return new CursorBatch<>(response.getItems(), parseId(response.getLastId()));
+    }
+
+    /**
+     * The ledgers are returned as a plain list, the cursor of the next batch is the id of the last entry.
+     */
+    public static CursorBatch<AccountDetailResponse> of(List<AccountDetailResponse> ledgers) {
+        Long lastId = ledgers == null || ledgers.isEmpty() ? null : parseId(ledgers.get(ledgers.size() - 1).getId());
+        return new CursorBatch<>(ledgers, lastId);
+    }
+
+    private static Long parseId(String id) {
+        return id == null || id.isEmpty() ? null : Long.valueOf(id);
+    }
+}
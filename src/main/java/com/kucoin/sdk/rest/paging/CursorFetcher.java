@@ -0,0 +1,21 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.io.IOException;
+
+/**
+ * Fetches one batch of an endpoint paged with {@code lastId}/{@code limit}, e.g.
+ * {@code (lastId, limit) -> CursorBatch.of(fillAPI.queryHFTrades("BTC-USDT", null, null, null, startAt, endAt, lastId, limit))}.
+ */
+@FunctionalInterface
+public interface CursorFetcher<T> {
+
+    /**
+     * @param lastId the cursor returned with the previous batch, null for the first one
+     * @param limit  the batch size
+     * @return The batch.
+     */
+    CursorBatch<T> fetch(Long lastId, int limit) throws IOException;
+}
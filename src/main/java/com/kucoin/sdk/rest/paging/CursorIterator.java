@@ -0,0 +1,151 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Iterates the items of every batch, see {@link Cursors}.
+ * <p>
+ * Each prefetched batch is chained on the one before it, as its request needs the cursor the previous
+ * batch returned. A batch after the end of the cursor resolves to null without a request.
+ */
+class CursorIterator<T> implements Iterator<T> {
+
+    private final CursorFetcher<T> fetcher;
+
+    private final int limit;
+
+    private final Executor executor;
+
+    private final int prefetch;
+
+    private final Deque<CompletableFuture<CursorBatch<T>>> inFlight = new ArrayDeque<>();
+
+    private Iterator<T> items = Collections.emptyIterator();
+
+    // cursor of the last batch handed out, or submitted when prefetching
+    private Long cursor;
+
+    private boolean started;
+
+    private boolean last;
+
+    CursorIterator(CursorFetcher<T> fetcher, int limit, Executor executor, int prefetch) {
+        if (limit <= 0 || prefetch < 0 || (executor == null && prefetch > 0)) {
+            throw new IllegalArgumentException("Invalid limit " + limit + " or prefetch " + prefetch);
+        }
+        this.fetcher = fetcher;
+        this.limit = limit;
+        this.executor = executor;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!items.hasNext()) {
+            if (last) {
+                return false;
+            }
+            CursorBatch<T> batch = nextBatch();
+            if (batch == null) {
+                close();
+                return false;
+            }
+            items = batch.getItems().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return items.next();
+    }
+
+    /**
+     * Cancel the batches in flight and end the iteration.
+     */
+    void close() {
+        last = true;
+        items = Collections.emptyIterator();
+        for (CompletableFuture<CursorBatch<T>> batch : inFlight) {
+            batch.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    private CursorBatch<T> nextBatch() {
+        if (prefetch == 0) {
+            CursorBatch<T> batch = started && cursor == null ? null : fetchAfter(cursor, started);
+            started = true;
+            if (batch != null) {
+                cursor = batch.getLastId();
+            }
+            return batch;
+        }
+        if (!started) {
+            started = true;
+            inFlight.add(CompletableFuture.supplyAsync(() -> fetchAfter(null, false), executor));
+        }
+        CursorBatch<T> batch = join(inFlight.poll());
+        if (batch == null) {
+            return null;
+        }
+        while (inFlight.size() < prefetch) {
+            CompletableFuture<CursorBatch<T>> previous = inFlight.isEmpty()
+                    ? CompletableFuture.completedFuture(batch) : inFlight.peekLast();
+            inFlight.add(previous.thenApplyAsync(
+                    before -> before == null ? null : fetchAfter(before.getLastId(), true), executor));
+        }
+        return batch;
+    }
+
+    /**
+     * @return The batch after the cursor, or null if the cursor ended.
+     */
+    private CursorBatch<T> fetchAfter(Long lastId, boolean follow) {
+        if (follow && lastId == null) {
+            return null;
+        }
+        CursorBatch<T> batch;
+        try {
+            batch = fetcher.fetch(lastId, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (batch.getItems().isEmpty()) {
+            return null;
+        }
+        if (follow && Objects.equals(batch.getLastId(), lastId)) {
+            // the cursor did not move, do not request the same batch again
+            return new CursorBatch<>(batch.getItems(), null);
+        }
+        return batch;
+    }
+
+    private CursorBatch<T> join(CompletableFuture<CursorBatch<T>> batch) {
+        try {
+            return batch.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Follows the {@code lastId} cursor of an endpoint on demand.
+ * <p>
+ * Without an executor, a batch is fetched when the previous one is consumed. With one, the next
+ * {@code prefetch} batches are fetched while the caller works through the current one. No more than
+ * {@code prefetch} batches are ever held ahead of the caller, so a slow consumer slows the fetching down
+ * instead of filling the memory.
+ * <p>
+ * The stream ends on an empty batch or when the cursor stops moving. Failures are thrown as
+ * {@link java.io.UncheckedIOException}. Closing the stream cancels the batches in flight.
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    public static <T> Iterator<T> iterator(CursorFetcher<T> fetcher, int limit) {
+        return new CursorIterator<>(fetcher, limit, null, 0);
+    }
+
+    /**
+     * @param executor runs the prefetched requests
+     * @param prefetch maximum number of batches fetched ahead of the caller
+     */
+    public static <T> Iterator<T> iterator(CursorFetcher<T> fetcher, int limit, Executor executor, int prefetch) {
+        return new CursorIterator<>(fetcher, limit, executor, prefetch);
+    }
+
+    public static <T> Stream<T> stream(CursorFetcher<T> fetcher, int limit) {
+        return stream(new CursorIterator<>(fetcher, limit, null, 0));
+    }
+
+    /**
+     * @param executor runs the prefetched requests
+     * @param prefetch maximum number of batches fetched ahead of the caller
+     */
+    public static <T> Stream<T> stream(CursorFetcher<T> fetcher, int limit, Executor executor, int prefetch) {
+        return stream(new CursorIterator<>(fetcher, limit, executor, prefetch));
+    }
+
+    private static <T> Stream<T> stream(CursorIterator<T> iterator) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+}
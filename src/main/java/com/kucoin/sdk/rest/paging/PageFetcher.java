@@ -0,0 +1,23 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import com.kucoin.sdk.rest.response.Pagination;
+
+import java.io.IOException;
+
+/**
+ * Fetches one page of a paginated endpoint, e.g.
+ * {@code (page, size) -> accountAPI.getAccountLedgers("USDT", null, null, startAt, endAt, page, size)}.
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    /**
+     * @param currentPage the page to fetch, starting at 1
+     * @param pageSize    the page size
+     * @return The page.
+     */
+    Pagination<T> fetch(int currentPage, int pageSize) throws IOException;
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import com.kucoin.sdk.rest.response.Pagination;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Iterates the items of every page, see {@link Pages}.
+ */
+class PageIterator<T> implements Iterator<T> {
+
+    private final PageFetcher<T> fetcher;
+
+    private final int pageSize;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final Deque<CompletableFuture<Pagination<T>>> inFlight = new ArrayDeque<>();
+
+    private Iterator<T> items = Collections.emptyIterator();
+
+    // next page to hand out, and next page to submit when fetching ahead
+    private int nextPage = 1;
+
+    private int nextSubmit = 2;
+
+    // unknown until the first page is read
+    private int totalPage = -1;
+
+    private boolean last;
+
+    PageIterator(PageFetcher<T> fetcher, int pageSize, Executor executor, int parallelism) {
+        if (pageSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid page size " + pageSize + " or parallelism " + parallelism);
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!items.hasNext()) {
+            if (last) {
+                return false;
+            }
+            Pagination<T> page = nextPage();
+            List<T> pageItems = page.getItems();
+            if (pageItems == null || pageItems.isEmpty()) {
+                close();
+                return false;
+            }
+            items = pageItems.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return items.next();
+    }
+
+    /**
+     * Cancel the pages in flight and end the iteration.
+     */
+    void close() {
+        last = true;
+        items = Collections.emptyIterator();
+        for (CompletableFuture<Pagination<T>> page : inFlight) {
+            page.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    private Pagination<T> nextPage() {
+        int current = nextPage++;
+        Pagination<T> page = inFlight.isEmpty() ? fetch(current) : join(inFlight.poll());
+        if (current == 1) {
+            totalPage = page.getTotalPage() == null ? -1 : page.getTotalPage();
+        }
+        int count = page.getItems() == null ? 0 : page.getItems().size();
+        // without totalPage, a short page is the last one
+        last = totalPage >= 0 ? current >= totalPage : count < pageSize;
+        if (!last && executor != null && totalPage >= 0) {
+            fetchAhead();
+        }
+        return page;
+    }
+
+    private void fetchAhead() {
+        while (inFlight.size() < parallelism && nextSubmit <= totalPage) {
+            int page = nextSubmit++;
+            inFlight.add(CompletableFuture.supplyAsync(() -> fetch(page), executor));
+        }
+    }
+
+    private Pagination<T> fetch(int page) {
+        try {
+            return fetcher.fetch(page, pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Pagination<T> join(CompletableFuture<Pagination<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks every page of a paginated endpoint on demand.
+ * <p>
+ * Pages are fetched lazily, one after the other, as the items are consumed. With an executor, the first page
+ * is fetched alone to learn {@code totalPage}, then up to {@code parallelism} of the following pages are kept
+ * in flight. Items are always returned in page order. Every page is a regular request, so it is counted and,
+ * depending on the policy, delayed by the rate limiter of the client.
+ * <p>
+ * Failures are thrown as {@link java.io.UncheckedIOException}. Closing the stream cancels the pages in flight.
+ */
+public final class Pages {
+
+    private Pages() {
+    }
+
+    public static <T> Iterator<T> iterator(PageFetcher<T> fetcher, int pageSize) {
+        return new PageIterator<>(fetcher, pageSize, null, 1);
+    }
+
+    /**
+     * @param executor    runs the page requests after the first one
+     * @param parallelism maximum number of pages in flight
+     */
+    public static <T> Iterator<T> iterator(PageFetcher<T> fetcher, int pageSize, Executor executor, int parallelism) {
+        return new PageIterator<>(fetcher, pageSize, executor, parallelism);
+    }
+
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, int pageSize) {
+        return stream(new PageIterator<>(fetcher, pageSize, null, 1));
+    }
+
+    /**
+     * @param executor    runs the page requests after the first one
+     * @param parallelism maximum number of pages in flight
+     */
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, int pageSize, Executor executor, int parallelism) {
+        return stream(new PageIterator<>(fetcher, pageSize, executor, parallelism));
+    }
+
+    private static <T> Stream<T> stream(PageIterator<T> iterator) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+}
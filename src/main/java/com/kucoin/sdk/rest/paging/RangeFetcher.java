@@ -0,0 +1,22 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Fetches everything an endpoint returns for one time window, e.g.
+ * {@code (startAt, endAt) -> historyAPI.getHistoricRates("BTC-USDT", startAt, endAt, "1min")}.
+ */
+@FunctionalInterface
+public interface RangeFetcher<T> {
+
+    /**
+     * @param startAt start of the window, in the unit of the endpoint
+     * @param endAt   end of the window, never further than the window length from the start
+     * @return The items of the window, in any order.
+     */
+    List<T> fetch(long startAt, long endAt) throws IOException;
+}
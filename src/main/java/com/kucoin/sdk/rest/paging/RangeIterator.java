@@ -0,0 +1,169 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Iterates the items of every window in time order, see {@link TimeRangeDownloader}.
+ */
+class RangeIterator<T> implements Iterator<T> {
+
+    private final RangeFetcher<T> fetcher;
+
+    private final long endAt;
+
+    private final long window;
+
+    private final ToLongFunction<T> timeOf;
+
+    private final Function<T, ?> keyOf;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final Deque<CompletableFuture<List<T>>> inFlight = new ArrayDeque<>();
+
+    private Iterator<T> items = Collections.emptyIterator();
+
+    // start of the next window to submit
+    private long nextStart;
+
+    private boolean submittedLast;
+
+    // keys of the items at the end of the previous window, which the next window fetches again
+    private Set<Object> boundaryKeys = Collections.emptySet();
+
+    private long boundaryTime = Long.MIN_VALUE;
+
+    private boolean closed;
+
+    RangeIterator(RangeFetcher<T> fetcher, long startAt, long endAt, long window, ToLongFunction<T> timeOf,
+                  Function<T, ?> keyOf, Executor executor, int parallelism) {
+        this.fetcher = fetcher;
+        this.endAt = endAt;
+        this.window = window;
+        this.timeOf = timeOf;
+        this.keyOf = keyOf;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.nextStart = startAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!items.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            submit();
+            if (inFlight.isEmpty()) {
+                close();
+                return false;
+            }
+            items = merge(join(inFlight.poll())).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return items.next();
+    }
+
+    /**
+     * Cancel the windows in flight and end the iteration.
+     */
+    void close() {
+        closed = true;
+        items = Collections.emptyIterator();
+        for (CompletableFuture<List<T>> window : inFlight) {
+            window.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    private void submit() {
+        while (!submittedLast && inFlight.size() < parallelism) {
+            long start = nextStart;
+            long end = endAt - start <= window ? endAt : start + window;
+            submittedLast = end == endAt;
+            nextStart = end;
+            inFlight.add(executor == null
+                    ? CompletableFuture.completedFuture(fetch(start, end))
+                    : CompletableFuture.supplyAsync(() -> fetch(start, end), executor));
+        }
+    }
+
+    /**
+     * Sort a window and drop the items already returned with the previous one.
+     */
+    private List<T> merge(List<T> fetched) {
+        List<T> sorted = new ArrayList<>(fetched);
+        sorted.sort(Comparator.comparingLong(timeOf));
+        List<T> merged = new ArrayList<>(sorted.size());
+        Set<Object> seen = new HashSet<>();
+        Set<Object> lastKeys = new HashSet<>();
+        long lastTime = Long.MIN_VALUE;
+        for (T item : sorted) {
+            long time = timeOf.applyAsLong(item);
+            Object key = keyOf.apply(item);
+            if (time < boundaryTime || (time == boundaryTime && boundaryKeys.contains(key)) || !seen.add(key)) {
+                continue;
+            }
+            merged.add(item);
+            if (time != lastTime) {
+                lastKeys.clear();
+                lastTime = time;
+            }
+            lastKeys.add(key);
+        }
+        if (!merged.isEmpty()) {
+            boundaryTime = lastTime;
+            boundaryKeys = lastKeys;
+        }
+        return merged;
+    }
+
+    private List<T> fetch(long start, long end) {
+        try {
+            List<T> fetched = fetcher.fetch(start, end);
+            return fetched == null ? Collections.emptyList() : fetched;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<T> join(CompletableFuture<List<T>> window) {
+        try {
+            return window.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
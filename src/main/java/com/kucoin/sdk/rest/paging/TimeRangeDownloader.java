@@ -0,0 +1,139 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Downloads a time range larger than an endpoint accepts in one call.
+ * <p>
+ * The range is cut into consecutive windows no longer than the window length; each window starts where the
+ * previous one ends, so items on a boundary are fetched twice and dropped the second time. With an executor,
+ * up to {@code parallelism} windows are fetched concurrently. Every window is a regular request, so with a
+ * rate limit on the client a large parallelism keeps the budget saturated without exceeding it.
+ * <p>
+ * Items come out sorted by time, oldest first, without duplicates. Only the windows in flight are held in
+ * memory, not the whole range.
+ */
+public class TimeRangeDownloader<T> {
+
+    public static final int MAX_CANDLES = 1500;
+
+    public static final long LEDGER_WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    public static final long DEPOSIT_WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final RangeFetcher<T> fetcher;
+
+    private final long window;
+
+    private final ToLongFunction<T> timeOf;
+
+    private Function<T, ?> keyOf;
+
+    private Executor executor;
+
+    private int parallelism = 1;
+
+    /**
+     * @param window longest window the endpoint accepts, in its unit
+     * @param timeOf time of an item, in the same unit
+     */
+    public TimeRangeDownloader(RangeFetcher<T> fetcher, long window, ToLongFunction<T> timeOf) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Invalid window " + window);
+        }
+        this.fetcher = fetcher;
+        this.window = window;
+        this.timeOf = timeOf;
+        this.keyOf = timeOf::applyAsLong;
+    }
+
+    /**
+     * @param keyOf identity of an item, used to drop duplicates. Defaults to the time.
+     */
+    public TimeRangeDownloader<T> withKey(Function<T, ?> keyOf) {
+        this.keyOf = keyOf;
+        return this;
+    }
+
+    /**
+     * @param executor    runs the window requests
+     * @param parallelism maximum number of windows in flight
+     */
+    public TimeRangeDownloader<T> withExecutor(Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public Stream<T> stream(long startAt, long endAt) {
+        if (startAt > endAt) {
+            throw new IllegalArgumentException("Invalid range " + startAt + ".." + endAt);
+        }
+        RangeIterator<T> iterator = new RangeIterator<>(fetcher, startAt, endAt, window, timeOf, keyOf,
+                executor, executor == null ? 1 : parallelism);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    public List<T> download(long startAt, long endAt) {
+        try (Stream<T> items = stream(startAt, endAt)) {
+            return items.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @param type candle type of {@code getHistoricRates}, e.g. {@code 1min}
+     * @return The longest window, in seconds, holding at most {@link #MAX_CANDLES} candles with both ends included.
+     */
+    public static long candleWindowSeconds(String type) {
+        return (MAX_CANDLES - 1) * candleSeconds(type);
+    }
+
+    static long candleSeconds(String type) {
+        switch (String.valueOf(type)) {
+            case "1min":
+                return 60;
+            case "3min":
+                return 3 * 60;
+            case "5min":
+                return 5 * 60;
+            case "15min":
+                return 15 * 60;
+            case "30min":
+                return 30 * 60;
+            case "1hour":
+                return 3600;
+            case "2hour":
+                return 2 * 3600;
+            case "4hour":
+                return 4 * 3600;
+            case "6hour":
+                return 6 * 3600;
+            case "8hour":
+                return 8 * 3600;
+            case "12hour":
+                return 12 * 3600;
+            case "1day":
+                return 24 * 3600;
+            case "1week":
+                return 7 * 24 * 3600;
+            default:
+                throw new IllegalArgumentException("Unknown candle type " + type);
+        }
+    }
+}
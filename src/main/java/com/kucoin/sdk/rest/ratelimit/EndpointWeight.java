@@ -0,0 +1,26 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Cost of one endpoint.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EndpointWeight {
+
+    private final RateLimitPool pool;
+
+    private final int weight;
+
+    /**
+     * Order placement or cancellation, which {@link RateLimitPolicy#PRIORITIZE} serves first.
+     */
+    private final boolean orderPath;
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kucoin.sdk.rest.ratelimit.RateLimitPool.*;
+
+/**
+ * Weight table of the REST endpoints, keyed by method and path. Path segments written {@code *} match any
+ * segment, e.g. the order id in {@code /api/v1/orders/*}. Endpoints missing from the table are charged
+ * {@link #DEFAULT_WEIGHT} against the pool their path prefix belongs to.
+ */
+public class EndpointWeights {
+
+    public static final int DEFAULT_WEIGHT = 2;
+
+    private final Map<String, EndpointWeight> exact = new HashMap<>();
+
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    /**
+     * @return The weights published for the endpoints of this SDK.
+     */
+    public static EndpointWeights defaults() {
+        EndpointWeights weights = new EndpointWeights();
+        weights.order("POST", "/api/v1/orders", SPOT, 2)
+                .order("POST", "/api/v1/orders/test", SPOT, 2)
+                .order("POST", "/api/v1/orders/multi", SPOT, 3)
+                .order("DELETE", "/api/v1/orders/*", SPOT, 3)
+                .order("DELETE", "/api/v1/order/client-order/*", SPOT, 5)
+                .order("DELETE", "/api/v1/orders", SPOT, 20)
+                .put("GET", "/api/v1/orders", SPOT, 2)
+                .put("GET", "/api/v1/orders/*", SPOT, 2)
+                .put("GET", "/api/v1/order/client-order/*", SPOT, 3)
+                .put("GET", "/api/v1/limit/orders", SPOT, 3)
+                .put("GET", "/api/v1/fills", SPOT, 10)
+                .put("GET", "/api/v1/limit/fills", SPOT, 20)
+                .put("GET", "/api/v1/trade-fees", SPOT, 3)
+                .put("GET", "/api/v1/base-fee", SPOT, 3)
+                .order("POST", "/api/v1/stop-order", SPOT, 2)
+                .order("DELETE", "/api/v1/stop-order/*", SPOT, 3)
+                .order("DELETE", "/api/v1/stop-order/cancel", SPOT, 3)
+                .order("DELETE", "/api/v1/stop-order/cancelOrderByClientOid", SPOT, 5)
+                .put("GET", "/api/v1/stop-order", SPOT, 8)
+                .put("GET", "/api/v1/stop-order/*", SPOT, 3)
+                .put("GET", "/api/v1/stop-order/queryOrderByClientOid", SPOT, 3)
+                .order("POST", "/api/v3/oco/order", SPOT, 2)
+                .order("DELETE", "/api/v3/oco/order/*", SPOT, 3)
+                .order("DELETE", "/api/v3/oco/client-order/*", SPOT, 3)
+                .order("DELETE", "/api/v3/oco/orders", SPOT, 3)
+                .put("GET", "/api/v3/oco/orders", SPOT, 2)
+                .put("GET", "/api/v3/oco/order/*", SPOT, 2)
+                .put("GET", "/api/v3/oco/order/details/*", SPOT, 2)
+                .put("GET", "/api/v3/oco/client-order/*", SPOT, 2)
+
+                .order("POST", "/api/v1/hf/orders", HF, 1)
+                .order("POST", "/api/v1/hf/orders/sync", HF, 1)
+                .order("POST", "/api/v1/hf/orders/multi", HF, 1)
+                .order("POST", "/api/v1/hf/orders/multi/sync", HF, 1)
+                .order("POST", "/api/v1/hf/orders/alter", HF, 3)
+                .order("DELETE", "/api/v1/hf/orders/*", HF, 1)
+                .order("DELETE", "/api/v1/hf/orders/sync/*", HF, 1)
+                .order("DELETE", "/api/v1/hf/orders/client-order/*", HF, 1)
+                .order("DELETE", "/api/v1/hf/orders/sync/client-order/*", HF, 1)
+                .order("DELETE", "/api/v1/hf/orders/cancel/*", HF, 2)
+                .order("DELETE", "/api/v1/hf/orders", HF, 2)
+                .order("DELETE", "/api/v1/hf/orders/cancelAll", HF, 30)
+                .order("POST", "/api/v1/hf/orders/dead-cancel-all", HF, 2)
+                .put("GET", "/api/v1/hf/orders/dead-cancel-all/query", HF, 2)
+                .put("GET", "/api/v1/hf/orders/active", HF, 2)
+                .put("GET", "/api/v1/hf/orders/active/symbols", HF, 2)
+                .put("GET", "/api/v1/hf/orders/done", HF, 2)
+                .put("GET", "/api/v1/hf/orders/*", HF, 2)
+                .put("GET", "/api/v1/hf/orders/client-order/*", HF, 2)
+                .put("GET", "/api/v1/hf/fills", HF, 2)
+                .put("GET", "/api/v1/hf/accounts/ledgers", HF, 2)
+
+                .order("POST", "/api/v1/margin/order", MARGIN, 5)
+                .put("POST", "/api/v1/margin/borrow", MARGIN, 15)
+                .put("POST", "/api/v1/margin/repay/all", MARGIN, 10)
+                .put("POST", "/api/v1/margin/repay/single", MARGIN, 10)
+                .put("POST", "/api/v1/isolated/borrow", MARGIN, 15)
+                .put("POST", "/api/v1/isolated/repay/all", MARGIN, 10)
+                .put("POST", "/api/v1/isolated/repay/single", MARGIN, 10)
+                .put("GET", "/api/v1/margin/account", MARGIN, 40)
+                .put("GET", "/api/v3/margin/accounts", MARGIN, 15)
+                .put("GET", "/api/v1/isolated/accounts", MARGIN, 50)
+                .put("GET", "/api/v3/isolated/accounts", MARGIN, 15)
+                .put("GET", "/api/v1/isolated/account/*", MARGIN, 50)
+
+                .put("GET", "/api/v1/accounts", MANAGEMENT, 5)
+                .put("GET", "/api/v1/accounts/*", MANAGEMENT, 5)
+                .put("GET", "/api/v1/accounts/ledgers", MANAGEMENT, 2)
+                .put("GET", "/api/v1/accounts/transferable", MANAGEMENT, 20)
+                .put("POST", "/api/v2/accounts/inner-transfer", MANAGEMENT, 10)
+                .put("POST", "/api/v2/accounts/sub-transfer", MANAGEMENT, 30)
+                .put("GET", "/api/v1/sub-accounts", MANAGEMENT, 20)
+                .put("GET", "/api/v2/sub-accounts", MANAGEMENT, 20)
+                .put("GET", "/api/v1/deposits", MANAGEMENT, 5)
+                .put("GET", "/api/v1/withdrawals", MANAGEMENT, 20)
+                .put("POST", "/api/v1/withdrawals", MANAGEMENT, 5)
+
+                .put("GET", "/api/v1/market/orderbook/level1", PUBLIC, 2)
+                .put("GET", "/api/v1/market/orderbook/level2_20", PUBLIC, 2)
+                .put("GET", "/api/v1/market/orderbook/level2_100", PUBLIC, 4)
+                .put("GET", "/api/v3/market/orderbook/level2", SPOT, 3)
+                .put("GET", "/api/v1/market/allTickers", PUBLIC, 15)
+                .put("GET", "/api/v1/market/stats", PUBLIC, 15)
+                .put("GET", "/api/v1/market/histories", PUBLIC, 3)
+                .put("GET", "/api/v1/market/candles", PUBLIC, 3)
+                .put("GET", "/api/v1/markets", PUBLIC, 3)
+                .put("GET", "/api/v1/symbols", PUBLIC, 4)
+                .put("GET", "/api/v2/symbols", PUBLIC, 4)
+                .put("GET", "/api/v1/currencies", PUBLIC, 3)
+                .put("GET", "/api/v3/currencies", PUBLIC, 3)
+                .put("GET", "/api/v1/timestamp", PUBLIC, 3)
+                .put("GET", "/api/v1/status", PUBLIC, 3)
+                .put("POST", "/api/v1/bullet-public", PUBLIC, 10)
+                .put("POST", "/api/v1/bullet-private", SPOT, 10);
+        return weights;
+    }
+
+    /**
+     * Add or replace the weight of an endpoint.
+     *
+     * @param method HTTP method
+     * @param path   path starting with {@code /}, {@code *} segments match any segment
+     */
+    public EndpointWeights put(String method, String path, RateLimitPool pool, int weight) {
+        return put(method, path, new EndpointWeight(pool, weight, false));
+    }
+
+    /**
+     * Add or replace the weight of an order placement or cancellation endpoint.
+     */
+    public EndpointWeights order(String method, String path, RateLimitPool pool, int weight) {
+        return put(method, path, new EndpointWeight(pool, weight, true));
+    }
+
+    private EndpointWeights put(String method, String path, EndpointWeight weight) {
+        if (path.contains("*")) {
+            patterns.removeIf(pattern -> pattern.method.equals(method) && pattern.path.equals(path));
+            patterns.add(new Pattern(method, path, weight));
+        } else {
+            exact.put(method + ' ' + path, weight);
+        }
+        return this;
+    }
+
+    /**
+     * @param method      HTTP method
+     * @param encodedPath path of the request url
+     * @return The weight of the endpoint, never null.
+     */
+    public EndpointWeight lookup(String method, String encodedPath) {
+        EndpointWeight weight = exact.get(method + ' ' + encodedPath);
+        if (weight != null) {
+            return weight;
+        }
+        String[] segments = encodedPath.split("/");
+        for (Pattern pattern : patterns) {
+            if (pattern.matches(method, segments)) {
+                return pattern.weight;
+            }
+        }
+        return new EndpointWeight(poolOf(encodedPath), DEFAULT_WEIGHT, false);
+    }
+
+    static RateLimitPool poolOf(String encodedPath) {
+        if (encodedPath.startsWith("/api/v1/hf/")) {
+            return HF;
+        }
+        if (encodedPath.startsWith("/api/v1/margin/") || encodedPath.startsWith("/api/v1/isolated/")
+                || encodedPath.startsWith("/api/v3/margin/") || encodedPath.startsWith("/api/v3/isolated/")
+                || encodedPath.startsWith("/api/v1/risk/")) {
+            return MARGIN;
+        }
+        if (encodedPath.startsWith("/api/v1/market/") || encodedPath.startsWith("/api/v1/mark-price/")
+                || encodedPath.startsWith("/api/v2/symbols") || encodedPath.startsWith("/api/v1/symbols")
+                || encodedPath.startsWith("/api/v1/currencies") || encodedPath.startsWith("/api/v2/currencies")
+                || encodedPath.startsWith("/api/v3/currencies") || encodedPath.startsWith("/api/v1/prices")) {
+            return PUBLIC;
+        }
+        if (encodedPath.startsWith("/api/v1/accounts") || encodedPath.startsWith("/api/v2/accounts")
+                || encodedPath.startsWith("/api/v1/sub") || encodedPath.startsWith("/api/v2/sub")
+                || encodedPath.startsWith("/api/v1/deposit") || encodedPath.startsWith("/api/v2/deposit")
+                || encodedPath.startsWith("/api/v1/hist-") || encodedPath.startsWith("/api/v1/withdrawals")
+                || encodedPath.startsWith("/api/v2/user-info")) {
+            return MANAGEMENT;
+        }
+        return SPOT;
+    }
+
+    private static class Pattern {
+
+        private final String method;
+
+        private final String path;
+
+        private final String[] segments;
+
+        private final EndpointWeight weight;
+
+        Pattern(String method, String path, EndpointWeight weight) {
+            this.method = method;
+            this.path = path;
+            this.segments = path.split("/");
+            this.weight = weight;
+        }
+
+        boolean matches(String method, String[] requestSegments) {
+            if (!this.method.equals(method) || segments.length != requestSegments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (!"*".equals(segments[i]) && !segments[i].equals(requestSegments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
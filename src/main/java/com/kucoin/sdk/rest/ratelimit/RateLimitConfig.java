@@ -0,0 +1,79 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of the client side rate limiter.
+ */
+@Getter
+@ToString
+public class RateLimitConfig {
+
+    private RateLimitPolicy policy = RateLimitPolicy.PRIORITIZE;
+
+    private long windowMillis = 30_000;
+
+    private final Map<RateLimitPool, Integer> quotas = new EnumMap<>(RateLimitPool.class);
+
+    private double reserveRatio = 0.2;
+
+    private long maxWaitMillis = 30_000;
+
+    private EndpointWeights weights = EndpointWeights.defaults();
+
+    public RateLimitConfig() {
+        for (RateLimitPool pool : RateLimitPool.values()) {
+            quotas.put(pool, pool.getDefaultQuota());
+        }
+    }
+
+    public RateLimitConfig withPolicy(RateLimitPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    /**
+     * @param quota weight the pool may spend per window, e.g. the higher quota of a VIP level
+     */
+    public RateLimitConfig withQuota(RateLimitPool pool, int quota) {
+        this.quotas.put(pool, quota);
+        return this;
+    }
+
+    public RateLimitConfig withWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+        return this;
+    }
+
+    /**
+     * @param reserveRatio share of each pool kept for order requests under {@link RateLimitPolicy#PRIORITIZE}
+     */
+    public RateLimitConfig withReserveRatio(double reserveRatio) {
+        this.reserveRatio = reserveRatio;
+        return this;
+    }
+
+    /**
+     * @param maxWaitMillis longest wait for weight before failing the request
+     */
+    public RateLimitConfig withMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        return this;
+    }
+
+    public RateLimitConfig withWeights(EndpointWeights weights) {
+        this.weights = weights;
+        return this;
+    }
+
+    public int getQuota(RateLimitPool pool) {
+        return quotas.get(pool);
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+/**
+ * What a request does when its pool has not enough weight left.
+ */
+public enum RateLimitPolicy {
+
+    /**
+     * Wait until the pool refills, first come first served.
+     */
+    WAIT,
+
+    /**
+     * Fail at once with a {@link com.kucoin.sdk.exception.RateLimitExceededException}.
+     */
+    FAIL_FAST,
+
+    /**
+     * Wait, but let order placement and cancellation go first: other requests leave a reserve of the pool
+     * untouched and yield to waiting order requests.
+     */
+    PRIORITIZE
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+/**
+ * Resource pools the exchange accounts request weights against. {@link #PUBLIC} is counted per IP,
+ * the others per account.
+ */
+public enum RateLimitPool {
+
+    SPOT(4000),
+
+    HF(4000),
+
+    MARGIN(2000),
+
+    MANAGEMENT(2000),
+
+    PUBLIC(2000);
+
+    private final int defaultQuota;
+
+    RateLimitPool(int defaultQuota) {
+        this.defaultQuota = defaultQuota;
+    }
+
+    /**
+     * @return The weight a VIP 0 account may spend in one 30 seconds window.
+     */
+    public int getDefaultQuota() {
+        return defaultQuota;
+    }
+}
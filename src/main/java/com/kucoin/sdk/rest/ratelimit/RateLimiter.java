@@ -0,0 +1,45 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The buckets of one account. The {@link RateLimitPool#PUBLIC} bucket counts per IP, so it is passed in and
+ * shared by all accounts of the process.
+ */
+public class RateLimiter {
+
+    private final RateLimitConfig config;
+
+    private final Map<RateLimitPool, TokenBucket> buckets = new EnumMap<>(RateLimitPool.class);
+
+    public RateLimiter(RateLimitConfig config, TokenBucket publicBucket) {
+        this.config = config;
+        for (RateLimitPool pool : RateLimitPool.values()) {
+            buckets.put(pool, pool == RateLimitPool.PUBLIC ? publicBucket : newBucket(config, pool));
+        }
+    }
+
+    public static TokenBucket newBucket(RateLimitConfig config, RateLimitPool pool) {
+        return new TokenBucket(pool, config.getQuota(pool), config.getWindowMillis(), config.getReserveRatio());
+    }
+
+    public RateLimitConfig getConfig() {
+        return config;
+    }
+
+    public TokenBucket getBucket(RateLimitPool pool) {
+        return buckets.get(pool);
+    }
+
+    /**
+     * @return Whether a request to the endpoint would be sent at once, without waiting for weight.
+     */
+    public boolean hasHeadroom(String method, String path) {
+        EndpointWeight weight = config.getWeights().lookup(method, path);
+        return getBucket(weight.getPool()).hasHeadroom(weight.getWeight(), weight.isOrderPath(), config.getPolicy());
+    }
+}
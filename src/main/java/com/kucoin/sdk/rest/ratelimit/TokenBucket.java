@@ -0,0 +1,212 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import com.kucoin.sdk.exception.RateLimitExceededException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Weight budget of one pool.
+ * <p>
+ * Until the server reports the state of its window, the bucket refills continuously at quota per window.
+ * Once a response carried the remaining weight and the time to reset, the bucket follows the server window:
+ * it spends down to the remaining weight and refills to the full quota when the window resets.
+ */
+public class TokenBucket {
+
+    private final RateLimitPool pool;
+
+    private final long windowNanos;
+
+    private final double reserveRatio;
+
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    private int capacity;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    // System.nanoTime() of the next server window reset, only meaningful when serverWindow is set
+    private long resetAt;
+
+    private boolean serverWindow;
+
+    private int priorityWaiters;
+
+    public TokenBucket(RateLimitPool pool, int quota, long windowMillis, double reserveRatio) {
+        this(pool, quota, windowMillis, reserveRatio, System::nanoTime);
+    }
+
+    TokenBucket(RateLimitPool pool, int quota, long windowMillis, double reserveRatio, LongSupplier nanoClock) {
+        this.pool = pool;
+        this.capacity = quota;
+        this.tokens = quota;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.reserveRatio = reserveRatio;
+        this.nanoClock = nanoClock;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take the weight of a request from the bucket.
+     *
+     * @param weight    weight of the request, capped to what the request may ever get
+     * @param orderPath whether the request places or cancels orders
+     * @param policy    what to do when the bucket holds too little
+     * @param maxWaitNanos bound of the wait of {@link RateLimitPolicy#WAIT} and {@link RateLimitPolicy#PRIORITIZE}
+     * @throws RateLimitExceededException if the weight is not available in time
+     * @throws InterruptedIOException     if interrupted while waiting
+     */
+    public void acquire(int weight, boolean orderPath, RateLimitPolicy policy, long maxWaitNanos) throws IOException {
+        boolean prioritize = policy == RateLimitPolicy.PRIORITIZE;
+        boolean waitingFirst = false;
+        lock.lock();
+        try {
+            long deadline = nanoClock.getAsLong() + maxWaitNanos;
+            while (true) {
+                long now = nanoClock.getAsLong();
+                refill(now);
+                double reserve = prioritize && !orderPath ? capacity * reserveRatio : 0;
+                double needed = Math.min(weight, capacity - reserve);
+                boolean yield = prioritize && !orderPath && priorityWaiters > 0;
+                if (!yield && tokens - reserve >= needed) {
+                    tokens -= needed;
+                    return;
+                }
+                if (policy == RateLimitPolicy.FAIL_FAST) {
+                    throw exceeded(weight);
+                }
+                long waitNanos = Math.max(nanosUntil(now, reserve + needed), TimeUnit.MILLISECONDS.toNanos(1));
+                if (now + waitNanos - deadline > 0) {
+                    throw exceeded(weight);
+                }
+                if (prioritize && orderPath && !waitingFirst) {
+                    waitingFirst = true;
+                    priorityWaiters++;
+                }
+                released.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for rate limit of pool " + pool);
+        } finally {
+            if (waitingFirst) {
+                priorityWaiters--;
+                released.signalAll();
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Whether {@link #acquire} would take the weight at once, without waiting or failing.
+     */
+    public boolean hasHeadroom(int weight, boolean orderPath, RateLimitPolicy policy) {
+        boolean prioritize = policy == RateLimitPolicy.PRIORITIZE;
+        lock.lock();
+        try {
+            refill(nanoClock.getAsLong());
+            double reserve = prioritize && !orderPath ? capacity * reserveRatio : 0;
+            double needed = Math.min(weight, capacity - reserve);
+            boolean yield = prioritize && !orderPath && priorityWaiters > 0;
+            return !yield && tokens - reserve >= needed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Align the bucket on the window state reported by the server.
+     *
+     * @param limit       quota of the window, or -1 if unknown
+     * @param remaining   weight left in the window
+     * @param resetMillis time until the window resets
+     */
+    public void sync(int limit, int remaining, long resetMillis) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            if (limit > 0) {
+                capacity = limit;
+            }
+            tokens = Math.min(tokens, remaining);
+            resetAt = now + TimeUnit.MILLISECONDS.toNanos(resetMillis);
+            serverWindow = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spend everything until the window resets, after the server rejected a request.
+     */
+    public void exhaust(long resetMillis) {
+        sync(-1, 0, resetMillis);
+    }
+
+    public RateLimitPool getPool() {
+        return pool;
+    }
+
+    public int getCapacity() {
+        lock.lock();
+        try {
+            return capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The weight left now.
+     */
+    public double getTokens() {
+        lock.lock();
+        try {
+            refill(nanoClock.getAsLong());
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if (serverWindow) {
+            if (now - resetAt >= 0) {
+                tokens = capacity;
+                resetAt += windowNanos * (1 + (now - resetAt) / windowNanos);
+            }
+        } else {
+            tokens = Math.min(capacity, tokens + (double) (now - refilledAt) * capacity / windowNanos);
+        }
+        refilledAt = now;
+    }
+
+    private long nanosUntil(long now, double target) {
+        if (tokens >= target) {
+            return 0;
+        }
+        if (serverWindow) {
+            return resetAt - now;
+        }
+        return (long) Math.ceil((target - tokens) * windowNanos / capacity);
+    }
+
+    private RateLimitExceededException exceeded(int weight) {
+        return new RateLimitExceededException("Rate limit of pool " + pool + " exhausted, request weight " + weight);
+    }
+}
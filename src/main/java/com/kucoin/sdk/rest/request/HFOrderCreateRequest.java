@@ -10,7 +10,7 @@ import java.math.BigDecimal;
  * @version 1.0.0
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class HFOrderCreateRequest {
     private String clientOid;
     private String symbol;
@@ -15,7 +15,7 @@ import lombok.Getter;
  * @author 屈亮
  * @since 2018-09-17
  */
-@Builder
+@Builder(toBuilder = true)
 @Data
 public class OrderCreateApiRequest {
 
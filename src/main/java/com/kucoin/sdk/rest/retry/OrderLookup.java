@@ -0,0 +1,18 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.retry;
+
+import java.io.IOException;
+
+/**
+ * Finds an order by its clientOid before its creation is sent again.
+ */
+@FunctionalInterface
+public interface OrderLookup<R> {
+
+    /**
+     * @return the creation response of the order, null when the exchange does not know the order
+     */
+    R find() throws IOException;
+}
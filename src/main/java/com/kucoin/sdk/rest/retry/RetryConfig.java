@@ -0,0 +1,128 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.retry;
+
+import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.exception.RateLimitExceededException;
+import lombok.Getter;
+import lombok.ToString;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Settings of the REST retries.
+ * <p>
+ * Only idempotent requests are sent again: GETs, which include the queries by clientOid, and DELETEs, which
+ * are the cancels. Order creation is retried through a lookup by clientOid, so that an order which reached
+ * the exchange before the failure is found instead of being placed twice. As an order still in flight in the
+ * gateway is not found yet, the order is only sent again once a lookup made {@link #getCreateSettleMillis()}
+ * after the failure does not find it either.
+ */
+@Getter
+@ToString
+public class RetryConfig {
+
+    private int maxAttempts = 3;
+
+    private long baseBackoffMillis = 50;
+
+    private long maxBackoffMillis = 2_000;
+
+    private long createSettleMillis = 1_000;
+
+    private final Set<String> retryableCodes = new HashSet<>();
+
+    private final Set<String> notFoundCodes = new HashSet<>();
+
+    public RetryConfig() {
+        retryableCodes.add("429000");
+        retryableCodes.add("500000");
+        notFoundCodes.add("400100");
+    }
+
+    /**
+     * @param maxAttempts attempts per call including the first one, 1 to disable retries
+     */
+    public RetryConfig withMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param baseBackoffMillis backoff before the second attempt, doubled for each further one
+     * @param maxBackoffMillis  upper bound of the backoff
+     */
+    public RetryConfig withBackoff(long baseBackoffMillis, long maxBackoffMillis) {
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        return this;
+    }
+
+    /**
+     * @param createSettleMillis longest time an order creation may take to reach the matching engine after its
+     *                           send failed, e.g. timed out
+     */
+    public RetryConfig withCreateSettleMillis(long createSettleMillis) {
+        this.createSettleMillis = createSettleMillis;
+        return this;
+    }
+
+    /**
+     * @param code API error code of a transient failure, e.g. a busy gateway
+     */
+    public RetryConfig withRetryableCode(String code) {
+        this.retryableCodes.add(code);
+        return this;
+    }
+
+    /**
+     * @param code API error code a lookup by clientOid answers with when the order does not exist
+     */
+    public RetryConfig withNotFoundCode(String code) {
+        this.notFoundCodes.add(code);
+        return this;
+    }
+
+    public boolean isIdempotent(Request request) {
+        String method = request.method();
+        return "GET".equals(method) || "DELETE".equals(method);
+    }
+
+    /**
+     * Socket errors and timeouts are retryable. Failures of the client side rate limiter are not, as it has
+     * already waited as long as it was allowed to, and neither are interrupts.
+     */
+    public boolean isRetryable(Exception e) {
+        if (e instanceof KucoinApiException) {
+            return retryableCodes.contains(((KucoinApiException) e).getCode());
+        }
+        if (e instanceof RateLimitExceededException) {
+            return false;
+        }
+        if (e instanceof InterruptedIOException) {
+            return e instanceof SocketTimeoutException;
+        }
+        return e instanceof IOException;
+    }
+
+    public boolean isNotFound(KucoinApiException e) {
+        return notFoundCodes.contains(e.getCode());
+    }
+
+    /**
+     * Backoff after the given failed attempt with equal jitter: half of the exponential backoff plus a random
+     * share of the other half, so that clients failing together do not retry together.
+     */
+    public long backoffMillis(int attempt) {
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+}
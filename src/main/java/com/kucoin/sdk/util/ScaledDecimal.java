@@ -0,0 +1,148 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point decimals stored as a {@code long} mantissa with a per-symbol scale,
+ * e.g. {@code "0.0123"} at scale 6 is the mantissa {@code 12300}.
+ * <p>
+ * Parsing works on the characters of the decimal string, so no {@link BigDecimal} is created on the way.
+ */
+public final class ScaledDecimal {
+
+    /**
+     * Largest scale whose power of ten fits in a long.
+     */
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private ScaledDecimal() {
+    }
+
+    /**
+     * Scale needed to represent every multiple of an increment, e.g. 4 for {@code 0.0001}.
+     *
+     * @param increment a priceIncrement, baseIncrement or quoteIncrement of a symbol
+     * @return The number of fraction digits of the increment.
+     */
+    public static int scaleOf(BigDecimal increment) {
+        if (increment == null || increment.signum() == 0) {
+            return 0;
+        }
+        return Math.max(0, increment.stripTrailingZeros().scale());
+    }
+
+    public static long parse(CharSequence text, int scale) {
+        return parse(text, 0, text.length(), scale);
+    }
+
+    /**
+     * Parse a plain decimal such as {@code "-12.3400"} into a mantissa at the given scale.
+     * Fraction digits beyond the scale must be zeros.
+     *
+     * @throws NumberFormatException if the text is not a plain decimal
+     * @throws ArithmeticException   if the value has more precision than the scale or does not fit in a long
+     */
+    public static long parse(CharSequence text, int offset, int length, int scale) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (fractionDigits >= 0) {
+                    throw new NumberFormatException("Invalid decimal: " + text.subSequence(offset, end));
+                }
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid decimal: " + text.subSequence(offset, end));
+            }
+            digits = true;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    if (digit != 0) {
+                        throw new ArithmeticException("More than " + scale + " fraction digits: "
+                                + text.subSequence(offset, end));
+                    }
+                    continue;
+                }
+                fractionDigits++;
+            }
+            if (mantissa > (Long.MAX_VALUE - digit) / 10) {
+                throw new ArithmeticException("Decimal overflow: " + text.subSequence(offset, end));
+            }
+            mantissa = mantissa * 10 + digit;
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid decimal: " + text.subSequence(offset, end));
+        }
+        mantissa = Math.multiplyExact(mantissa, pow10(scale - Math.max(fractionDigits, 0)));
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * @param value
+     * @param scale
+     * @return The mantissa of the value at the scale.
+     * @throws ArithmeticException if the value has more precision than the scale or does not fit in a long
+     */
+    public static long of(BigDecimal value, int scale) {
+        return value.setScale(scale).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param mantissa
+     * @param fromScale scale of the mantissa
+     * @param toScale   target scale
+     * @return The same value as a mantissa at the target scale.
+     * @throws ArithmeticException if precision would be lost or the result does not fit in a long
+     */
+    public static long rescale(long mantissa, int fromScale, int toScale) {
+        if (fromScale <= toScale) {
+            return Math.multiplyExact(mantissa, pow10(toScale - fromScale));
+        }
+        long divisor = pow10(fromScale - toScale);
+        if (mantissa % divisor != 0) {
+            throw new ArithmeticException("More than " + toScale + " fraction digits: "
+                    + toBigDecimal(mantissa, fromScale));
+        }
+        return mantissa / divisor;
+    }
+
+    public static BigDecimal toBigDecimal(long mantissa, int scale) {
+        return BigDecimal.valueOf(mantissa, scale);
+    }
+
+    /**
+     * @param exponent between 0 and {@link #MAX_SCALE}
+     * @return 10 raised to the exponent.
+     * @throws ArithmeticException if the power does not fit in a long
+     */
+    public static long pow10(int exponent) {
+        if (exponent < 0 || exponent > MAX_SCALE) {
+            throw new ArithmeticException("10^" + exponent + " does not fit in a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.util;
+
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Fraction digits used for the {@link ScaledDecimal} prices, sizes and funds of one symbol.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class SymbolScales {
+
+    private final String symbol;
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    private final int fundsScale;
+
+    /**
+     * @throws IllegalArgumentException if a scale is not between 0 and {@link ScaledDecimal#MAX_SCALE}
+     */
+    public SymbolScales(String symbol, int priceScale, int sizeScale, int fundsScale) {
+        this.symbol = symbol;
+        this.priceScale = checkScale(symbol, "price", priceScale);
+        this.sizeScale = checkScale(symbol, "size", sizeScale);
+        this.fundsScale = checkScale(symbol, "funds", fundsScale);
+    }
+
+    /**
+     * Scales from the priceIncrement, baseIncrement and quoteIncrement of a symbol.
+     *
+     * @param symbol
+     * @return The scales of the symbol.
+     */
+    public static SymbolScales of(SymbolResponse symbol) {
+        return new SymbolScales(symbol.getSymbol(), ScaledDecimal.scaleOf(symbol.getPriceIncrement()),
+                ScaledDecimal.scaleOf(symbol.getBaseIncrement()), ScaledDecimal.scaleOf(symbol.getQuoteIncrement()));
+    }
+
+    private static int checkScale(String symbol, String amount, int scale) {
+        if (scale < 0 || scale > ScaledDecimal.MAX_SCALE) {
+            throw new IllegalArgumentException("The " + amount + " scale of " + symbol + " must be between 0 and "
+                    + ScaledDecimal.MAX_SCALE + ", got " + scale);
+        }
+        return scale;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads the {@code data} field of a frame into the object handed to the callback of its topic.
+ */
+@FunctionalInterface
+public interface EventDataReader {
+
+    /**
+     * @param parser positioned on the first token of the data, which is not null
+     * @return The data of the event.
+     * @throws IOException if the data cannot be read.
+     */
+    Object read(JsonParser parser) throws IOException;
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Decodes a websocket frame into a {@link KucoinEvent} in a single pass.
+ * <p>
+ * The envelope fields are read straight from a {@link JsonParser} and the {@code data} field is bound
+ * to its target type from the same parser, so the frame is tokenized only once. If {@code data} appears
+ * before {@code type} or {@code topic}, its tokens are buffered and bound once the envelope is complete.
+ * <p>
+ * Data is read by the {@link EventDataReader} of the topic: either Jackson binding to the event type
+ * or one of the {@code Scaled*Reader}s, which fill primitive flyweight events.
+ */
+public class KucoinEventDecoder {
+
+    private static final String MESSAGE_TYPE = "message";
+
+    private final ObjectMapper mapper;
+
+    private final JsonFactory jsonFactory;
+
+    private final EventDataReader defaultDataReader;
+
+    public KucoinEventDecoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.jsonFactory = mapper.getFactory();
+        this.defaultDataReader = reader(mapper.getTypeFactory().constructType(Object.class));
+    }
+
+    /**
+     * Resolves the type of the {@code data} field from an event type reference,
+     * e.g. {@code TickerChangeEvent} for {@code KucoinEvent<TickerChangeEvent>}.
+     *
+     * @param typeReference
+     * @return The data type.
+     */
+    public JavaType dataType(TypeReference<?> typeReference) {
+        JavaType dataType = mapper.getTypeFactory().constructType(typeReference).containedType(0);
+        return dataType == null ? mapper.getTypeFactory().constructType(Object.class) : dataType;
+    }
+
+    /**
+     * @param typeReference event type reference, e.g. {@code KucoinEvent<TickerChangeEvent>}
+     * @return A reader binding the {@code data} field to the data type of the event.
+     */
+    public EventDataReader reader(TypeReference<?> typeReference) {
+        return reader(dataType(typeReference));
+    }
+
+    public EventDataReader reader(JavaType dataType) {
+        return parser -> mapper.readValue(parser, dataType);
+    }
+
+    /**
+     * Decode one frame.
+     *
+     * @param text             raw frame text
+     * @param dataReaderResolver maps a topic to the reader of its data, may return null for unknown topics
+     * @return The decoded event. Data is only bound for frames of type {@code message}.
+     * @throws IOException if the frame is not valid JSON or the data cannot be bound.
+     */
+    public KucoinEvent<Object> decode(String text, Function<String, EventDataReader> dataReaderResolver) throws IOException {
+        KucoinEvent<Object> event = new KucoinEvent<>();
+        TokenBuffer pendingData = null;
+        try (JsonParser parser = jsonFactory.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id":
+                        event.setId(textOrNull(parser, value));
+                        break;
+                    case "type":
+                        event.setType(textOrNull(parser, value));
+                        break;
+                    case "topic":
+                        event.setTopic(textOrNull(parser, value));
+                        break;
+                    case "subject":
+                        event.setSubject(textOrNull(parser, value));
+                        break;
+                    case "privateChannel":
+                        event.setPrivateChannel(booleanOrNull(parser, value));
+                        break;
+                    case "response":
+                        event.setResponse(booleanOrNull(parser, value));
+                        break;
+                    case "data":
+                        if (event.getType() != null && !MESSAGE_TYPE.equals(event.getType())) {
+                            parser.skipChildren();
+                        } else if (event.getType() != null && event.getTopic() != null) {
+                            event.setData(readData(parser, value, resolve(dataReaderResolver, event.getTopic())));
+                        } else {
+                            pendingData = new TokenBuffer(parser);
+                            pendingData.copyCurrentStructure(parser);
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        if (pendingData != null && MESSAGE_TYPE.equals(event.getType())) {
+            try (JsonParser bufferedParser = pendingData.asParser(mapper)) {
+                event.setData(readData(bufferedParser, bufferedParser.nextToken(),
+                        resolve(dataReaderResolver, event.getTopic())));
+            }
+        }
+        return event;
+    }
+
+    private EventDataReader resolve(Function<String, EventDataReader> dataReaderResolver, String topic) {
+        EventDataReader dataReader = topic == null ? null : dataReaderResolver.apply(topic);
+        return dataReader == null ? defaultDataReader : dataReader;
+    }
+
+    private static Object readData(JsonParser parser, JsonToken value, EventDataReader dataReader) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return dataReader.read(parser);
+    }
+
+    private static String textOrNull(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static Boolean booleanOrNull(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        }
+        if (value == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kucoin.sdk.util.ScaledDecimal;
+
+import java.io.IOException;
+
+/**
+ * Base of the readers filling primitive flyweight events.
+ * <p>
+ * Decimals are parsed from the characters held by the parser, so no {@link String} or
+ * {@link java.math.BigDecimal} is created for them. Identifiers such as order ids are still read as strings.
+ * A reader is used by the single thread reading its websocket.
+ */
+public abstract class ScaledEventReader implements EventDataReader {
+
+    protected static final String BUY = "buy";
+
+    protected static final String SELL = "sell";
+
+    private final CharWindow window = new CharWindow();
+
+    /**
+     * Read an object field by field.
+     *
+     * @param parser positioned on the start of the object
+     * @throws IOException if the data is not an object or a field cannot be read
+     */
+    protected void readObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (!readField(field, parser)) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * @param field  name of the field
+     * @param parser positioned on the value of the field
+     * @return false to skip the value.
+     */
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        return false;
+    }
+
+    /**
+     * @return The decimal value at the scale, 0 for null.
+     */
+    protected long decimal(JsonParser parser, int scale) throws IOException {
+        if (!window.wrap(parser)) {
+            return 0;
+        }
+        return ScaledDecimal.parse(window, parser.getTextOffset(), parser.getTextLength(), scale);
+    }
+
+    /**
+     * @return The number of fraction digits the current decimal is written with.
+     */
+    protected int fractionDigits(JsonParser parser) throws IOException {
+        if (!window.wrap(parser)) {
+            return 0;
+        }
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+        for (int i = offset; i < end; i++) {
+            if (window.charAt(i) == '.') {
+                return end - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The integer value, written as a number or a string, 0 for null.
+     */
+    protected long integer(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return decimal(parser, 0);
+    }
+
+    protected static String text(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    /**
+     * @return The side, as a shared constant for {@code buy} and {@code sell}.
+     */
+    protected String side(JsonParser parser) throws IOException {
+        if (!window.wrap(parser)) {
+            return null;
+        }
+        if (matches(parser, BUY)) {
+            return BUY;
+        }
+        return matches(parser, SELL) ? SELL : parser.getText();
+    }
+
+    private boolean matches(JsonParser parser, String value) throws IOException {
+        if (parser.getTextLength() != value.length()) {
+            return false;
+        }
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < value.length(); i++) {
+            if (window.charAt(offset + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Characters of the current token, viewed without copying.
+     */
+    private static final class CharWindow implements CharSequence {
+
+        private char[] chars;
+
+        boolean wrap(JsonParser parser) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return false;
+            }
+            if (!token.isScalarValue()) {
+                throw new IOException("Expected a decimal, got " + token);
+            }
+            chars = parser.getTextCharacters();
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return chars.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.ScaledLevel2ChangeEvent;
+
+import java.io.IOException;
+
+/**
+ * Reads the level2 changes of one symbol into a reused {@link ScaledLevel2ChangeEvent}.
+ */
+public class ScaledLevel2Reader extends ScaledEventReader {
+
+    private final ScaledLevel2ChangeEvent event = new ScaledLevel2ChangeEvent();
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    public ScaledLevel2Reader(SymbolScales scales) {
+        this.priceScale = scales.getPriceScale();
+        this.sizeScale = scales.getSizeScale();
+        event.setSymbol(scales.getSymbol());
+        event.setPriceScale(priceScale);
+        event.setSizeScale(sizeScale);
+    }
+
+    @Override
+    public Object read(JsonParser parser) throws IOException {
+        event.clear();
+        readObject(parser);
+        return event;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "sequenceStart":
+                event.setSequenceStart(integer(parser));
+                return true;
+            case "sequenceEnd":
+                event.setSequenceEnd(integer(parser));
+                return true;
+            case "changes":
+                readChanges(parser);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void readChanges(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String side = parser.getCurrentName();
+            parser.nextToken();
+            if ("asks".equals(side)) {
+                readChanges(parser, false);
+            } else if ("bids".equals(side)) {
+                readChanges(parser, true);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readChanges(JsonParser parser, boolean bids) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            // [price, size, sequence]
+            long price = 0;
+            long size = 0;
+            long sequence = 0;
+            int index = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IOException("Unexpected end of level2 changes");
+                }
+                switch (index++) {
+                    case 0:
+                        price = decimal(parser, priceScale);
+                        break;
+                    case 1:
+                        size = decimal(parser, sizeScale);
+                        break;
+                    case 2:
+                        sequence = integer(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (bids) {
+                event.addBid(price, size, sequence);
+            } else {
+                event.addAsk(price, size, sequence);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.ScaledLevel3Event;
+
+import java.io.IOException;
+
+/**
+ * Reads the level3 messages of one symbol into a reused {@link ScaledLevel3Event}.
+ */
+public class ScaledLevel3Reader extends ScaledEventReader {
+
+    private final ScaledLevel3Event event = new ScaledLevel3Event();
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    public ScaledLevel3Reader(SymbolScales scales) {
+        this.priceScale = scales.getPriceScale();
+        this.sizeScale = scales.getSizeScale();
+        event.setSymbol(scales.getSymbol());
+        event.setPriceScale(priceScale);
+        event.setSizeScale(sizeScale);
+    }
+
+    @Override
+    public Object read(JsonParser parser) throws IOException {
+        event.clear();
+        readObject(parser);
+        return event;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "sequence":
+                event.setSequence(integer(parser));
+                return true;
+            case "ts":
+                event.setTs(integer(parser));
+                return true;
+            case "side":
+                event.setSide(side(parser));
+                return true;
+            case "price":
+                event.setPrice(decimal(parser, priceScale));
+                return true;
+            case "size":
+                event.setSize(decimal(parser, sizeScale));
+                return true;
+            case "remainSize":
+                event.setRemainSize(decimal(parser, sizeScale));
+                return true;
+            case "orderId":
+                event.setOrderId(text(parser));
+                return true;
+            case "makerOrderId":
+                event.setMakerOrderId(text(parser));
+                return true;
+            case "takerOrderId":
+                event.setTakerOrderId(text(parser));
+                return true;
+            case "clientOid":
+                event.setClientOid(text(parser));
+                return true;
+            case "orderTime":
+                event.setOrderTime(integer(parser));
+                return true;
+            case "reason":
+                event.setReason(text(parser));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.ScaledMatchEvent;
+
+import java.io.IOException;
+
+/**
+ * Reads the match executions of one symbol into a reused {@link ScaledMatchEvent}.
+ */
+public class ScaledMatchReader extends ScaledEventReader {
+
+    private final ScaledMatchEvent event = new ScaledMatchEvent();
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    public ScaledMatchReader(SymbolScales scales) {
+        this.priceScale = scales.getPriceScale();
+        this.sizeScale = scales.getSizeScale();
+        event.setSymbol(scales.getSymbol());
+        event.setPriceScale(priceScale);
+        event.setSizeScale(sizeScale);
+    }
+
+    @Override
+    public Object read(JsonParser parser) throws IOException {
+        event.clear();
+        readObject(parser);
+        return event;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "sequence":
+                event.setSequence(integer(parser));
+                return true;
+            case "side":
+                event.setSide(side(parser));
+                return true;
+            case "price":
+                event.setPrice(decimal(parser, priceScale));
+                return true;
+            case "size":
+                event.setSize(decimal(parser, sizeScale));
+                return true;
+            case "takerOrderId":
+                event.setTakerOrderId(text(parser));
+                return true;
+            case "makerOrderId":
+                event.setMakerOrderId(text(parser));
+                return true;
+            case "tradeId":
+                event.setTradeId(text(parser));
+                return true;
+            case "type":
+                event.setType(text(parser));
+                return true;
+            case "time":
+                event.setTime(integer(parser));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
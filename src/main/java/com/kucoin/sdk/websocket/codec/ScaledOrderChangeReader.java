@@ -0,0 +1,144 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.kucoin.sdk.util.ScaledDecimal;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.ScaledOrderChangeEvent;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Reads the order changes of every symbol into a reused {@link ScaledOrderChangeEvent}.
+ * <p>
+ * The symbol of an order may come after its amounts, so amounts are kept with the fraction digits they are
+ * written with and brought to the scales of the symbol once the whole message is read.
+ */
+public class ScaledOrderChangeReader extends ScaledEventReader {
+
+    private static final int MATCH_PRICE = 0;
+    private static final int PRICE = 1;
+    private static final int MATCH_SIZE = 2;
+    private static final int SIZE = 3;
+    private static final int FILLED_SIZE = 4;
+    private static final int OLD_SIZE = 5;
+    private static final int REMAIN_SIZE = 6;
+    private static final int FUNDS = 7;
+    private static final int REMAIN_FUNDS = 8;
+    private static final int AMOUNTS = 9;
+
+    private final ScaledOrderChangeEvent event = new ScaledOrderChangeEvent();
+
+    private final long[] mantissas = new long[AMOUNTS];
+
+    private final int[] scales = new int[AMOUNTS];
+
+    private final Function<String, SymbolScales> symbolScales;
+
+    /**
+     * @param symbolScales scales of a symbol, null for unknown symbols
+     */
+    public ScaledOrderChangeReader(Function<String, SymbolScales> symbolScales) {
+        this.symbolScales = symbolScales;
+    }
+
+    @Override
+    public Object read(JsonParser parser) throws IOException {
+        event.clear();
+        for (int i = 0; i < AMOUNTS; i++) {
+            mantissas[i] = 0;
+            scales[i] = 0;
+        }
+        readObject(parser);
+
+        SymbolScales symbol = event.getSymbol() == null ? null : symbolScales.apply(event.getSymbol());
+        if (symbol == null) {
+            throw new IOException("No scales for symbol " + event.getSymbol());
+        }
+        event.setPriceScale(symbol.getPriceScale());
+        event.setSizeScale(symbol.getSizeScale());
+        event.setFundsScale(symbol.getFundsScale());
+        event.setMatchPrice(amount(MATCH_PRICE, symbol.getPriceScale()));
+        event.setPrice(amount(PRICE, symbol.getPriceScale()));
+        event.setMatchSize(amount(MATCH_SIZE, symbol.getSizeScale()));
+        event.setSize(amount(SIZE, symbol.getSizeScale()));
+        event.setFilledSize(amount(FILLED_SIZE, symbol.getSizeScale()));
+        event.setOldSize(amount(OLD_SIZE, symbol.getSizeScale()));
+        event.setRemainSize(amount(REMAIN_SIZE, symbol.getSizeScale()));
+        event.setFunds(amount(FUNDS, symbol.getFundsScale()));
+        event.setRemainFunds(amount(REMAIN_FUNDS, symbol.getFundsScale()));
+        return event;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "orderId":
+                event.setOrderId(text(parser));
+                return true;
+            case "symbol":
+                event.setSymbol(text(parser));
+                return true;
+            case "type":
+                event.setType(text(parser));
+                return true;
+            case "status":
+                event.setStatus(text(parser));
+                return true;
+            case "orderType":
+                event.setOrderType(text(parser));
+                return true;
+            case "side":
+                event.setSide(side(parser));
+                return true;
+            case "tradeId":
+                event.setTradeId(text(parser));
+                return true;
+            case "clientOid":
+                event.setClientOid(text(parser));
+                return true;
+            case "liquidity":
+                event.setLiquidity(text(parser));
+                return true;
+            case "orderTime":
+                event.setOrderTime(integer(parser));
+                return true;
+            case "ts":
+                event.setTs(integer(parser));
+                return true;
+            case "matchPrice":
+                return readAmount(MATCH_PRICE, parser);
+            case "price":
+                return readAmount(PRICE, parser);
+            case "matchSize":
+                return readAmount(MATCH_SIZE, parser);
+            case "size":
+                return readAmount(SIZE, parser);
+            case "filledSize":
+                return readAmount(FILLED_SIZE, parser);
+            case "oldSize":
+                return readAmount(OLD_SIZE, parser);
+            case "remainSize":
+                return readAmount(REMAIN_SIZE, parser);
+            case "funds":
+                return readAmount(FUNDS, parser);
+            case "remainFunds":
+                return readAmount(REMAIN_FUNDS, parser);
+            default:
+                return false;
+        }
+    }
+
+    private boolean readAmount(int amount, JsonParser parser) throws IOException {
+        scales[amount] = fractionDigits(parser);
+        mantissas[amount] = decimal(parser, scales[amount]);
+        return true;
+    }
+
+    private long amount(int amount, int scale) {
+        return ScaledDecimal.rescale(mantissas[amount], scales[amount], scale);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.ScaledTickerEvent;
+
+import java.io.IOException;
+
+/**
+ * Reads the ticker of one symbol into a reused {@link ScaledTickerEvent}.
+ */
+public class ScaledTickerReader extends ScaledEventReader {
+
+    private final ScaledTickerEvent event = new ScaledTickerEvent();
+
+    private final int priceScale;
+
+    private final int sizeScale;
+
+    public ScaledTickerReader(SymbolScales scales) {
+        this.priceScale = scales.getPriceScale();
+        this.sizeScale = scales.getSizeScale();
+        event.setSymbol(scales.getSymbol());
+        event.setPriceScale(priceScale);
+        event.setSizeScale(sizeScale);
+    }
+
+    @Override
+    public Object read(JsonParser parser) throws IOException {
+        event.clear();
+        readObject(parser);
+        return event;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "sequence":
+                event.setSequence(integer(parser));
+                return true;
+            case "bestAsk":
+                event.setBestAsk(decimal(parser, priceScale));
+                return true;
+            case "bestAskSize":
+                event.setBestAskSize(decimal(parser, sizeScale));
+                return true;
+            case "bestBid":
+                event.setBestBid(decimal(parser, priceScale));
+                return true;
+            case "bestBidSize":
+                event.setBestBidSize(decimal(parser, sizeScale));
+                return true;
+            case "price":
+                event.setPrice(decimal(parser, priceScale));
+                return true;
+            case "size":
+                event.setSize(decimal(parser, sizeScale));
+                return true;
+            case "time":
+                event.setTime(integer(parser));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
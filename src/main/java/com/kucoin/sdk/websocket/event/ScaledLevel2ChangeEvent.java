@@ -0,0 +1,75 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.event;
+
+import lombok.Data;
+
+import java.util.Arrays;
+
+/**
+ * {@link Level2ChangeEvent} with the changes held in primitive arrays of
+ * {@link com.kucoin.sdk.util.ScaledDecimal} mantissas; entries past the counts are stale.
+ * <p>
+ * The instance is reused for every message of its topic and is only valid during the callback.
+ */
+@Data
+public class ScaledLevel2ChangeEvent {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String symbol;
+
+    private int priceScale;
+
+    private int sizeScale;
+
+    private long sequenceStart;
+
+    private long sequenceEnd;
+
+    private int askCount;
+
+    private long[] askPrices = new long[INITIAL_CAPACITY];
+
+    private long[] askSizes = new long[INITIAL_CAPACITY];
+
+    private long[] askSequences = new long[INITIAL_CAPACITY];
+
+    private int bidCount;
+
+    private long[] bidPrices = new long[INITIAL_CAPACITY];
+
+    private long[] bidSizes = new long[INITIAL_CAPACITY];
+
+    private long[] bidSequences = new long[INITIAL_CAPACITY];
+
+    public void addAsk(long price, long size, long sequence) {
+        if (askCount == askPrices.length) {
+            askPrices = Arrays.copyOf(askPrices, askCount * 2);
+            askSizes = Arrays.copyOf(askSizes, askCount * 2);
+            askSequences = Arrays.copyOf(askSequences, askCount * 2);
+        }
+        askPrices[askCount] = price;
+        askSizes[askCount] = size;
+        askSequences[askCount++] = sequence;
+    }
+
+    public void addBid(long price, long size, long sequence) {
+        if (bidCount == bidPrices.length) {
+            bidPrices = Arrays.copyOf(bidPrices, bidCount * 2);
+            bidSizes = Arrays.copyOf(bidSizes, bidCount * 2);
+            bidSequences = Arrays.copyOf(bidSequences, bidCount * 2);
+        }
+        bidPrices[bidCount] = price;
+        bidSizes[bidCount] = size;
+        bidSequences[bidCount++] = sequence;
+    }
+
+    public void clear() {
+        sequenceStart = 0;
+        sequenceEnd = 0;
+        askCount = 0;
+        bidCount = 0;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.event;
+
+import lombok.Data;
+
+/**
+ * {@link Level3Event} with prices and sizes as {@link com.kucoin.sdk.util.ScaledDecimal} mantissas.
+ * <p>
+ * The instance is reused for every message of its topic and is only valid during the callback.
+ */
+@Data
+public class ScaledLevel3Event {
+
+    private String symbol;
+
+    private int priceScale;
+
+    private int sizeScale;
+
+    private long sequence;
+
+    private long ts;
+
+    private String side;
+
+    private long price;
+
+    private long size;
+
+    private long remainSize;
+
+    private String orderId;
+
+    private String makerOrderId;
+
+    private String takerOrderId;
+
+    private String clientOid;
+
+    private long orderTime;
+
+    private String reason;
+
+    public boolean isBuy() {
+        return "buy".equals(side);
+    }
+
+    public void clear() {
+        sequence = 0;
+        ts = 0;
+        side = null;
+        price = 0;
+        size = 0;
+        remainSize = 0;
+        orderId = null;
+        makerOrderId = null;
+        takerOrderId = null;
+        clientOid = null;
+        orderTime = 0;
+        reason = null;
+    }
+}
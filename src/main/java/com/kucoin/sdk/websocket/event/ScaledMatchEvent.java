@@ -0,0 +1,51 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.event;
+
+import lombok.Data;
+
+/**
+ * {@link MatchExcutionChangeEvent} with price and size as {@link com.kucoin.sdk.util.ScaledDecimal} mantissas.
+ * <p>
+ * The instance is reused for every message of its topic and is only valid during the callback.
+ */
+@Data
+public class ScaledMatchEvent {
+
+    private String symbol;
+
+    private int priceScale;
+
+    private int sizeScale;
+
+    private long sequence;
+
+    private String side;
+
+    private long price;
+
+    private long size;
+
+    private String takerOrderId;
+
+    private String makerOrderId;
+
+    private String tradeId;
+
+    private String type;
+
+    private long time;
+
+    public void clear() {
+        sequence = 0;
+        side = null;
+        price = 0;
+        size = 0;
+        takerOrderId = null;
+        makerOrderId = null;
+        tradeId = null;
+        type = null;
+        time = 0;
+    }
+}
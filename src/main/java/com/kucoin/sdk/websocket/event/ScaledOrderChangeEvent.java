@@ -0,0 +1,85 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.event;
+
+import lombok.Data;
+
+/**
+ * {@link OrderChangeEvent} with prices, sizes and funds as {@link com.kucoin.sdk.util.ScaledDecimal} mantissas
+ * at the scales of its symbol; absent amounts are 0.
+ * <p>
+ * The instance is reused for every message of its topic and is only valid during the callback.
+ */
+@Data
+public class ScaledOrderChangeEvent {
+
+    private String orderId;
+
+    private String symbol;
+
+    private int priceScale;
+
+    private int sizeScale;
+
+    private int fundsScale;
+
+    private String type;
+
+    private String status;
+
+    private long matchPrice;
+
+    private long matchSize;
+
+    private String orderType;
+
+    private String side;
+
+    private long price;
+
+    private long size;
+
+    private long filledSize;
+
+    private long oldSize;
+
+    private String tradeId;
+
+    private String clientOid;
+
+    private long orderTime;
+
+    private String liquidity;
+
+    private long remainSize;
+
+    private long remainFunds;
+
+    private long ts;
+
+    private long funds;
+
+    public void clear() {
+        orderId = null;
+        symbol = null;
+        type = null;
+        status = null;
+        matchPrice = 0;
+        matchSize = 0;
+        orderType = null;
+        side = null;
+        price = 0;
+        size = 0;
+        filledSize = 0;
+        oldSize = 0;
+        tradeId = null;
+        clientOid = null;
+        orderTime = 0;
+        liquidity = null;
+        remainSize = 0;
+        remainFunds = 0;
+        ts = 0;
+        funds = 0;
+    }
+}
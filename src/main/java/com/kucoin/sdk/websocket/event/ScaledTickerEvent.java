@@ -0,0 +1,48 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.event;
+
+import lombok.Data;
+
+/**
+ * {@link TickerChangeEvent} with prices and sizes as {@link com.kucoin.sdk.util.ScaledDecimal} mantissas.
+ * <p>
+ * The instance is reused for every message of its topic and is only valid during the callback.
+ */
+@Data
+public class ScaledTickerEvent {
+
+    private String symbol;
+
+    private int priceScale;
+
+    private int sizeScale;
+
+    private long sequence;
+
+    private long bestAsk;
+
+    private long bestAskSize;
+
+    private long bestBid;
+
+    private long bestBidSize;
+
+    private long price;
+
+    private long size;
+
+    private long time;
+
+    public void clear() {
+        sequence = 0;
+        bestAsk = 0;
+        bestAskSize = 0;
+        bestBid = 0;
+        bestBidSize = 0;
+        price = 0;
+        size = 0;
+        time = 0;
+    }
+}
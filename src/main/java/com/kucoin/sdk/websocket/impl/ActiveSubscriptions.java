@@ -0,0 +1,93 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topics subscribed on a connection, kept one per symbol so that they can be replayed after a reconnect.
+ * <p>
+ * {@code /market/ticker:BTC-USDT,ETH-USDT} is recorded as {@code /market/ticker:BTC-USDT} and
+ * {@code /market/ticker:ETH-USDT}, and unsubscribing one symbol only forgets that symbol.
+ */
+class ActiveSubscriptions {
+
+    /**
+     * Symbols the exchange accepts in one subscribe request.
+     */
+    static final int MAX_SYMBOLS_PER_REQUEST = 100;
+
+    private static final char PREFIX_DELIMITER = ':';
+
+    private static final String SYMBOL_DELIMITER = ",";
+
+    // topic -> privateChannel
+    private final Map<String, Boolean> topics = new LinkedHashMap<>();
+
+    synchronized void add(String topic, boolean privateChannel) {
+        for (String single : split(topic)) {
+            topics.put(single, privateChannel);
+        }
+    }
+
+    synchronized void remove(String topic) {
+        for (String single : split(topic)) {
+            topics.remove(single);
+        }
+    }
+
+    synchronized int size() {
+        return topics.size();
+    }
+
+    /**
+     * @return The recorded topics joined back per channel, at most {@link #MAX_SYMBOLS_PER_REQUEST} symbols
+     * per topic, mapped to their privateChannel flag.
+     */
+    synchronized Map<String, Boolean> replay() {
+        Map<String, List<String>> symbolsByChannel = new LinkedHashMap<>();
+        Map<String, Boolean> privateByChannel = new LinkedHashMap<>();
+        Map<String, Boolean> replay = new LinkedHashMap<>();
+        for (Map.Entry<String, Boolean> entry : topics.entrySet()) {
+            String topic = entry.getKey();
+            int delimiter = topic.indexOf(PREFIX_DELIMITER);
+            if (delimiter < 0) {
+                replay.put(topic, entry.getValue());
+                continue;
+            }
+            String channel = topic.substring(0, delimiter + 1) + entry.getValue();
+            symbolsByChannel.computeIfAbsent(channel, key -> new ArrayList<>()).add(topic.substring(delimiter + 1));
+            privateByChannel.put(channel, entry.getValue());
+        }
+        for (Map.Entry<String, List<String>> entry : symbolsByChannel.entrySet()) {
+            String channel = entry.getKey();
+            String prefix = channel.substring(0, channel.indexOf(PREFIX_DELIMITER) + 1);
+            List<String> symbols = entry.getValue();
+            for (int from = 0; from < symbols.size(); from += MAX_SYMBOLS_PER_REQUEST) {
+                List<String> batch = symbols.subList(from, Math.min(symbols.size(), from + MAX_SYMBOLS_PER_REQUEST));
+                replay.put(prefix + String.join(SYMBOL_DELIMITER, batch), privateByChannel.get(channel));
+            }
+        }
+        return replay;
+    }
+
+    private static List<String> split(String topic) {
+        List<String> singles = new ArrayList<>();
+        int delimiter = topic.indexOf(PREFIX_DELIMITER);
+        if (delimiter < 0) {
+            singles.add(topic);
+            return singles;
+        }
+        String prefix = topic.substring(0, delimiter + 1);
+        for (String symbol : topic.substring(delimiter + 1).split(SYMBOL_DELIMITER)) {
+            if (!symbol.isEmpty()) {
+                singles.add(prefix + symbol);
+            }
+        }
+        return singles;
+    }
+}
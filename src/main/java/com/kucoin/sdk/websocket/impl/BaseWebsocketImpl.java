@@ -4,6 +4,7 @@
 package com.kucoin.sdk.websocket.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.kucoin.sdk.KucoinObjectMapper;
 import com.kucoin.sdk.model.InstanceServer;
 import com.kucoin.sdk.rest.response.WebsocketTokenResponse;
@@ -11,31 +12,77 @@ import com.kucoin.sdk.websocket.ChooseServerStrategy;
 import com.kucoin.sdk.websocket.event.KucoinEvent;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
+import okio.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by chenshiwei on 2019/1/18.
+ * <p>
+ * The connection is supervised: when the socket fails, is closed by the server or a heartbeat ping is not
+ * answered within the ping timeout, a fresh token is requested, a server is chosen again and every active
+ * subscription is replayed on the new socket. The first attempt is immediate, the following ones back off
+ * exponentially up to a bound. An attempt only counts as successful once the handshake of its socket completed:
+ * only then are the connection and the reconnect time recorded, and a socket failing its handshake counts as a
+ * failed attempt and backs off like a failed token request.
+ * <p>
+ * Heartbeats of every client run on one shared scheduler; their round trips are recorded in the metrics.
  */
 public abstract class BaseWebsocketImpl implements Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseWebsocketImpl.class);
 
+    public static final long DEFAULT_RECONNECT_INITIAL_BACKOFF_MILLIS = 100;
+
+    public static final long DEFAULT_RECONNECT_MAX_BACKOFF_MILLIS = 30_000;
+
     private final ChooseServerStrategy chooseServerStrategy;
     private final OkHttpClient client;
     private final WebSocketListener listener;
 
-    private WebSocket webSocket;
+    private final ActiveSubscriptions subscriptions = new ActiveSubscriptions();
+
+    private final WebsocketMetrics metrics = new WebsocketMetrics();
+
+    private final Object connectionLock = new Object();
+
+    private volatile WebSocket webSocket;
+
+    private volatile boolean closed;
+
+    private boolean reconnecting;
+
+    // reconnect attempts since a socket last completed its handshake
+    private int reconnectAttempts;
+
+    // whether the current socket completed its handshake
+    private boolean opened;
+
+    // topics replayed on the current socket, -1 if it was the first one
+    private int replayedTopics = -1;
+
+    private long reconnectInitialBackoffMillis = DEFAULT_RECONNECT_INITIAL_BACKOFF_MILLIS;
 
-    private final Timer pingTimer = new Timer("SPOT-WS-PING-TIMER");
+    private long reconnectMaxBackoffMillis = DEFAULT_RECONNECT_MAX_BACKOFF_MILLIS;
+
+    private ScheduledFuture<?> pingTask;
+
+    private final AtomicLong pingIds = new AtomicLong();
+
+    // heartbeat ping id -> System.nanoTime() when sent
+    private final Map<String, Long> pendingPings = new ConcurrentHashMap<>();
 
     protected BaseWebsocketImpl(OkHttpClient client, WebSocketListener listener, ChooseServerStrategy chooseServerStrategy) {
         this.client = client;
@@ -43,27 +90,173 @@ public abstract class BaseWebsocketImpl implements Closeable {
         this.chooseServerStrategy = chooseServerStrategy;
     }
 
+    /**
+     * @param initialMillis delay before the second reconnect attempt, doubled after each failed attempt
+     * @param maxMillis     bound of the delay
+     */
+    public void setReconnectBackoff(long initialMillis, long maxMillis) {
+        if (initialMillis <= 0 || maxMillis < initialMillis) {
+            throw new IllegalArgumentException("Invalid reconnect backoff " + initialMillis + ".." + maxMillis);
+        }
+        this.reconnectInitialBackoffMillis = initialMillis;
+        this.reconnectMaxBackoffMillis = maxMillis;
+    }
+
     public void connect() throws IOException {
+        synchronized (connectionLock) {
+            open(false);
+        }
+    }
+
+    public WebsocketMetrics getMetrics() {
+        return metrics;
+    }
+
+    protected abstract WebsocketTokenResponse requestToken() throws IOException;
+
+    /**
+     * Open a socket on a fresh token and replay the active subscriptions on it.
+     */
+    private void open(boolean replay) throws IOException {
         WebsocketTokenResponse websocketToken = requestToken();
         InstanceServer instanceServer = chooseServerStrategy.choose(websocketToken.getInstanceServers());
         String streamingUrl = String.format("%s", instanceServer.getEndpoint()
                 + "?token=" + websocketToken.getToken());
+        this.opened = false;
         this.webSocket = createNewWebSocket(streamingUrl);
 
-        pingTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                ping(UUID.randomUUID().toString());
+        int replayed = 0;
+        if (replay) {
+            for (Map.Entry<String, Boolean> subscription : subscriptions.replay().entrySet()) {
+                send("subscribe", subscription.getKey(), subscription.getValue(), true);
+                replayed++;
             }
-        },0, instanceServer.getPingInterval());
+        }
+        this.replayedTopics = replay ? replayed : -1;
+        schedulePing(instanceServer);
+    }
 
+    private void schedulePing(InstanceServer instanceServer) {
+        if (pingTask != null) {
+            pingTask.cancel(false);
+        }
+        pendingPings.clear();
+        WebSocket pinged = this.webSocket;
+        long pingTimeout = instanceServer.getPingTimeout();
+        pingTask = WebsocketScheduler.HEARTBEATS.scheduleAtFixedRate(() -> heartbeat(pinged, pingTimeout),
+                0, instanceServer.getPingInterval(), TimeUnit.MILLISECONDS);
     }
 
-    protected abstract WebsocketTokenResponse requestToken() throws IOException;
+    /**
+     * Send a ping and treat the socket as lost if its pong does not come back within the timeout.
+     */
+    private void heartbeat(WebSocket pinged, long pingTimeout) {
+        String requestId = Long.toString(pingIds.incrementAndGet());
+        pendingPings.put(requestId, System.nanoTime());
+        ping(requestId);
+        WebsocketScheduler.HEARTBEATS.schedule(() -> {
+            if (pendingPings.remove(requestId) != null) {
+                metrics.onMissedPong();
+                onConnectionLost(pinged, "no pong within " + pingTimeout + "ms");
+            }
+        }, pingTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void onPong(String text) {
+        String requestId = pongId(text);
+        Long sentNanos = requestId == null ? null : pendingPings.remove(requestId);
+        if (sentNanos != null) {
+            metrics.onPong(System.nanoTime() - sentNanos);
+        }
+    }
+
+    /**
+     * @return The id of a pong frame, or null for any other frame.
+     */
+    static String pongId(String text) {
+        if (text.length() > 128 || !text.contains("\"pong\"")) {
+            return null;
+        }
+        try {
+            JsonNode frame = KucoinObjectMapper.INSTANCE.readTree(text);
+            return "pong".equals(frame.path("type").asText()) ? frame.path("id").asText(null) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
     private WebSocket createNewWebSocket(String streamingUrl) throws IOException {
         Request request = new Request.Builder().url(streamingUrl).build();
-        return client.newWebSocket(request, listener);
+        return client.newWebSocket(request, new SupervisingListener());
+    }
+
+    /**
+     * Start reconnecting, unless the socket was already replaced or the client is closed.
+     */
+    private void onConnectionLost(WebSocket lost, String reason) {
+        boolean wasOpen;
+        synchronized (connectionLock) {
+            if (closed || reconnecting || lost != this.webSocket) {
+                return;
+            }
+            reconnecting = true;
+            wasOpen = opened;
+            if (pingTask != null) {
+                pingTask.cancel(false);
+                pingTask = null;
+            }
+        }
+        if (wasOpen) {
+            LOGGER.warn("Web socket connection lost ({}), reconnecting", reason);
+            metrics.onDisconnected(System.currentTimeMillis());
+        } else {
+            LOGGER.warn("Web socket handshake failed ({}), reconnecting", reason);
+            metrics.onFailedAttempt();
+        }
+        lost.cancel();
+        int attempt;
+        synchronized (connectionLock) {
+            attempt = reconnectAttempts;
+        }
+        scheduleReconnect(attempt, attempt == 0 ? 0 : backoffMillis(attempt - 1));
+    }
+
+    private void scheduleReconnect(int attempt, long delayMillis) {
+        if (delayMillis == 0) {
+            WebsocketScheduler.RECONNECTS.execute(() -> reconnect(attempt));
+            return;
+        }
+        WebsocketScheduler.HEARTBEATS.schedule(() -> WebsocketScheduler.RECONNECTS.execute(() -> reconnect(attempt)),
+                delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reconnect(int attempt) {
+        synchronized (connectionLock) {
+            if (closed) {
+                return;
+            }
+            reconnectAttempts = attempt + 1;
+            try {
+                open(true);
+                reconnecting = false;
+                if (closed) {
+                    webSocket.close(1000, "Normal closure");
+                }
+                return;
+            } catch (IOException | RuntimeException e) {
+                metrics.onFailedAttempt();
+                LOGGER.warn("Web socket reconnect attempt {} failed", attempt + 1, e);
+            }
+        }
+        scheduleReconnect(attempt + 1, backoffMillis(attempt));
+    }
+
+    /**
+     * @param attempt number of failed attempts minus one
+     * @return The delay before the next attempt.
+     */
+    long backoffMillis(int attempt) {
+        return Math.min(reconnectMaxBackoffMillis, reconnectInitialBackoffMillis << Math.min(attempt, 30));
     }
 
     protected String ping(String requestId) {
@@ -77,24 +270,20 @@ public abstract class BaseWebsocketImpl implements Closeable {
     }
 
     protected String subscribe(String topic, boolean privateChannel, boolean response) {
-        String uuid = UUID.randomUUID().toString();
-        KucoinEvent<Void> subscribe = new KucoinEvent<>();
-        subscribe.setId(uuid);
-        subscribe.setType("subscribe");
-        subscribe.setTopic(topic);
-        subscribe.setPrivateChannel(privateChannel);
-        subscribe.setResponse(response);
-        if (webSocket.send(serialize(subscribe))) {
-            return uuid;
-        }
-        return null;
+        subscriptions.add(topic, privateChannel);
+        return send("subscribe", topic, privateChannel, response);
     }
 
     protected String unsubscribe(String topic, boolean privateChannel, boolean response) {
+        subscriptions.remove(topic);
+        return send("unsubscribe", topic, privateChannel, response);
+    }
+
+    private String send(String type, String topic, boolean privateChannel, boolean response) {
         String uuid = UUID.randomUUID().toString();
         KucoinEvent<Void> subscribe = new KucoinEvent<>();
         subscribe.setId(uuid);
-        subscribe.setType("unsubscribe");
+        subscribe.setType(type);
         subscribe.setTopic(topic);
         subscribe.setPrivateChannel(privateChannel);
         subscribe.setResponse(response);
@@ -107,11 +296,16 @@ public abstract class BaseWebsocketImpl implements Closeable {
     @Override
     public void close() throws IOException {
         LOGGER.debug("Web Socket Close");
+        closed = true;
         if (webSocket != null) {
             webSocket.close(1000, "Normal closure"); // 1000 is a normal closure status code
         }
-        pingTimer.cancel();
-        client.dispatcher().executorService().shutdown();
+        synchronized (connectionLock) {
+            if (pingTask != null) {
+                pingTask.cancel(false);
+                pingTask = null;
+            }
+        }
     }
 
     private String serialize(Object o) {
@@ -121,4 +315,63 @@ public abstract class BaseWebsocketImpl implements Closeable {
             throw new RuntimeException("Failure serializing object", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Hands every callback to the client listener and watches the socket it belongs to.
+     */
+    private class SupervisingListener extends WebSocketListener {
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            boolean current;
+            int replayed;
+            synchronized (connectionLock) {
+                current = webSocket == BaseWebsocketImpl.this.webSocket;
+                replayed = replayedTopics;
+                if (current) {
+                    reconnectAttempts = 0;
+                    opened = true;
+                }
+            }
+            if (current) {
+                metrics.onConnected(System.currentTimeMillis(), Math.max(replayed, 0));
+                if (replayed >= 0) {
+                    LOGGER.info("Web socket reconnected after {}ms, {} subscriptions replayed",
+                            metrics.getLastReconnectMillis(), replayed);
+                }
+            }
+            listener.onOpen(webSocket, response);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            metrics.onMessage(System.currentTimeMillis());
+            onPong(text);
+            listener.onMessage(webSocket, text);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, ByteString bytes) {
+            metrics.onMessage(System.currentTimeMillis());
+            listener.onMessage(webSocket, bytes);
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            listener.onClosing(webSocket, code, reason);
+            onConnectionLost(webSocket, "closed by server: " + code + " " + reason);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            listener.onClosed(webSocket, code, reason);
+            onConnectionLost(webSocket, "closed: " + code + " " + reason);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            listener.onFailure(webSocket, t, response);
+            onConnectionLost(webSocket, String.valueOf(t));
+        }
+    }
+}
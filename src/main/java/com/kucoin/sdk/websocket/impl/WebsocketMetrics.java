@@ -0,0 +1,166 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.impl;
+
+import com.kucoin.sdk.util.LatencyHistogram;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a supervised websocket connection. Times are epoch milliseconds.
+ */
+public class WebsocketMetrics {
+
+    private final AtomicLong connects = new AtomicLong();
+
+    private final AtomicLong disconnects = new AtomicLong();
+
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    private final AtomicLong messagesReceived = new AtomicLong();
+
+    private final AtomicLong subscriptionsReplayed = new AtomicLong();
+
+    private final AtomicLong missedPongs = new AtomicLong();
+
+    private final LatencyHistogram pongLatency = new LatencyHistogram();
+
+    private volatile long lastMessageTime;
+
+    private volatile long lastDisconnectTime;
+
+    private volatile long lastReconnectMillis = -1;
+
+    private volatile boolean connected;
+
+    /**
+     * @param connections metrics of several connections
+     * @return A snapshot summing the counters of the connections, connected only if all of them are.
+     */
+    public static WebsocketMetrics combine(Collection<WebsocketMetrics> connections) {
+        WebsocketMetrics combined = new WebsocketMetrics();
+        combined.connected = !connections.isEmpty();
+        for (WebsocketMetrics connection : connections) {
+            combined.connects.addAndGet(connection.getConnects());
+            combined.disconnects.addAndGet(connection.getDisconnects());
+            combined.failedAttempts.addAndGet(connection.getFailedAttempts());
+            combined.messagesReceived.addAndGet(connection.getMessagesReceived());
+            combined.subscriptionsReplayed.addAndGet(connection.getSubscriptionsReplayed());
+            combined.missedPongs.addAndGet(connection.getMissedPongs());
+            combined.pongLatency.add(connection.getPongLatency());
+            combined.lastMessageTime = Math.max(combined.lastMessageTime, connection.getLastMessageTime());
+            combined.lastDisconnectTime = Math.max(combined.lastDisconnectTime, connection.getLastDisconnectTime());
+            combined.lastReconnectMillis = Math.max(combined.lastReconnectMillis, connection.getLastReconnectMillis());
+            combined.connected &= connection.isConnected();
+        }
+        return combined;
+    }
+
+    void onConnected(long now, int replayedTopics) {
+        connects.incrementAndGet();
+        subscriptionsReplayed.addAndGet(replayedTopics);
+        if (lastDisconnectTime > 0) {
+            lastReconnectMillis = now - lastDisconnectTime;
+        }
+        lastMessageTime = now;
+        connected = true;
+    }
+
+    void onDisconnected(long now) {
+        disconnects.incrementAndGet();
+        lastDisconnectTime = now;
+        connected = false;
+    }
+
+    void onFailedAttempt() {
+        failedAttempts.incrementAndGet();
+    }
+
+    void onMessage(long now) {
+        messagesReceived.incrementAndGet();
+        lastMessageTime = now;
+    }
+
+    void onPong(long roundTripNanos) {
+        pongLatency.record(roundTripNanos);
+    }
+
+    void onMissedPong() {
+        missedPongs.incrementAndGet();
+    }
+
+    /**
+     * @return Connections whose handshake completed, the first one included.
+     */
+    public long getConnects() {
+        return connects.get();
+    }
+
+    /**
+     * @return Open connections lost through a failure, a server close or a missed pong.
+     */
+    public long getDisconnects() {
+        return disconnects.get();
+    }
+
+    /**
+     * @return Connection attempts that could not get a token or whose socket failed its handshake.
+     */
+    public long getFailedAttempts() {
+        return failedAttempts.get();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    /**
+     * @return Topics sent again after reconnects, one per subscribe request.
+     */
+    public long getSubscriptionsReplayed() {
+        return subscriptionsReplayed.get();
+    }
+
+    /**
+     * @return Heartbeat pings whose pong did not come back within the ping timeout.
+     */
+    public long getMissedPongs() {
+        return missedPongs.get();
+    }
+
+    /**
+     * @return Round trips from heartbeat pings to their pongs.
+     */
+    public LatencyHistogram getPongLatency() {
+        return pongLatency;
+    }
+
+    public long getLastMessageTime() {
+        return lastMessageTime;
+    }
+
+    public long getLastDisconnectTime() {
+        return lastDisconnectTime;
+    }
+
+    /**
+     * @return Milliseconds from the last disconnect to the following completed handshake, -1 before any reconnect.
+     */
+    public long getLastReconnectMillis() {
+        return lastReconnectMillis;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public String toString() {
+        return "WebsocketMetrics(connected=" + connected + ", connects=" + getConnects()
+                + ", disconnects=" + getDisconnects() + ", failedAttempts=" + getFailedAttempts()
+                + ", messagesReceived=" + getMessagesReceived() + ", missedPongs=" + getMissedPongs()
+                + ", lastReconnectMillis=" + lastReconnectMillis + ", pongLatency=" + pongLatency + ")";
+    }
+}
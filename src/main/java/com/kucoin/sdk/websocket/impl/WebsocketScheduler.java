@@ -0,0 +1,27 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Threads shared by every websocket client: one scheduler for heartbeats and timeouts, and a pool for
+ * reconnects, which block on the token request and must not delay the heartbeats of other sockets.
+ * Both use daemon threads and live as long as the JVM.
+ */
+final class WebsocketScheduler {
+
+    static final ScheduledExecutorService HEARTBEATS = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("SPOT-WS-HEARTBEAT-%d").setDaemon(true).build());
+
+    static final ExecutorService RECONNECTS = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("SPOT-WS-RECONNECT-%d").setDaemon(true).build());
+
+    private WebsocketScheduler() {
+    }
+}
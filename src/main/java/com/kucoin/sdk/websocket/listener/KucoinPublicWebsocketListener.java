@@ -4,11 +4,15 @@
 package com.kucoin.sdk.websocket.listener;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.kucoin.sdk.KucoinObjectMapper;
 import com.kucoin.sdk.websocket.KucoinAPICallback;
 import com.kucoin.sdk.websocket.PrintCallback;
+import com.kucoin.sdk.websocket.codec.EventDataReader;
+import com.kucoin.sdk.websocket.codec.KucoinEventDecoder;
 import com.kucoin.sdk.websocket.event.*;
+import com.kucoin.sdk.websocket.routing.TopicRoute;
+import com.kucoin.sdk.websocket.routing.SubscriptionRegistry;
+import com.kucoin.sdk.websocket.routing.TopicRouter;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import okhttp3.Response;
@@ -18,9 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.Collection;
 
 /**
  * Created by chenshiwei on 2019/1/10.
@@ -31,10 +33,63 @@ public class KucoinPublicWebsocketListener extends WebSocketListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KucoinPublicWebsocketListener.class);
 
+    private static final KucoinEventDecoder DECODER = new KucoinEventDecoder(KucoinObjectMapper.INSTANCE);
+
     private KucoinAPICallback<KucoinEvent> defaultCallback = new PrintCallback<>();
 
-    private Map<String, KucoinAPICallback> callbackMap = new HashMap<>();
-    private Map<String, TypeReference> typeReferenceMap = new HashMap<>();
+    private final SubscriptionRegistry registry = new SubscriptionRegistry();
+
+    /**
+     * Route every topic of a channel to the callback.
+     *
+     * @param topicPrefix
+     * @param callback
+     * @param typeReference type the events of the channel are bound to
+     */
+    public void putPrefixCallback(String topicPrefix, KucoinAPICallback callback, TypeReference typeReference) {
+        registry.putPrefix(topicPrefix, new TopicRoute(callback, DECODER.reader(typeReference)));
+    }
+
+    /**
+     * Route every topic of a channel to the callback, reading data with a custom reader.
+     *
+     * @param topicPrefix
+     * @param callback
+     * @param dataReader
+     */
+    public void putPrefixCallback(String topicPrefix, KucoinAPICallback callback, EventDataReader dataReader) {
+        registry.putPrefix(topicPrefix, new TopicRoute(callback, dataReader));
+    }
+
+    public void removePrefixCallback(String topicPrefix) {
+        registry.removePrefix(topicPrefix);
+    }
+
+    /**
+     * Route exact topics to the callback, ahead of any callback registered for their channel.
+     *
+     * @param topics
+     * @param callback
+     * @param typeReference type the events of the topics are bound to
+     */
+    public void putTopicCallbacks(Collection<String> topics, KucoinAPICallback callback, TypeReference typeReference) {
+        registry.putTopics(topics, new TopicRoute(callback, DECODER.reader(typeReference)));
+    }
+
+    /**
+     * Route exact topics to the callback, reading data with a custom reader.
+     *
+     * @param topics
+     * @param callback
+     * @param dataReader
+     */
+    public void putTopicCallbacks(Collection<String> topics, KucoinAPICallback callback, EventDataReader dataReader) {
+        registry.putTopics(topics, new TopicRoute(callback, dataReader));
+    }
+
+    public void removeTopicCallbacks(Collection<String> topics) {
+        registry.removeTopics(topics);
+    }
 
     @Override
     public void onOpen(WebSocket webSocket, Response response) {
@@ -44,26 +99,25 @@ public class KucoinPublicWebsocketListener extends WebSocketListener {
     @Override
     public void onMessage(WebSocket webSocket, String text) {
         LOGGER.debug("Got message: {}", text);
-        JsonNode jsonObject = tree(text);
+        TopicRouter router = registry.snapshot();
+        KucoinEvent<Object> kucoinEvent = decode(text, router);
+        if (kucoinEvent == null) {
+            return;
+        }
         LOGGER.debug("Parsed message OK");
 
-        String type = jsonObject.get("type").asText();
-        if (!type.equals("message")) {
+        String type = kucoinEvent.getType();
+        if (!"message".equals(type)) {
             LOGGER.debug("Ignoring message type ({})", type);
             return;
         }
 
-        String topic = jsonObject.get("topic").asText();
-
-        Optional<String> first = callbackMap.keySet().stream().filter(topic::contains).findFirst();
-        KucoinEvent kucoinEvent = (KucoinEvent) deserialize(text, typeReferenceMap.getOrDefault(first.get(), new TypeReference<KucoinEvent>() {}));
-
-        if(first.isPresent()){
-            callbackMap.get(first.get()).onResponse(kucoinEvent);
-        }else {
+        TopicRoute route = router.route(kucoinEvent.getTopic());
+        if (route != null) {
+            route.getCallback().onResponse(kucoinEvent);
+        } else {
             defaultCallback.onResponse(kucoinEvent);
         }
-
     }
 
     @Override
@@ -71,19 +125,16 @@ public class KucoinPublicWebsocketListener extends WebSocketListener {
         LOGGER.error("Error on public socket", t);
     }
 
-    private JsonNode tree(String text) {
-        try {
-            return KucoinObjectMapper.INSTANCE.readTree(text);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to deserialise message: " + text, e);
-        }
-    }
-
-    private <T> T deserialize(String text, TypeReference<T> typeReference) {
+    /**
+     * @return The event, or null if the message cannot be decoded, e.g. an amount finer than the scale of its
+     * symbol. Such a message is dropped, as failing the socket would only replay it after the reconnect.
+     */
+    private KucoinEvent<Object> decode(String text, TopicRouter router) {
         try {
-            return KucoinObjectMapper.INSTANCE.readValue(text, typeReference);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to deserialise message: " + text, e);
+            return DECODER.decode(text, router::dataReader);
+        } catch (IOException | ArithmeticException | NumberFormatException e) {
+            LOGGER.error("Dropped a message that could not be decoded: " + text, e);
+            return null;
         }
     }
 }
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.routing;
+
+import java.util.Collection;
+
+/**
+ * Callbacks of the topics subscribed on one connection.
+ * <p>
+ * Changes copy the current {@link TopicRouter} and publish the copy through a volatile reference. The websocket
+ * reader thread routes every frame against the latest published router without taking a lock, while callers
+ * subscribe and unsubscribe concurrently.
+ */
+public class SubscriptionRegistry {
+
+    private volatile TopicRouter router = TopicRouter.EMPTY;
+
+    /**
+     * @param topic
+     * @return The route of the topic, or null if nothing is registered for it.
+     */
+    public TopicRoute route(String topic) {
+        return router.route(topic);
+    }
+
+    /**
+     * @return The current routing snapshot.
+     */
+    public TopicRouter snapshot() {
+        return router;
+    }
+
+    public synchronized void putPrefix(String topicPrefix, TopicRoute route) {
+        router = router.withPrefix(topicPrefix, route);
+    }
+
+    public synchronized void removePrefix(String topicPrefix) {
+        router = router.withoutPrefix(topicPrefix);
+    }
+
+    public synchronized void putTopics(Collection<String> topics, TopicRoute route) {
+        router = router.withTopics(topics, route);
+    }
+
+    public synchronized void removeTopics(Collection<String> topics) {
+        router = router.withoutTopics(topics);
+    }
+}
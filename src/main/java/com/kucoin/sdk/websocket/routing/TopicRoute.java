@@ -0,0 +1,26 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.routing;
+
+import com.kucoin.sdk.websocket.KucoinAPICallback;
+import com.kucoin.sdk.websocket.codec.EventDataReader;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Destination of a topic: the callback to invoke and the reader of its data.
+ */
+@Getter
+@ToString
+public class TopicRoute {
+
+    private final KucoinAPICallback callback;
+
+    private final EventDataReader dataReader;
+
+    public TopicRoute(KucoinAPICallback callback, EventDataReader dataReader) {
+        this.callback = callback;
+        this.dataReader = dataReader;
+    }
+}
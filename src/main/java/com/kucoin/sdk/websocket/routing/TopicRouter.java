@@ -0,0 +1,114 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.routing;
+
+import com.kucoin.sdk.websocket.codec.EventDataReader;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes websocket topics to callbacks with hash lookups instead of scanning every registered prefix.
+ * <p>
+ * A topic is first matched exactly, e.g. {@code /market/ticker:BTC-USDT}, then by its channel prefix, which is
+ * the topic up to and including the first ':' ({@code /market/ticker:}), or the whole topic for channels
+ * without symbols such as {@code /account/balance}.
+ * <p>
+ * Routers are immutable: every change returns a new router, so a router can be read from any thread
+ * without locking while a changed copy is being built.
+ */
+public final class TopicRouter {
+
+    public static final TopicRouter EMPTY = new TopicRouter(Collections.emptyMap(), Collections.emptyMap());
+
+    private static final char PREFIX_DELIMITER = ':';
+
+    private final Map<String, TopicRoute> topicRoutes;
+
+    private final Map<String, TopicRoute> prefixRoutes;
+
+    private TopicRouter(Map<String, TopicRoute> topicRoutes, Map<String, TopicRoute> prefixRoutes) {
+        this.topicRoutes = topicRoutes;
+        this.prefixRoutes = prefixRoutes;
+    }
+
+    /**
+     * Route every topic of a channel.
+     *
+     * @param topicPrefix channel prefix, e.g. {@code /market/ticker:}
+     * @param route
+     * @return A router with the prefix route added or replaced.
+     */
+    public TopicRouter withPrefix(String topicPrefix, TopicRoute route) {
+        Map<String, TopicRoute> prefixes = new HashMap<>(prefixRoutes);
+        prefixes.put(prefixOf(topicPrefix), route);
+        return new TopicRouter(topicRoutes, prefixes);
+    }
+
+    /**
+     * @param topicPrefix
+     * @return A router without the prefix route.
+     */
+    public TopicRouter withoutPrefix(String topicPrefix) {
+        if (!prefixRoutes.containsKey(prefixOf(topicPrefix))) {
+            return this;
+        }
+        Map<String, TopicRoute> prefixes = new HashMap<>(prefixRoutes);
+        prefixes.remove(prefixOf(topicPrefix));
+        return new TopicRouter(topicRoutes, prefixes);
+    }
+
+    /**
+     * Route exact topics. Exact routes take precedence over prefix routes.
+     *
+     * @param topics full topics, e.g. {@code /market/ticker:BTC-USDT}
+     * @param route
+     * @return A router with the topic routes added or replaced.
+     */
+    public TopicRouter withTopics(Collection<String> topics, TopicRoute route) {
+        Map<String, TopicRoute> exact = new HashMap<>(topicRoutes);
+        for (String topic : topics) {
+            exact.put(topic, route);
+        }
+        return new TopicRouter(exact, prefixRoutes);
+    }
+
+    /**
+     * @param topics
+     * @return A router without the topic routes.
+     */
+    public TopicRouter withoutTopics(Collection<String> topics) {
+        Map<String, TopicRoute> exact = new HashMap<>(topicRoutes);
+        exact.keySet().removeAll(topics);
+        return exact.size() == topicRoutes.size() ? this : new TopicRouter(exact, prefixRoutes);
+    }
+
+    /**
+     * @param topic
+     * @return The route of the topic, or null if nothing is registered for it.
+     */
+    public TopicRoute route(String topic) {
+        TopicRoute route = topicRoutes.get(topic);
+        if (route != null || prefixRoutes.isEmpty()) {
+            return route;
+        }
+        return prefixRoutes.get(prefixOf(topic));
+    }
+
+    /**
+     * @param topic
+     * @return The reader of the data of the topic, or null if nothing is registered for it.
+     */
+    public EventDataReader dataReader(String topic) {
+        TopicRoute route = route(topic);
+        return route == null ? null : route.getDataReader();
+    }
+
+    static String prefixOf(String topic) {
+        int delimiter = topic.indexOf(PREFIX_DELIMITER);
+        return delimiter < 0 ? topic : topic.substring(0, delimiter + 1);
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.benchmark;
+
+import com.kucoin.sdk.metadata.MarketMetadata;
+import com.kucoin.sdk.metadata.OrderValidationMode;
+import com.kucoin.sdk.metadata.OrderValidator;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local check of one order against a cached symbol: an order already on its increments, and one that is
+ * rounded into a new request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderValidatorBenchmark {
+
+    private OrderValidator normalizer;
+
+    private final HFOrderCreateRequest validOrder = HFOrderCreateRequest.builder().clientOid("5c52e11203aa677f33e493fb")
+            .side("buy").symbol("BTC-USDT").type("limit").price(new BigDecimal("26000.5"))
+            .size(new BigDecimal("0.001")).timeInForce("GTC").build();
+
+    private final HFOrderCreateRequest offIncrementOrder = validOrder.toBuilder()
+            .price(new BigDecimal("26000.57")).size(new BigDecimal("0.0010000009")).build();
+
+    @Setup
+    public void setUp() {
+        List<SymbolResponse> symbols = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            symbols.add(symbol("C" + i + "-USDT"));
+        }
+        symbols.add(symbol("BTC-USDT"));
+        MarketMetadata metadata = new MarketMetadata(symbols, Collections.emptyList());
+        normalizer = new OrderValidator(metadata::getSymbol, OrderValidationMode.NORMALIZE);
+    }
+
+    private static SymbolResponse symbol(String name) {
+        SymbolResponse symbol = new SymbolResponse();
+        symbol.setSymbol(name);
+        symbol.setEnableTrading(true);
+        symbol.setPriceIncrement(new BigDecimal("0.1"));
+        symbol.setBaseIncrement(new BigDecimal("0.00000001"));
+        symbol.setQuoteIncrement(new BigDecimal("0.000001"));
+        symbol.setBaseMinSize(new BigDecimal("0.00001"));
+        symbol.setBaseMaxSize(new BigDecimal("10000000000"));
+        symbol.setMinFunds(new BigDecimal("0.1"));
+        return symbol;
+    }
+
+    @Benchmark
+    public HFOrderCreateRequest validOrder() {
+        return normalizer.apply(validOrder);
+    }
+
+    @Benchmark
+    public HFOrderCreateRequest offIncrementOrder() {
+        return normalizer.apply(offIncrementOrder);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.benchmark;
+
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.rest.codec.OrderBodyEncoder;
+import com.kucoin.sdk.rest.interceptor.AuthenticationInterceptor;
+import com.kucoin.sdk.rest.interceptor.RequestSigner;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import retrofit2.Converter;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing cost of one order placement: the former per request HMACs of signature and passphrase against
+ * {@link RequestSigner}, and encoding plus signing of the body with Jackson against {@link OrderBodyEncoder}.
+ * {@link #sharedSigner} signs from more threads than the pool of the signer holds, as callers on virtual
+ * threads do.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath, or {@code org.openjdk.jmh.Main SigningBenchmark -prof gc}
+ * to include allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SigningBenchmark {
+
+    private static final String SECRET = "f03a5284-5c39-4aaa-9b20-dea10bdcf8e3";
+
+    private static final String PASS_PHRASE = "passphrase";
+
+    private static final String TIMESTAMP = "1547015186532";
+
+    private final Request order = new Request.Builder().url("https://api.kucoin.com/api/v1/hf/orders")
+            .post(RequestBody.create(MediaType.parse("application/json; charset=UTF-8"),
+                    "{\"clientOid\":\"5c52e11203aa677f33e493fb\",\"side\":\"buy\",\"symbol\":\"BTC-USDT\","
+                            + "\"type\":\"limit\",\"price\":\"26000.5\",\"size\":\"0.001\",\"timeInForce\":\"GTC\"}"))
+            .build();
+
+    private final RequestSigner signer = new RequestSigner(SECRET, PASS_PHRASE, 2);
+
+    private final HFOrderCreateRequest hfOrder = HFOrderCreateRequest.builder().clientOid("5c52e11203aa677f33e493fb")
+            .side("buy").symbol("BTC-USDT").type("limit").price(new BigDecimal("26000.5"))
+            .size(new BigDecimal("0.001")).timeInForce("GTC").build();
+
+    @SuppressWarnings("unchecked")
+    private final Converter<HFOrderCreateRequest, RequestBody> jacksonConverter =
+            (Converter<HFOrderCreateRequest, RequestBody>) JacksonConverterFactory.create(KucoinObjectMapper.INSTANCE)
+                    .requestBodyConverter(HFOrderCreateRequest.class, new Annotation[0], new Annotation[0], null);
+
+    @Benchmark
+    public String legacy() {
+        String signature = AuthenticationInterceptor.genSignature(order, SECRET, TIMESTAMP);
+        return signature + Base64.encodeBase64String(HmacUtils.hmacSha256(SECRET, PASS_PHRASE));
+    }
+
+    @Benchmark
+    public String signer() {
+        return signer.sign(order, TIMESTAMP) + signer.getPassPhraseHeader();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String sharedSigner(SharedSigner shared) {
+        return shared.signer.sign(order, TIMESTAMP);
+    }
+
+    @Benchmark
+    public String jacksonOrder() throws IOException {
+        Request request = order.newBuilder().post(jacksonConverter.convert(hfOrder)).build();
+        return signer.sign(request, TIMESTAMP);
+    }
+
+    @Benchmark
+    public String preEncodedOrder() {
+        Request request = order.newBuilder().post(OrderBodyEncoder.encode(hfOrder)).build();
+        return signer.sign(request, TIMESTAMP);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedSigner {
+
+        private final RequestSigner signer = new RequestSigner(SECRET, PASS_PHRASE, 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SigningBenchmark.class.getSimpleName()).build()).run();
+    }
+}
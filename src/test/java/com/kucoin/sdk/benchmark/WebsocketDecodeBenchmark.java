@@ -0,0 +1,115 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.codec.EventDataReader;
+import com.kucoin.sdk.websocket.codec.KucoinEventDecoder;
+import com.kucoin.sdk.websocket.codec.ScaledLevel2Reader;
+import com.kucoin.sdk.websocket.codec.ScaledTickerReader;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+import com.kucoin.sdk.websocket.event.Level2ChangeEvent;
+import com.kucoin.sdk.websocket.event.TickerChangeEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two-pass frame decoding (readTree, then readValue) with the single-pass {@link KucoinEventDecoder},
+ * binding data to {@code BigDecimal} events or reading it into scaled flyweight events.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath, or {@code org.openjdk.jmh.Main WebsocketDecodeBenchmark -prof gc}
+ * to include allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebsocketDecodeBenchmark {
+
+    private static final SymbolScales SCALES = new SymbolScales("BTC-USDT", 3, 3, 3);
+
+    private static final String LEVEL2 = "{\"type\":\"message\",\"topic\":\"/market/level2:BTC-USDT\","
+            + "\"subject\":\"trade.l2update\",\"data\":{\"sequenceStart\":1545896669105,\"sequenceEnd\":1545896669106,"
+            + "\"symbol\":\"BTC-USDT\",\"changes\":{\"asks\":[[\"6\",\"1\",\"1545896669105\"]],"
+            + "\"bids\":[[\"4\",\"1\",\"1545896669106\"]]}}}";
+
+    private static final String TICKER = "{\"type\":\"message\",\"topic\":\"/market/ticker:BTC-USDT\","
+            + "\"subject\":\"trade.ticker\",\"data\":{\"sequence\":\"1545896668986\",\"price\":\"0.08\","
+            + "\"size\":\"0.011\",\"bestAsk\":\"0.08\",\"bestAskSize\":\"0.18\",\"bestBid\":\"0.049\","
+            + "\"bestBidSize\":\"0.036\",\"time\":1545896668986}}";
+
+    private static final TypeReference<KucoinEvent<Level2ChangeEvent>> LEVEL2_TYPE =
+            new TypeReference<KucoinEvent<Level2ChangeEvent>>() {};
+
+    private static final TypeReference<KucoinEvent<TickerChangeEvent>> TICKER_TYPE =
+            new TypeReference<KucoinEvent<TickerChangeEvent>>() {};
+
+    private final KucoinEventDecoder decoder = new KucoinEventDecoder(KucoinObjectMapper.INSTANCE);
+
+    private final EventDataReader level2DataReader = decoder.reader(LEVEL2_TYPE);
+
+    private final EventDataReader tickerDataReader = decoder.reader(TICKER_TYPE);
+
+    private final EventDataReader scaledLevel2Reader = new ScaledLevel2Reader(SCALES);
+
+    private final EventDataReader scaledTickerReader = new ScaledTickerReader(SCALES);
+
+    @Benchmark
+    public Object twoPassLevel2() throws IOException {
+        return twoPass(LEVEL2, LEVEL2_TYPE);
+    }
+
+    @Benchmark
+    public Object singlePassLevel2() throws IOException {
+        return decoder.decode(LEVEL2, topic -> level2DataReader);
+    }
+
+    @Benchmark
+    public Object scaledLevel2() throws IOException {
+        return decoder.decode(LEVEL2, topic -> scaledLevel2Reader);
+    }
+
+    @Benchmark
+    public Object twoPassTicker() throws IOException {
+        return twoPass(TICKER, TICKER_TYPE);
+    }
+
+    @Benchmark
+    public Object singlePassTicker() throws IOException {
+        return decoder.decode(TICKER, topic -> tickerDataReader);
+    }
+
+    @Benchmark
+    public Object scaledTicker() throws IOException {
+        return decoder.decode(TICKER, topic -> scaledTickerReader);
+    }
+
+    /**
+     * The decoding done by the listeners before the single-pass decoder.
+     */
+    private static Object twoPass(String text, TypeReference<?> typeReference) throws IOException {
+        JsonNode jsonObject = KucoinObjectMapper.INSTANCE.readTree(text);
+        if (!"message".equals(jsonObject.get("type").asText())) {
+            return null;
+        }
+        jsonObject.get("topic").asText();
+        return KucoinObjectMapper.INSTANCE.readValue(text, typeReference);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebsocketDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.clock;
+
+import com.kucoin.sdk.rest.interfaces.TimeAPI;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ServerClockTest {
+
+    // local clock 500ms behind the server
+    private static final long OFFSET = 500;
+
+    private long localMillis = 1_700_000_000_000L;
+
+    private long nanos;
+
+    // delays of each request: time to reach the server, then time back
+    private final Deque<long[]> delays = new ArrayDeque<>();
+
+    private final TimeAPI timeAPI = () -> {
+        long[] delay = delays.isEmpty() ? new long[]{10, 10} : delays.poll();
+        advance(delay[0]);
+        long serverTime = localMillis + OFFSET;
+        advance(delay[1]);
+        return serverTime;
+    };
+
+    private final ServerClock clock = new ServerClock(timeAPI, () -> localMillis, () -> nanos);
+
+    private void advance(long millis) {
+        localMillis += millis;
+        nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void usesLocalTimeBeforeTheFirstSample() {
+        assertSame(ClockOffset.NONE, clock.getOffset());
+        assertEquals(localMillis, clock.currentTimeMillis());
+        assertEquals(Long.MAX_VALUE, clock.getErrorMillis());
+    }
+
+    @Test
+    public void symmetricRoundTripGivesTheOffset() throws IOException {
+        ClockOffset sample = clock.sample();
+        assertEquals(OFFSET, sample.getOffsetMillis());
+        assertEquals(20, sample.getRttMillis());
+        assertEquals(11, sample.getErrorMillis());
+        assertEquals(localMillis + OFFSET, clock.currentTimeMillis());
+        assertEquals(1000 + OFFSET, clock.toServerTime(1000));
+        assertEquals(1000 - OFFSET, clock.toLocalTime(1000));
+    }
+
+    @Test
+    public void prefersTheShortestRoundTrip() throws IOException {
+        // slow and asymmetric: the answer waited 200ms on the way back
+        delays.add(new long[]{5, 200});
+        delays.add(new long[]{2, 2});
+        delays.add(new long[]{150, 5});
+        delays.add(new long[]{20, 20});
+        ClockOffset estimate = clock.sync();
+        assertEquals(OFFSET, estimate.getOffsetMillis());
+        assertEquals(4, estimate.getRttMillis());
+
+        // the error of an asymmetric sample stays within its bound
+        ServerClock single = new ServerClock(timeAPI, () -> localMillis, () -> nanos);
+        delays.add(new long[]{5, 200});
+        ClockOffset skewed = single.sample();
+        assertTrue(Math.abs(skewed.getOffsetMillis() - OFFSET) <= skewed.getErrorMillis());
+    }
+
+    @Test
+    public void olderSamplesLeaveTheWindow() throws IOException {
+        delays.add(new long[]{1, 1});
+        clock.sample();
+        for (int i = 0; i < ServerClock.WINDOW - 1; i++) {
+            clock.sample();
+        }
+        assertEquals(2, clock.getOffset().getRttMillis());
+        clock.sample();
+        assertEquals(20, clock.getOffset().getRttMillis());
+    }
+
+    @Test
+    public void errorGrowsWithAge() throws IOException {
+        clock.sample();
+        long error = clock.getErrorMillis();
+        advance(TimeUnit.HOURS.toMillis(1));
+        assertEquals(error + 54, clock.getErrorMillis());
+    }
+
+    @Test
+    public void failedSampleKeepsTheEstimate() throws IOException {
+        clock.sample();
+        ServerClock failing = new ServerClock(() -> {
+            throw new IOException("offline");
+        }, () -> localMillis, () -> nanos);
+        try {
+            failing.sample();
+            fail();
+        } catch (IOException e) {
+            assertSame(ClockOffset.NONE, failing.getOffset());
+        }
+        assertEquals(OFFSET, clock.getOffsetMillis());
+    }
+}
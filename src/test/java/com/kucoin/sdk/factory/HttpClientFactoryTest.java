@@ -0,0 +1,70 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.clock.ServerClock;
+import com.kucoin.sdk.rest.interceptor.AuthenticationInterceptor;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HttpClientFactoryTest {
+
+    @Test
+    public void shareTransportAcrossClients() {
+        OkHttpClient publicClient = HttpClientFactory.getPublicClient();
+        OkHttpClient authClient = HttpClientFactory.getAuthClient("key", "secret", "pass", 2);
+
+        assertSame(publicClient, HttpClientFactory.getPublicClient());
+        assertSame(authClient, HttpClientFactory.getAuthClient("key", "secret", "pass", 2));
+        assertNotSame(authClient, HttpClientFactory.getAuthClient("other", "secret", "pass", 2));
+        assertSame(publicClient.connectionPool(), authClient.connectionPool());
+        assertSame(publicClient.dispatcher(), authClient.dispatcher());
+        assertTrue(publicClient.protocols().contains(Protocol.HTTP_2));
+
+        assertSame(RetrofitFactory.getAuthRetorfit("https://example.com/", "key", "secret", "pass", 2),
+                RetrofitFactory.getAuthRetorfit("https://example.com/", "key", "secret", "pass", 2));
+    }
+
+    @Test
+    public void keepClocksToTheirOwnClients() {
+        ServerClock first = new ServerClock(null);
+        ServerClock second = new ServerClock(null);
+        OkHttpClient local = HttpClientFactory.getAuthClient("key", "secret", "pass", 2);
+        OkHttpClient stamped = HttpClientFactory.getAuthClient("key", "secret", "pass", 2, first);
+
+        assertSame(stamped, HttpClientFactory.getAuthClient("key", "secret", "pass", 2, first));
+        assertNotSame(stamped, HttpClientFactory.getAuthClient("key", "secret", "pass", 2, second));
+        assertNull(authentication(local).getServerClock());
+        assertSame(first, authentication(stamped).getServerClock());
+        assertSame(second, authentication(HttpClientFactory.getAuthClient("key", "secret", "pass", 2, second))
+                .getServerClock());
+    }
+
+    @Test
+    public void applyConfiguration() {
+        HttpClientConfig config = new HttpClientConfig().withMaxRequests(256, 128).withHttp2(false);
+        HttpClientFactory.configure(config);
+        OkHttpClient client = HttpClientFactory.getPublicClient();
+        HttpClientFactory.configure(config);
+
+        assertSame(client, HttpClientFactory.getPublicClient());
+        assertEquals(256, client.dispatcher().getMaxRequests());
+        assertEquals(128, client.dispatcher().getMaxRequestsPerHost());
+        assertFalse(client.protocols().contains(Protocol.HTTP_2));
+        HttpClientFactory.configure(new HttpClientConfig());
+    }
+
+    private static AuthenticationInterceptor authentication(OkHttpClient client) {
+        for (Interceptor interceptor : client.interceptors()) {
+            if (interceptor instanceof AuthenticationInterceptor) {
+                return (AuthenticationInterceptor) interceptor;
+            }
+        }
+        throw new AssertionError("No authentication interceptor");
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.rest.adapter.AsyncSymbolAPIAdapter;
+import com.kucoin.sdk.rest.response.TickerResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Load against a local mock server which holds every request until {@link #REQUESTS} are in flight, or
+ * {@link #HOLD_MILLIS} passed, and reports the peak number of requests in flight.
+ */
+public class HttpClientLoadTest {
+
+    private static final int REQUESTS = 150;
+
+    private static final long HOLD_MILLIS = 1000;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private String baseUrl;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peak = new AtomicInteger();
+
+    private CountDownLatch arrived;
+
+    @Before
+    public void startServer() throws IOException {
+        arrived = new CountDownLatch(REQUESTS);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            arrived.countDown();
+            try {
+                arrived.await(HOLD_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] body = "{\"code\":\"200000\",\"data\":{\"price\":\"1.5\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void defaultLimitsCapInFlightRequests() throws Exception {
+        runAsync(new HttpTransport(new HttpClientConfig()), Runnable::run);
+        assertEquals(100, peak.get());
+    }
+
+    @Test
+    public void raisedLimitsScalePastDefault() throws Exception {
+        runAsync(new HttpTransport(new HttpClientConfig().withMaxRequests(1024, 1024)), Runnable::run);
+        assertEquals(REQUESTS, peak.get());
+    }
+
+    @Test
+    public void enqueuedCallsRunOnVirtualThreads() throws Exception {
+        assumeTrue("Virtual threads need Java 21", hasVirtualThreads());
+        HttpTransport transport = new HttpTransport(new HttpClientConfig()
+                .withVirtualThreads(true).withMaxRequests(1024, 1024));
+        Set<Thread> callbackThreads = ConcurrentHashMap.newKeySet();
+        runAsync(transport, command -> {
+            callbackThreads.add(Thread.currentThread());
+            command.run();
+        });
+        assertEquals(REQUESTS, peak.get());
+        assertFalse(callbackThreads.isEmpty());
+        for (Thread thread : callbackThreads) {
+            assertTrue(thread + " is not virtual", (Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        }
+    }
+
+    @Test
+    public void rejectVirtualThreadsBeforeJava21() {
+        assumeFalse(hasVirtualThreads());
+        try {
+            new HttpTransport(new HttpClientConfig().withVirtualThreads(true));
+            fail("Virtual threads need Java 21");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private void runAsync(HttpTransport transport, Executor callbackExecutor) throws Exception {
+        AsyncSymbolAPIAdapter api = new AsyncSymbolAPIAdapter(baseUrl, callbackExecutor);
+        api.setTransport(transport);
+        List<CompletableFuture<TickerResponse>> tickers = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            tickers.add(api.getTicker("BTC-USDT"));
+        }
+        for (CompletableFuture<TickerResponse> ticker : tickers) {
+            assertEquals("1.5", ticker.get(10, TimeUnit.SECONDS).getPrice().toPlainString());
+        }
+    }
+
+    private static boolean hasVirtualThreads() {
+        try {
+            Thread.class.getMethod("isVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.KucoinClientBuilder;
+import com.kucoin.sdk.rest.adapter.TimeAPIAdapter;
+import com.kucoin.sdk.rest.impl.retrofit.AbstractRetrofitAPIImpl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HttpTransportTest {
+
+    private static final String BASE_URL = "https://example.com/";
+
+    @Test
+    public void replaceTheClientOfRotatedCredentials() {
+        HttpTransport transport = new HttpTransport(new HttpClientConfig().withOrderLane(2, 16));
+        OkHttpClient client = transport.getAuthClient("key", "secret", "pass", 2, null);
+        Retrofit retrofit = transport.getAuthRetrofit(BASE_URL, "key", "secret", "pass", 2, null);
+        assertNotNull(transport.getOrderLaneClient(client));
+
+        for (int i = 0; i < 100; i++) {
+            transport.getAuthRetrofit(BASE_URL, "key", "secret " + i, "pass", 2, null);
+        }
+        OkHttpClient rotated = transport.getAuthClient("key", "secret 99", "pass", 2, null);
+
+        assertNotSame(client, rotated);
+        assertNotSame(retrofit, transport.getAuthRetrofit(BASE_URL, "key", "secret 99", "pass", 2, null));
+        assertEquals(1, transport.authClients.size());
+        assertEquals(1, transport.orderLaneClients.size());
+        assertFalse(transport.orderLaneClients.containsKey(client));
+        assertEquals(1, transport.retrofits.size());
+
+        transport.getHedgeRetrofit(BASE_URL, rotated);
+        transport.getAuthRetrofit(BASE_URL, "key", "secret", "pass", 2, null);
+        assertTrue(transport.hedgeClients.isEmpty());
+        assertEquals(1, transport.retrofits.size());
+    }
+
+    @Test
+    public void hedgeOverHttp11() {
+        HttpTransport transport = new HttpTransport(new HttpClientConfig());
+        OkHttpClient client = transport.getAuthClient("key", "secret", "pass", 2, null);
+        OkHttpClient hedgeClient = transport.getHedgeClient(client);
+
+        assertTrue(client.protocols().contains(Protocol.HTTP_2));
+        assertEquals(Collections.singletonList(Protocol.HTTP_1_1), hedgeClient.protocols());
+        assertSame(client.connectionPool(), hedgeClient.connectionPool());
+        assertSame(client.dispatcher(), hedgeClient.dispatcher());
+        assertEquals(client.interceptors(), hedgeClient.interceptors());
+        assertSame(hedgeClient, transport.getHedgeClient(client));
+        assertNotSame(transport.getAuthRetrofit(BASE_URL, "key", "secret", "pass", 2, null),
+                transport.getHedgeRetrofit(BASE_URL, client));
+
+        HttpTransport http11 = new HttpTransport(new HttpClientConfig().withHttp2(false));
+        assertSame(http11.getPublicClient(), http11.getHedgeClient(http11.getPublicClient()));
+        assertSame(http11.getPublicRetrofit(BASE_URL), http11.getHedgeRetrofit(BASE_URL, http11.getPublicClient()));
+    }
+
+    @Test
+    public void keepAccountsApart() {
+        HttpTransport transport = new HttpTransport(new HttpClientConfig());
+        OkHttpClient client = transport.getAuthClient("key", "secret", "pass", 2, null);
+
+        assertNotSame(client, transport.getAuthClient("other", "secret", "pass", 2, null));
+        assertSame(client, transport.getAuthClient("key", "secret", "pass", 2, null));
+        assertSame(transport.getPublicClient().connectionPool(), client.connectionPool());
+    }
+
+    @Test
+    public void scopeTheTransportToTheBuilder() {
+        HttpTransport defaultTransport = HttpClientFactory.getDefaultTransport();
+        KucoinClientBuilder tuned = new KucoinClientBuilder()
+                .withHttpClientConfig(new HttpClientConfig().withMaxRequests(256, 128));
+        KucoinClientBuilder plain = new KucoinClientBuilder();
+        tuned.buildRestClient();
+        plain.buildRestClient();
+
+        assertSame(defaultTransport, HttpClientFactory.getDefaultTransport());
+        assertSame(defaultTransport, plain.getHttpTransport());
+        assertNotSame(defaultTransport, tuned.getHttpTransport());
+        assertEquals(256, tuned.getHttpTransport().getPublicClient().dispatcher().getMaxRequests());
+        assertSame(tuned.getHttpTransport(), ((AbstractRetrofitAPIImpl<?>) tuned.getOrderAPI()).getTransport());
+        assertSame(defaultTransport, ((AbstractRetrofitAPIImpl<?>) plain.getOrderAPI()).getTransport());
+
+        KucoinClientBuilder sharing = new KucoinClientBuilder().withHttpTransport(tuned.getHttpTransport());
+        sharing.buildRestClient();
+        assertSame(tuned.getHttpTransport(), ((AbstractRetrofitAPIImpl<?>) sharing.getSymbolAPI()).getTransport());
+    }
+
+    @Test
+    public void syncTheClockOverTheBuilderTransport() throws InterruptedException {
+        BlockingQueue<HttpTransport> sampled = new LinkedBlockingQueue<>();
+        TimeAPIAdapter timeAPI = new TimeAPIAdapter(BASE_URL) {
+            @Override
+            public Long getServerTimeStamp() {
+                sampled.add(getTransport());
+                return System.currentTimeMillis();
+            }
+        };
+        KucoinClientBuilder builder = new KucoinClientBuilder()
+                .withHttpClientConfig(new HttpClientConfig())
+                .withTimeAPI(timeAPI)
+                .withClockSync(60_000);
+        builder.buildRestClient();
+        try {
+            assertSame(builder.getHttpTransport(), sampled.poll(5, TimeUnit.SECONDS));
+        } finally {
+            builder.getServerClock().close();
+        }
+    }
+}
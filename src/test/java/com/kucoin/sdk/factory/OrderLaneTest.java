@@ -0,0 +1,118 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.factory;
+
+import com.kucoin.sdk.rest.adapter.AsyncOrderAPIAdapter;
+import com.kucoin.sdk.rest.adapter.AsyncSymbolAPIAdapter;
+import com.kucoin.sdk.rest.ratelimit.EndpointWeights;
+import com.kucoin.sdk.rest.response.TickerResponse;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class OrderLaneTest {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private String baseUrl;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void startServer() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            String body;
+            if ("GET".equals(exchange.getRequestMethod())) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body = "{\"code\":\"200000\",\"data\":{\"price\":\"1.5\"}}";
+            } else {
+                body = "{\"code\":\"200000\",\"data\":{\"cancelledOrderIds\":[\"5c35c02703aa673ceec2a168\"]}}";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        HttpClientFactory.configure(new HttpClientConfig());
+    }
+
+    @Test
+    public void cancelPassesSaturatedDispatcher() throws Exception {
+        HttpClientFactory.configure(new HttpClientConfig().withOrderLane(2, 16));
+        AsyncSymbolAPIAdapter symbolAPI = new AsyncSymbolAPIAdapter(baseUrl, Runnable::run);
+        AsyncOrderAPIAdapter orderAPI = new AsyncOrderAPIAdapter(baseUrl, "key", "secret", "pass", 2, Runnable::run);
+
+        List<CompletableFuture<TickerResponse>> bulk = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            bulk.add(symbolAPI.getTicker("BTC-USDT"));
+        }
+        assertEquals(1, orderAPI.cancelOrder("5c35c02703aa673ceec2a168").get(5, TimeUnit.SECONDS)
+                .getCancelledOrderIds().size());
+        assertFalse(bulk.get(0).isDone());
+
+        release.countDown();
+        for (CompletableFuture<TickerResponse> ticker : bulk) {
+            ticker.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void routeOrderMutations() {
+        OkHttpClient client = new OkHttpClient();
+        OkHttpClient orderLane = client.newBuilder().build();
+        LaneCallFactory factory = new LaneCallFactory(client, orderLane, EndpointWeights.defaults());
+        RequestBody body = RequestBody.create(MediaType.parse("application/json"), "{}");
+
+        assertSame(orderLane, factory.laneOf(request("api/v1/hf/orders").post(body).build()));
+        assertSame(orderLane, factory.laneOf(request("api/v1/orders/5c35c02703aa673ceec2a168").delete().build()));
+        assertSame(orderLane, factory.laneOf(request("api/v3/oco/order").post(body).build()));
+        assertSame(client, factory.laneOf(request("api/v1/hf/orders/active").build()));
+        assertSame(client, factory.laneOf(request("api/v1/accounts/ledgers").build()));
+        assertSame(client, factory.laneOf(request("api/v2/accounts/inner-transfer").post(body).build()));
+    }
+
+    private static Request.Builder request(String path) {
+        return new Request.Builder().url("https://api.kucoin.com/" + path);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.impl;
+
+import com.kucoin.sdk.KucoinPublicWSClient;
+import com.kucoin.sdk.model.enums.PublicChannelEnum;
+import com.kucoin.sdk.websocket.impl.WebsocketMetrics;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KucoinPublicWSClientPoolTest {
+
+    private final List<List<String>> calls = new ArrayList<>();
+
+    private final Set<Integer> failing = new HashSet<>();
+
+    private final List<KucoinPublicWSClient> connections = Arrays.asList(connection(0), connection(1), connection(2));
+
+    private final KucoinPublicWSClientPool pool = new KucoinPublicWSClientPool(connections);
+
+    @Test
+    public void placeSymbolsOnLeastLoadedConnection() {
+        assertNotNull(pool.onTicker(event -> {}, "A", "B", "C", "D"));
+        assertArrayEquals(new int[]{2, 1, 1}, pool.getTopicCounts());
+        assertEquals(Arrays.asList("A", "D"), calls.get(0).subList(1, 3));
+
+        // every channel of a symbol goes to the connection of the symbol
+        pool.onLevel2Data(event -> {}, "D", "E");
+        assertArrayEquals(new int[]{3, 2, 1}, pool.getTopicCounts());
+        assertEquals("0", calls.get(3).get(0).substring(0, 1));
+        assertEquals("onLevel2Data", calls.get(3).get(0).substring(2));
+        assertEquals(Arrays.asList("D"), calls.get(3).subList(1, 2));
+    }
+
+    @Test
+    public void releaseLoadOnUnsubscribe() {
+        pool.onTicker(event -> {}, "A", "B", "C");
+        pool.onCandles(event -> {}, "A_1hour");
+        pool.unsubscribe(PublicChannelEnum.TICKER, "A", "B");
+        pool.unsubscribe(PublicChannelEnum.CANDLES, "A_1hour");
+        assertArrayEquals(new int[]{0, 0, 1}, pool.getTopicCounts());
+
+        pool.onTicker(event -> {}, "F");
+        assertArrayEquals(new int[]{1, 0, 1}, pool.getTopicCounts());
+    }
+
+    @Test
+    public void releaseTopicsOfFailedSubscription() {
+        pool.onTicker(event -> {}, "A");
+        failing.add(0);
+        failing.add(1);
+        assertNull(pool.onTicker(event -> {}, "A", "B", "C"));
+        // the ticker of A was subscribed before the failed request and stays
+        assertArrayEquals(new int[]{1, 0, 1}, pool.getTopicCounts());
+
+        failing.clear();
+        assertEquals("id-1", pool.onTicker(event -> {}, "B"));
+        assertArrayEquals(new int[]{1, 1, 1}, pool.getTopicCounts());
+    }
+
+    @Test
+    public void capTopicsPerConnection() {
+        KucoinPublicWSClientPool pool = new KucoinPublicWSClientPool(connections.subList(0, 2), 2);
+        assertNotNull(pool.onTicker(event -> {}, "A", "B", "C", "D"));
+        assertArrayEquals(new int[]{2, 2}, pool.getTopicCounts());
+        int sent = calls.size();
+
+        assertNull(pool.onTicker(event -> {}, "E"));
+        assertNull(pool.onLevel2Data(event -> {}, "A"));
+        assertArrayEquals(new int[]{2, 2}, pool.getTopicCounts());
+        assertEquals(sent, calls.size());
+
+        pool.unsubscribe(PublicChannelEnum.TICKER, "B");
+        assertEquals("id-1", pool.onTicker(event -> {}, "E"));
+        assertArrayEquals(new int[]{2, 2}, pool.getTopicCounts());
+    }
+
+    @Test
+    public void combineMetrics() {
+        assertFalse(pool.getMetrics().isConnected());
+        assertEquals("ping", pool.ping("ping"));
+    }
+
+    private KucoinPublicWSClient connection(int index) {
+        return (KucoinPublicWSClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{KucoinPublicWSClient.class}, (proxy, method, args) -> {
+                    if ("getMetrics".equals(method.getName())) {
+                        return new WebsocketMetrics();
+                    }
+                    if ("ping".equals(method.getName())) {
+                        return args[0];
+                    }
+                    List<String> call = new ArrayList<>();
+                    call.add(index + ":" + method.getName());
+                    Object targets = args[args.length - 1];
+                    if (targets instanceof String[]) {
+                        call.addAll(Arrays.asList((String[]) targets));
+                    }
+                    calls.add(call);
+                    return failing.contains(index) ? null : "id-" + index;
+                });
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import com.kucoin.sdk.rest.interfaces.CurrencyAPI;
+import com.kucoin.sdk.rest.interfaces.SymbolAPI;
+import com.kucoin.sdk.rest.response.ApiCurrencyDetailChainPropertyResponse;
+import com.kucoin.sdk.rest.response.CurrencyDetailV2Response;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MetadataCacheTest {
+
+    private List<SymbolResponse> symbols = new ArrayList<>();
+
+    private List<CurrencyDetailV2Response> currencies = new ArrayList<>();
+
+    private boolean failing;
+
+    private final SymbolAPI symbolAPI = (SymbolAPI) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{SymbolAPI.class}, (proxy, method, args) -> {
+                if (failing) {
+                    throw new IOException("offline");
+                }
+                return copy(symbols);
+            });
+
+    private final CurrencyAPI currencyAPI = (CurrencyAPI) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{CurrencyAPI.class}, (proxy, method, args) -> currencies);
+
+    private static SymbolResponse symbol(String symbol, String market, String priceIncrement) {
+        String[] currencies = symbol.split("-");
+        SymbolResponse response = new SymbolResponse();
+        response.setSymbol(symbol);
+        response.setMarket(market);
+        response.setBaseCurrency(currencies[0]);
+        response.setQuoteCurrency(currencies[1]);
+        response.setPriceIncrement(new BigDecimal(priceIncrement));
+        response.setBaseIncrement(new BigDecimal("0.0001"));
+        response.setQuoteIncrement(new BigDecimal("0.01"));
+        return response;
+    }
+
+    private static CurrencyDetailV2Response currency(String currency) {
+        CurrencyDetailV2Response response = new CurrencyDetailV2Response();
+        response.setCurrency(currency);
+        return response;
+    }
+
+    @Before
+    public void listBitcoin() {
+        currencies.add(currency("BTC"));
+    }
+
+    // every download returns new instances, as Jackson does
+    private static List<SymbolResponse> copy(List<SymbolResponse> symbols) {
+        List<SymbolResponse> copies = new ArrayList<>();
+        for (SymbolResponse symbol : symbols) {
+            SymbolResponse copy = symbol(symbol.getSymbol(), symbol.getMarket(), symbol.getPriceIncrement().toPlainString());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    @Test
+    public void indexesSymbolsAndCurrencies() throws IOException {
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        symbols.add(symbol("ETH-USDT", "USDS", "0.01"));
+        symbols.add(symbol("ETH-BTC", "BTC", "0.000001"));
+        CurrencyDetailV2Response usdt = new CurrencyDetailV2Response();
+        usdt.setCurrency("USDT");
+        ApiCurrencyDetailChainPropertyResponse trc20 = new ApiCurrencyDetailChainPropertyResponse();
+        trc20.setChainName("TRC20");
+        usdt.setChains(Collections.singletonList(trc20));
+        currencies.add(usdt);
+
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        assertNull(cache.getSymbol("BTC-USDT"));
+        cache.refresh();
+
+        assertEquals("BTC-USDT", cache.getSymbol("BTC-USDT").getSymbol());
+        assertEquals(1, cache.getScales("BTC-USDT").getPriceScale());
+        assertEquals(2, cache.getSymbolsByBase("ETH").size());
+        assertEquals(2, cache.getSymbolsByQuote("USDT").size());
+        assertEquals(1, cache.getSymbolsByMarket("BTC").size());
+        assertTrue(cache.getSymbolsByMarket("ALTS").isEmpty());
+        assertSame(usdt, cache.getCurrency("USDT"));
+        assertSame(trc20, cache.getChain("USDT", "trc20"));
+        assertNull(cache.getChain("USDT", "ERC20"));
+    }
+
+    @Test
+    public void refreshKeepsUnchangedEntries() throws IOException {
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        symbols.add(symbol("ETH-USDT", "USDS", "0.01"));
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        List<MetadataChange> changes = new ArrayList<>();
+        cache.addListener((metadata, change) -> changes.add(change));
+
+        MetadataChange first = cache.refresh();
+        assertEquals(2, first.getAddedSymbols().size());
+        MarketMetadata loaded = cache.getMetadata();
+        SymbolResponse btc = cache.getSymbol("BTC-USDT");
+
+        assertTrue(cache.refresh().isEmpty());
+        assertSame(loaded, cache.getMetadata());
+
+        symbols.set(1, symbol("ETH-USDT", "USDS", "0.001"));
+        symbols.add(symbol("SOL-USDT", "USDS", "0.001"));
+        symbols.remove(0);
+        MetadataChange change = cache.refresh();
+        assertEquals(Collections.singleton("ETH-USDT"), change.getChangedSymbols());
+        assertEquals(Collections.singleton("SOL-USDT"), change.getAddedSymbols());
+        assertEquals(Collections.singleton("BTC-USDT"), change.getRemovedSymbols());
+        assertNull(cache.getSymbol("BTC-USDT"));
+        assertEquals(3, cache.getScales("ETH-USDT").getPriceScale());
+        assertEquals(2, changes.size());
+
+        symbols.add(0, symbol("BTC-USDT", "USDS", "0.1"));
+        cache.refresh();
+        SymbolResponse sol = cache.getSymbol("SOL-USDT");
+        symbols.set(0, symbol("BTC-USDT", "USDS", "0.01"));
+        cache.refresh();
+        assertSame(sol, cache.getSymbol("SOL-USDT"));
+        assertNotSame(btc, cache.getSymbol("BTC-USDT"));
+    }
+
+    @Test
+    public void failedRefreshKeepsTheSnapshot() throws IOException {
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        cache.refresh();
+        failing = true;
+        try {
+            cache.refresh();
+            fail();
+        } catch (IOException e) {
+            assertEquals("offline", e.getMessage());
+        }
+        assertEquals("BTC-USDT", cache.getSymbol("BTC-USDT").getSymbol());
+    }
+
+    @Test
+    public void emptyDownloadKeepsTheSnapshot() throws IOException {
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        cache.refresh();
+
+        symbols.clear();
+        assertRefreshFails(cache, "Downloaded no symbols");
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        currencies.clear();
+        assertRefreshFails(cache, "Downloaded no currencies");
+        currencies = null;
+        assertRefreshFails(cache, "Downloaded no currencies");
+
+        assertEquals("BTC-USDT", cache.getSymbol("BTC-USDT").getSymbol());
+        assertEquals("BTC", cache.getCurrency("BTC").getCurrency());
+    }
+
+    private static void assertRefreshFails(MetadataCache cache, String message) {
+        try {
+            cache.refresh();
+            fail();
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    @Test
+    public void refreshesInTheBackground() throws Exception {
+        AtomicInteger refreshes = new AtomicInteger();
+        MetadataCache cache = new MetadataCache(symbolAPI, currencyAPI);
+        cache.addListener((metadata, change) -> refreshes.incrementAndGet());
+        symbols.add(symbol("BTC-USDT", "USDS", "0.1"));
+        cache.start(10, TimeUnit.MILLISECONDS);
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (cache.getSymbol("BTC-USDT") == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals("BTC-USDT", cache.getSymbol("BTC-USDT").getSymbol());
+        } finally {
+            cache.close();
+        }
+        assertEquals(1, refreshes.get());
+    }
+}
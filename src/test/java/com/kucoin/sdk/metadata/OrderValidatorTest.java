@@ -0,0 +1,124 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.metadata;
+
+import com.kucoin.sdk.exception.OrderValidationException;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+import com.kucoin.sdk.rest.response.SymbolResponse;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class OrderValidatorTest {
+
+    private static final SymbolResponse BTC_USDT = new SymbolResponse();
+
+    static {
+        BTC_USDT.setSymbol("BTC-USDT");
+        BTC_USDT.setEnableTrading(true);
+        BTC_USDT.setPriceIncrement(new BigDecimal("0.1"));
+        BTC_USDT.setBaseIncrement(new BigDecimal("0.00000001"));
+        BTC_USDT.setQuoteIncrement(new BigDecimal("0.000001"));
+        BTC_USDT.setBaseMinSize(new BigDecimal("0.00001"));
+        BTC_USDT.setBaseMaxSize(new BigDecimal("10000000000"));
+        BTC_USDT.setQuoteMinSize(new BigDecimal("0.1"));
+        BTC_USDT.setQuoteMaxSize(new BigDecimal("99999999"));
+        BTC_USDT.setMinFunds(new BigDecimal("0.1"));
+    }
+
+    private final OrderValidator validator = new OrderValidator(
+            symbol -> "BTC-USDT".equals(symbol) ? BTC_USDT : null, OrderValidationMode.VALIDATE);
+
+    private final OrderValidator normalizer = new OrderValidator(
+            symbol -> "BTC-USDT".equals(symbol) ? BTC_USDT : null, OrderValidationMode.NORMALIZE);
+
+    private static OrderCreateApiRequest limit(String side, String price, String size) {
+        return OrderCreateApiRequest.builder().symbol("BTC-USDT").side(side).clientOid("oid")
+                .price(new BigDecimal(price)).size(new BigDecimal(size)).build();
+    }
+
+    private static void assertRejected(OrderValidator validator, OrderCreateApiRequest request, String field) {
+        try {
+            validator.apply(request);
+            fail();
+        } catch (OrderValidationException e) {
+            assertEquals(field, e.getField());
+        }
+    }
+
+    @Test
+    public void validOrdersPassUntouched() {
+        OrderCreateApiRequest request = limit("buy", "65000.1", "0.001");
+        assertSame(request, validator.apply(request));
+        assertSame(request, normalizer.apply(request));
+    }
+
+    @Test
+    public void unknownSymbolsPass() {
+        OrderCreateApiRequest request = OrderCreateApiRequest.builder().symbol("NEW-USDT").side("buy")
+                .price(new BigDecimal("1.23456789")).size(BigDecimal.ONE).build();
+        assertSame(request, validator.apply(request));
+    }
+
+    @Test
+    public void rejectsOffIncrementValues() {
+        assertRejected(validator, limit("buy", "65000.15", "0.001"), "price");
+        assertRejected(validator, limit("buy", "65000.1", "0.0010000001"), "size");
+    }
+
+    @Test
+    public void roundsPricesAwayFromTheBookAndSizesDown() {
+        OrderCreateApiRequest buy = normalizer.apply(limit("buy", "65000.19", "0.0010000009"));
+        assertEquals(new BigDecimal("65000.1"), buy.getPrice());
+        assertEquals(new BigDecimal("0.00100000"), buy.getSize());
+        assertEquals("oid", buy.getClientOid());
+        assertEquals("limit", buy.getType());
+
+        OrderCreateApiRequest sell = normalizer.apply(limit("sell", "65000.11", "0.001"));
+        assertEquals(new BigDecimal("65000.2"), sell.getPrice());
+    }
+
+    @Test
+    public void rejectsOrdersOutOfBounds() {
+        assertRejected(normalizer, limit("buy", "65000", "0.000009"), "size");
+        assertRejected(normalizer, limit("buy", "1", "0.00001"), "size");
+        assertRejected(normalizer, limit("hold", "65000", "0.001"), "side");
+        assertRejected(normalizer, OrderCreateApiRequest.builder().symbol("BTC-USDT").side("buy").type("market")
+                .size(BigDecimal.ONE).funds(BigDecimal.TEN).build(), "size");
+        assertRejected(normalizer, OrderCreateApiRequest.builder().symbol("BTC-USDT").side("buy").type("market")
+                .funds(new BigDecimal("0.01")).build(), "funds");
+
+        SymbolResponse halted = new SymbolResponse();
+        halted.setSymbol("BTC-USDT");
+        halted.setEnableTrading(false);
+        assertRejected(new OrderValidator(symbol -> halted, OrderValidationMode.NORMALIZE),
+                limit("buy", "65000", "0.001"), "symbol");
+    }
+
+    @Test
+    public void normalizesHFOrders() {
+        HFOrderCreateRequest request = HFOrderCreateRequest.builder().symbol("BTC-USDT").side("buy").type("market")
+                .funds("100.1234567").build();
+        HFOrderCreateRequest normalized = normalizer.apply(request);
+        assertEquals("100.123456", normalized.getFunds());
+        assertNull(normalized.getPrice());
+        assertEquals("100.1234567", request.getFunds());
+    }
+
+    @Test
+    public void roundsOnAnyIncrement() {
+        BigDecimal half = new BigDecimal("0.5");
+        assertEquals(new BigDecimal("1.5"), OrderValidator.round(new BigDecimal("1.7"), half, RoundingMode.FLOOR));
+        assertEquals(new BigDecimal("2.0"), OrderValidator.round(new BigDecimal("1.7"), half, RoundingMode.CEILING));
+        BigDecimal aligned = new BigDecimal("1.25");
+        assertSame(aligned, OrderValidator.round(aligned, new BigDecimal("0.01"), RoundingMode.DOWN));
+    }
+}
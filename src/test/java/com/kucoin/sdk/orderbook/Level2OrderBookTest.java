@@ -0,0 +1,136 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.kucoin.sdk.model.OrderBook;
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+import com.kucoin.sdk.websocket.event.Level2ChangeEvent;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class Level2OrderBookTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void keepLevelsSortedBestFirst() {
+        PriceLevels asks = new PriceLevels(false);
+        asks.set(105, 1);
+        asks.set(101, 2);
+        asks.set(103, 3);
+        asks.set(103, 0);
+        PriceLevels bids = new PriceLevels(true);
+        bids.set(99, 1);
+        bids.set(100, 2);
+
+        long[] prices = new long[5];
+        long[] sizes = new long[5];
+        assertEquals(2, asks.top(prices, sizes));
+        assertEquals(101, prices[0]);
+        assertEquals(105, prices[1]);
+        assertEquals(100, bids.price(0));
+        assertEquals(2, bids.size(0));
+    }
+
+    @Test
+    public void applySnapshotThenChanges() {
+        Level2OrderBook book = new Level2OrderBook("BTC-USDT", 1, 4);
+        book.applySnapshot(snapshot(10, level("100.1", "1"), level("100.0", "2")));
+        book.applyChanges(change(11, 12, level("100.2", "0.5", "11"), level("100.1", "0", "12")));
+
+        assertEquals(12, book.getSequence());
+        assertEquals(1002, book.bestBidPrice());
+        assertEquals(5000, book.bestBidSize());
+        assertEquals(0, book.bestAskPrice());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectGap() {
+        Level2OrderBook book = new Level2OrderBook("BTC-USDT", 1, 4);
+        book.applySnapshot(snapshot(10));
+        book.applyChanges(change(12, 12, level("100.2", "1", "12")));
+    }
+
+    @Test
+    public void replayBufferedUpdatesAndResyncOnGap() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+        List<OrderBookResponse> snapshots = new ArrayList<>(Arrays.asList(
+                snapshot(11, level("100.0", "1")), snapshot(20, level("99.0", "1"))));
+        CountDownLatch synced = new CountDownLatch(1);
+        ManagedLevel2OrderBook managed = new ManagedLevel2OrderBook(new Level2OrderBook("BTC-USDT", 1, 4),
+                symbol -> {
+                    if (loads.getAndIncrement() == 0) {
+                        awaitUninterruptibly(releaseFirstLoad);
+                    }
+                    return snapshots.remove(0);
+                }, executor, book -> synced.countDown(), 100);
+
+        managed.start();
+        managed.onChange(change(10, 11, level("100.0", "1", "11")));
+        managed.onChange(change(12, 12, level("100.5", "3", "12")));
+        releaseFirstLoad.countDown();
+        assertTrue(synced.await(5, TimeUnit.SECONDS));
+        assertFalse(managed.isSyncing());
+        assertEquals(12, managed.getBook().getSequence());
+        assertEquals(1005, managed.getBook().bestBidPrice());
+
+        managed.onChange(change(15, 15, level("101.0", "1", "15")));
+        assertEquals(1, managed.getResyncCount());
+        executor.submit(() -> null).get(5, TimeUnit.SECONDS);
+        assertEquals(20, managed.getBook().getSequence());
+        assertEquals(990, managed.getBook().bestBidPrice());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> level(String... values) {
+        return Arrays.asList(values);
+    }
+
+    @SafeVarargs
+    private static OrderBookResponse snapshot(long sequence, List<String>... bids) {
+        OrderBookResponse snapshot = new OrderBookResponse();
+        snapshot.setSequence(String.valueOf(sequence));
+        snapshot.setBids(Arrays.asList(bids));
+        snapshot.setAsks(Collections.emptyList());
+        return snapshot;
+    }
+
+    @SafeVarargs
+    private static Level2ChangeEvent change(long start, long end, List<String>... bids) {
+        OrderBook changes = new OrderBook();
+        changes.setBids(Arrays.asList(bids));
+        changes.setAsks(Collections.emptyList());
+        Level2ChangeEvent event = new Level2ChangeEvent();
+        event.setSymbol("BTC-USDT");
+        event.setSequenceStart(start);
+        event.setSequenceEnd(end);
+        event.setChanges(changes);
+        return event;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.orderbook;
+
+import com.kucoin.sdk.rest.response.Level3Response;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+import com.kucoin.sdk.websocket.event.Level3Event;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class Level3OrderBookTest {
+
+    @Test
+    public void aggregateOrdersIntoLevels() {
+        Level3OrderBook book = new Level3OrderBook("BTC-USDT", 1, 4, 4);
+        book.open(1, "b1", true, 1000, 10);
+        book.open(2, "b2", true, 1000, 20);
+        book.open(3, "b3", true, 990, 5);
+        book.open(4, "a1", false, 1010, 7);
+
+        assertEquals(1000, book.bestBidPrice());
+        assertEquals(30, book.bestBidSize());
+        assertEquals(1010, book.bestAskPrice());
+        assertEquals(4, book.orderCount());
+
+        book.match(5, "b1", 4);
+        book.update(6, "b2", 15);
+        assertEquals(19, book.bestBidSize());
+        assertEquals(4, book.orderSize("b1"));
+
+        book.done(7, "b1");
+        book.match(8, "b2", 0);
+        assertEquals(990, book.bestBidPrice());
+        assertEquals(-1, book.orderSize("b2"));
+        assertEquals(2, book.orderCount());
+        assertEquals(8, book.getSequence());
+        assertEquals(0, book.getGapCount());
+    }
+
+    @Test
+    public void keepQueueOrderAndReuseSlots() {
+        Level3OrderBook book = new Level3OrderBook("BTC-USDT", 1, 4, 2);
+        for (int i = 0; i < 100; i++) {
+            book.open(i + 1, "o" + i, false, 1010 + i % 3, 1);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            book.done(101 + i / 2, "o" + i);
+        }
+        List<String> queue = new ArrayList<>();
+        book.forEachOrder(false, 1010, (orderId, size) -> queue.add(orderId));
+        assertEquals("o3", queue.get(0));
+        assertEquals("o9", queue.get(1));
+        assertEquals(17, queue.size());
+
+        book.open(151, "late", false, 1010, 1);
+        queue.clear();
+        book.forEachOrder(false, 1010, (orderId, size) -> queue.add(orderId));
+        assertEquals("late", queue.get(queue.size() - 1));
+        assertEquals(51, book.orderCount());
+    }
+
+    @Test
+    public void ignoreStaleMessagesAndCountGaps() {
+        Level3OrderBook book = new Level3OrderBook("BTC-USDT", 1, 4);
+        book.open(10, "a", true, 1000, 1);
+        book.done(9, "a");
+        assertEquals(1, book.orderCount());
+        book.done(12, "a");
+        assertEquals(0, book.orderCount());
+        assertEquals(1, book.getGapCount());
+    }
+
+    @Test
+    public void applySnapshotAndEvents() {
+        Level3Response snapshot = new Level3Response();
+        snapshot.setSequence(100);
+        snapshot.setBids(new Object[][]{{"b1", "100.5", "0.25", 1L}});
+        snapshot.setAsks(new Object[][]{{"a1", "101", "1", 1L}});
+        Level3OrderBook book = new Level3OrderBook("BTC-USDT", 1, 4);
+        book.applySnapshot(snapshot);
+        assertEquals(1005, book.bestBidPrice());
+        assertEquals(2500, book.bestBidSize());
+
+        book.onEvent(event("received", 101, null));
+        Level3Event match = new Level3Event();
+        match.setSequence(102);
+        match.setMakerOrderId("a1");
+        match.setRemainSize(new BigDecimal("0.4"));
+        book.onEvent(event("match", 102, match));
+        assertEquals(4000, book.bestAskSize());
+
+        Level3Event open = new Level3Event();
+        open.setOrderId("b2");
+        open.setSide("buy");
+        open.setPrice(new BigDecimal("100.7"));
+        open.setSize(new BigDecimal("2"));
+        book.onEvent(event("open", 103, open));
+        assertEquals(1007, book.bestBidPrice());
+        assertEquals(103, book.getSequence());
+        assertEquals(0, book.getGapCount());
+    }
+
+    private static KucoinEvent<Level3Event> event(String subject, long sequence, Level3Event data) {
+        if (data == null) {
+            data = new Level3Event();
+        }
+        data.setSequence(sequence);
+        KucoinEvent<Level3Event> event = new KucoinEvent<>();
+        event.setSubject(subject);
+        event.setData(data);
+        return event;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.adapter;
+
+import com.google.common.io.ByteStreams;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+import com.kucoin.sdk.rest.retry.RetryConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class OrderAPIAdapterTest {
+
+    private HttpServer server;
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    private OrderAPIAdapter orderAPI;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        server.createContext("/", exchange -> {
+            bodies.add(new String(ByteStreams.toByteArray(exchange.getRequestBody()), StandardCharsets.UTF_8));
+            byte[] bytes = "{\"code\":\"200000\",\"data\":{\"orderId\":\"5c35c02703aa673ceec2a168\"}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        orderAPI = new OrderAPIAdapter("http://127.0.0.1:" + server.getAddress().getPort() + "/",
+                "key", "secret", "pass", 2);
+        orderAPI.setRetryConfig(new RetryConfig());
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void sendAClientOidWithoutTouchingTheRequest() throws IOException {
+        OrderCreateApiRequest order = OrderCreateApiRequest.builder().symbol("BTC-USDT").side("buy")
+                .type("limit").price(new BigDecimal("26000.5")).size(new BigDecimal("0.001")).build();
+        HFOrderCreateRequest hfOrder = HFOrderCreateRequest.builder().symbol("BTC-USDT").side("buy")
+                .type("limit").price(new BigDecimal("26000.5")).size(new BigDecimal("0.001")).build();
+
+        assertEquals("5c35c02703aa673ceec2a168", orderAPI.createOrder(order).getOrderId());
+        assertEquals("5c35c02703aa673ceec2a168", orderAPI.createHFOrder(hfOrder).getOrderId());
+
+        assertNull(order.getClientOid());
+        assertNull(hfOrder.getClientOid());
+        assertEquals(2, bodies.size());
+        for (String body : bodies) {
+            assertTrue(body, body.contains("\"clientOid\":\""));
+        }
+    }
+
+    @Test
+    public void keepTheClientOidOfTheCaller() throws IOException {
+        HFOrderCreateRequest hfOrder = HFOrderCreateRequest.builder().clientOid("my-order").symbol("BTC-USDT")
+                .side("buy").type("limit").price(new BigDecimal("26000.5")).size(new BigDecimal("0.001")).build();
+
+        orderAPI.createHFOrder(hfOrder);
+
+        assertTrue(bodies.get(0), bodies.get(0).contains("\"clientOid\":\"my-order\""));
+    }
+}
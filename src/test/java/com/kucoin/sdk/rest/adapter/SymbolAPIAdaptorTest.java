@@ -0,0 +1,82 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.adapter;
+
+import com.kucoin.sdk.factory.HttpClientConfig;
+import com.kucoin.sdk.factory.HttpTransport;
+import com.kucoin.sdk.rest.hedge.HedgeConfig;
+import com.kucoin.sdk.rest.hedge.Hedger;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SymbolAPIAdaptorTest {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private SymbolAPIAdaptor symbolAPI;
+
+    @Before
+    public void startServer() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            String price = "1.5";
+            if (requests.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                price = "9.9";
+            }
+            byte[] bytes = ("{\"code\":\"200000\",\"data\":{\"price\":\"" + price + "\"}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        symbolAPI = new SymbolAPIAdaptor("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        symbolAPI.setTransport(new HttpTransport(new HttpClientConfig()));
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void hedgeSlowTickers() throws IOException {
+        Hedger hedger = new Hedger(new HedgeConfig().withWarmUp(1_000, 50).withMaxHedgeRatio(1));
+        symbolAPI.setHedger(hedger);
+
+        long start = System.nanoTime();
+        assertEquals(new BigDecimal("1.5"), symbolAPI.getTicker("BTC-USDT").getPrice());
+        assertTrue(System.nanoTime() - start < 1_500_000_000L);
+        assertEquals(2, requests.get());
+        assertEquals(1, hedger.getMetrics().getHedgeWins());
+    }
+}
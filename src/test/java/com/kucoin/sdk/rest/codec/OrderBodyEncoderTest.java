@@ -0,0 +1,68 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.rest.interceptor.AuthenticationInterceptor;
+import com.kucoin.sdk.rest.interceptor.RequestSigner;
+import com.kucoin.sdk.rest.request.HFOrderCreateRequest;
+import com.kucoin.sdk.rest.request.OrderCreateApiRequest;
+import okhttp3.Request;
+import okio.Buffer;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class OrderBodyEncoderTest {
+
+    @Test
+    public void encodeLikeJackson() throws Exception {
+        OrderCreateApiRequest order = OrderCreateApiRequest.builder().clientOid("5c52e11203aa677f33e493fb")
+                .symbol("BTC-USDT").side("buy").price(new BigDecimal("26000.5")).size(new BigDecimal("0.001"))
+                .postOnly(true).cancelAfter(60).remark("tab\t\"quoted\" ü €").build();
+        assertEquals(jackson(order), parse(OrderBodyEncoder.encode(order)));
+
+        HFOrderCreateRequest hfOrder = HFOrderCreateRequest.builder().clientOid("5c52e11203aa677f33e493fc")
+                .symbol("ETH-USDT").type("limit").side("sell").price(new BigDecimal("1800.25"))
+                .size(new BigDecimal("0.1")).hidden(false).cancelAfter(5L).tags("mm").build();
+        assertEquals(jackson(hfOrder), parse(OrderBodyEncoder.encode(hfOrder)));
+    }
+
+    @Test
+    public void writeBodyAsEncoded() throws Exception {
+        PreEncodedBody body = OrderBodyEncoder.encode(HFOrderCreateRequest.builder().symbol("BTC-USDT").build());
+        Buffer sent = new Buffer();
+        body.writeTo(sent);
+        assertEquals("{\"symbol\":\"BTC-USDT\"}", sent.readUtf8());
+        assertEquals(body.getBytes().length, body.contentLength());
+    }
+
+    @Test
+    public void signEncodedBytes() {
+        Request request = new Request.Builder().url("https://api.kucoin.com/api/v1/hf/orders")
+                .post(OrderBodyEncoder.encode(HFOrderCreateRequest.builder().symbol("BTC-USDT").remark("ü").build()))
+                .build();
+        assertEquals(AuthenticationInterceptor.genSignature(request, "secret", "1547015186532"),
+                new RequestSigner("secret", "pass", 2).sign(request, "1547015186532"));
+    }
+
+    private static Map<String, Object> jackson(Object order) throws Exception {
+        Map<String, Object> fields = parse(KucoinObjectMapper.INSTANCE.writeValueAsBytes(order));
+        fields.values().removeIf(Objects::isNull);
+        return fields;
+    }
+
+    private static Map<String, Object> parse(PreEncodedBody body) throws Exception {
+        return parse(body.getBytes());
+    }
+
+    private static Map<String, Object> parse(byte[] json) throws Exception {
+        return KucoinObjectMapper.INSTANCE.readValue(json, new TypeReference<Map<String, Object>>() {});
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.hedge;
+
+import com.kucoin.sdk.rest.ratelimit.RateLimitConfig;
+import com.kucoin.sdk.rest.ratelimit.RateLimitPolicy;
+import com.kucoin.sdk.rest.ratelimit.RateLimitPool;
+import com.kucoin.sdk.rest.ratelimit.RateLimiter;
+import okhttp3.Request;
+import org.junit.After;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HedgerTest {
+
+    private final ScheduledExecutorService network = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<FakeCall> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private final HedgeConfig config = new HedgeConfig().withWarmUp(1_000, 50).withMaxHedgeRatio(1);
+
+    @After
+    public void shutdown() {
+        network.shutdownNow();
+    }
+
+    @Test
+    public void doNotHedgeFastCalls() throws Exception {
+        Hedger hedger = new Hedger(config);
+
+        assertEquals("call 0", hedger.execute(new FakeCall(5, 5), null).body());
+        assertEquals(1, sent.size());
+        assertEquals(1, hedger.getMetrics().getCalls());
+        assertEquals(0, hedger.getMetrics().getHedges());
+        assertEquals(1, hedger.getMetrics().getLatency().getCount());
+    }
+
+    @Test
+    public void takeTheFasterCopy() throws Exception {
+        Hedger hedger = new Hedger(config);
+
+        assertEquals("call 1", hedger.execute(new FakeCall(2_000, 10), null).body());
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).isCanceled());
+        assertEquals(1, hedger.getMetrics().getHedges());
+        assertEquals(1, hedger.getMetrics().getHedgeWins());
+        assertEquals(1.0, hedger.getMetrics().getHedgeWinRatio(), 0);
+        assertEquals(0, hedger.getMetrics().getLatency().getCount());
+    }
+
+    @Test
+    public void sendTheHedgeBuiltBySupplier() throws Exception {
+        Hedger hedger = new Hedger(config);
+        FakeCall call = new FakeCall(2_000, 10);
+
+        assertEquals("call 1", hedger.execute(call, () -> new FakeCall(new long[]{0, 10}, 1), null).body());
+        assertEquals(2, sent.size());
+        assertNotSame(call, sent.get(1));
+    }
+
+    @Test
+    public void keepTheFirstCallWhenItAnswersFirst() throws Exception {
+        Hedger hedger = new Hedger(config);
+
+        assertEquals("call 0", hedger.execute(new FakeCall(80, 2_000), null).body());
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(1).isCanceled());
+        assertEquals(1, hedger.getMetrics().getHedges());
+        assertEquals(0, hedger.getMetrics().getHedgeWins());
+        assertEquals(1, hedger.getMetrics().getLatency().getCount());
+    }
+
+    @Test
+    public void waitForTheHedgeWhenTheFirstCallFails() throws Exception {
+        Hedger hedger = new Hedger(config);
+
+        assertEquals("call 1", hedger.execute(new FakeCall(-80, 60), null).body());
+        assertEquals(1, hedger.getMetrics().getHedgeWins());
+    }
+
+    @Test
+    public void failWhenAllCopiesFail() {
+        Hedger hedger = new Hedger(config);
+        try {
+            hedger.execute(new FakeCall(-80, -10), null);
+            fail("Expected a failure");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+    }
+
+    @Test
+    public void respectTheHedgeRatio() throws Exception {
+        Hedger hedger = new Hedger(new HedgeConfig().withWarmUp(1_000, 20).withMaxHedgeRatio(0));
+
+        assertEquals("call 0", hedger.execute(new FakeCall(60, 5), null).body());
+        assertEquals(1, sent.size());
+        assertEquals(1, hedger.getMetrics().getSkippedHedges());
+    }
+
+    @Test
+    public void respectTheRateLimitBudget() throws Exception {
+        RateLimitConfig limits = new RateLimitConfig().withPolicy(RateLimitPolicy.FAIL_FAST);
+        RateLimiter rateLimiter = new RateLimiter(limits, RateLimiter.newBucket(limits, RateLimitPool.PUBLIC));
+        rateLimiter.getBucket(RateLimitPool.PUBLIC).exhaust(30_000);
+        Hedger hedger = new Hedger(config);
+
+        assertEquals("call 0", hedger.execute(new FakeCall(80, 5), rateLimiter).body());
+        assertEquals(1, sent.size());
+        assertEquals(1, hedger.getMetrics().getSkippedHedges());
+    }
+
+    @Test
+    public void delayFollowsTheQuantile() {
+        Hedger hedger = new Hedger(new HedgeConfig().withWarmUp(10, 100).withQuantile(0.9).withDelayBounds(1, 500));
+        assertEquals(100, hedger.getDelayMillis());
+
+        for (int i = 0; i < 10; i++) {
+            hedger.getMetrics().getLatency().record(TimeUnit.MILLISECONDS.toNanos(i < 9 ? 3 : 900));
+        }
+        assertEquals(4, hedger.getDelayMillis());
+
+        for (int i = 0; i < 10; i++) {
+            hedger.getMetrics().getLatency().record(TimeUnit.MILLISECONDS.toNanos(900));
+        }
+        assertEquals(500, hedger.getDelayMillis());
+    }
+
+    /**
+     * Call answering after a scripted latency per copy, negative latencies fail the copy instead.
+     */
+    private class FakeCall implements Call<String> {
+
+        private final long[] latencies;
+
+        private final int index;
+
+        private volatile boolean canceled;
+
+        private volatile boolean executed;
+
+        FakeCall(long... latencies) {
+            this(latencies, 0);
+        }
+
+        private FakeCall(long[] latencies, int index) {
+            this.latencies = latencies;
+            this.index = index;
+        }
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            executed = true;
+            sent.add(this);
+            long latency = latencies[index];
+            network.schedule(() -> {
+                if (canceled) {
+                    callback.onFailure(this, new IOException("Canceled"));
+                } else if (latency < 0) {
+                    callback.onFailure(this, new IOException("connection reset"));
+                } else {
+                    callback.onResponse(this, Response.success("call " + index));
+                }
+            }, Math.abs(latency), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<String> clone() {
+            return new FakeCall(latencies, index + 1);
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://api.kucoin.com/api/v1/market/orderbook/level2_20").build();
+        }
+    }
+}
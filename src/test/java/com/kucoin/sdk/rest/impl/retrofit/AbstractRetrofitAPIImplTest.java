@@ -0,0 +1,164 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.impl.retrofit;
+
+import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.rest.response.KucoinResponse;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AbstractRetrofitAPIImplTest {
+
+    private final AtomicInteger executed = new AtomicInteger();
+
+    private final AbstractRetrofitAPIImpl<Object> api = new AbstractRetrofitAPIImpl<Object>() {
+        {
+            callbackExecutor = command -> {
+                executed.incrementAndGet();
+                command.run();
+            };
+        }
+
+        @Override
+        public Object getAPIImpl() {
+            return null;
+        }
+    };
+
+    @Test
+    public void completeWithData() throws Exception {
+        FakeCall<String> call = new FakeCall<>(Response.success(response("200000", null, "5c35c02703aa673ceec2a168")));
+        CompletableFuture<String> future = api.executeAsync(call);
+
+        call.complete();
+        assertEquals("5c35c02703aa673ceec2a168", future.get());
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void mapApiErrors() throws Exception {
+        FakeCall<String> call = new FakeCall<>(Response.success(response("400100", "Invalid size", null)));
+        CompletableFuture<String> future = api.executeAsync(call);
+
+        call.complete();
+        KucoinApiException e = (KucoinApiException) failure(future);
+        assertEquals("400100", e.getCode());
+        assertEquals("Invalid size", e.getMessage());
+    }
+
+    @Test
+    public void mapHttpErrors() throws Exception {
+        ResponseBody body = ResponseBody.create(MediaType.parse("application/json"),
+                "{\"code\":\"429000\",\"msg\":\"Too many requests\"}");
+        FakeCall<String> call = new FakeCall<>(Response.<KucoinResponse<String>>error(429, body));
+        CompletableFuture<String> future = api.executeAsync(call);
+
+        call.complete();
+        assertEquals("429000", ((KucoinApiException) failure(future)).getCode());
+    }
+
+    @Test
+    public void failOnSocketErrors() throws Exception {
+        FakeCall<String> call = new FakeCall<>(null);
+        CompletableFuture<String> future = api.executeAsync(call);
+
+        call.fail(new IOException("connection reset"));
+        assertTrue(failure(future) instanceof IOException);
+    }
+
+    @Test
+    public void cancelCall() {
+        FakeCall<String> call = new FakeCall<>(null);
+        CompletableFuture<String> future = api.executeAsync(call);
+
+        assertTrue(future.cancel(false));
+        assertTrue(call.isCanceled());
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("Expected a failure");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static <R> KucoinResponse<R> response(String code, String msg, R data) {
+        KucoinResponse<R> response = new KucoinResponse<>();
+        response.setCode(code);
+        response.setMsg(msg);
+        response.setData(data);
+        return response;
+    }
+
+    private static class FakeCall<R> implements Call<KucoinResponse<R>> {
+
+        private final Response<KucoinResponse<R>> response;
+
+        private Callback<KucoinResponse<R>> callback;
+
+        private boolean canceled;
+
+        FakeCall(Response<KucoinResponse<R>> response) {
+            this.response = response;
+        }
+
+        void complete() {
+            callback.onResponse(this, response);
+        }
+
+        void fail(Throwable t) {
+            callback.onFailure(this, t);
+        }
+
+        @Override
+        public Response<KucoinResponse<R>> execute() {
+            return response;
+        }
+
+        @Override
+        public void enqueue(Callback<KucoinResponse<R>> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return callback != null;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<KucoinResponse<R>> clone() {
+            return new FakeCall<>(response);
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://example.com/").build();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.impl.retrofit;
+
+import com.kucoin.sdk.exception.KucoinApiException;
+import com.kucoin.sdk.exception.RateLimitExceededException;
+import com.kucoin.sdk.rest.response.KucoinResponse;
+import com.kucoin.sdk.rest.retry.RetryConfig;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RetryExecutionTest {
+
+    private static final long SETTLE_MILLIS = 100;
+
+    private final AbstractRetrofitAPIImpl<Object> api = new AbstractRetrofitAPIImpl<Object>() {
+        {
+            retryConfig = new RetryConfig().withBackoff(1, 2).withCreateSettleMillis(SETTLE_MILLIS);
+        }
+
+        @Override
+        public Object getAPIImpl() {
+            return null;
+        }
+    };
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    public void retryIdempotentCalls() throws Exception {
+        ScriptedCall call = new ScriptedCall("GET", new SocketTimeoutException("timeout"), error("500000"), "ok");
+
+        assertEquals("ok", api.executeSync(call));
+        assertEquals(3, call.executions.get());
+    }
+
+    @Test
+    public void retryCancels() throws Exception {
+        ScriptedCall call = new ScriptedCall("DELETE", new IOException("connection reset"), "ok");
+
+        assertEquals("ok", api.executeSync(call));
+        assertEquals(2, call.executions.get());
+    }
+
+    @Test
+    public void doNotResendPosts() {
+        ScriptedCall call = new ScriptedCall("POST", new SocketTimeoutException("timeout"), "ok");
+
+        assertFailure(call, SocketTimeoutException.class);
+        assertEquals(1, call.executions.get());
+    }
+
+    @Test
+    public void doNotRetryPermanentFailures() {
+        ScriptedCall call = new ScriptedCall("GET", error("400100"), "ok");
+        assertFailure(call, KucoinApiException.class);
+        assertEquals(1, call.executions.get());
+
+        call = new ScriptedCall("GET", new RateLimitExceededException("budget"), "ok");
+        assertFailure(call, RateLimitExceededException.class);
+        assertEquals(1, call.executions.get());
+    }
+
+    @Test
+    public void giveUpAfterMaxAttempts() {
+        ScriptedCall call = new ScriptedCall("GET", error("429000"), error("429000"), error("429000"), "ok");
+
+        assertFailure(call, KucoinApiException.class);
+        assertEquals(3, call.executions.get());
+    }
+
+    @Test
+    public void findOrderInsteadOfSendingItAgain() throws Exception {
+        ScriptedCall call = new ScriptedCall("POST", new SocketTimeoutException("timeout"), "second order");
+
+        String order = api.executeCreate(call, () -> {
+            lookups.incrementAndGet();
+            return "first order";
+        });
+        assertEquals("first order", order);
+        assertEquals(1, call.executions.get());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void sendOrderAgainWhenNotFound() throws Exception {
+        ScriptedCall call = new ScriptedCall("POST", new SocketTimeoutException("timeout"), "order");
+
+        long start = System.nanoTime();
+        String order = api.executeCreate(call, () -> {
+            lookups.incrementAndGet();
+            throw new KucoinApiException("400100", "order not exist");
+        });
+        assertEquals("order", order);
+        assertEquals(2, call.executions.get());
+        assertEquals(2, lookups.get());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS));
+    }
+
+    @Test
+    public void findOrderThatReachesTheExchangeLate() throws Exception {
+        ScriptedCall call = new ScriptedCall("POST", new SocketTimeoutException("timeout"), "second order");
+
+        String order = api.executeCreate(call, () -> lookups.incrementAndGet() == 1 ? null : "first order");
+        assertEquals("first order", order);
+        assertEquals(1, call.executions.get());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void lookUpAgainWhenTheLookupFails() throws Exception {
+        ScriptedCall call = new ScriptedCall("POST", new SocketTimeoutException("timeout"), "second order");
+
+        String order = api.executeCreate(call, () -> {
+            if (lookups.incrementAndGet() == 1) {
+                throw new SocketTimeoutException("timeout");
+            }
+            return "first order";
+        });
+        assertEquals("first order", order);
+        assertEquals(1, call.executions.get());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void backoffWithJitter() {
+        RetryConfig config = new RetryConfig().withBackoff(100, 1_000);
+        for (int i = 0; i < 100; i++) {
+            long first = config.backoffMillis(1);
+            assertTrue(first >= 50 && first <= 100);
+            long capped = config.backoffMillis(10);
+            assertTrue(capped >= 500 && capped <= 1_000);
+        }
+    }
+
+    private void assertFailure(ScriptedCall call, Class<? extends Exception> type) {
+        try {
+            api.executeSync(call);
+            fail("Expected a failure");
+        } catch (Exception e) {
+            assertEquals(type, e.getClass());
+        }
+    }
+
+    private static KucoinApiException error(String code) {
+        return new KucoinApiException(code, "error " + code);
+    }
+
+    /**
+     * Call whose clones share one script of outcomes: an exception to throw or data to return.
+     */
+    private static class ScriptedCall implements Call<KucoinResponse<String>> {
+
+        private final String method;
+
+        private final Deque<Object> script;
+
+        private final AtomicInteger executions;
+
+        ScriptedCall(String method, Object... script) {
+            this(method, new ArrayDeque<>(Arrays.asList(script)), new AtomicInteger());
+        }
+
+        private ScriptedCall(String method, Deque<Object> script, AtomicInteger executions) {
+            this.method = method;
+            this.script = script;
+            this.executions = executions;
+        }
+
+        @Override
+        public Response<KucoinResponse<String>> execute() throws IOException {
+            executions.incrementAndGet();
+            Object outcome = script.poll();
+            if (outcome instanceof IOException) {
+                throw (IOException) outcome;
+            }
+            if (outcome instanceof KucoinApiException) {
+                KucoinApiException e = (KucoinApiException) outcome;
+                return Response.success(response(e.getCode(), e.getMessage(), null));
+            }
+            return Response.success(response("200000", null, (String) outcome));
+        }
+
+        @Override
+        public void enqueue(Callback<KucoinResponse<String>> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executions.get() > 0;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @Override
+        public Call<KucoinResponse<String>> clone() {
+            return new ScriptedCall(method, script, executions);
+        }
+
+        @Override
+        public Request request() {
+            RequestBody body = "GET".equals(method) || "DELETE".equals(method)
+                    ? null : RequestBody.create(MediaType.parse("application/json"), "{}");
+            return new Request.Builder().url("https://example.com/").method(method, body).build();
+        }
+
+        private static KucoinResponse<String> response(String code, String msg, String data) {
+            KucoinResponse<String> response = new KucoinResponse<>();
+            response.setCode(code);
+            response.setMsg(msg);
+            response.setData(data);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.interceptor;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.HmacUtils;
+import okio.BufferedSink;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class RequestSignerTest {
+
+    private static final String SECRET = "f03a5284-5c39-4aaa-9b20-dea10bdcf8e3";
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    private final RequestSigner signer = new RequestSigner(SECRET, "passphrase", 2);
+
+    @Test
+    public void matchLegacySignature() {
+        Request get = new Request.Builder()
+                .url("https://api.kucoin.com/api/v1/orders?symbol=BTC-USDT&status=active").build();
+        assertEquals(AuthenticationInterceptor.genSignature(get, SECRET, "1547015186532"),
+                signer.sign(get, "1547015186532"));
+
+        Request post = new Request.Builder().url("https://api.kucoin.com/api/v1/hf/orders")
+                .post(RequestBody.create(JSON, "{\"clientOid\":\"ä-1\",\"side\":\"buy\",\"symbol\":\"BTC-USDT\"}"))
+                .build();
+        assertEquals(AuthenticationInterceptor.genSignature(post, SECRET, "1547015186532"),
+                signer.sign(post, "1547015186532"));
+    }
+
+    @Test
+    public void cachePassPhrase() {
+        assertEquals(Base64.encodeBase64String(HmacUtils.hmacSha256(SECRET, "passphrase")),
+                signer.getPassPhraseHeader());
+        assertEquals("passphrase", new RequestSigner(SECRET, "passphrase", 1).getPassPhraseHeader());
+    }
+
+    @Test
+    public void signConcurrently() throws Exception {
+        Request delete = new Request.Builder().url("https://api.kucoin.com/api/v1/orders/5c35c02703aa673ceec2a168")
+                .delete().build();
+        String expected = AuthenticationInterceptor.genSignature(delete, SECRET, "1547015186532");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> signatures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            signatures.add(executor.submit(() -> signer.sign(delete, "1547015186532")));
+        }
+        for (Future<String> signature : signatures) {
+            assertEquals(expected, signature.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void signConcurrentlyBeyondThePoolSize() throws Exception {
+        Request delete = new Request.Builder().url("https://api.kucoin.com/api/v1/orders/5c35c02703aa673ceec2a168")
+                .delete().build();
+        String expected = AuthenticationInterceptor.genSignature(delete, SECRET, "1547015186532");
+        ExecutorService executor = Executors.newFixedThreadPool(4 * RequestSigner.POOL_SIZE);
+        List<Future<String>> signatures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            signatures.add(executor.submit(() -> signer.sign(delete, "1547015186532")));
+        }
+        for (Future<String> signature : signatures) {
+            assertEquals(expected, signature.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void discardTheStateOfAFailedSignature() {
+        RequestBody broken = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                throw new IOException("broken body");
+            }
+        };
+        Request post = new Request.Builder().url("https://api.kucoin.com/api/v1/orders").post(broken).build();
+        for (int i = 0; i < 2 * RequestSigner.POOL_SIZE; i++) {
+            try {
+                signer.sign(post, "1547015186532");
+                fail("Expected a failure");
+            } catch (RuntimeException e) {
+                assertEquals("broken body", e.getCause().getMessage());
+            }
+        }
+
+        Request get = new Request.Builder().url("https://api.kucoin.com/api/v1/orders?status=active").build();
+        assertEquals(AuthenticationInterceptor.genSignature(get, SECRET, "1547015186532"),
+                signer.sign(get, "1547015186532"));
+    }
+}
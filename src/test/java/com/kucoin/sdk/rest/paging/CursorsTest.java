@@ -0,0 +1,130 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import com.kucoin.sdk.rest.response.AccountDetailResponse;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CursorsTest {
+
+    // ids sorted latest first, as the HF endpoints return them
+    private static final List<Long> IDS = LongStream.range(0, 95).map(i -> 1000 - i).boxed().collect(Collectors.toList());
+
+    private final List<Long> requested = new ArrayList<>();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private CursorBatch<Long> batch(Long lastId, int limit) {
+        synchronized (requested) {
+            requested.add(lastId);
+        }
+        fetches.incrementAndGet();
+        int from = lastId == null ? 0 : IDS.indexOf(lastId) + 1;
+        int to = Math.min(IDS.size(), from + limit);
+        List<Long> items = new ArrayList<>(IDS.subList(from, to));
+        return new CursorBatch<>(items, items.isEmpty() ? null : items.get(items.size() - 1));
+    }
+
+    @Test
+    public void followsTheCursor() {
+        assertEquals(IDS, Cursors.stream(this::batch, 10).collect(Collectors.toList()));
+        assertNull(requested.get(0));
+        assertEquals(IDS.get(9), requested.get(1));
+        // the tenth batch is short, the eleventh is empty
+        assertEquals(11, requested.size());
+    }
+
+    @Test
+    public void fetchesOnDemand() {
+        Iterator<Long> iterator = Cursors.iterator(this::batch, 10);
+        for (int i = 0; i < 15; i++) {
+            iterator.next();
+        }
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void prefetchIsBounded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Iterator<Long> iterator = Cursors.iterator(this::batch, 10, executor, 2);
+            assertEquals(IDS.get(0), iterator.next());
+            // the consumer holds the first batch, at most two more are fetched ahead of it
+            Thread.sleep(200);
+            assertEquals(3, fetches.get());
+
+            List<Long> all = new ArrayList<>();
+            all.add(IDS.get(0));
+            iterator.forEachRemaining(all::add);
+            assertEquals(IDS, all);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void stopsWhenTheCursorDoesNotMove() {
+        CursorFetcher<Long> stuck = (lastId, limit) -> {
+            fetches.incrementAndGet();
+            List<Long> items = new ArrayList<>();
+            items.add(1L);
+            return new CursorBatch<>(items, 1L);
+        };
+        assertEquals(2, Cursors.stream(stuck, 10).count());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void failuresAreRethrown() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CursorFetcher<Long> fetcher = (lastId, limit) -> {
+                if (fetches.get() == 2) {
+                    throw new IOException("batch 3");
+                }
+                return batch(lastId, limit);
+            };
+            Iterator<Long> iterator = Cursors.iterator(fetcher, 10, executor, 1);
+            for (int i = 0; i < 20; i++) {
+                iterator.next();
+            }
+            try {
+                iterator.hasNext();
+                fail();
+            } catch (UncheckedIOException e) {
+                assertEquals("batch 3", e.getCause().getMessage());
+            }
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void ledgerCursorIsTheLastId() {
+        List<AccountDetailResponse> ledgers = new ArrayList<>();
+        AccountDetailResponse ledger = new AccountDetailResponse();
+        ledger.setId("42");
+        ledgers.add(ledger);
+        assertEquals(Long.valueOf(42), CursorBatch.of(ledgers).getLastId());
+        assertTrue(CursorBatch.of(new ArrayList<AccountDetailResponse>()).getItems().isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import com.kucoin.sdk.rest.response.Pagination;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PagesTest {
+
+    private static final List<Integer> ITEMS = IntStream.range(0, 95).boxed().collect(Collectors.toList());
+
+    private final List<Integer> fetched = new ArrayList<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private Pagination<Integer> page(int currentPage, int pageSize) {
+        synchronized (fetched) {
+            fetched.add(currentPage);
+        }
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        int from = Math.min(ITEMS.size(), (currentPage - 1) * pageSize);
+        int to = Math.min(ITEMS.size(), from + pageSize);
+        return new Pagination<>(currentPage, pageSize, (long) ITEMS.size(), new ArrayList<>(ITEMS.subList(from, to)));
+    }
+
+    @Test
+    public void fetchesPagesOnDemand() {
+        Iterator<Integer> iterator = Pages.iterator(this::page, 10);
+        for (int i = 0; i < 15; i++) {
+            assertEquals(i, (int) iterator.next());
+        }
+        assertEquals(2, fetched.size());
+
+        assertEquals(ITEMS.subList(0, 30), Pages.stream(this::page, 10).limit(30).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void walksEveryPage() {
+        assertEquals(ITEMS, Pages.stream(this::page, 10).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void stopsOnShortPageWithoutTotalPage() {
+        PageFetcher<Integer> fetcher = (currentPage, pageSize) -> {
+            Pagination<Integer> page = page(currentPage, pageSize);
+            page.setTotalPage(null);
+            return page;
+        };
+        assertEquals(ITEMS, Pages.stream(fetcher, 10).collect(Collectors.toList()));
+        assertEquals(10, fetched.size());
+    }
+
+    @Test
+    public void fetchesRemainingPagesConcurrentlyInOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            assertEquals(ITEMS, Pages.stream(this::page, 10, executor, 4).collect(Collectors.toList()));
+            assertEquals(10, fetched.size());
+            assertTrue(peakInFlight.get() > 1);
+            assertTrue(peakInFlight.get() <= 4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void closingCancelsPagesInFlight() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            try (Stream<Integer> stream = Pages.stream(this::page, 10, executor, 2)) {
+                assertEquals(ITEMS.subList(0, 5), stream.limit(5).collect(Collectors.toList()));
+            }
+            assertTrue(fetched.size() <= 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failuresAreRethrown() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PageFetcher<Integer> fetcher = (currentPage, pageSize) -> {
+                if (currentPage == 3) {
+                    throw new IOException("page 3");
+                }
+                return page(currentPage, pageSize);
+            };
+            Iterator<Integer> iterator = Pages.iterator(fetcher, 10, executor, 2);
+            for (int i = 0; i < 20; i++) {
+                iterator.next();
+            }
+            try {
+                iterator.hasNext();
+                fail();
+            } catch (UncheckedIOException e) {
+                assertEquals("page 3", e.getCause().getMessage());
+            }
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.paging;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeRangeDownloaderTest {
+
+    private final List<long[]> windows = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /**
+     * One candle a minute, both ends included, newest first as the exchange returns them.
+     */
+    private List<Long> candles(long startAt, long endAt) {
+        windows.add(new long[]{startAt, endAt});
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        List<Long> candles = new ArrayList<>();
+        for (long time = (startAt + 59) / 60 * 60; time <= endAt; time += 60) {
+            candles.add(0, time);
+        }
+        return candles;
+    }
+
+    private static List<Long> minutes(long startAt, long endAt) {
+        return LongStream.rangeClosed(startAt / 60, endAt / 60).map(minute -> minute * 60).boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void windowsStayWithinTheCandleLimit() {
+        long window = TimeRangeDownloader.candleWindowSeconds("1min");
+        long endAt = 10 * window + 600;
+        List<Long> downloaded = new TimeRangeDownloader<Long>(this::candles, window, Long::longValue)
+                .download(0, endAt);
+
+        assertEquals(minutes(0, endAt), downloaded);
+        assertEquals(11, windows.size());
+        for (long[] range : new ArrayList<>(windows)) {
+            assertTrue(candles(range[0], range[1]).size() <= TimeRangeDownloader.MAX_CANDLES);
+        }
+    }
+
+    @Test
+    public void fetchesWindowsConcurrentlyInTimeOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            long window = TimeRangeDownloader.candleWindowSeconds("1min");
+            long endAt = 40 * window;
+            List<Long> downloaded = new TimeRangeDownloader<Long>(this::candles, window, Long::longValue)
+                    .withExecutor(executor, 4)
+                    .download(0, endAt);
+
+            assertEquals(minutes(0, endAt), downloaded);
+            assertTrue(peakInFlight.get() > 1);
+            assertTrue(peakInFlight.get() <= 4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void dropsDuplicatesByKey() {
+        // two entries share each timestamp, and every window also returns the entries of its end
+        RangeFetcher<String> fetcher = (startAt, endAt) -> {
+            List<String> entries = new ArrayList<>();
+            for (long time = startAt; time <= endAt; time++) {
+                entries.add(time + "-a");
+                entries.add(time + "-b");
+                entries.add(time + "-a");
+            }
+            return entries;
+        };
+        List<String> downloaded = new TimeRangeDownloader<>(fetcher, 3,
+                entry -> Long.parseLong(entry.substring(0, entry.indexOf('-'))))
+                .withKey(entry -> entry)
+                .download(0, 7);
+
+        List<String> expected = new ArrayList<>();
+        for (long time = 0; time <= 7; time++) {
+            expected.add(time + "-a");
+            expected.add(time + "-b");
+        }
+        assertEquals(expected, downloaded);
+    }
+
+    @Test
+    public void candleWindows() {
+        assertEquals(1499 * 60, TimeRangeDownloader.candleWindowSeconds("1min"));
+        assertEquals(1499 * 7 * 24 * 3600, TimeRangeDownloader.candleWindowSeconds("1week"));
+    }
+}
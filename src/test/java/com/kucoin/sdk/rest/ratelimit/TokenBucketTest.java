@@ -0,0 +1,91 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.rest.ratelimit;
+
+import com.kucoin.sdk.exception.RateLimitExceededException;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketTest {
+
+    private long now;
+
+    private final TokenBucket bucket = new TokenBucket(RateLimitPool.SPOT, 100, 30_000, 0.2, () -> now);
+
+    @Test
+    public void refillContinuously() throws Exception {
+        bucket.acquire(100, false, RateLimitPolicy.FAIL_FAST, 0);
+        assertFails(1, false, RateLimitPolicy.FAIL_FAST);
+
+        now += TimeUnit.SECONDS.toNanos(3);
+        assertEquals(10, bucket.getTokens(), 1e-9);
+        bucket.acquire(10, false, RateLimitPolicy.FAIL_FAST, 0);
+        assertEquals(0, bucket.getTokens(), 1e-9);
+    }
+
+    @Test
+    public void followServerWindow() throws Exception {
+        bucket.sync(200, 5, 1000);
+        assertEquals(200, bucket.getCapacity());
+        bucket.acquire(5, false, RateLimitPolicy.FAIL_FAST, 0);
+
+        now += TimeUnit.MILLISECONDS.toNanos(999);
+        assertFails(1, false, RateLimitPolicy.FAIL_FAST);
+        now += TimeUnit.MILLISECONDS.toNanos(1);
+        assertEquals(200, bucket.getTokens(), 1e-9);
+    }
+
+    @Test
+    public void exhaustUntilReset() throws Exception {
+        bucket.exhaust(500);
+        assertFails(1, true, RateLimitPolicy.FAIL_FAST);
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        bucket.acquire(1, true, RateLimitPolicy.FAIL_FAST, 0);
+    }
+
+    @Test
+    public void keepReserveForOrders() throws Exception {
+        bucket.acquire(80, false, RateLimitPolicy.PRIORITIZE, 0);
+        assertFails(1, false, RateLimitPolicy.PRIORITIZE);
+        bucket.acquire(20, true, RateLimitPolicy.PRIORITIZE, 0);
+        assertFails(1, true, RateLimitPolicy.PRIORITIZE);
+    }
+
+    @Test
+    public void waitForRefill() throws Exception {
+        TokenBucket fast = new TokenBucket(RateLimitPool.HF, 10, 200, 0.2);
+        fast.acquire(10, true, RateLimitPolicy.WAIT, 0);
+        long start = System.nanoTime();
+        fast.acquire(5, true, RateLimitPolicy.WAIT, TimeUnit.SECONDS.toNanos(5));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void lookupWeights() {
+        EndpointWeights weights = EndpointWeights.defaults();
+        EndpointWeight cancel = weights.lookup("DELETE", "/api/v1/hf/orders/5c35c02703aa673ceec2a168");
+        assertEquals(RateLimitPool.HF, cancel.getPool());
+        assertEquals(1, cancel.getWeight());
+        assertTrue(cancel.isOrderPath());
+
+        assertEquals(30, weights.lookup("DELETE", "/api/v1/hf/orders/cancelAll").getWeight());
+        assertFalse(weights.lookup("GET", "/api/v1/orders/5c35c02703aa673ceec2a168").isOrderPath());
+        assertEquals(RateLimitPool.PUBLIC, weights.lookup("GET", "/api/v1/market/orderbook/level1").getPool());
+
+        EndpointWeight unknown = weights.lookup("GET", "/api/v1/margin/lend/active");
+        assertEquals(RateLimitPool.MARGIN, unknown.getPool());
+        assertEquals(EndpointWeights.DEFAULT_WEIGHT, unknown.getWeight());
+    }
+
+    private void assertFails(int weight, boolean orderPath, RateLimitPolicy policy) throws Exception {
+        try {
+            bucket.acquire(weight, orderPath, policy, 0);
+            fail("Expected the rate limit to be exceeded");
+        } catch (RateLimitExceededException expected) {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketByPowersOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(128, histogram.percentileMicros(0.5));
+        assertEquals(8192, histogram.percentileMicros(0.99));
+        assertEquals(20000, histogram.percentileMicros(1));
+        assertEquals(20000, histogram.getMaxMicros());
+    }
+
+    @Test
+    public void emptyHistogram() {
+        assertEquals(0, new LatencyHistogram().percentileMicros(0.99));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScaledDecimalTest {
+
+    @Test
+    public void parse() {
+        assertEquals(12300, ScaledDecimal.parse("0.0123", 6));
+        assertEquals(12300, ScaledDecimal.parse("0.01230000", 6));
+        assertEquals(-1500, ScaledDecimal.parse("-15", 2));
+        assertEquals(3, ScaledDecimal.parse("3.", 0));
+        assertEquals(5, ScaledDecimal.parse(".5", 1));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void rejectExtraPrecision() {
+        ScaledDecimal.parse("0.0123001", 6);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectMalformed() {
+        ScaledDecimal.parse("1.2.3", 6);
+    }
+
+    @Test
+    public void scaleOfIncrement() {
+        assertEquals(4, ScaledDecimal.scaleOf(new BigDecimal("0.00010000")));
+        assertEquals(0, ScaledDecimal.scaleOf(new BigDecimal("10")));
+        assertEquals(new BigDecimal("0.0123"), ScaledDecimal.toBigDecimal(123, 4));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void rejectPowersBeyondLong() {
+        ScaledDecimal.rescale(1, 19, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectScalesBeyondLong() {
+        new SymbolScales("SHIB-USDT", 19, 0, 0);
+    }
+}
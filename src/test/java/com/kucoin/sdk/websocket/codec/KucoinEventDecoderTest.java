@@ -0,0 +1,66 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+import com.kucoin.sdk.websocket.event.Level2ChangeEvent;
+import com.kucoin.sdk.websocket.event.TickerChangeEvent;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class KucoinEventDecoderTest {
+
+    private final KucoinEventDecoder decoder = new KucoinEventDecoder(KucoinObjectMapper.INSTANCE);
+
+    @Test
+    public void decodeMessage() throws Exception {
+        EventDataReader dataReader = decoder.reader(new TypeReference<KucoinEvent<TickerChangeEvent>>() {});
+        KucoinEvent<Object> event = decoder.decode("{\"type\":\"message\",\"topic\":\"/market/ticker:BTC-USDT\","
+                + "\"subject\":\"trade.ticker\",\"data\":{\"sequence\":\"1545896668986\",\"price\":\"0.08\","
+                + "\"bestAsk\":\"0.081\",\"bestBid\":\"0.079\",\"time\":1545896668986}}", topic -> dataReader);
+
+        assertEquals("message", event.getType());
+        assertEquals("/market/ticker:BTC-USDT", event.getTopic());
+        assertEquals("trade.ticker", event.getSubject());
+        TickerChangeEvent ticker = (TickerChangeEvent) event.getData();
+        assertEquals(new BigDecimal("0.08"), ticker.getPrice());
+        assertEquals(1545896668986L, ticker.getTime());
+    }
+
+    @Test
+    public void decodeDataBeforeTopic() throws Exception {
+        EventDataReader dataReader = decoder.reader(new TypeReference<KucoinEvent<Level2ChangeEvent>>() {});
+        KucoinEvent<Object> event = decoder.decode("{\"data\":{\"sequenceStart\":1,\"sequenceEnd\":2,"
+                + "\"symbol\":\"KCS-BTC\",\"changes\":{\"asks\":[[\"1\",\"2\",\"2\"]],\"bids\":[]}},"
+                + "\"subject\":\"trade.l2update\",\"topic\":\"/market/level2:KCS-BTC\",\"type\":\"message\"}",
+                topic -> dataReader);
+
+        Level2ChangeEvent change = (Level2ChangeEvent) event.getData();
+        assertEquals(2, change.getSequenceEnd());
+        assertEquals("1", change.getChanges().getAsks().get(0).get(0));
+    }
+
+    @Test
+    public void decodeUnknownTopicAsMap() throws Exception {
+        KucoinEvent<Object> event = decoder.decode("{\"type\":\"message\",\"topic\":\"/unknown:X\","
+                + "\"data\":{\"a\":1}}", topic -> null);
+        assertEquals(1, ((Map<?, ?>) event.getData()).get("a"));
+    }
+
+    @Test
+    public void skipDataOfControlFrames() throws Exception {
+        KucoinEvent<Object> event = decoder.decode("{\"id\":\"42\",\"type\":\"pong\"}", topic -> {
+            throw new AssertionError("control frames are not routed");
+        });
+        assertEquals("42", event.getId());
+        assertEquals("pong", event.getType());
+        assertNull(event.getData());
+    }
+}
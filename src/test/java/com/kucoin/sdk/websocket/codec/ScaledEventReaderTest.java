@@ -0,0 +1,116 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.codec;
+
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.orderbook.Level2OrderBook;
+import com.kucoin.sdk.orderbook.Level3OrderBook;
+import com.kucoin.sdk.rest.response.OrderBookResponse;
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.event.*;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ScaledEventReaderTest {
+
+    private static final SymbolScales BTC_USDT = new SymbolScales("BTC-USDT", 1, 8, 8);
+
+    private final KucoinEventDecoder decoder = new KucoinEventDecoder(KucoinObjectMapper.INSTANCE);
+
+    @Test
+    public void readTicker() throws Exception {
+        ScaledTickerReader reader = new ScaledTickerReader(BTC_USDT);
+        ScaledTickerEvent ticker = (ScaledTickerEvent) decoder.decode("{\"type\":\"message\","
+                + "\"topic\":\"/market/ticker:BTC-USDT\",\"subject\":\"trade.ticker\",\"data\":{"
+                + "\"sequence\":\"1545896668986\",\"price\":\"30000.5\",\"size\":\"0.0123\",\"bestAsk\":30001,"
+                + "\"bestAskSize\":\"1\",\"bestBid\":\"30000.4\",\"bestBidSize\":null,\"time\":1545896668986}}",
+                topic -> reader).getData();
+
+        assertEquals("BTC-USDT", ticker.getSymbol());
+        assertEquals(1545896668986L, ticker.getSequence());
+        assertEquals(300005, ticker.getPrice());
+        assertEquals(1230000, ticker.getSize());
+        assertEquals(300010, ticker.getBestAsk());
+        assertEquals(100000000, ticker.getBestAskSize());
+        assertEquals(0, ticker.getBestBidSize());
+
+        ScaledTickerEvent next = (ScaledTickerEvent) decoder.decode("{\"type\":\"message\","
+                + "\"topic\":\"/market/ticker:BTC-USDT\",\"data\":{\"price\":\"1\"}}", topic -> reader).getData();
+        assertSame(ticker, next);
+        assertEquals(0, next.getSequence());
+    }
+
+    @Test
+    public void readLevel2IntoBook() throws Exception {
+        ScaledLevel2Reader reader = new ScaledLevel2Reader(BTC_USDT);
+        ScaledLevel2ChangeEvent change = (ScaledLevel2ChangeEvent) decoder.decode("{\"type\":\"message\","
+                + "\"topic\":\"/market/level2:BTC-USDT\",\"data\":{\"sequenceStart\":11,\"sequenceEnd\":13,"
+                + "\"changes\":{\"asks\":[[\"30001\",\"0.5\",\"11\"],[\"0\",\"0\",\"12\"]],"
+                + "\"bids\":[[\"30000\",\"2\",\"13\"]]}}}", topic -> reader).getData();
+
+        assertEquals(2, change.getAskCount());
+        assertEquals(1, change.getBidCount());
+        assertEquals(300010, change.getAskPrices()[0]);
+        assertEquals(50000000, change.getAskSizes()[0]);
+        assertEquals(13, change.getBidSequences()[0]);
+
+        Level2OrderBook book = new Level2OrderBook("BTC-USDT", 1, 8);
+        OrderBookResponse snapshot = new OrderBookResponse();
+        snapshot.setSequence("10");
+        book.applySnapshot(snapshot);
+        book.applyChanges(change);
+        assertEquals(300010, book.bestAskPrice());
+        assertEquals(300000, book.bestBidPrice());
+        assertEquals(13, book.getSequence());
+    }
+
+    @Test
+    public void readLevel3IntoBook() throws Exception {
+        ScaledLevel3Reader reader = new ScaledLevel3Reader(BTC_USDT);
+        Level3OrderBook book = new Level3OrderBook("BTC-USDT", 1, 8);
+        book.onScaledEvent(level3(reader, "open", "{\"sequence\":\"1\",\"orderId\":\"o1\",\"side\":\"sell\","
+                + "\"price\":\"30001.5\",\"size\":\"0.25\",\"ts\":\"1\"}"));
+        book.onScaledEvent(level3(reader, "match", "{\"sequence\":\"2\",\"makerOrderId\":\"o1\","
+                + "\"takerOrderId\":\"t1\",\"side\":\"buy\",\"price\":\"30001.5\",\"size\":\"0.05\","
+                + "\"remainSize\":\"0.2\"}"));
+
+        assertEquals(300015, book.bestAskPrice());
+        assertEquals(20000000, book.bestAskSize());
+        assertEquals(2, book.getSequence());
+    }
+
+    @Test
+    public void readOrderChangeAtSymbolScales() throws Exception {
+        ScaledOrderChangeReader reader = new ScaledOrderChangeReader(
+                Collections.singletonMap("KCS-USDT", new SymbolScales("KCS-USDT", 4, 4, 6))::get);
+        ScaledOrderChangeEvent order = (ScaledOrderChangeEvent) decoder.decode("{\"type\":\"message\","
+                + "\"topic\":\"/spotMarket/tradeOrders\",\"data\":{\"price\":\"0.937\",\"size\":\"0.10000000\","
+                + "\"funds\":\"0.0937\",\"side\":\"buy\",\"orderId\":\"o1\",\"symbol\":\"KCS-USDT\","
+                + "\"type\":\"open\",\"ts\":1}}", topic -> reader).getData();
+
+        assertEquals(9370, order.getPrice());
+        assertEquals(1000, order.getSize());
+        assertEquals(93700, order.getFunds());
+        assertEquals(0, order.getFilledSize());
+        assertSame("buy", order.getSide());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void rejectPrecisionBeyondScale() throws Exception {
+        ScaledTickerReader reader = new ScaledTickerReader(BTC_USDT);
+        decoder.decode("{\"type\":\"message\",\"topic\":\"/market/ticker:BTC-USDT\","
+                + "\"data\":{\"price\":\"30000.55\"}}", topic -> reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private KucoinEvent<ScaledLevel3Event> level3(ScaledLevel3Reader reader, String subject, String data)
+            throws Exception {
+        Object event = decoder.decode("{\"type\":\"message\",\"topic\":\"/spotMarket/level3:BTC-USDT\","
+                + "\"subject\":\"" + subject + "\",\"data\":" + data + "}", topic -> reader);
+        return (KucoinEvent<ScaledLevel3Event>) event;
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.impl;
+
+import com.kucoin.sdk.model.InstanceServer;
+import com.kucoin.sdk.rest.response.WebsocketTokenResponse;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocketListener;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class ActiveSubscriptionsTest {
+
+    @Test
+    public void replayPerChannel() {
+        ActiveSubscriptions subscriptions = new ActiveSubscriptions();
+        subscriptions.add("/market/ticker:BTC-USDT,ETH-USDT", false);
+        subscriptions.add("/market/level2:BTC-USDT", false);
+        subscriptions.add("/market/ticker:KCS-USDT", false);
+        subscriptions.add("/account/balance", true);
+        subscriptions.remove("/market/ticker:ETH-USDT");
+
+        Map<String, Boolean> replay = subscriptions.replay();
+        assertEquals(3, replay.size());
+        assertEquals(Boolean.FALSE, replay.get("/market/ticker:BTC-USDT,KCS-USDT"));
+        assertEquals(Boolean.FALSE, replay.get("/market/level2:BTC-USDT"));
+        assertEquals(Boolean.TRUE, replay.get("/account/balance"));
+        assertEquals(4, subscriptions.size());
+    }
+
+    @Test
+    public void splitLargeReplays() {
+        ActiveSubscriptions subscriptions = new ActiveSubscriptions();
+        StringBuilder topic = new StringBuilder("/market/match:");
+        for (int i = 0; i < 250; i++) {
+            topic.append(i == 0 ? "" : ",").append("S").append(i);
+        }
+        subscriptions.add(topic.toString(), false);
+        assertEquals(3, subscriptions.replay().size());
+    }
+
+    @Test
+    public void boundBackoff() throws IOException {
+        BaseWebsocketImpl websocket = new BaseWebsocketImpl(new OkHttpClient(), new WebSocketListener() {}, null) {
+            @Override
+            protected WebsocketTokenResponse requestToken() throws IOException {
+                throw new IOException("offline");
+            }
+        };
+        try {
+            websocket.setReconnectBackoff(100, 1000);
+            assertEquals(100, websocket.backoffMillis(0));
+            assertEquals(400, websocket.backoffMillis(2));
+            assertEquals(1000, websocket.backoffMillis(4));
+            assertEquals(1000, websocket.backoffMillis(1000));
+        } finally {
+            websocket.close();
+        }
+    }
+
+    @Test
+    public void backOffWhenHandshakesFail() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        InstanceServer server = new InstanceServer();
+        server.setEndpoint("ws://127.0.0.1:" + closedPort);
+        server.setPingInterval(60_000);
+        server.setPingTimeout(10_000);
+        AtomicInteger tokens = new AtomicInteger();
+        BaseWebsocketImpl websocket = new BaseWebsocketImpl(new OkHttpClient(), new WebSocketListener() {},
+                servers -> servers.get(0)) {
+            @Override
+            protected WebsocketTokenResponse requestToken() {
+                tokens.incrementAndGet();
+                WebsocketTokenResponse token = new WebsocketTokenResponse();
+                token.setToken("token");
+                token.setInstanceServers(Collections.singletonList(server));
+                return token;
+            }
+        };
+        try {
+            websocket.setReconnectBackoff(100, 100);
+            websocket.connect();
+            Thread.sleep(650);
+            assertTrue("token requests: " + tokens.get(), tokens.get() >= 3 && tokens.get() <= 10);
+            WebsocketMetrics metrics = websocket.getMetrics();
+            assertEquals(0, metrics.getConnects());
+            assertEquals(0, metrics.getDisconnects());
+            assertTrue("failed attempts: " + metrics.getFailedAttempts(), metrics.getFailedAttempts() >= 3);
+            assertFalse(metrics.isConnected());
+        } finally {
+            websocket.close();
+        }
+    }
+
+    @Test
+    public void countConnectionsOnceTheirHandshakeCompleted() throws Exception {
+        List<Socket> accepted = new CopyOnWriteArrayList<>();
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        accepted.add(socket);
+                        handshake(socket);
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            InstanceServer server = new InstanceServer();
+            server.setEndpoint("ws://127.0.0.1:" + serverSocket.getLocalPort());
+            server.setPingInterval(60_000);
+            server.setPingTimeout(10_000);
+            BaseWebsocketImpl websocket = new BaseWebsocketImpl(new OkHttpClient(), new WebSocketListener() {},
+                    servers -> servers.get(0)) {
+                @Override
+                protected WebsocketTokenResponse requestToken() {
+                    WebsocketTokenResponse token = new WebsocketTokenResponse();
+                    token.setToken("token");
+                    token.setInstanceServers(Collections.singletonList(server));
+                    return token;
+                }
+            };
+            try {
+                WebsocketMetrics metrics = websocket.getMetrics();
+                websocket.connect();
+                await(() -> metrics.getConnects() == 1);
+                assertTrue(metrics.isConnected());
+                assertEquals(-1, metrics.getLastReconnectMillis());
+
+                accepted.get(0).close();
+                await(() -> metrics.getConnects() == 2);
+                assertEquals(1, metrics.getDisconnects());
+                assertEquals(0, metrics.getFailedAttempts());
+                assertTrue(metrics.getLastReconnectMillis() >= 0);
+            } finally {
+                websocket.close();
+            }
+        }
+    }
+
+    private static void handshake(Socket socket) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.ISO_8859_1));
+        String key = null;
+        for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+            if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                key = line.substring(line.indexOf(':') + 1).trim();
+            }
+        }
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(
+                (key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(StandardCharsets.ISO_8859_1));
+        OutputStream out = socket.getOutputStream();
+        out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(digest) + "\r\n\r\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.impl;
+
+import com.kucoin.sdk.KucoinObjectMapper;
+import com.kucoin.sdk.model.InstanceServer;
+import com.kucoin.sdk.rest.response.WebsocketTokenResponse;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class WebsocketHeartbeatTest {
+
+    private static final long PING_TIMEOUT = 200;
+
+    private final List<FakeSocket> sockets = new CopyOnWriteArrayList<>();
+
+    private final BaseWebsocketImpl websocket = new BaseWebsocketImpl(new OkHttpClient() {
+        @Override
+        public WebSocket newWebSocket(Request request, WebSocketListener listener) {
+            FakeSocket socket = new FakeSocket(request, listener);
+            sockets.add(socket);
+            return socket;
+        }
+    }, new WebSocketListener() {}, servers -> servers.get(0)) {
+        @Override
+        protected WebsocketTokenResponse requestToken() {
+            InstanceServer server = new InstanceServer();
+            server.setEndpoint("ws://127.0.0.1:1");
+            server.setPingInterval(60_000);
+            server.setPingTimeout(PING_TIMEOUT);
+            WebsocketTokenResponse token = new WebsocketTokenResponse();
+            token.setToken("token");
+            token.setInstanceServers(Collections.singletonList(server));
+            return token;
+        }
+    };
+
+    @After
+    public void close() throws IOException {
+        websocket.close();
+    }
+
+    @Test
+    public void matchPongs() {
+        assertEquals("42", BaseWebsocketImpl.pongId("{\"id\":\"42\",\"type\":\"pong\"}"));
+        assertNull(BaseWebsocketImpl.pongId("{\"id\":\"42\",\"type\":\"ack\"}"));
+        assertNull(BaseWebsocketImpl.pongId("{\"type\":\"message\",\"data\":{\"side\":\"pong\"}}"));
+    }
+
+    @Test
+    public void recordRoundTripOfMatchingPong() throws Exception {
+        websocket.connect();
+        FakeSocket socket = sockets.get(0);
+        socket.open();
+        String pingId = socket.nextPingId();
+        socket.listener.onMessage(socket, "{\"id\":\"other\",\"type\":\"pong\"}");
+        socket.listener.onMessage(socket, "{\"id\":\"" + pingId + "\",\"type\":\"pong\"}");
+
+        Thread.sleep(PING_TIMEOUT * 2);
+        WebsocketMetrics metrics = websocket.getMetrics();
+        assertEquals(1, metrics.getPongLatency().getCount());
+        assertEquals(0, metrics.getMissedPongs());
+        assertEquals(0, metrics.getDisconnects());
+        assertFalse(socket.cancelled);
+        assertEquals(1, sockets.size());
+    }
+
+    @Test
+    public void reconnectOnMissedPong() throws Exception {
+        websocket.connect();
+        FakeSocket socket = sockets.get(0);
+        socket.open();
+        socket.nextPingId();
+
+        await(() -> sockets.size() == 2);
+        WebsocketMetrics metrics = websocket.getMetrics();
+        assertEquals(1, metrics.getMissedPongs());
+        assertEquals(1, metrics.getDisconnects());
+        assertEquals(0, metrics.getPongLatency().getCount());
+        assertTrue(socket.cancelled);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Socket keeping the frames sent on it, opened and fed by the test.
+     */
+    private static final class FakeSocket implements WebSocket {
+
+        private final Request request;
+
+        private final WebSocketListener listener;
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+        private volatile boolean cancelled;
+
+        private FakeSocket(Request request, WebSocketListener listener) {
+            this.request = request;
+            this.listener = listener;
+        }
+
+        private void open() {
+            listener.onOpen(this, null);
+        }
+
+        private String nextPingId() throws Exception {
+            String frame = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(frame);
+            assertEquals("ping", KucoinObjectMapper.INSTANCE.readTree(frame).path("type").asText());
+            return KucoinObjectMapper.INSTANCE.readTree(frame).path("id").asText();
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public long queueSize() {
+            return 0;
+        }
+
+        @Override
+        public boolean send(String text) {
+            return sent.add(text);
+        }
+
+        @Override
+        public boolean send(ByteString bytes) {
+            return false;
+        }
+
+        @Override
+        public boolean close(int code, String reason) {
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.listener;
+
+import com.kucoin.sdk.util.SymbolScales;
+import com.kucoin.sdk.websocket.codec.ScaledTickerReader;
+import com.kucoin.sdk.websocket.event.KucoinEvent;
+import com.kucoin.sdk.websocket.event.ScaledTickerEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KucoinPublicWebsocketListenerTest {
+
+    private static final String TOPIC = "/market/ticker:BTC-USDT";
+
+    @Test
+    public void dropMessagesThatCannotBeDecoded() {
+        List<Long> prices = new ArrayList<>();
+        KucoinPublicWebsocketListener listener = new KucoinPublicWebsocketListener();
+        listener.putTopicCallbacks(Collections.singletonList(TOPIC),
+                event -> prices.add(((ScaledTickerEvent) ((KucoinEvent<?>) event).getData()).getPrice()),
+                new ScaledTickerReader(new SymbolScales("BTC-USDT", 1, 8, 8)));
+
+        listener.onMessage(null, ticker("30000.55"));
+        listener.onMessage(null, "{\"type\":\"message\",");
+        listener.onMessage(null, ticker("30000.5"));
+
+        assertEquals(Collections.singletonList(300005L), prices);
+    }
+
+    private static String ticker(String price) {
+        return "{\"type\":\"message\",\"topic\":\"" + TOPIC + "\",\"data\":{\"price\":\"" + price + "\"}}";
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2019 Mek Global Limited.
+ */
+package com.kucoin.sdk.websocket.routing;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TopicRouterTest {
+
+    @Test
+    public void routeByPrefixAndTopic() {
+        TopicRoute channel = new TopicRoute(response -> {}, null);
+        TopicRoute btc = new TopicRoute(response -> {}, null);
+        TopicRouter router = TopicRouter.EMPTY
+                .withPrefix("/market/ticker:", channel)
+                .withTopics(Collections.singletonList("/market/ticker:BTC-USDT"), btc);
+
+        assertSame(btc, router.route("/market/ticker:BTC-USDT"));
+        assertSame(channel, router.route("/market/ticker:ETH-USDT"));
+        assertNull(router.route("/market/level2:BTC-USDT"));
+    }
+
+    @Test
+    public void routeChannelsWithoutSymbols() {
+        TopicRoute orders = new TopicRoute(response -> {}, null);
+        TopicRoute ordersV2 = new TopicRoute(response -> {}, null);
+        TopicRouter router = TopicRouter.EMPTY
+                .withPrefix("/spotMarket/tradeOrders", orders)
+                .withPrefix("/spotMarket/tradeOrdersV2", ordersV2);
+
+        assertSame(orders, router.route("/spotMarket/tradeOrders"));
+        assertSame(ordersV2, router.route("/spotMarket/tradeOrdersV2"));
+        assertNull(router.route("/account/balance"));
+    }
+
+    @Test
+    public void registryPublishesCopies() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        TopicRoute route = new TopicRoute(response -> {}, null);
+        registry.putTopics(Arrays.asList("/market/match:BTC-USDT", "/market/match:ETH-USDT"), route);
+        TopicRouter before = registry.snapshot();
+
+        registry.removeTopics(Collections.singletonList("/market/match:BTC-USDT"));
+
+        assertSame(route, before.route("/market/match:BTC-USDT"));
+        assertNull(registry.route("/market/match:BTC-USDT"));
+        assertSame(route, registry.route("/market/match:ETH-USDT"));
+    }
+}